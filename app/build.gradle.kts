@@ -42,6 +42,19 @@ android {
         targetCompatibility = JavaVersion.VERSION_11
     }
 
+    // [추가] 이름이 Benchmark로 끝나는 시간 측정 클래스는 일반 단위 테스트에서 제외하고, -Pbenchmark를 줄 때만 실행합니다.
+    // 예: ./gradlew testDebugUnitTest -Pbenchmark --tests "*SearchBenchmark"
+    testOptions {
+        // [추가] Presenter 단위 테스트에서 Log, Handler 같은 android.jar 메소드가 예외 대신 기본값을 반환하도록 합니다.
+        // (시간에 따른 동작은 MainThreadTimer를 가짜로 주입해 검증합니다)
+        unitTests.isReturnDefaultValues = true
+        unitTests.all {
+            if (!project.hasProperty("benchmark")) {
+                it.exclude("**/*Benchmark.class")
+            }
+        }
+    }
+
 }
 
 
@@ -61,6 +74,10 @@ dependencies {
     implementation(libs.google.firebase.firestore)
 
     testImplementation(libs.junit)
+    // [추가] 로컬 단위 테스트에서는 android.jar의 org.json이 동작하지 않으므로, 검색 응답 디코더 비교용 실제 구현을 추가합니다.
+    testImplementation("org.json:json:20240303")
+    // [추가] Presenter 단위 테스트에서 LiveData 값을 메인 루퍼 없이 바로 반영하기 위한 InstantTaskExecutorRule
+    testImplementation("androidx.arch.core:core-testing:2.2.0")
     androidTestImplementation(libs.ext.junit)
     androidTestImplementation(libs.espresso.core)
 
@@ -78,6 +95,8 @@ dependencies {
     val lifecycle_version = "2.8.4"
     implementation("androidx.lifecycle:lifecycle-viewmodel:$lifecycle_version")
     implementation("androidx.lifecycle:lifecycle-livedata:$lifecycle_version")
+    // [추가] 프로세스 종료 후 검색 화면 상태(칩, 마지막 결과)를 복원하기 위한 SavedStateHandle
+    implementation("androidx.lifecycle:lifecycle-viewmodel-savedstate:$lifecycle_version")
 
     // [추가] Gson 라이브러리 의존성을 추가합니다. SharedPreferences에 객체를 저장/로드하기 위해 사용합니다.
     implementation("com.google.code.gson:gson:2.13.2")
@@ -0,0 +1,144 @@
+package com.example.food_recipe.adapter;
+
+import android.content.Context;
+import android.util.Log;
+import android.view.ContextThemeWrapper;
+import android.widget.FrameLayout;
+
+import androidx.core.content.ContextCompat;
+import androidx.recyclerview.widget.RecyclerView;
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import androidx.test.platform.app.InstrumentationRegistry;
+
+import com.example.food_recipe.R;
+import com.example.food_recipe.model.SearchHit;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assume.assumeTrue;
+
+/**
+ * 200개의 검색 결과 카드를 바인딩할 때 메인 스레드에서 쓰는 시간을 비교합니다.
+ * - 기존 방식: bind() 안에서 하이라이트 HTML을 파싱하고 색상 Span을 교체합니다. ({@link RecipeDisplayItem#from} + bind)
+ * - 변경 방식: {@link RecipeAdapter#setHits(List)}가 백그라운드에서 만든 텍스트를 bind()가 설정하기만 합니다.
+ * 빠른 스크롤에서 한 프레임에 {@link #BINDS_PER_FRAME}장씩 새로 바인딩된다고 보고, 바인딩에만 프레임 예산(16.7ms)의
+ * 절반 이상을 쓴 프레임을 끊김 위험 프레임으로 셉니다. (나머지 절반은 measure/layout/draw 몫)
+ * 시간은 기기에 따라 달라지므로 검증하지 않고 logcat으로만 출력합니다.
+ * 일반 계측 테스트에서는 건너뛰고, benchmark 계측 인자를 줄 때만 실행합니다.
+ * 예: ./gradlew connectedDebugAndroidTest -Pandroid.testInstrumentationRunnerArguments.benchmark=true
+ */
+@RunWith(AndroidJUnit4.class)
+public class RecipeAdapterBindBenchmark {
+
+    private static final String TAG = "RecipeBindBenchmark";
+    private static final int ITEM_COUNT = 200;
+    private static final int WARMUP_ROUNDS = 3;
+    private static final int BINDS_PER_FRAME = 3;
+    private static final double FRAME_BIND_BUDGET_MS = 16.7 / 2;
+
+    @Before
+    public void requireBenchmarkArgument() {
+        assumeTrue(InstrumentationRegistry.getArguments().getString("benchmark") != null);
+    }
+
+    @Test
+    public void precomputedBind_vsInlineHtmlBind() throws Exception {
+        Context context = new ContextThemeWrapper(
+                InstrumentationRegistry.getInstrumentation().getTargetContext(), R.style.Theme_Food_Recipe);
+        List<SearchHit> hits = highlightedHits();
+
+        RecipeAdapter[] adapterHolder = new RecipeAdapter[1];
+        CountDownLatch ready = new CountDownLatch(1);
+        InstrumentationRegistry.getInstrumentation().runOnMainSync(() -> {
+            RecipeAdapter adapter = new RecipeAdapter(context);
+            adapter.registerAdapterDataObserver(new RecyclerView.AdapterDataObserver() {
+                @Override
+                public void onItemRangeInserted(int positionStart, int itemCount) {
+                    ready.countDown();
+                }
+            });
+            adapter.setHits(hits);
+            adapterHolder[0] = adapter;
+        });
+        assertTrue("표시용 텍스트 준비가 끝나지 않았습니다.", ready.await(10, TimeUnit.SECONDS));
+        RecipeAdapter adapter = adapterHolder[0];
+
+        long[] inlineNanos = new long[ITEM_COUNT];
+        long[] precomputedNanos = new long[ITEM_COUNT];
+        int highlightColor = ContextCompat.getColor(context, R.color.search_highlight_color);
+        InstrumentationRegistry.getInstrumentation().runOnMainSync(() -> {
+            assertEquals(ITEM_COUNT, adapter.getItemCount());
+            RecipeAdapter.RecipeViewHolder holder = adapter.onCreateViewHolder(new FrameLayout(context), 0);
+            for (int round = 0; round <= WARMUP_ROUNDS; round++) {
+                for (int i = 0; i < ITEM_COUNT; i++) {
+                    long start = System.nanoTime();
+                    RecipeDisplayItem.from(hits.get(i), highlightColor);
+                    adapter.onBindViewHolder(holder, i);
+                    long inline = System.nanoTime() - start;
+
+                    start = System.nanoTime();
+                    adapter.onBindViewHolder(holder, i);
+                    long precomputed = System.nanoTime() - start;
+
+                    if (round == WARMUP_ROUNDS) {
+                        inlineNanos[i] = inline;
+                        precomputedNanos[i] = precomputed;
+                    }
+                }
+            }
+        });
+
+        report("inline html bind", inlineNanos);
+        report("precomputed bind", precomputedNanos);
+    }
+
+    private static void report(String label, long[] nanos) {
+        long[] sorted = nanos.clone();
+        Arrays.sort(sorted);
+        long total = 0;
+        for (long n : sorted) total += n;
+        int frames = 0;
+        int jankyFrames = 0;
+        for (int i = 0; i < nanos.length; i += BINDS_PER_FRAME) {
+            long frame = 0;
+            for (int j = i; j < Math.min(i + BINDS_PER_FRAME, nanos.length); j++) frame += nanos[j];
+            frames++;
+            if (frame / 1e6 > FRAME_BIND_BUDGET_MS) jankyFrames++;
+        }
+        String line = String.format(Locale.ROOT,
+                "%s: %d items, total=%.2fms, p50=%.3fms, p95=%.3fms, max=%.3fms, frames over bind budget=%d/%d",
+                label, nanos.length, total / 1e6,
+                sorted[sorted.length / 2] / 1e6, sorted[(int) (sorted.length * 0.95)] / 1e6, sorted[sorted.length - 1] / 1e6,
+                jankyFrames, frames);
+        Log.i(TAG, line);
+    }
+
+    /** Algolia 하이라이트 응답처럼 제목과 재료에 &lt;b&gt; 태그가 여러 개 있는 카드 목록입니다. */
+    private static List<SearchHit> highlightedHits() {
+        String[] ingredients = {"돼지고기", "김치", "두부", "대파", "양파", "마늘", "고춧가루", "간장", "설탕", "참기름"};
+        List<SearchHit> hits = new ArrayList<>(ITEM_COUNT);
+        for (int i = 0; i < ITEM_COUNT; i++) {
+            StringBuilder summary = new StringBuilder();
+            for (int j = 0; j < ingredients.length; j++) {
+                if (j > 0) summary.append(", ");
+                String ingredient = ingredients[(i + j) % ingredients.length];
+                summary.append(j % 3 == 0 ? "<b>" + ingredient + "</b>" : ingredient).append(" ").append(j + 1).append("큰술");
+            }
+            hits.add(new SearchHit(String.valueOf(100000 + i),
+                    "<b>김치</b>찌개 " + i + "번째 <b>돼지고기</b> 듬뿍 레시피",
+                    null, (10 + i % 50) + "분", summary.toString()));
+        }
+        return hits;
+    }
+}
@@ -2,11 +2,7 @@ package com.example.food_recipe;
 
 import android.app.Application;
 
-// [추가] 비동기 작업 및 Okt 라이브러리 import
-import org.openkoreantext.processor.OpenKoreanTextProcessorJava;
-
 import java.time.Duration;
-import java.util.concurrent.CompletableFuture;
 
 // [추가] WorkManager 관련 클래스를 가져옵니다.
 import androidx.work.Data;
@@ -21,24 +17,8 @@ import com.example.food_recipe.worker.ExpirationCheckWorker;
  */
 public class FoodRecipeApplication extends Application {
 
-    @Override
-    public void onCreate() {
-        super.onCreate();
-        // [추가] 앱 시작 시 백그라운드에서 Okt 라이브러리를 미리 초기화합니다.
-        initializeOkt();
-    }
-
-    /**
-     * [추가] Okt 라이브러리의 사전 로딩을 백그라운드 스레드에서 미리 실행합니다.
-     * 이 작업은 결과를 기다리지 않는 "Fire and Forget" 방식으로 동작하여,
-     * 앱 시작을 지연시키지 않으면서 사용자가 검색을 시도할 때의 지연 시간을 제거합니다.
-     */
-    private void initializeOkt() {
-        CompletableFuture.runAsync(() -> {
-            // 간단한 텍스트로 분석을 한번 실행시켜 내부 사전을 메모리에 로드합니다.
-            OpenKoreanTextProcessorJava.tokenize("미리 실행");
-        });
-    }
+    // [변경] 검색어 명사 추출은 재료 사전 기반 추출기(QueryNounExtractor)가 담당하고 Okt는 사전에 없는 조각에만 사용하므로,
+    // 앱 시작 시 Okt 사전을 미리 로딩하던 작업을 제거했습니다. (시작 시간과 상주 메모리 절감)
 
     /**
      * [수정] 유통기한 확인 작업을 스케줄링할 때 사용자 UID를 입력 데이터로 받습니다.
@@ -1,10 +1,8 @@
 package com.example.food_recipe.adapter;
 
 import android.content.Context;
-import android.text.Spannable;
-import android.text.TextUtils;
-import android.text.style.ForegroundColorSpan;
-import android.text.style.StyleSpan;
+import android.os.Handler;
+import android.os.Looper;
 import android.view.LayoutInflater;
 import android.view.View;
 import android.view.ViewGroup;
@@ -13,27 +11,54 @@ import android.widget.TextView;
 
 import androidx.annotation.NonNull;
 import androidx.core.content.ContextCompat;
-import androidx.core.text.HtmlCompat;
+import androidx.recyclerview.widget.DiffUtil;
 import androidx.recyclerview.widget.RecyclerView;
 
 import com.bumptech.glide.Glide;
 import com.example.food_recipe.R;
 import com.example.food_recipe.model.Recipe;
+import com.example.food_recipe.model.SearchHit;
 
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 /**
  * {@link RecyclerView}를 사용하여 레시피 목록을 화면에 표시하는 어댑터 클래스입니다.
  * 홈 화면, 검색 결과 화면 등 다양한 곳에서 재사용됩니다.
- * {@link Recipe} 객체 리스트를 데이터 소스로 사용하며, 각 레시피의 요약 정보를 아이템으로 구성합니다.
+ * [변경] 목록 카드에 필요한 필드만 가진 {@link SearchHit} 리스트를 데이터 소스로 사용합니다.
+ * 검색 결과는 SearchHit을 그대로 전달하고, {@link Recipe}를 가진 화면은 {@link #setRecipes(List)}로 변환해 전달합니다.
+ * [변경] 목록이 전달되면 하이라이트 텍스트({@link RecipeDisplayItem})와 DiffUtil 계산을 백그라운드 스레드에서 미리 수행하고,
+ * 메인 스레드에서는 결과를 반영하기만 합니다. 스크롤 중의 bind()는 HTML 파싱 없이 만들어진 텍스트를 설정합니다.
  */
 public class RecipeAdapter extends RecyclerView.Adapter<RecipeAdapter.RecipeViewHolder> {
 
     /**
-     * 어댑터가 현재 화면에 표시하고 있는 레시피 데이터 목록입니다.
+     * [추가] 표시용 텍스트를 만드는 스레드입니다. 홈 화면처럼 어댑터가 여러 개여도 하나의 스레드를 공유합니다.
      */
-    private final List<Recipe> recipes = new ArrayList<>();
+    private static final ExecutorService DISPLAY_EXECUTOR = Executors.newSingleThreadExecutor();
+
+    /**
+     * 어댑터가 현재 화면에 표시하고 있는 레시피 카드 목록입니다.
+     * [변경] 표시용 텍스트가 준비된 {@link RecipeDisplayItem}을 보관합니다. 메인 스레드에서만 변경합니다.
+     */
+    private final List<RecipeDisplayItem> recipes = new ArrayList<>();
+
+    private final Handler mainHandler = new Handler(Looper.getMainLooper());
+
+    /**
+     * [추가] 검색어 하이라이트 색상입니다. 백그라운드 스레드에서 Context를 사용하지 않도록 미리 읽어 둡니다.
+     */
+    private final int highlightColor;
+
+    /**
+     * [추가] 마지막으로 요청된 목록의 번호입니다. 준비가 끝난 목록이 가장 최근 요청의 것일 때만 반영합니다.
+     */
+    private int latestGeneration;
 
     /**
      * Glide를 통한 이미지 로딩 등, Android 프레임워크 기능에 접근하기 위한 Context 객체입니다.
@@ -52,9 +77,9 @@ public class RecipeAdapter extends RecyclerView.Adapter<RecipeAdapter.RecipeView
         /**
          * 사용자가 레시피 아이템을 클릭했을 때 호출됩니다.
          *
-         * @param recipe 클릭된 {@link Recipe} 객체.
+         * @param recipe 클릭된 레시피 카드. [변경] 상세 화면은 rcpSno로 전체 레시피를 불러옵니다.
          */
-        void onItemClick(Recipe recipe);
+        void onItemClick(SearchHit recipe);
     }
 
     /**
@@ -73,6 +98,7 @@ public class RecipeAdapter extends RecyclerView.Adapter<RecipeAdapter.RecipeView
      */
     public RecipeAdapter(Context context) {
         this.context = context;
+        this.highlightColor = ContextCompat.getColor(context, R.color.search_highlight_color);
     }
 
     /**
@@ -92,14 +118,14 @@ public class RecipeAdapter extends RecyclerView.Adapter<RecipeAdapter.RecipeView
 
     /**
      * RecyclerView가 특정 위치(position)의 아이템을 ViewHolder에 바인딩(표시)하려고 할 때 호출됩니다.
-     * `recipes` 리스트에서 해당 위치의 {@link Recipe} 객체를 가져와 ViewHolder의 `bind` 메소드를 통해 UI에 데이터를 설정합니다.
+     * `recipes` 리스트에서 해당 위치의 {@link SearchHit} 객체를 가져와 ViewHolder의 `bind` 메소드를 통해 UI에 데이터를 설정합니다.
      *
      * @param holder   데이터를 표시할 ViewHolder 인스턴스.
      * @param position 데이터 목록에서의 아이템 위치.
      */
     @Override
     public void onBindViewHolder(@NonNull RecipeViewHolder holder, int position) {
-        Recipe recipe = recipes.get(position);
+        RecipeDisplayItem recipe = recipes.get(position);
         holder.bind(recipe, listener);
     }
 
@@ -115,16 +141,110 @@ public class RecipeAdapter extends RecyclerView.Adapter<RecipeAdapter.RecipeView
 
     /**
      * 어댑터가 표시할 레시피 목록을 설정하거나 갱신합니다.
-     * 기존 목록을 지우고 새로운 목록을 추가한 후, RecyclerView에게 데이터 세트가 변경되었음을 알려 화면을 새로 그리도록 합니다.
+     * [변경] 전체를 다시 그리는 대신 {@link DiffUtil}로 변경된 부분만 알립니다.
+     * 검색 화면에서 페이지가 앞/뒤에 추가되거나 버려져도 스크롤 위치가 유지되고, 이미 그려진 아이템은 다시 바인딩되지 않습니다.
      *
      * @param newRecipes 새로 표시할 {@link Recipe} 객체의 리스트.
      */
     public void setRecipes(List<Recipe> newRecipes) {
-        this.recipes.clear();
+        List<SearchHit> hits = new ArrayList<>();
         if (newRecipes != null) {
-            this.recipes.addAll(newRecipes);
+            for (Recipe recipe : newRecipes) {
+                hits.add(SearchHit.fromRecipe(recipe));
+            }
+        }
+        setHits(hits);
+    }
+
+    /**
+     * [추가] 검색 결과 카드 목록을 그대로 표시합니다. 변경된 부분만 {@link DiffUtil}로 알립니다.
+     * [변경] 표시용 텍스트와 DiffUtil 계산은 백그라운드 스레드에서 수행하고, 끝나면 메인 스레드에서 반영합니다.
+     * 이미 표시 중인 카드(다음 페이지가 붙을 때의 앞 페이지 등)는 만들어 둔 텍스트를 재사용합니다.
+     * 준비되는 사이에 새 목록이 요청되면 이전 목록은 반영하지 않고 버립니다.
+     *
+     * @param newHits 새로 표시할 {@link SearchHit} 리스트.
+     */
+    public void setHits(List<SearchHit> newHits) {
+        setHits(newHits, Collections.emptyMap());
+    }
+
+    /**
+     * [추가] 검색 결과 카드 목록을 카드별 부족한 재료 수와 함께 표시합니다. 개수가 없는 카드는 표시하지 않습니다.
+     *
+     * @param newHits       새로 표시할 {@link SearchHit} 리스트.
+     * @param missingCounts rcpSno -> 냉장고에 없는 재료 수.
+     */
+    public void setHits(List<SearchHit> newHits, Map<String, Integer> missingCounts) {
+        List<SearchHit> updated = newHits != null ? new ArrayList<>(newHits) : new ArrayList<>();
+        Map<String, Integer> missing = missingCounts != null ? new HashMap<>(missingCounts) : Collections.emptyMap();
+        List<RecipeDisplayItem> current = new ArrayList<>(recipes);
+        int generation = ++latestGeneration;
+        DISPLAY_EXECUTOR.execute(() -> {
+            Map<SearchHit, RecipeDisplayItem> prepared = new HashMap<>();
+            for (RecipeDisplayItem item : current) {
+                prepared.put(item.getHit(), item);
+            }
+            List<RecipeDisplayItem> display = new ArrayList<>(updated.size());
+            for (SearchHit hit : updated) {
+                Integer count = hit.getRcpSno() != null ? missing.get(hit.getRcpSno()) : null;
+                int missingCount = count != null ? count : RecipeDisplayItem.NO_MISSING_COUNT;
+                RecipeDisplayItem item = prepared.get(hit);
+                display.add(item != null && item.getMissingCount() == missingCount
+                        ? item
+                        : RecipeDisplayItem.from(hit, highlightColor, missingCount));
+            }
+            DiffUtil.DiffResult diff = DiffUtil.calculateDiff(new RecipeDiffCallback(current, display));
+            mainHandler.post(() -> {
+                // 그 사이 다른 목록이 요청되었다면 current가 화면의 목록과 다를 수 있으므로 반영하지 않습니다.
+                if (generation != latestGeneration) return;
+                recipes.clear();
+                recipes.addAll(display);
+                diff.dispatchUpdatesTo(this);
+            });
+        });
+    }
+
+    /**
+     * [추가] 두 레시피 목록의 차이를 계산하기 위한 콜백입니다.
+     * 레시피 ID(rcpSno)로 같은 아이템인지 판단하고, 화면에 표시되는 필드로 내용 변경 여부를 판단합니다.
+     */
+    private static class RecipeDiffCallback extends DiffUtil.Callback {
+        private final List<RecipeDisplayItem> oldList;
+        private final List<RecipeDisplayItem> newList;
+
+        RecipeDiffCallback(List<RecipeDisplayItem> oldList, List<RecipeDisplayItem> newList) {
+            this.oldList = oldList;
+            this.newList = newList;
+        }
+
+        @Override
+        public int getOldListSize() {
+            return oldList.size();
+        }
+
+        @Override
+        public int getNewListSize() {
+            return newList.size();
+        }
+
+        @Override
+        public boolean areItemsTheSame(int oldItemPosition, int newItemPosition) {
+            SearchHit oldRecipe = oldList.get(oldItemPosition).getHit();
+            SearchHit newRecipe = newList.get(newItemPosition).getHit();
+            if (oldRecipe.getRcpSno() == null || newRecipe.getRcpSno() == null) {
+                return oldRecipe == newRecipe;
+            }
+            return oldRecipe.getRcpSno().equals(newRecipe.getRcpSno());
+        }
+
+        @Override
+        public boolean areContentsTheSame(int oldItemPosition, int newItemPosition) {
+            // [변경] SearchHit은 화면에 표시되는 필드만 가지므로 equals로 비교합니다.
+            // [추가] 부족한 재료 수가 바뀐 카드도 다시 그립니다.
+            RecipeDisplayItem oldItem = oldList.get(oldItemPosition);
+            RecipeDisplayItem newItem = newList.get(newItemPosition);
+            return oldItem.getHit().equals(newItem.getHit()) && oldItem.getMissingCount() == newItem.getMissingCount();
         }
-        notifyDataSetChanged();
     }
 
     /**
@@ -137,6 +257,7 @@ public class RecipeAdapter extends RecyclerView.Adapter<RecipeAdapter.RecipeView
         private final TextView tvRecipeTitle;
         private final TextView tvCookingTime;
         private final TextView tvIngredients;
+        private final TextView tvMissingIngredients;
 
         /**
          * RecipeViewHolder의 생성자입니다.
@@ -150,62 +271,28 @@ public class RecipeAdapter extends RecyclerView.Adapter<RecipeAdapter.RecipeView
             tvRecipeTitle = itemView.findViewById(R.id.tv_recipe_title);
             tvCookingTime = itemView.findViewById(R.id.tv_cooking_time);
             tvIngredients = itemView.findViewById(R.id.tv_ingredients);
+            tvMissingIngredients = itemView.findViewById(R.id.tv_missing_ingredients);
         }
 
         /**
-         * {@link Recipe} 객체로부터 데이터를 가져와 UI 컴포넌트에 설정하고, 클릭 리스너를 바인딩합니다.
+         * {@link RecipeDisplayItem}의 데이터를 UI 컴포넌트에 설정하고, 클릭 리스너를 바인딩합니다.
+         * [변경] 하이라이트 처리(HtmlCompat, 색상 Span 교체)는 {@link RecipeDisplayItem#from}에서 미리 수행되므로 텍스트를 설정하기만 합니다.
          *
-         * @param recipe   화면에 표시할 레시피 데이터 객체.
+         * @param recipe   화면에 표시할 레시피 카드.
          * @param listener 아이템 클릭 시 호출될 리스너.
          */
-        public void bind(final Recipe recipe, final OnItemClickListener listener) {
+        public void bind(final RecipeDisplayItem recipe, final OnItemClickListener listener) {
             Glide.with(context)
-                    .load(recipe.getImageUrl())
+                    .load(recipe.getHit().getImageUrl())
                     .into(ivRecipeImage);
 
-            // [변경] 하이라이팅 태그(<b>)를 처리하기 위해 HtmlCompat을 사용합니다.
-            String titleWithTags = recipe.getTitle();
-            if (titleWithTags != null) {
-                Spannable titleSpannable = (Spannable) HtmlCompat.fromHtml(titleWithTags, HtmlCompat.FROM_HTML_MODE_LEGACY);
-
-                // [추가] Spannable 텍스트 내의 모든 StyleSpan(굵은 글씨)을 찾아 색상을 변경합니다.
-                StyleSpan[] styleSpans = titleSpannable.getSpans(0, titleSpannable.length(), StyleSpan.class);
-                for (StyleSpan span : styleSpans) {
-                    if (span.getStyle() == android.graphics.Typeface.BOLD) {
-                        int start = titleSpannable.getSpanStart(span);
-                        int end = titleSpannable.getSpanEnd(span);
-                        // [변경] 기존의 StyleSpan은 제거하고 (제목 전체가 이미 Bold이므로), 색상 Span을 적용합니다.
-                        titleSpannable.removeSpan(span);
-                        titleSpannable.setSpan(new ForegroundColorSpan(ContextCompat.getColor(context, R.color.search_highlight_color)),
-                                start, end, Spannable.SPAN_EXCLUSIVE_EXCLUSIVE);
-                    }
-                }
-                tvRecipeTitle.setText(titleSpannable);
-            } else {
-                tvRecipeTitle.setText(""); // 제목이 null일 경우 빈 문자열로 처리
-            }
-
-            // [변경] cookingTime이 null이거나 유효하지 않은 경우를 대비하여 안정성을 강화합니다.
-            String cookingTime = recipe.getCookingTime();
-            if (isValidString(cookingTime)) {
-                tvCookingTime.setText("조리 시간: " + cookingTime);
-            } else {
-                tvCookingTime.setText("조리 시간: 정보 없음");
-            }
-
-            // [변경] 재료 부분도 하이라이팅 태그(<b>)를 처리하도록 수정합니다.
-            String ingredientsRaw = recipe.getIngredientsRaw();
-            if (isValidString(ingredientsRaw)) {
-                Spannable ingredientsSpannable = (Spannable) HtmlCompat.fromHtml("재료: " + ingredientsRaw, HtmlCompat.FROM_HTML_MODE_LEGACY);
-                tvIngredients.setText(ingredientsSpannable);
-            } else {
-                List<String> ingredientsList = recipe.getIngredients();
-                if (ingredientsList != null && !ingredientsList.isEmpty()) {
-                    tvIngredients.setText("재료: " + TextUtils.join(", ", ingredientsList));
-                } else {
-                    tvIngredients.setText("재료: 정보 없음");
-                }
-            }
+            tvRecipeTitle.setText(recipe.getTitle());
+            tvCookingTime.setText(recipe.getCookingTime());
+            tvIngredients.setText(recipe.getIngredients());
+            // [추가] 냉장고 재료 정렬을 켰을 때만 부족한 재료 수를 표시합니다.
+            CharSequence missingText = recipe.getMissingText();
+            tvMissingIngredients.setVisibility(missingText != null ? View.VISIBLE : View.GONE);
+            tvMissingIngredients.setText(missingText);
 
             // 아이템 View 전체에 대한 클릭 리스너 설정
             itemView.setOnClickListener(v -> {
@@ -213,21 +300,10 @@ public class RecipeAdapter extends RecyclerView.Adapter<RecipeAdapter.RecipeView
                     int position = getAdapterPosition();
                     // RecyclerView.NO_POSITION 체크를 통해 유효한 위치의 아이템만 처리
                     if (position != RecyclerView.NO_POSITION) {
-                        listener.onItemClick(recipes.get(position));
+                        listener.onItemClick(recipes.get(position).getHit());
                     }
                 }
             });
         }
-
-        /**
-         * 문자열이 유효한(표시할 가치가 있는) 내용인지 확인하는 유틸리티 메소드입니다.
-         * null, 빈 문자열, "null" 문자열, "정보 없음" 문자열을 모두 유효하지 않은 것으로 간주합니다.
-         *
-         * @param text 확인할 문자열.
-         * @return 문자열이 유효하면 true, 그렇지 않으면 false.
-         */
-        private boolean isValidString(String text) {
-            return text != null && !text.isEmpty() && !"null".equalsIgnoreCase(text) && !"정보 없음".equals(text);
-        }
     }
 }
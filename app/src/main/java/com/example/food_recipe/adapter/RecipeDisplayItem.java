@@ -0,0 +1,132 @@
+package com.example.food_recipe.adapter;
+
+import android.graphics.Typeface;
+import android.text.Spannable;
+import android.text.style.ForegroundColorSpan;
+import android.text.style.StyleSpan;
+
+import androidx.annotation.ColorInt;
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.annotation.WorkerThread;
+import androidx.core.text.HtmlCompat;
+
+import com.example.food_recipe.model.SearchHit;
+
+/**
+ * [추가] 레시피 카드 한 장을 화면에 그리기 위해 미리 만들어 둔 텍스트입니다.
+ * 하이라이트 태그(&lt;b&gt;) 파싱과 색상 Span 교체는 결과가 도착했을 때 {@link RecipeAdapter}의 백그라운드 스레드에서
+ * 한 번만 수행하고, 스크롤 중의 bind()는 만들어진 텍스트를 TextView에 설정하기만 합니다.
+ * 만든 뒤에는 Span을 수정하지 않으므로 여러 스레드에서 읽어도 안전합니다.
+ * [추가] 냉장고 재료 정렬을 켰을 때는 부족한 재료 수 문구도 함께 만들어 둡니다.
+ */
+public final class RecipeDisplayItem {
+
+    /** [추가] 부족한 재료 수를 표시하지 않음을 나타냅니다. */
+    public static final int NO_MISSING_COUNT = -1;
+
+    private final SearchHit hit;
+    private final CharSequence title;
+    private final CharSequence cookingTime;
+    private final CharSequence ingredients;
+    private final int missingCount;
+    private final CharSequence missingText;
+
+    private RecipeDisplayItem(SearchHit hit, CharSequence title, CharSequence cookingTime, CharSequence ingredients,
+                              int missingCount) {
+        this.hit = hit;
+        this.title = title;
+        this.cookingTime = cookingTime;
+        this.ingredients = ingredients;
+        this.missingCount = missingCount;
+        this.missingText = missingCount < 0 ? null
+                : missingCount == 0 ? "재료 모두 있음" : "부족한 재료 " + missingCount + "개";
+    }
+
+    /**
+     * 카드 하나의 표시용 텍스트를 만듭니다. 메인 스레드가 아닌 곳에서 호출합니다.
+     *
+     * @param hit            표시할 레시피 카드.
+     * @param highlightColor 검색어 하이라이트에 사용할 색상.
+     */
+    @NonNull
+    @WorkerThread
+    public static RecipeDisplayItem from(@NonNull SearchHit hit, @ColorInt int highlightColor) {
+        return from(hit, highlightColor, NO_MISSING_COUNT);
+    }
+
+    /**
+     * [추가] 부족한 재료 수와 함께 표시용 텍스트를 만듭니다.
+     *
+     * @param missingCount 냉장고에 없는 재료 수. 표시하지 않으려면 {@link #NO_MISSING_COUNT}.
+     */
+    @NonNull
+    @WorkerThread
+    public static RecipeDisplayItem from(@NonNull SearchHit hit, @ColorInt int highlightColor, int missingCount) {
+        // 제목 전체가 이미 Bold이므로, 하이라이트(<b>) 부분은 굵은 글씨 대신 색상으로 표시합니다.
+        CharSequence title = "";
+        if (hit.getTitle() != null) {
+            Spannable titleSpannable = (Spannable) HtmlCompat.fromHtml(hit.getTitle(), HtmlCompat.FROM_HTML_MODE_LEGACY);
+            StyleSpan[] styleSpans = titleSpannable.getSpans(0, titleSpannable.length(), StyleSpan.class);
+            for (StyleSpan span : styleSpans) {
+                if (span.getStyle() == Typeface.BOLD) {
+                    int start = titleSpannable.getSpanStart(span);
+                    int end = titleSpannable.getSpanEnd(span);
+                    titleSpannable.removeSpan(span);
+                    titleSpannable.setSpan(new ForegroundColorSpan(highlightColor), start, end, Spannable.SPAN_EXCLUSIVE_EXCLUSIVE);
+                }
+            }
+            title = titleSpannable;
+        }
+
+        String cookingTime = hit.getCookingTime();
+        CharSequence cookingTimeText = isValidString(cookingTime) ? "조리 시간: " + cookingTime : "조리 시간: 정보 없음";
+
+        // 재료로 대체하는 처리는 SearchHit.fromRecipe()에서 미리 수행합니다.
+        String ingredientsSummary = hit.getIngredientsSummary();
+        CharSequence ingredients = isValidString(ingredientsSummary)
+                ? HtmlCompat.fromHtml("재료: " + ingredientsSummary, HtmlCompat.FROM_HTML_MODE_LEGACY)
+                : "재료: 정보 없음";
+
+        return new RecipeDisplayItem(hit, title, cookingTimeText, ingredients, missingCount);
+    }
+
+    @NonNull
+    public SearchHit getHit() {
+        return hit;
+    }
+
+    @NonNull
+    public CharSequence getTitle() {
+        return title;
+    }
+
+    @NonNull
+    public CharSequence getCookingTime() {
+        return cookingTime;
+    }
+
+    @NonNull
+    public CharSequence getIngredients() {
+        return ingredients;
+    }
+
+    /** [추가] 냉장고에 없는 재료 수입니다. 표시하지 않으면 {@link #NO_MISSING_COUNT}입니다. */
+    public int getMissingCount() {
+        return missingCount;
+    }
+
+    /** [추가] 부족한 재료 수 문구입니다. 표시하지 않으면 null입니다. */
+    @Nullable
+    public CharSequence getMissingText() {
+        return missingText;
+    }
+
+    /**
+     * 문자열이 유효한(표시할 가치가 있는) 내용인지 확인합니다.
+     * null, 빈 문자열, "null" 문자열, "정보 없음" 문자열을 모두 유효하지 않은 것으로 간주합니다.
+     */
+    private static boolean isValidString(String text) {
+        return text != null && !text.isEmpty() && !"null".equalsIgnoreCase(text) && !"정보 없음".equals(text);
+    }
+}
@@ -1,6 +1,10 @@
 package com.example.food_recipe.favorites;
 
+import androidx.annotation.NonNull;
+
 import com.example.food_recipe.model.Recipe;
+import com.example.food_recipe.model.UserProfile;
+import com.example.food_recipe.repository.UserProfileStore;
 import com.google.android.gms.tasks.Task;
 import com.google.android.gms.tasks.Tasks;
 import com.google.firebase.auth.FirebaseAuth;
@@ -34,40 +38,46 @@ public class FavoritesModel implements FavoritesContract.Model {
             return;
         }
 
-        DocumentReference userDocRef = db.collection("users").document(user.getUid());
-        userDocRef.get().addOnSuccessListener(userSnapshot -> {
-            if (!userSnapshot.exists()) {
-                callback.onSuccess(new ArrayList<>());
-                return;
+        // [변경] 즐겨찾기 ID 목록은 사용자 문서를 다시 읽지 않고 UserProfileStore의 공유 스냅샷에서 가져옵니다.
+        UserProfileStore.getInstance().getProfile(new UserProfileStore.ProfileCallback() {
+            @Override
+            public void onProfileLoaded(@NonNull UserProfile profile) {
+                fetchRecipes(profile.getBookmarkedRecipeIds(), callback);
             }
 
-            List<String> bookmarkedRecipeIds = (List<String>) userSnapshot.get("bookmarked_recipes");
-            if (bookmarkedRecipeIds == null || bookmarkedRecipeIds.isEmpty()) {
-                callback.onSuccess(new ArrayList<>());
-                return;
+            @Override
+            public void onError(Exception e) {
+                callback.onError(e);
             }
+        });
+    }
 
-            List<Task<DocumentSnapshot>> tasks = new ArrayList<>();
-            for (String recipeId : bookmarkedRecipeIds) {
-                DocumentReference recipeDocRef = db.collection("recipes").document(recipeId);
-                tasks.add(recipeDocRef.get());
-            }
+    /** [추가] 즐겨찾기 ID 목록의 레시피 문서를 불러옵니다. */
+    private void fetchRecipes(List<String> bookmarkedRecipeIds, OnFinishedListener<List<Recipe>> callback) {
+        if (bookmarkedRecipeIds.isEmpty()) {
+            callback.onSuccess(new ArrayList<>());
+            return;
+        }
+
+        List<Task<DocumentSnapshot>> tasks = new ArrayList<>();
+        for (String recipeId : bookmarkedRecipeIds) {
+            DocumentReference recipeDocRef = db.collection("recipes").document(recipeId);
+            tasks.add(recipeDocRef.get());
+        }
 
-            Tasks.whenAllSuccess(tasks).addOnSuccessListener(results -> {
-                List<Recipe> recipes = new ArrayList<>();
-                for (Object snapshotObject : results) {
-                    if (snapshotObject instanceof DocumentSnapshot) {
-                        DocumentSnapshot snapshot = (DocumentSnapshot) snapshotObject;
-                        if (snapshot.exists()) {
-                            // 새로 만든 안정적인 매퍼 메소드를 호출합니다.
-                            Recipe recipe = Recipe.fromDocumentSnapshot(snapshot);
-                            recipes.add(recipe);
-                        }
+        Tasks.whenAllSuccess(tasks).addOnSuccessListener(results -> {
+            List<Recipe> recipes = new ArrayList<>();
+            for (Object snapshotObject : results) {
+                if (snapshotObject instanceof DocumentSnapshot) {
+                    DocumentSnapshot snapshot = (DocumentSnapshot) snapshotObject;
+                    if (snapshot.exists()) {
+                        // 새로 만든 안정적인 매퍼 메소드를 호출합니다.
+                        Recipe recipe = Recipe.fromDocumentSnapshot(snapshot);
+                        recipes.add(recipe);
                     }
                 }
-                callback.onSuccess(recipes);
-            }).addOnFailureListener(callback::onError);
-
+            }
+            callback.onSuccess(recipes);
         }).addOnFailureListener(callback::onError);
     }
 }
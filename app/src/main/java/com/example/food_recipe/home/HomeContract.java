@@ -4,6 +4,7 @@ import androidx.annotation.Nullable;
 
 import com.example.food_recipe.base.BaseContract;
 import com.example.food_recipe.model.Recipe;
+import com.example.food_recipe.model.SearchHit;
 
 import java.util.List;
 
@@ -14,10 +15,11 @@ import java.util.List;
 public interface HomeContract {
 
     // [수정] 모든 View의 기본 계약인 BaseContract.View를 상속받도록 수정합니다.
+    // [변경] 저장해 둔 홈 화면과 새로 받은 목록을 같은 형태로 그리도록 카드(SearchHit) 목록을 받습니다.
     interface View extends BaseContract.View {
-        void showRecommendedRecipes(List<Recipe> recipes);
-        void showPopularRecipes(List<Recipe> recipes);
-        void showRecentAndFavorites(List<Recipe> recipes);
+        void showRecommendedRecipes(List<SearchHit> recipes);
+        void showPopularRecipes(List<SearchHit> recipes);
+        void showRecentAndFavorites(List<SearchHit> recipes);
         void showEmptyRecentAndFavorites();
         void setUserName(@Nullable String username);
         void showError(String message);
@@ -42,5 +44,18 @@ public interface HomeContract {
         void getPopularRecipes(OnFinishedListener<List<Recipe>> callback);
         void getRecommendedRecipes(OnFinishedListener<List<Recipe>> callback);
         void getRecentAndFavoriteRecipes(OnFinishedListener<List<Recipe>> callback);
+
+        /**
+         * [추가] 현재 사용자가 마지막으로 본 홈 화면을 불러옵니다. 없으면 null을 전달합니다.
+         * 메모리에 있으면 호출 안에서 바로 전달합니다.
+         */
+        void loadFeedSnapshot(OnFinishedListener<HomeFeedSnapshotStore.Snapshot> callback);
+
+        /**
+         * [추가] 현재 사용자의 홈 화면을 저장합니다.
+         * [변경] null인 목록과 userNameLoaded가 false인 이름은 이번에 불러오지 못한 영역으로 보고, 이전에 저장된 값을 유지합니다.
+         */
+        void saveFeedSnapshot(boolean userNameLoaded, @Nullable String userName, @Nullable List<SearchHit> recentAndFavorites,
+                              @Nullable List<SearchHit> recommended, @Nullable List<SearchHit> popular);
     }
 }
@@ -0,0 +1,219 @@
+package com.example.food_recipe.home;
+
+import android.content.Context;
+import android.os.Handler;
+import android.os.Looper;
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.annotation.WorkerThread;
+
+import com.example.food_recipe.model.SearchHit;
+import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * [추가] 마지막으로 그린 홈 화면(사용자 이름과 세 개의 레시피 목록)을 보관하는 저장소입니다.
+ * - 앱을 새로 시작했을 때 네트워크 응답을 기다리지 않고 첫 화면을 바로 그리기 위해 사용합니다.
+ *   (stale-while-revalidate: 저장된 화면을 먼저 보여주고, 새로 받은 목록으로 하나씩 교체)
+ * - 카드에 필요한 필드만 담은 {@link SearchHit}으로 저장하므로 레시피 전체(조리 순서 등)를 저장하지 않습니다.
+ * - 메모리에 마지막 값을 두어 같은 프로세스에서는 파일을 다시 읽지 않고, 디스크 읽기/쓰기는 전용 스레드에서 실행합니다.
+ * - 사용자(uid)별로 하나만 보관하며, 다른 사용자의 화면은 보여주지 않습니다.
+ */
+public class HomeFeedSnapshotStore {
+
+    private static final String TAG = "HomeFeedSnapshotStore";
+
+    /** 이보다 오래된 화면은 보여주지 않습니다. */
+    static final long MAX_AGE_MS = 7 * 24 * 60 * 60 * 1000L;
+    /** 비로그인 사용자의 화면을 구분하는 키입니다. */
+    static final String GUEST = "";
+
+    private static final String FILE_NAME = "home_feed_v1.json";
+
+    private static HomeFeedSnapshotStore instance;
+
+    private final File file;
+    private final ExecutorService diskExecutor = Executors.newSingleThreadExecutor();
+    private final Handler mainHandler = new Handler(Looper.getMainLooper());
+    private final Gson gson = new Gson();
+    // 마지막으로 저장하거나 읽은 값 (메인 스레드와 디스크 스레드가 함께 사용)
+    private volatile Snapshot latest;
+
+    /**
+     * 홈 화면 한 장의 내용입니다. 디스크에는 Gson으로 그대로 직렬화됩니다.
+     */
+    public static class Snapshot {
+        final String owner;
+        final long savedAt;
+        final String userName;
+        final List<SearchHit> recentAndFavorites;
+        final List<SearchHit> recommended;
+        final List<SearchHit> popular;
+
+        Snapshot(String owner, long savedAt, String userName, List<SearchHit> recentAndFavorites,
+                 List<SearchHit> recommended, List<SearchHit> popular) {
+            this.owner = owner;
+            this.savedAt = savedAt;
+            this.userName = userName;
+            this.recentAndFavorites = recentAndFavorites;
+            this.recommended = recommended;
+            this.popular = popular;
+        }
+
+        @Nullable
+        public String getUserName() {
+            return userName;
+        }
+
+        @NonNull
+        public List<SearchHit> getRecentAndFavorites() {
+            return recentAndFavorites != null ? recentAndFavorites : Collections.emptyList();
+        }
+
+        @NonNull
+        public List<SearchHit> getRecommended() {
+            return recommended != null ? recommended : Collections.emptyList();
+        }
+
+        @NonNull
+        public List<SearchHit> getPopular() {
+            return popular != null ? popular : Collections.emptyList();
+        }
+
+        boolean isUsableFor(String owner, long now) {
+            return owner.equals(this.owner) && now - savedAt < MAX_AGE_MS;
+        }
+    }
+
+    /** 저장된 화면을 읽었을 때 메인 스레드에서 호출됩니다. 없으면 null입니다. */
+    public interface LoadCallback {
+        void onLoaded(@Nullable Snapshot snapshot);
+    }
+
+    private HomeFeedSnapshotStore(Context context) {
+        this(new File(context.getApplicationContext().getCacheDir(), FILE_NAME));
+    }
+
+    HomeFeedSnapshotStore(File file) {
+        this.file = file;
+    }
+
+    public static synchronized HomeFeedSnapshotStore getInstance(Context context) {
+        if (instance == null) {
+            instance = new HomeFeedSnapshotStore(context);
+        }
+        return instance;
+    }
+
+    /**
+     * 메모리에 있는 화면만 찾습니다. 같은 프로세스에서 홈 탭으로 돌아왔을 때 첫 프레임에 바로 그리기 위해 사용합니다.
+     */
+    @Nullable
+    public Snapshot peek(@NonNull String owner, long now) {
+        Snapshot snapshot = latest;
+        return snapshot != null && snapshot.isUsableFor(owner, now) ? snapshot : null;
+    }
+
+    /**
+     * 메모리에 없으면 디스크에서 읽어 메인 스레드로 전달합니다.
+     */
+    public void load(@NonNull String owner, long now, @NonNull LoadCallback callback) {
+        Snapshot cached = peek(owner, now);
+        if (cached != null) {
+            callback.onLoaded(cached);
+            return;
+        }
+        diskExecutor.execute(() -> {
+            Snapshot snapshot = readFromDisk(owner, now);
+            mainHandler.post(() -> callback.onLoaded(snapshot));
+        });
+    }
+
+    /**
+     * 화면을 메모리에 즉시 저장하고, 디스크에는 백그라운드로 기록합니다.
+     * [변경] 이번에 불러오지 못한 영역(null인 목록, userNameLoaded가 false인 이름)은 같은 사용자의 이전 화면 값을 유지합니다.
+     * 이전 화면을 아직 디스크에서 읽지 않았을 수 있으므로, 이때는 병합과 기록을 모두 디스크 스레드에서 합니다.
+     */
+    public void save(@NonNull Snapshot snapshot, boolean userNameLoaded) {
+        if (userNameLoaded && snapshot.recentAndFavorites != null
+                && snapshot.recommended != null && snapshot.popular != null) {
+            latest = snapshot;
+            diskExecutor.execute(() -> writeToDisk(snapshot));
+            return;
+        }
+        diskExecutor.execute(() -> {
+            Snapshot merged = merge(readFromDisk(snapshot.owner, snapshot.savedAt), snapshot, userNameLoaded);
+            latest = merged;
+            writeToDisk(merged);
+        });
+    }
+
+    private static Snapshot merge(@Nullable Snapshot previous, Snapshot loaded, boolean userNameLoaded) {
+        if (previous == null) {
+            return loaded;
+        }
+        return new Snapshot(loaded.owner, loaded.savedAt,
+                userNameLoaded ? loaded.userName : previous.userName,
+                loaded.recentAndFavorites != null ? loaded.recentAndFavorites : previous.recentAndFavorites,
+                loaded.recommended != null ? loaded.recommended : previous.recommended,
+                loaded.popular != null ? loaded.popular : previous.popular);
+    }
+
+    @WorkerThread
+    @Nullable
+    Snapshot readFromDisk(String owner, long now) {
+        Snapshot snapshot = latest;
+        if (snapshot == null && file.exists()) {
+            try (Reader reader = new InputStreamReader(new FileInputStream(file), StandardCharsets.UTF_8)) {
+                snapshot = gson.fromJson(reader, Snapshot.class);
+            } catch (IOException | JsonParseException e) {
+                Log.w(TAG, "저장된 홈 화면을 읽지 못해 삭제합니다.", e);
+                file.delete();
+                return null;
+            }
+            if (snapshot != null && snapshot.owner != null) {
+                latest = snapshot;
+            }
+        }
+        return snapshot != null && snapshot.owner != null && snapshot.isUsableFor(owner, now) ? snapshot : null;
+    }
+
+    @WorkerThread
+    private void writeToDisk(Snapshot snapshot) {
+        if (snapshot != latest) {
+            return; // 더 최근 값이 뒤이어 기록됩니다.
+        }
+        File dir = file.getParentFile();
+        if (dir != null && !dir.exists() && !dir.mkdirs()) {
+            Log.w(TAG, "저장 디렉터리를 만들 수 없습니다: " + dir);
+            return;
+        }
+        File temp = new File(file.getPath() + ".tmp");
+        try (Writer writer = new OutputStreamWriter(new FileOutputStream(temp), StandardCharsets.UTF_8)) {
+            gson.toJson(snapshot, writer);
+        } catch (IOException e) {
+            Log.w(TAG, "홈 화면을 저장하지 못했습니다.", e);
+            temp.delete();
+            return;
+        }
+        if (!temp.renameTo(file)) {
+            temp.delete();
+        }
+    }
+}
@@ -22,7 +22,7 @@ import com.example.food_recipe.R;
 import com.example.food_recipe.adapter.RecipeAdapter;
 import com.example.food_recipe.main.AuthViewModel;
 import com.example.food_recipe.main.MainActivity;
-import com.example.food_recipe.model.Recipe;
+import com.example.food_recipe.model.SearchHit;
 import java.util.List;
 
 /**
@@ -122,7 +122,7 @@ public class HomeFragment extends Fragment implements HomeContract.View, RecipeA
     }
 
     @Override
-    public void onItemClick(Recipe recipe) {
+    public void onItemClick(SearchHit recipe) {
         if (recipe != null && recipe.getRcpSno() != null && !recipe.getRcpSno().isEmpty()) {
             Bundle bundle = new Bundle();
             bundle.putString("rcpSno", recipe.getRcpSno());
@@ -134,18 +134,18 @@ public class HomeFragment extends Fragment implements HomeContract.View, RecipeA
     }
 
     @Override
-    public void showRecommendedRecipes(List<Recipe> recipes) {
-        recommendedAdapter.setRecipes(recipes);
+    public void showRecommendedRecipes(List<SearchHit> recipes) {
+        recommendedAdapter.setHits(recipes);
     }
 
     @Override
-    public void showPopularRecipes(List<Recipe> recipes) {
-        popularAdapter.setRecipes(recipes);
+    public void showPopularRecipes(List<SearchHit> recipes) {
+        popularAdapter.setHits(recipes);
     }
 
     @Override
-    public void showRecentAndFavorites(List<Recipe> recipes) {
-        recentFavAdapter.setRecipes(recipes);
+    public void showRecentAndFavorites(List<SearchHit> recipes) {
+        recentFavAdapter.setHits(recipes);
         recentFavRecyclerView.setVisibility(View.VISIBLE);
         recentFavEmptyView.setVisibility(View.GONE);
         moreFavoritesButton.setVisibility(View.VISIBLE);
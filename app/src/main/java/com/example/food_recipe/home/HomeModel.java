@@ -1,11 +1,21 @@
 package com.example.food_recipe.home;
 
 import android.content.Context;
+import android.os.Handler;
+import android.os.Looper;
+import android.os.SystemClock;
 import android.util.Log;
 
 import androidx.annotation.NonNull;
 
 import com.example.food_recipe.model.Recipe;
+import com.example.food_recipe.model.SearchHit;
+import com.example.food_recipe.model.UserProfile;
+import com.example.food_recipe.repository.UserProfileStore;
+import com.example.food_recipe.search.ExclusionFilter;
+import com.example.food_recipe.search.IngredientLexicon;
+import com.example.food_recipe.search.LocalRecipeIndexProvider;
+import com.example.food_recipe.utils.ExcludedIngredientManager;
 import com.example.food_recipe.utils.RecentRecipeManager;
 import com.google.android.gms.tasks.Task;
 import com.google.android.gms.tasks.Tasks;
@@ -21,26 +31,30 @@ import com.google.firebase.firestore.QuerySnapshot;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Random;
 import java.util.Set;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 /**
- * [v4: 시연용 최종 안정화 버전]
  * HomeContract.Model 인터페이스의 구현체. 홈 화면의 모든 비즈니스 로직을 담당합니다.
- * - 3단계 개인화 추천 로직 (재료 -> 취향 -> 랜덤)
- * - 4순위 최종 Fallback (인기 레시피)
- * - Firestore 쿼리 제한 (10개) 핸들링 (Chunking)
- * - 네트워크 성능 최적화 (whereIn 쿼리 사용)
- * - 추천 순서 보장 (최근 본 목록)
+ * - 추천은 냉장고 재료 → 즐겨찾기 카테고리(취향) → 랜덤 → 인기 레시피 순서의 단계로, RecommendationTierExecutor가 마감 시간 안에
+ *   결과가 있는 가장 높은 단계를 고릅니다. 냉장고 재료 단계는 재료가 겹치는 정도(IngredientOverlapScorer)로 정렬하고,
+ *   랜덤 단계는 색인 필드(random_key)에서 보여줄 만큼만 읽습니다.
+ * - 사용자 문서(이름, 냉장고 재료, 즐겨찾기)는 UserProfileStore의 공유 스냅샷에서 읽고, 제외 재료가 들어간 레시피는 받은 결과에서 걸러냅니다.
+ * - ID 목록 조회는 Firestore whereIn 제한(10개)에 맞춰 나눠 보내고, 최근 본 목록의 순서를 유지합니다.
  */
 public class HomeModel implements HomeContract.Model {
 
     private final FirebaseFirestore db = FirebaseFirestore.getInstance();
     private final FirebaseAuth auth = FirebaseAuth.getInstance();
+    // [추가] 사용자 문서(이름, 냉장고 재료, 즐겨찾기)는 앱 전체가 공유하는 스냅샷에서 읽습니다.
+    private final UserProfileStore userProfileStore = UserProfileStore.getInstance();
     private final Context context;
     private static final String TAG = "HomeModel";
 
@@ -49,8 +63,49 @@ public class HomeModel implements HomeContract.Model {
      */
     private static final int FIRESTORE_QUERY_LIMIT = 10;
 
+    /** [추가] 추천 목록에 표시할 레시피 수입니다. */
+    private static final int RECOMMENDATION_COUNT = 10;
+
+    /**
+     * [추가] 레시피마다 [0, 1) 범위의 균등 난수를 저장한 필드입니다. 단일 필드 색인으로 정렬/범위 조회합니다.
+     * 업로드 시 data_pipeline/step4에서 넣고, 기존 문서는 data_pipeline/step6으로 채웁니다.
+     */
+    private static final String RANDOM_KEY_FIELD = "random_key";
+    /** [추가] 랜덤 추천 한 번에 사용하는 임의 지점(pivot) 수입니다. 지점마다 이어진 레시피를 읽으므로 지점이 많을수록 결과가 고르게 섞입니다. */
+    private static final int RANDOM_PIVOTS = 4;
+    /**
+     * [추가] 지점 하나에서 읽을 레시피 수입니다. (4 × 4 = 16건)
+     * 표시할 10개보다 6개를 더 읽어, 중복/즐겨찾기/제외 재료로 몇 개가 걸러져도 대부분 한 회차로 끝나도록 합니다.
+     */
+    private static final int RANDOM_READS_PER_PIVOT = 4;
+    /** [추가] 걸러진 뒤 표시할 레시피가 모자라면 새 지점으로 다시 읽는 최대 횟수입니다. */
+    private static final int RANDOM_MAX_ROUNDS = 2;
+
+    private final Random random = new Random();
+
+    /**
+     * [추가] 인기 레시피 쿼리는 홈 화면의 인기 목록과 추천 4순위가 함께 씁니다.
+     * 한 번의 로딩에서 같은 10건을 두 번 읽지 않도록, 이 시간 안에 시작한 쿼리는 결과를 나눠 씁니다.
+     */
+    private static final long POPULAR_SHARE_MS = 10_000;
+    private Task<QuerySnapshot> popularQuery;
+    private long popularQueryStartedAt;
+
+    /**
+     * [추가] 추천 단계 실행기입니다. 단계별 지연 시간과 어느 단계가 결과를 냈는지가 여기에 누적됩니다.
+     * HomeModel은 홈 화면이 다시 만들어질 때마다 새로 생성되므로 통계도 화면 단위입니다.
+     */
+    private final RecommendationTierExecutor<Recipe> tierExecutor = new RecommendationTierExecutor<>();
+
+    // [추가] 냉장고 재료 기반 추천을 정렬할 때 검색 화면과 같은 재료 사전으로 재료를 알아봅니다.
+    private final LocalRecipeIndexProvider indexProvider;
+    private final Handler mainHandler = new Handler(Looper.getMainLooper());
+
     public HomeModel(Context context) {
         this.context = context;
+        this.indexProvider = LocalRecipeIndexProvider.getInstance(context);
+        // 재료 기반 추천 쿼리가 끝나기 전에 재료 사전이 준비되도록 미리 읽기 시작합니다.
+        indexProvider.preload();
     }
 
     /**
@@ -63,37 +118,66 @@ public class HomeModel implements HomeContract.Model {
             callback.onSuccess(null);
             return;
         }
-        db.collection("users").document(user.getUid()).get()
-                .addOnSuccessListener(doc -> {
-                    if (doc != null && doc.exists()) {
-                        callback.onSuccess(doc.getString("username"));
-                    } else {
-                        callback.onSuccess(null);
-                    }
-                })
-                .addOnFailureListener(callback::onError);
+        // [변경] 사용자 문서는 UserProfileStore가 한 번만 읽어 홈 화면의 세 요청에 함께 나눠 줍니다.
+        userProfileStore.getProfile(new UserProfileStore.ProfileCallback() {
+            @Override
+            public void onProfileLoaded(@NonNull UserProfile profile) {
+                callback.onSuccess(profile.exists() ? profile.getUsername() : null);
+            }
+
+            @Override
+            public void onError(Exception e) {
+                callback.onError(e);
+            }
+        });
+    }
+
+    /**
+     * [추가] 현재 사용자의 제외 재료로 만든 필터입니다. 목록은 메모리에 캐시되어 있어 호출마다 다시 파싱하지 않습니다.
+     */
+    private ExclusionFilter currentExclusion() {
+        return ExclusionFilter.of(ExcludedIngredientManager.getInstance(context).getExcludedIngredients());
     }
 
     /**
      * '인기 레시피' (추천 수가 높은 순) 10개를 조회합니다.
-     * [4순위 Fallback]으로도 사용됩니다.
+     * [4순위 Fallback]으로도 사용됩니다. [변경] 인기 목록과 같은 쿼리 결과를 나눠 쓰므로 추가로 읽지 않습니다.
      */
     @Override
     public void getPopularRecipes(OnFinishedListener<List<Recipe>> callback) {
-        db.collection("recipes")
-                .orderBy("recommend_count", Query.Direction.DESCENDING)
-                .limit(10)
-                .get()
+        popularQuery()
                 .addOnSuccessListener(queryDocumentSnapshots -> {
                     List<Recipe> recipes = new ArrayList<>();
+                    ExclusionFilter exclusion = currentExclusion();
                     for (QueryDocumentSnapshot document : queryDocumentSnapshots) {
-                        recipes.add(Recipe.fromDocumentSnapshot(document));
+                        Recipe recipe = Recipe.fromDocumentSnapshot(document);
+                        // [추가] 제외 재료가 들어간 레시피는 건너뜁니다.
+                        if (!exclusion.excludes(SearchHit.fromRecipe(recipe))) {
+                            recipes.add(recipe);
+                        }
                     }
                     callback.onSuccess(recipes);
                 })
                 .addOnFailureListener(callback::onError);
     }
 
+    /**
+     * [추가] 진행 중이거나 최근에 성공한 인기 레시피 쿼리가 있으면 그대로 돌려주고, 없으면 새로 보냅니다.
+     */
+    private Task<QuerySnapshot> popularQuery() {
+        long now = SystemClock.elapsedRealtime();
+        boolean reusable = popularQuery != null && now - popularQueryStartedAt < POPULAR_SHARE_MS
+                && (!popularQuery.isComplete() || popularQuery.isSuccessful());
+        if (!reusable) {
+            popularQuery = db.collection("recipes")
+                    .orderBy("recommend_count", Query.Direction.DESCENDING)
+                    .limit(10)
+                    .get();
+            popularQueryStartedAt = now;
+        }
+        return popularQuery;
+    }
+
     /**
      * <h1>오늘의 추천 레시피 제공 메서드 (v4: 최종 안정화)</h1>
      * <p>사용자 상태에 따라 4단계 Fallback 로직을 수행합니다.</p>
@@ -103,70 +187,84 @@ public class HomeModel implements HomeContract.Model {
      * <li><b>3순위:</b> 기본 랜덤 추천</li>
      * <li><b>4순위:</b> 인기 레시피 추천 (최종 안전장치)</li>
      * </ol>
+     * <p>[변경] 앞 단계가 비었을 때 다음 단계를 차례로 시작하던 방식은 최악의 경우 네 번의 왕복을 기다렸습니다.
+     * 이제 1순위와 인기 목록의 결과를 나눠 쓰는 4순위를 동시에 시작하고, 마감 시간({@link RecommendationTierExecutor#DEFAULT_DEADLINE_MS})
+     * 안에 도착한 결과 중 가장 높은 순위를 전달합니다. 즐겨찾기 레시피를 먼저 읽어야 하는 2순위는 1순위가 비었을 때만 시작합니다.
+     * 문서를 16건 이상 읽는 3순위는 냉장고 재료가 있으면 1순위가 대개 결과를 내므로 앞 단계가 비었을 때만, 없으면 처음부터 시작합니다.</p>
      */
     @Override
     public void getRecommendedRecipes(OnFinishedListener<List<Recipe>> callback) {
         FirebaseUser user = auth.getCurrentUser();
         if (user == null) {
-            Log.d(TAG, "getRecommendedRecipes: 비로그인 상태. 3순위(랜덤) 추천을 시작합니다.");
-            fetchRandomRecipes(callback, new ArrayList<>());
+            Log.d(TAG, "getRecommendedRecipes: 비로그인 상태. 3순위(랜덤) 추천부터 시작합니다.");
+            runRecommendationTiers(new ArrayList<>(), new ArrayList<>(), callback);
             return;
         }
 
         Log.d(TAG, "getRecommendedRecipes: 로그인 상태. 맞춤형 추천 로직을 시작합니다. (UID: " + user.getUid() + ")");
-        db.collection("users").document(user.getUid()).get()
-                .addOnSuccessListener(userDoc -> {
-                    if (!userDoc.exists()) {
-                        Log.w(TAG, "getRecommendedRecipes: 사용자 문서를 찾을 수 없습니다. 3순위(랜덤) 추천으로 전환합니다.");
-                        fetchRandomRecipes(callback, new ArrayList<>());
-                        return;
-                    }
+        // [변경] 사용자 문서는 UserProfileStore에서 이미 해석된 값으로 받습니다.
+        userProfileStore.getProfile(new UserProfileStore.ProfileCallback() {
+            @Override
+            public void onProfileLoaded(@NonNull UserProfile profile) {
+                if (!profile.exists()) {
+                    Log.w(TAG, "getRecommendedRecipes: 사용자 문서를 찾을 수 없습니다. 3순위(랜덤) 추천부터 시작합니다.");
+                    runRecommendationTiers(new ArrayList<>(), new ArrayList<>(), callback);
+                    return;
+                }
 
-                    // [성능 개선] 즐겨찾기 목록을 여기서 한 번만 가져옵니다.
-                    List<String> bookmarkedIds = new ArrayList<>();
-                    if (userDoc.contains("bookmarked_recipes")) {
-                        List<String> ids = (List<String>) userDoc.get("bookmarked_recipes");
-                        if (ids != null) {
-                            bookmarkedIds.addAll(ids);
-                        }
-                    }
+                // [성능 개선] 즐겨찾기 목록을 여기서 한 번만 가져옵니다.
+                List<String> bookmarkedIds = new ArrayList<>(profile.getBookmarkedRecipeIds());
+                List<String> myIngredientNames = profile.getPantryItemNames();
+                Log.d(TAG, "getRecommendedRecipes: 냉장고 재료 " + myIngredientNames.size() + "개, 즐겨찾기 " + bookmarkedIds.size() + "개");
+                runRecommendationTiers(myIngredientNames, bookmarkedIds, callback);
+            }
 
-                    // 1순위: 냉장고 재료 기반 추천 로직 (버그 수정 완료)
-                    List<Map<String, Object>> myIngredientsData = (List<Map<String, Object>>) userDoc.get("myIngredients");
-                    List<String> myIngredientNames = new ArrayList<>();
-                    if (myIngredientsData != null && !myIngredientsData.isEmpty()) {
-                        for (Map<String, Object> itemMap : myIngredientsData) {
-                            if (itemMap.containsKey("name")) {
-                                myIngredientNames.add((String) itemMap.get("name"));
-                            }
-                        }
-                    }
+            @Override
+            public void onError(Exception e) {
+                Log.e(TAG, "getRecommendedRecipes: 사용자 문서 조회 중 오류 발생. 안전하게 3순위(랜덤) 추천부터 시작합니다.", e);
+                runRecommendationTiers(new ArrayList<>(), new ArrayList<>(), callback);
+            }
+        });
+    }
 
-                    if (!myIngredientNames.isEmpty()) {
-                        Log.d(TAG, "getRecommendedRecipes: [1순위] 냉장고 재료 기반 추천을 시작합니다. (재료 " + myIngredientNames.size() + "개)");
-                        fetchRecipesByIngredients(myIngredientNames, bookmarkedIds, callback);
-                        return;
-                    }
+    /**
+     * [추가] 사용할 수 있는 추천 단계를 순위대로 모아 실행합니다.
+     * 냉장고 재료가 없으면 1순위를, 즐겨찾기가 없으면 2순위를 만들지 않습니다.
+     */
+    private void runRecommendationTiers(List<String> ingredients, List<String> bookmarkedIds,
+                                        OnFinishedListener<List<Recipe>> callback) {
+        List<RecommendationTierExecutor.Tier<Recipe>> tiers = new ArrayList<>();
+        if (!ingredients.isEmpty()) {
+            tiers.add(new RecommendationTierExecutor.Tier<>("pantry", false,
+                    cb -> fetchRecipesByIngredients(ingredients, bookmarkedIds, cb)));
+        }
+        if (!bookmarkedIds.isEmpty()) {
+            tiers.add(new RecommendationTierExecutor.Tier<>("favorite_category", false,
+                    cb -> fetchRecipesByFavoriteCategory(bookmarkedIds, cb)));
+        }
+        tiers.add(new RecommendationTierExecutor.Tier<>("random", ingredients.isEmpty(),
+                cb -> fetchRandomRecipes(cb, bookmarkedIds)));
+        tiers.add(new RecommendationTierExecutor.Tier<>("popular", true, this::getPopularRecipes));
 
-                    // 2순위: 즐겨찾기 카테고리 기반 추천 로직
-                    if (!bookmarkedIds.isEmpty()) {
-                        Log.d(TAG, "getRecommendedRecipes: [2순위] 즐겨찾기 카테고리 기반 추천을 시작합니다. (즐겨찾기 " + bookmarkedIds.size() + "개)");
-                        fetchRecipesByFavoriteCategory(bookmarkedIds, callback);
-                        return;
-                    }
+        tierExecutor.execute(tiers, new OnFinishedListener<List<Recipe>>() {
+            @Override
+            public void onSuccess(List<Recipe> result) {
+                Log.d(TAG, "getRecommendedRecipes: " + tierExecutor.getStats());
+                callback.onSuccess(result);
+            }
 
-                    // 3순위: 기본 랜덤 추천
-                    Log.d(TAG, "getRecommendedRecipes: [3순위] 냉장고 재료와 즐겨찾기가 모두 비어있어, 기본 랜덤 추천을 시작합니다.");
-                    fetchRandomRecipes(callback, bookmarkedIds);
-                })
-                .addOnFailureListener(e -> {
-                    Log.e(TAG, "getRecommendedRecipes: 사용자 문서 조회 중 오류 발생. 안전하게 3순위(랜덤) 추천으로 전환합니다.", e);
-                    fetchRandomRecipes(callback, new ArrayList<>());
-                });
+            @Override
+            public void onError(Exception e) {
+                Log.e(TAG, "getRecommendedRecipes: 모든 추천 단계 실패. " + tierExecutor.getStats(), e);
+                callback.onError(e);
+            }
+        });
     }
 
     /**
      * [수정] 1순위: 재료 기반 레시피 조회 (Firestore 10개 제한 버그 해결)
+     * [변경] 받은 후보를 섞지 않고, 냉장고 재료와 겹치는 정도가 큰 순서(같으면 추천 수 순서)로 10개를 고릅니다.
+     * [변경] 결과가 없어도 다음 순위로 넘기지 않고 빈 목록을 전달합니다. 다음 순위는 RecommendationTierExecutor가 고릅니다.
      */
     private void fetchRecipesByIngredients(List<String> ingredients, List<String> bookmarkedIds, OnFinishedListener<List<Recipe>> callback) {
         
@@ -187,25 +285,20 @@ public class HomeModel implements HomeContract.Model {
         Tasks.whenAllSuccess(tasks).addOnSuccessListener(results -> {
             Log.d(TAG, "fetchRecipesByIngredients: 병렬 쿼리 성공. 결과 병합 및 필터링을 시작합니다.");
             
-            List<Recipe> finalRecipes = processQueryResults(results, bookmarkedIds);
-            
-            // 3. Fallback 로직은 여기서 담당
-            if (finalRecipes.isEmpty()) {
-                Log.d(TAG, "fetchRecipesByIngredients: 1순위 추천 결과가 없습니다. 2순위(즐겨찾기) 추천으로 전환합니다.");
-                fetchRecipesByFavoriteCategory(bookmarkedIds, callback); // 2순위로 전환
-            } else {
+            rankByPantryOverlap(collectValidRecipes(results, bookmarkedIds), ingredients, finalRecipes -> {
                 Log.d(TAG, "fetchRecipesByIngredients: 1순위 추천 최종 레시피 " + finalRecipes.size() + "개를 반환합니다.");
                 callback.onSuccess(finalRecipes);
-            }
+            });
 
         }).addOnFailureListener(e -> {
-            Log.e(TAG, "fetchRecipesByIngredients: 재료 기반 쿼리 실패. 2순위(즐겨찾기) 추천으로 전환합니다.", e);
-            fetchRecipesByFavoriteCategory(bookmarkedIds, callback);
+            Log.e(TAG, "fetchRecipesByIngredients: 재료 기반 쿼리 실패.", e);
+            callback.onError(e);
         });
     }
 
     /**
      * [수정] 2순위: 즐겨찾기 카테고리 기반 레시피 조회 (무한 루프 버그 해결)
+     * [변경] 결과가 없으면 빈 목록을, 조회에 실패하면 오류를 전달합니다.
      */
     private void fetchRecipesByFavoriteCategory(List<String> bookmarkedIds, OnFinishedListener<List<Recipe>> callback) {
         
@@ -214,8 +307,8 @@ public class HomeModel implements HomeContract.Model {
             @Override
             public void onSuccess(List<Recipe> bookmarkedRecipes) {
                 if (bookmarkedRecipes.isEmpty()) {
-                    Log.d(TAG, "fetchRecipesByFavoriteCategory: 즐겨찾기 레시피 정보가 없습니다. 3순위(랜덤) 추천으로 전환합니다.");
-                    fetchRandomRecipes(callback, bookmarkedIds); // 3순위로 전환
+                    Log.d(TAG, "fetchRecipesByFavoriteCategory: 즐겨찾기 레시피 정보가 없습니다.");
+                    callback.onSuccess(new ArrayList<>());
                     return;
                 }
 
@@ -229,8 +322,8 @@ public class HomeModel implements HomeContract.Model {
                 }
 
                 if (categoryCounts.isEmpty()) {
-                    Log.d(TAG, "fetchRecipesByFavoriteCategory: 유효한 카테고리를 찾지 못했습니다. 3순위(랜덤) 추천으로 전환합니다.");
-                    fetchRandomRecipes(callback, bookmarkedIds); // 3순위로 전환
+                    Log.d(TAG, "fetchRecipesByFavoriteCategory: 유효한 카테고리를 찾지 못했습니다.");
+                    callback.onSuccess(new ArrayList<>());
                     return;
                 }
 
@@ -250,34 +343,119 @@ public class HomeModel implements HomeContract.Model {
                             }
                             
                             List<Recipe> finalRecipes = processQueryResults(results, bookmarkedIds);
-                            
-                            // 5. Fallback 로직은 여기서 담당
-                            if (finalRecipes.isEmpty()) {
-                                Log.d(TAG, "fetchRecipesByFavoriteCategory: 2순위 추천 결과가 없습니다. 3순위(랜덤) 추천으로 전환합니다.");
-                                fetchRandomRecipes(callback, bookmarkedIds); // 3순위로 전환
-                            } else {
-                                Log.d(TAG, "fetchRecipesByFavoriteCategory: 2순위 추천 최종 레시피 " + finalRecipes.size() + "개를 반환합니다.");
-                                callback.onSuccess(finalRecipes);
-                            }
+                            Log.d(TAG, "fetchRecipesByFavoriteCategory: 2순위 추천 최종 레시피 " + finalRecipes.size() + "개를 반환합니다.");
+                            callback.onSuccess(finalRecipes);
                         })
                         .addOnFailureListener(e -> {
-                            Log.e(TAG, "fetchRecipesByFavoriteCategory: 카테고리 기반 검색 오류. 3순위(랜덤) 추천으로 전환합니다.", e);
-                            fetchRandomRecipes(callback, bookmarkedIds); // 3순위로 전환
+                            Log.e(TAG, "fetchRecipesByFavoriteCategory: 카테고리 기반 검색 오류.", e);
+                            callback.onError(e);
                         });
             }
 
             @Override
             public void onError(Exception e) {
-                Log.e(TAG, "fetchRecipesByFavoriteCategory: 즐겨찾기 레시피 정보 조회 오류. 3순위(랜덤) 추천으로 전환합니다.", e);
-                fetchRandomRecipes(callback, bookmarkedIds); // 3순위로 전환
+                Log.e(TAG, "fetchRecipesByFavoriteCategory: 즐겨찾기 레시피 정보 조회 오류.", e);
+                callback.onError(e);
             }
         });
     }
 
     /**
      * [수정] 3순위: 기본 랜덤 레시피 조회 (최종 Fallback 추가)
+     * [변경] 결과가 없어도 4순위로 넘기지 않고 빈 목록을 전달합니다. 4순위(인기 레시피)는 처음부터 함께 실행됩니다.
+     * [변경] 앞쪽 100개 문서를 읽어 섞는 대신, random_key 색인의 임의 지점 {@link #RANDOM_PIVOTS}곳에서
+     * {@link #RANDOM_READS_PER_PIVOT}개씩만 읽습니다. (홈 로딩당 문서 읽기 100건 → 보통 16건, 걸러진 뒤 모자라 한 회차 더 읽으면 32건)
+     * 지점은 [0, 1)을 같은 폭으로 나눈 구간마다 하나씩 뽑아, 사용자와 호출마다 다르고 한쪽에 몰리지 않는 결과를 얻습니다.
      */
     private void fetchRandomRecipes(OnFinishedListener<List<Recipe>> callback, List<String> bookmarkedIds) {
+        fetchRandomRecipes(callback, bookmarkedIds, new ArrayList<>(), 1);
+    }
+
+    /**
+     * [추가] 임의 지점들에서 레시피를 읽고, 걸러진 결과가 {@link #RECOMMENDATION_COUNT}개보다 적으면 새 지점으로 한 번 더 읽습니다.
+     * @param collected 이전 회차까지 받은 쿼리 결과
+     * @param round     현재 회차 (1부터)
+     */
+    private void fetchRandomRecipes(OnFinishedListener<List<Recipe>> callback, List<String> bookmarkedIds,
+                                    List<Object> collected, int round) {
+        List<Task<QuerySnapshot>> tasks = new ArrayList<>();
+        for (double pivot : randomPivots(RANDOM_PIVOTS)) {
+            tasks.add(db.collection("recipes")
+                    .orderBy(RANDOM_KEY_FIELD)
+                    .startAt(pivot)
+                    .limit(RANDOM_READS_PER_PIVOT)
+                    .get());
+        }
+
+        Tasks.whenAllSuccess(tasks).addOnSuccessListener(results -> {
+            int reads = 0;
+            int shortfall = 0;
+            for (Object result : results) {
+                int size = ((QuerySnapshot) result).size();
+                reads += size;
+                shortfall += RANDOM_READS_PER_PIVOT - size;
+            }
+            if (reads == 0 || shortfall == 0) {
+                onRandomRoundLoaded(callback, bookmarkedIds, collected, round, results, reads);
+                return;
+            }
+            // 키 공간의 끝(1.0)에 가까운 지점은 끝까지 읽어도 모자랍니다. 모자란 만큼 처음(0)부터 이어서 읽습니다.
+            int pivotReads = reads;
+            db.collection("recipes")
+                    .orderBy(RANDOM_KEY_FIELD)
+                    .limit(shortfall)
+                    .get()
+                    .addOnSuccessListener(wrapped -> {
+                        List<Object> all = new ArrayList<>(results);
+                        all.add(wrapped);
+                        onRandomRoundLoaded(callback, bookmarkedIds, collected, round, all, pivotReads + wrapped.size());
+                    })
+                    .addOnFailureListener(e -> onRandomRoundLoaded(callback, bookmarkedIds, collected, round, results, pivotReads));
+        }).addOnFailureListener(e -> {
+            Log.e(TAG, "fetchRandomRecipes: 3순위 랜덤 쿼리 실패.", e);
+            callback.onError(e);
+        });
+    }
+
+    /**
+     * [추가] 한 회차의 조회 결과를 이전 회차의 결과와 합쳐, 모자라면 다음 회차를 읽고 아니면 전달합니다.
+     * @param reads 이번 회차에 읽은 문서 수
+     */
+    private void onRandomRoundLoaded(OnFinishedListener<List<Recipe>> callback, List<String> bookmarkedIds,
+                                     List<Object> collected, int round, List<?> results, int reads) {
+        List<Object> merged = new ArrayList<>(collected);
+        merged.addAll(results);
+        List<Recipe> finalRecipes = processQueryResults(merged, bookmarkedIds);
+        Log.d(TAG, "fetchRandomRecipes: " + round + "회차 문서 " + reads + "건 조회, 추천 가능 " + finalRecipes.size() + "개");
+
+        if (reads > 0 && finalRecipes.size() < RECOMMENDATION_COUNT && round < RANDOM_MAX_ROUNDS) {
+            fetchRandomRecipes(callback, bookmarkedIds, merged, round + 1);
+        } else if (reads == 0 && collected.isEmpty()) {
+            // random_key가 아직 채워지지 않은 컬렉션입니다. (data_pipeline/step6 실행 전)
+            Log.w(TAG, "fetchRandomRecipes: random_key 색인 결과가 없습니다. 이전 방식(앞쪽 문서 조회)으로 전환합니다.");
+            fetchRandomRecipesByScan(callback, bookmarkedIds);
+        } else {
+            Log.d(TAG, "fetchRandomRecipes: 3순위 추천 최종 레시피 " + finalRecipes.size() + "개를 반환합니다.");
+            callback.onSuccess(finalRecipes);
+        }
+    }
+
+    /**
+     * [추가] [0, 1)을 count개의 같은 폭 구간으로 나누고 구간마다 하나씩 뽑은 지점입니다. (층화 추출)
+     * 구간 끝에 가까운 지점에서 읽은 레시피가 다음 구간으로 넘어갈 수는 있지만, 중복은 결과를 합칠 때 제거됩니다.
+     */
+    private double[] randomPivots(int count) {
+        double[] pivots = new double[count];
+        for (int i = 0; i < count; i++) {
+            pivots[i] = (i + random.nextDouble()) / count;
+        }
+        return pivots;
+    }
+
+    /**
+     * [변경] random_key가 없는 컬렉션을 위한 이전 방식입니다. 앞쪽 문서 100개를 읽어 섞습니다.
+     */
+    private void fetchRandomRecipesByScan(OnFinishedListener<List<Recipe>> callback, List<String> bookmarkedIds) {
         db.collection("recipes")
                 .limit(100) // 랜덤성 문제는 있으나 시연용으로는 OK
                 .get()
@@ -288,19 +466,12 @@ public class HomeModel implements HomeContract.Model {
                     }
                     
                     List<Recipe> finalRecipes = processQueryResults(results, bookmarkedIds);
-                    
-                    // [수정] 3순위가 마지막이 아님. 결과 0개일 시 4순위로 전환.
-                    if (!finalRecipes.isEmpty()) {
-                        Log.d(TAG, "fetchRandomRecipes: 3순위 추천 최종 레시피 " + finalRecipes.size() + "개를 반환합니다.");
-                        callback.onSuccess(finalRecipes);
-                    } else {
-                        Log.w(TAG, "fetchRandomRecipes: 3순위 추천 결과가 0개입니다. [4순위 Fallback] '인기 레시피' 추천으로 전환합니다.");
-                        getPopularRecipes(callback); // 4순위(인기 레시피)로 최종 전환
-                    }
+                    Log.d(TAG, "fetchRandomRecipes: 3순위 추천 최종 레시피 " + finalRecipes.size() + "개를 반환합니다.");
+                    callback.onSuccess(finalRecipes);
                 })
                 .addOnFailureListener(e -> {
-                    Log.e(TAG, "fetchRandomRecipes: 3순위 랜덤 쿼리 실패. 4순위(인기 레시피)로 전환합니다.", e);
-                    getPopularRecipes(callback); // 4순위(인기 레시피)로 최종 전환
+                    Log.e(TAG, "fetchRandomRecipes: 3순위 랜덤 쿼리 실패.", e);
+                    callback.onError(e);
                 });
     }
     
@@ -312,7 +483,52 @@ public class HomeModel implements HomeContract.Model {
      */
     @NonNull
     private List<Recipe> processQueryResults(@NonNull List<Object> results, @NonNull List<String> bookmarkedIds) {
-        Map<String, Recipe> validRecipesMap = new HashMap<>();
+        // 최종 결과 셔플 및 10개 선택
+        List<Recipe> validRecipes = collectValidRecipes(results, bookmarkedIds);
+        Collections.shuffle(validRecipes);
+        return new ArrayList<>(validRecipes.subList(0, Math.min(RECOMMENDATION_COUNT, validRecipes.size())));
+    }
+
+    /**
+     * [추가] 후보 레시피를 냉장고 재료와 겹치는 정도로 정렬해 최대 10개를 메인 스레드에서 onRanked로 전달합니다.
+     * 재료 목록이 없는(ingredients_raw만 있는) 레시피는 점수 0으로, 추천 수 순서로 뒤에 놓입니다.
+     */
+    private void rankByPantryOverlap(@NonNull List<Recipe> candidates, @NonNull List<String> pantryIngredients,
+                                     @NonNull Consumer<List<Recipe>> onRanked) {
+        IngredientLexicon lexicon = indexProvider.peekLexicon();
+        if (lexicon != null) {
+            onRanked.accept(rankByPantryOverlap(lexicon, candidates, pantryIngredients));
+            return;
+        }
+        // 재료 사전을 아직 읽는 중이면 인덱스 스레드에서 읽기가 끝난 뒤 정렬하고, 결과는 메인 스레드로 전달합니다.
+        indexProvider.submit(index -> {
+            List<Recipe> ranked = rankByPantryOverlap(indexProvider.peekLexicon(), candidates, pantryIngredients);
+            mainHandler.post(() -> onRanked.accept(ranked));
+        });
+    }
+
+    @NonNull
+    private static List<Recipe> rankByPantryOverlap(@NonNull IngredientLexicon lexicon, @NonNull List<Recipe> candidates,
+                                                    @NonNull List<String> pantryIngredients) {
+        IngredientOverlapScorer scorer = new IngredientOverlapScorer(lexicon, pantryIngredients);
+        for (Recipe recipe : candidates) {
+            scorer.add(recipe.getIngredients(), recipe.getRecommendCount());
+        }
+        int[] order = scorer.top(RECOMMENDATION_COUNT);
+        List<Recipe> ranked = new ArrayList<>(order.length);
+        for (int index : order) {
+            ranked.add(candidates.get(index));
+        }
+        return ranked;
+    }
+
+    /**
+     * [추가] 쿼리 결과를 합치고 중복, 즐겨찾기, 재료 정보가 없는 레시피, 제외 재료가 든 레시피를 걸러냅니다. (받은 순서 유지)
+     */
+    @NonNull
+    private List<Recipe> collectValidRecipes(@NonNull List<Object> results, @NonNull List<String> bookmarkedIds) {
+        Map<String, Recipe> validRecipesMap = new LinkedHashMap<>();
+        ExclusionFilter exclusion = currentExclusion();
 
         for (Object result : results) {
             QuerySnapshot snapshot = (QuerySnapshot) result;
@@ -335,16 +551,14 @@ public class HomeModel implements HomeContract.Model {
                 boolean hasIngredientsList = (ingredientsList != null && !ingredientsList.isEmpty());
                 boolean hasIngredientsRaw = (ingredientsRaw != null && !ingredientsRaw.isEmpty() && !"null".equalsIgnoreCase(ingredientsRaw));
 
-                if (hasIngredientsList || hasIngredientsRaw) {
+                // [추가] 필터링 4: 사용자가 제외한 재료가 들어간 레시피
+                if ((hasIngredientsList || hasIngredientsRaw) && !exclusion.excludes(SearchHit.fromRecipe(recipe))) {
                     validRecipesMap.put(docId, recipe);
                 }
             }
         }
 
-        // 최종 결과 셔플 및 10개 선택
-        List<Recipe> validRecipes = new ArrayList<>(validRecipesMap.values());
-        Collections.shuffle(validRecipes);
-        return new ArrayList<>(validRecipes.subList(0, Math.min(10, validRecipes.size())));
+        return new ArrayList<>(validRecipesMap.values());
     }
 
     /**
@@ -362,38 +576,58 @@ public class HomeModel implements HomeContract.Model {
             return;
         }
 
-        db.collection("users").document(user.getUid()).get()
-                .addOnSuccessListener(userDoc -> {
-                    List<String> favoriteIds = new ArrayList<>();
-                    if (userDoc.exists() && userDoc.contains("bookmarked_recipes")) {
-                        favoriteIds = (List<String>) userDoc.get("bookmarked_recipes");
-                    }
-
-                    // [수정] 순서 보장을 위해 Set이 아닌 List로 직접 병합
-                    List<String> combinedIds = new ArrayList<>(recentIds);
-                    if (favoriteIds != null) {
-                        for (String favId : favoriteIds) {
-                            if (!combinedIds.contains(favId)) {
-                                combinedIds.add(favId);
-                            }
-                        }
+        userProfileStore.getProfile(new UserProfileStore.ProfileCallback() {
+            @Override
+            public void onProfileLoaded(@NonNull UserProfile profile) {
+                List<String> favoriteIds = profile.getBookmarkedRecipeIds();
+
+                // [수정] 순서 보장을 위해 Set이 아닌 List로 직접 병합
+                List<String> combinedIds = new ArrayList<>(recentIds);
+                for (String favId : favoriteIds) {
+                    if (!combinedIds.contains(favId)) {
+                        combinedIds.add(favId);
                     }
+                }
                     
-                    // 4. 미리보기이므로 최대 5개로 제한
-                    List<String> finalIds = combinedIds.stream().limit(5).collect(Collectors.toList());
-
-                    if (finalIds.isEmpty()) {
-                        callback.onSuccess(new ArrayList<>());
-                    } else {
-                        // [수정] 순서 보장을 위해 원본 ID 리스트(finalIds)를 함께 전달
-                        fetchRecipesByIds(finalIds, finalIds, callback);
-                    }
-                })
-                .addOnFailureListener(e -> {
-                    // 즐겨찾기 로드 실패 시, 최근 본 레시피만이라도 로드
-                    List<String> finalIds = recentIds.stream().limit(5).collect(Collectors.toList());
+                // 4. 미리보기이므로 최대 5개로 제한
+                List<String> finalIds = combinedIds.stream().limit(5).collect(Collectors.toList());
+
+                if (finalIds.isEmpty()) {
+                    callback.onSuccess(new ArrayList<>());
+                } else {
+                    // [수정] 순서 보장을 위해 원본 ID 리스트(finalIds)를 함께 전달
                     fetchRecipesByIds(finalIds, finalIds, callback);
-                });
+                }
+            }
+
+            @Override
+            public void onError(Exception e) {
+                // 즐겨찾기 로드 실패 시, 최근 본 레시피만이라도 로드
+                List<String> finalIds = recentIds.stream().limit(5).collect(Collectors.toList());
+                fetchRecipesByIds(finalIds, finalIds, callback);
+            }
+        });
+    }
+
+    /**
+     * [추가] 저장해 둔 홈 화면은 사용자(uid)별로 구분합니다.
+     */
+    @Override
+    public void loadFeedSnapshot(OnFinishedListener<HomeFeedSnapshotStore.Snapshot> callback) {
+        HomeFeedSnapshotStore.getInstance(context).load(feedOwner(), System.currentTimeMillis(), callback::onSuccess);
+    }
+
+    @Override
+    public void saveFeedSnapshot(boolean userNameLoaded, String userName, List<SearchHit> recentAndFavorites,
+                                 List<SearchHit> recommended, List<SearchHit> popular) {
+        long now = System.currentTimeMillis();
+        HomeFeedSnapshotStore.getInstance(context).save(new HomeFeedSnapshotStore.Snapshot(
+                feedOwner(), now, userName, recentAndFavorites, recommended, popular), userNameLoaded);
+    }
+
+    private String feedOwner() {
+        FirebaseUser user = auth.getCurrentUser();
+        return user != null ? user.getUid() : HomeFeedSnapshotStore.GUEST;
     }
 
     /**
@@ -2,6 +2,9 @@ package com.example.food_recipe.home;
 
 import com.example.food_recipe.base.BasePresenter;
 import com.example.food_recipe.model.Recipe;
+import com.example.food_recipe.model.SearchHit;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 /**
@@ -13,6 +16,20 @@ public class HomePresenter extends BasePresenter<HomeContract.View> implements H
     // [추가] 비동기 데이터 로딩 완료를 추적하기 위한 카운터
     private int loadCounter;
     private int totalLoadTasks;
+    // [추가] 로그인 상태가 바뀔 때마다 증가하며, 이전 상태에서 시작한 요청의 응답을 구분합니다.
+    private int loadGeneration;
+
+    // [추가] 지금 화면에 그려진 영역별 값입니다. (저장된 화면 또는 새로 받은 목록) 모두 불러오면 다음 실행을 위해 저장합니다.
+    private String shownUserName;
+    private List<SearchHit> shownRecentAndFavorites = Collections.emptyList();
+    private List<SearchHit> shownRecommended = Collections.emptyList();
+    private List<SearchHit> shownPopular = Collections.emptyList();
+    // [추가] 새 값이 도착한 영역입니다. 저장된 화면을 늦게 읽었을 때 새 값을 덮어쓰지 않도록 합니다.
+    // 실패한 영역은 표시하지 않으므로, 오프라인에서 저장된 화면을 늦게 읽어도 그 영역을 그릴 수 있습니다.
+    private boolean userNameFresh;
+    private boolean recentFresh;
+    private boolean recommendedFresh;
+    private boolean popularFresh;
 
 
     // [수정] 생성자에서 Context 주입을 제거하여 메모리 누수 위험을 방지합니다.
@@ -54,39 +71,119 @@ public class HomePresenter extends BasePresenter<HomeContract.View> implements H
         }
     }
 
+    /**
+     * [변경] 마지막으로 본 홈 화면을 먼저 그린 뒤, 네 영역을 새로 불러와 도착하는 대로 교체합니다.
+     * 저장된 화면이 있으면 로딩 표시 없이 바로 내용을 보여주고, 없을 때(첫 실행)만 모두 불러올 때까지 로딩을 표시합니다.
+     */
     @Override
     public void onAuthStateChanged(boolean isLoggedIn) {
         if (!isViewAttached()) return;
 
+        // [추가] 이전 로그인 상태에서 시작한 요청의 응답은 무시합니다.
+        int generation = ++loadGeneration;
+        shownUserName = null;
+        shownRecentAndFavorites = Collections.emptyList();
+        shownRecommended = Collections.emptyList();
+        shownPopular = Collections.emptyList();
+        userNameFresh = recentFresh = recommendedFresh = popularFresh = false;
+
         // [추가] 로딩 시작
         getView().showLoading();
         loadCounter = 0;
 
         if (isLoggedIn) {
             totalLoadTasks = 4; // 1.이름, 2.최근/즐찾, 3.추천, 4.인기
-            loadUserName();
-            loadRecentAndFavorites();
         } else {
             totalLoadTasks = 2; // 1.추천, 2.인기
+            userNameFresh = recentFresh = true;
             getView().setUserName(null);
             getView().showEmptyRecentAndFavorites();
         }
-        loadRecommendedRecipes();
-        loadPopularRecipes();
+        paintFeedSnapshot(generation);
+
+        if (isLoggedIn) {
+            loadUserName(generation);
+            loadRecentAndFavorites(generation);
+        }
+        loadRecommendedRecipes(generation);
+        loadPopularRecipes(generation);
+    }
+
+    /**
+     * [추가] 저장된 홈 화면 중, 아직 새 목록이 도착하지 않은 영역만 그립니다.
+     */
+    private void paintFeedSnapshot(int generation) {
+        model.loadFeedSnapshot(new HomeContract.Model.OnFinishedListener<HomeFeedSnapshotStore.Snapshot>() {
+            @Override
+            public void onSuccess(HomeFeedSnapshotStore.Snapshot snapshot) {
+                if (snapshot == null || generation != loadGeneration || !isViewAttached()) return;
+                if (!userNameFresh) {
+                    shownUserName = snapshot.getUserName();
+                    getView().setUserName(shownUserName);
+                }
+                if (!recentFresh) {
+                    shownRecentAndFavorites = snapshot.getRecentAndFavorites();
+                    showRecentAndFavorites(shownRecentAndFavorites);
+                }
+                if (!recommendedFresh) {
+                    shownRecommended = snapshot.getRecommended();
+                    getView().showRecommendedRecipes(shownRecommended);
+                }
+                if (!popularFresh) {
+                    shownPopular = snapshot.getPopular();
+                    getView().showPopularRecipes(shownPopular);
+                }
+                // 보여줄 내용이 있으므로 로딩 표시를 숨기고, 나머지 영역은 도착하는 대로 교체합니다.
+                getView().hideLoading();
+            }
+
+            @Override
+            public void onError(Exception e) {
+                // 저장된 화면이 없어도 네트워크 로딩은 그대로 진행됩니다.
+            }
+        });
     }
 
     // [추가] 모든 데이터 로드가 완료되었는지 확인하고 로딩 UI를 숨기는 헬퍼 메서드
+    // [변경] 모두 끝나면 새로 불러온 영역을 다음 실행을 위해 저장합니다. 실패한 영역은 null로 넘겨 이전에 저장된 값을 유지합니다.
     private void checkAllDataLoaded() {
         loadCounter++;
-        if (loadCounter >= totalLoadTasks && isViewAttached()) {
-            getView().hideLoading();
+        if (loadCounter >= totalLoadTasks) {
+            if (isViewAttached()) {
+                getView().hideLoading();
+            }
+            model.saveFeedSnapshot(userNameFresh, shownUserName,
+                    recentFresh ? shownRecentAndFavorites : null,
+                    recommendedFresh ? shownRecommended : null,
+                    popularFresh ? shownPopular : null);
+        }
+    }
+
+    private void showRecentAndFavorites(List<SearchHit> hits) {
+        if (hits.isEmpty()) {
+            getView().showEmptyRecentAndFavorites();
+        } else {
+            getView().showRecentAndFavorites(hits);
+        }
+    }
+
+    private static List<SearchHit> toHits(List<Recipe> recipes) {
+        List<SearchHit> hits = new ArrayList<>();
+        if (recipes != null) {
+            for (Recipe recipe : recipes) {
+                hits.add(SearchHit.fromRecipe(recipe));
+            }
         }
+        return hits;
     }
 
-    private void loadUserName() {
+    private void loadUserName(int generation) {
         model.getUserName(new HomeContract.Model.OnFinishedListener<String>() {
             @Override
             public void onSuccess(String userName) {
+                if (generation != loadGeneration) return;
+                shownUserName = userName;
+                userNameFresh = true;
                 if (isViewAttached()) {
                     getView().setUserName(userName);
                 }
@@ -95,8 +192,10 @@ public class HomePresenter extends BasePresenter<HomeContract.View> implements H
             }
             @Override
             public void onError(Exception e) {
+                if (generation != loadGeneration) return;
+                // [변경] 저장된 화면의 이름이 있으면 그대로 둡니다.
                 if (isViewAttached()) {
-                    getView().setUserName(null);
+                    getView().setUserName(shownUserName);
                 }
                 // [추가] 작업 완료 체크
                 checkAllDataLoaded();
@@ -104,18 +203,22 @@ public class HomePresenter extends BasePresenter<HomeContract.View> implements H
         });
     }
 
-    private void loadRecommendedRecipes() {
+    private void loadRecommendedRecipes(int generation) {
         model.getRecommendedRecipes(new HomeContract.Model.OnFinishedListener<List<Recipe>>() {
             @Override
             public void onSuccess(List<Recipe> recipes) {
+                if (generation != loadGeneration) return;
+                shownRecommended = toHits(recipes);
+                recommendedFresh = true;
                 if (isViewAttached()) {
-                    getView().showRecommendedRecipes(recipes);
+                    getView().showRecommendedRecipes(shownRecommended);
                 }
                 // [추가] 작업 완료 체크
                 checkAllDataLoaded();
             }
             @Override
             public void onError(Exception e) {
+                if (generation != loadGeneration) return;
                 if (isViewAttached()) {
                     getView().showError("추천 레시피 로딩 실패: " + e.getMessage());
                 }
@@ -125,18 +228,22 @@ public class HomePresenter extends BasePresenter<HomeContract.View> implements H
         });
     }
 
-    private void loadPopularRecipes() {
+    private void loadPopularRecipes(int generation) {
         model.getPopularRecipes(new HomeContract.Model.OnFinishedListener<List<Recipe>>() {
             @Override
             public void onSuccess(List<Recipe> recipes) {
+                if (generation != loadGeneration) return;
+                shownPopular = toHits(recipes);
+                popularFresh = true;
                 if (isViewAttached()) {
-                    getView().showPopularRecipes(recipes);
+                    getView().showPopularRecipes(shownPopular);
                 }
                 // [추가] 작업 완료 체크
                 checkAllDataLoaded();
             }
             @Override
             public void onError(Exception e) {
+                if (generation != loadGeneration) return;
                 if (isViewAttached()) {
                     getView().showError("인기 레시피 로딩 실패: " + e.getMessage());
                 }
@@ -146,24 +253,25 @@ public class HomePresenter extends BasePresenter<HomeContract.View> implements H
         });
     }
 
-    private void loadRecentAndFavorites() {
+    private void loadRecentAndFavorites(int generation) {
         model.getRecentAndFavoriteRecipes(new HomeContract.Model.OnFinishedListener<List<Recipe>>() {
             @Override
             public void onSuccess(List<Recipe> recipes) {
+                if (generation != loadGeneration) return;
+                shownRecentAndFavorites = toHits(recipes);
+                recentFresh = true;
                 if (isViewAttached()) {
-                    if (recipes == null || recipes.isEmpty()) {
-                        getView().showEmptyRecentAndFavorites();
-                    } else {
-                        getView().showRecentAndFavorites(recipes);
-                    }
+                    showRecentAndFavorites(shownRecentAndFavorites);
                 }
                 // [추가] 작업 완료 체크
                 checkAllDataLoaded();
             }
             @Override
             public void onError(Exception e) {
+                if (generation != loadGeneration) return;
+                // [변경] 저장된 화면의 목록이 있으면 그대로 둡니다.
                 if (isViewAttached()) {
-                    getView().showEmptyRecentAndFavorites();
+                    showRecentAndFavorites(shownRecentAndFavorites);
                 }
                 // [추가] 작업 완료 체크
                 checkAllDataLoaded();
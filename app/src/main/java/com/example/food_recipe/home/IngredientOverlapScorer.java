@@ -0,0 +1,229 @@
+package com.example.food_recipe.home;
+
+import androidx.annotation.NonNull;
+
+import com.example.food_recipe.search.IngredientLexicon;
+
+import java.util.Arrays;
+import java.util.Collection;
+
+/**
+ * [추가] 냉장고 재료 기반 추천에서 후보 레시피를 냉장고 재료와 얼마나 겹치는지로 정렬합니다.
+ * - 재료명은 검색 화면의 냉장고 재료 정렬과 같은 규칙({@link IngredientLexicon#ingredientId})으로 재료 사전의 번호로 바꾸고,
+ *   레시피마다 정렬된 번호 배열로 보관합니다.
+ * - [수정] 재료 사전에 없는 재료는 냉장고 재료와 일치할 수 없지만, 건너뛰면 그런 재료가 많은 레시피의 점수가 부풀려지므로
+ *   레시피마다 개수만 세어 어느 후보에도 없는 재료의 가중치(df = 0)로 분모에 더합니다.
+ *   후보의 번호 배열은 하나의 큰 int 배열에 이어 붙여 두므로(오프셋 배열로 구분) 후보가 많아도 객체를 만들지 않습니다.
+ * - 점수는 IDF 가중 Jaccard 유사도입니다: (레시피 ∩ 냉장고 재료의 가중치 합) / (레시피 ∪ 냉장고 재료의 가중치 합).
+ *   가중치 idf = ln((N + 1) / (df + 1)) + 1 은 후보 N개 중 그 재료가 들어간 후보 수(df)로 계산하므로,
+ *   소금/간장처럼 거의 모든 레시피에 들어가는 재료가 겹치는 것보다 흔하지 않은 재료가 겹치는 것을 더 높게 칩니다.
+ *   냉장고에 없는 재료가 많은 레시피는 분모가 커져 점수가 낮아집니다.
+ * - 점수가 같으면 추천 수(recommend_count)가 많은 순서, 그다음은 추가한 순서입니다.
+ * 한 스레드에서만 사용합니다. Android 의존성이 없는 순수 Java 클래스입니다.
+ */
+public final class IngredientOverlapScorer {
+
+    private static final int[] NO_IDS = new int[0];
+
+    private final IngredientLexicon lexicon;
+    // 재료 번호별 재료가 들어간 후보 수
+    private final int[] documentFrequency;
+    // 재료 번호별 냉장고 재료 여부
+    private final boolean[] inPantry;
+    private final int[] pantryIds;
+
+    // 후보 i의 재료 번호는 terms[offsets[i] .. offsets[i + 1])에 오름차순으로 있습니다.
+    private int[] terms = new int[1024];
+    private int[] offsets = new int[65];
+    private long[] recommendCounts = new long[64];
+    // [추가] 후보별 재료 사전에 없는 재료 수
+    private int[] unknownCounts = new int[64];
+    private int size;
+
+    // add()에서 재료 번호를 모으는 버퍼
+    private int[] scratch = new int[32];
+
+    /**
+     * @param lexicon 재료 번호를 매길 재료 사전
+     * @param pantry  냉장고 재료 이름 목록. 같은 재료가 여러 번 있어도 한 번만 셉니다.
+     */
+    public IngredientOverlapScorer(@NonNull IngredientLexicon lexicon, @NonNull Collection<String> pantry) {
+        this.lexicon = lexicon;
+        documentFrequency = new int[lexicon.size()];
+        inPantry = new boolean[lexicon.size()];
+        int[] ids = new int[pantry.size()];
+        int count = 0;
+        for (String name : pantry) {
+            int id = lexicon.ingredientId(name);
+            if (id >= 0) {
+                ids[count++] = id;
+                inPantry[id] = true;
+            }
+        }
+        pantryIds = sortedUnique(ids, count);
+    }
+
+    /**
+     * 후보 레시피를 추가합니다.
+     *
+     * @param ingredients    레시피의 재료 이름 목록. null이면 재료가 없는 후보로 봅니다.
+     * @param recommendCount 점수가 같을 때 사용할 추천 수
+     * @return 후보 번호 (추가한 순서, 0부터)
+     */
+    public int add(Collection<String> ingredients, long recommendCount) {
+        int count = 0;
+        int unknown = 0;
+        if (ingredients != null) {
+            for (String name : ingredients) {
+                int id = lexicon.ingredientId(name);
+                if (id < 0) {
+                    if (hasLetterOrDigit(name)) unknown++;
+                    continue;
+                }
+                if (count == scratch.length) scratch = Arrays.copyOf(scratch, count * 2);
+                scratch[count++] = id;
+            }
+        }
+        Arrays.sort(scratch, 0, count);
+
+        if (size + 1 == recommendCounts.length) {
+            recommendCounts = Arrays.copyOf(recommendCounts, recommendCounts.length * 2);
+            unknownCounts = Arrays.copyOf(unknownCounts, recommendCounts.length);
+            offsets = Arrays.copyOf(offsets, recommendCounts.length + 1);
+        }
+        int start = offsets[size];
+        if (start + count > terms.length) {
+            terms = Arrays.copyOf(terms, Math.max(terms.length * 2, start + count));
+        }
+        int end = start;
+        for (int i = 0; i < count; i++) {
+            int id = scratch[i];
+            if (end > start && terms[end - 1] == id) continue; // 같은 레시피에 두 번 적힌 재료
+            terms[end++] = id;
+            documentFrequency[id]++;
+        }
+        recommendCounts[size] = recommendCount;
+        unknownCounts[size] = unknown;
+        offsets[size + 1] = end;
+        return size++;
+    }
+
+    /** 추가한 후보 수입니다. */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * 점수가 높은 후보부터 최대 limit개의 후보 번호를 반환합니다.
+     */
+    @NonNull
+    public int[] top(int limit) {
+        int k = Math.min(limit, size);
+        if (k <= 0) {
+            return NO_IDS;
+        }
+        double[] scores = scores();
+
+        // 지금까지 고른 후보 중 가장 낮은 순위를 뿌리에 두는 크기 k의 힙으로, 전체를 정렬하지 않고 상위 k개를 고릅니다.
+        int[] heap = new int[k];
+        int heapSize = 0;
+        for (int i = 0; i < size; i++) {
+            if (heapSize < k) {
+                heap[heapSize] = i;
+                siftUp(heap, heapSize++, scores);
+            } else if (ranksBefore(i, heap[0], scores)) {
+                heap[0] = i;
+                siftDown(heap, heapSize, scores);
+            }
+        }
+        // 가장 낮은 순위부터 꺼내 뒤에서부터 채웁니다.
+        int[] order = new int[heapSize];
+        for (int n = heapSize - 1; n >= 0; n--) {
+            order[n] = heap[0];
+            heap[0] = heap[n];
+            siftDown(heap, n, scores);
+        }
+        return order;
+    }
+
+    /**
+     * 후보별 IDF 가중 Jaccard 점수입니다. 재료가 없는 후보는 0입니다.
+     */
+    @NonNull
+    double[] scores() {
+        double[] idf = new double[documentFrequency.length];
+        for (int id = 0; id < idf.length; id++) {
+            idf[id] = Math.log((size + 1.0) / (documentFrequency[id] + 1.0)) + 1.0;
+        }
+        // [추가] 재료 사전에 없는 재료는 어느 후보와도 같은 재료로 세지 않으므로 df = 0인 재료의 가중치입니다.
+        double unknownIdf = Math.log(size + 1.0) + 1.0;
+        double pantryWeight = 0;
+        for (int id : pantryIds) {
+            pantryWeight += idf[id];
+        }
+
+        double[] scores = new double[size];
+        for (int i = 0; i < size; i++) {
+            double recipeWeight = unknownCounts[i] * unknownIdf;
+            double shared = 0;
+            for (int p = offsets[i], end = offsets[i + 1]; p < end; p++) {
+                int id = terms[p];
+                recipeWeight += idf[id];
+                if (inPantry[id]) shared += idf[id];
+            }
+            double union = recipeWeight + pantryWeight - shared;
+            scores[i] = union > 0 ? shared / union : 0;
+        }
+        return scores;
+    }
+
+    /** 후보 a가 후보 b보다 앞 순위이면 true입니다. */
+    private boolean ranksBefore(int a, int b, double[] scores) {
+        if (scores[a] != scores[b]) return scores[a] > scores[b];
+        if (recommendCounts[a] != recommendCounts[b]) return recommendCounts[a] > recommendCounts[b];
+        return a < b;
+    }
+
+    private void siftUp(int[] heap, int index, double[] scores) {
+        int item = heap[index];
+        while (index > 0) {
+            int parent = (index - 1) >>> 1;
+            if (!ranksBefore(heap[parent], item, scores)) break;
+            heap[index] = heap[parent];
+            index = parent;
+        }
+        heap[index] = item;
+    }
+
+    private void siftDown(int[] heap, int heapSize, double[] scores) {
+        int index = 0;
+        int item = heap[0];
+        while (true) {
+            int child = 2 * index + 1;
+            if (child >= heapSize) break;
+            if (child + 1 < heapSize && ranksBefore(heap[child], heap[child + 1], scores)) child++;
+            if (!ranksBefore(item, heap[child], scores)) break;
+            heap[index] = heap[child];
+            index = child;
+        }
+        heap[index] = item;
+    }
+
+    /** 재료명으로 볼 글자가 있는지 확인합니다. null, 빈 문자열, 기호만 있는 항목은 재료로 세지 않습니다. */
+    private static boolean hasLetterOrDigit(String name) {
+        if (name == null) return false;
+        for (int i = 0; i < name.length(); i++) {
+            if (Character.isLetterOrDigit(name.charAt(i))) return true;
+        }
+        return false;
+    }
+
+    private static int[] sortedUnique(int[] ids, int count) {
+        Arrays.sort(ids, 0, count);
+        int unique = 0;
+        for (int i = 0; i < count; i++) {
+            if (unique == 0 || ids[unique - 1] != ids[i]) ids[unique++] = ids[i];
+        }
+        return Arrays.copyOf(ids, unique);
+    }
+}
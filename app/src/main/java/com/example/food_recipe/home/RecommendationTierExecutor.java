@@ -0,0 +1,317 @@
+package com.example.food_recipe.home;
+
+import android.util.Log;
+
+import androidx.annotation.MainThread;
+import androidx.annotation.NonNull;
+
+import com.example.food_recipe.utils.MainThreadTimer;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * [추가] 우선순위가 있는 추천 단계(tier)들을 실행하고, 결과가 있는 가장 높은 단계의 목록을 전달합니다.
+ * - 첫 번째 단계와 비용이 적은 단계({@link Tier#speculative})는 처음부터 동시에 시작합니다.
+ *   나머지 단계는 앞선 단계가 모두 비었거나 실패했을 때 시작하므로, 비싼 쿼리를 헛되이 보내지 않습니다.
+ * - 가장 높은 단계의 결과가 오면 바로 전달합니다. 마감 시간({@link #deadlineMs})이 지나도록 오지 않으면
+ *   그때까지 도착한 결과 중 가장 높은 단계를 전달하고, 아무것도 없으면 처음 도착하는 결과를 전달합니다.
+ *   따라서 최악의 경우에도 단계 수만큼 왕복을 차례로 기다리지 않습니다.
+ * - 모든 단계가 비면 빈 목록을, 모두 실패하면 마지막 오류를 전달합니다.
+ * - 요청마다 어떤 단계가 결과를 냈는지, 단계별 지연 시간(EWMA)과 비었거나 실패한 횟수를 기록합니다. ({@link #getStats()})
+ * 모든 콜백은 메인 스레드에서 호출되어야 하며, 각 단계도 메인 스레드에서 콜백해야 합니다.
+ */
+@MainThread
+public class RecommendationTierExecutor<T> {
+
+    private static final String TAG = "RecommendationTiers";
+
+    /** 높은 단계의 결과를 기다리는 기본 마감 시간입니다. 평소 Firestore 쿼리 한 번(수백 ms)은 기다립니다. */
+    public static final long DEFAULT_DEADLINE_MS = 1000;
+    private static final double LATENCY_EWMA_ALPHA = 0.3;
+
+    /** 단계 하나의 조회 방법입니다. 결과가 없으면 빈 목록으로 성공을 전달합니다. */
+    public interface TierFetcher<T> {
+        void fetch(HomeContract.Model.OnFinishedListener<List<T>> callback);
+    }
+
+    /**
+     * 추천 단계 하나입니다. 목록에 넣은 순서가 우선순위입니다.
+     */
+    public static final class Tier<T> {
+        final String name;
+        final boolean speculative;
+        final TierFetcher<T> fetcher;
+
+        /**
+         * @param name        통계와 로그에 사용할 이름
+         * @param speculative true이면 앞선 단계의 결과를 기다리지 않고 처음부터 시작합니다. 비용이 적은 단계에만 사용합니다.
+         */
+        public Tier(@NonNull String name, boolean speculative, @NonNull TierFetcher<T> fetcher) {
+            this.name = name;
+            this.speculative = speculative;
+            this.fetcher = fetcher;
+        }
+    }
+
+    private final long deadlineMs;
+    private final MainThreadTimer timer;
+    private final Map<String, TierStats> tierStats = new LinkedHashMap<>();
+    private int requests;
+    private int deadlineMisses;
+    private String lastServedTier;
+
+    public RecommendationTierExecutor() {
+        this(DEFAULT_DEADLINE_MS);
+    }
+
+    /**
+     * @param deadlineMs 가장 높은 단계의 결과를 기다리는 최대 시간
+     */
+    public RecommendationTierExecutor(long deadlineMs) {
+        this(deadlineMs, MainThreadTimer.system());
+    }
+
+    /**
+     * [추가] 마감 시간과 지연 시간 측정에 쓸 타이머를 지정합니다. 테스트에서 시간을 직접 진행시킬 때 사용합니다.
+     */
+    RecommendationTierExecutor(long deadlineMs, @NonNull MainThreadTimer timer) {
+        this.deadlineMs = Math.max(0, deadlineMs);
+        this.timer = timer;
+    }
+
+    /**
+     * 단계 하나의 누적 통계입니다. 메인 스레드에서만 갱신합니다.
+     */
+    private static final class TierStats {
+        int launches;
+        int served;
+        int empties;
+        int failures;
+        double latencyEwmaMs = -1;
+
+        void recordLatency(long latencyMs) {
+            latencyEwmaMs = latencyEwmaMs < 0
+                    ? latencyMs
+                    : LATENCY_EWMA_ALPHA * latencyMs + (1 - LATENCY_EWMA_ALPHA) * latencyEwmaMs;
+        }
+    }
+
+    /**
+     * 디버깅 및 성능 측정용 통계의 스냅샷입니다.
+     */
+    public static final class Stats {
+        public final int requests;
+        /** 마감 시간이 지나 더 높은 단계를 기다리지 않고 전달한 횟수입니다. */
+        public final int deadlineMisses;
+        /** 마지막 요청에 결과를 낸 단계입니다. 모든 단계가 비거나 실패했으면 null입니다. */
+        public final String lastServedTier;
+        private final String tiers;
+
+        Stats(int requests, int deadlineMisses, String lastServedTier, Map<String, TierStats> tierStats) {
+            this.requests = requests;
+            this.deadlineMisses = deadlineMisses;
+            this.lastServedTier = lastServedTier;
+            StringBuilder sb = new StringBuilder();
+            for (Map.Entry<String, TierStats> entry : tierStats.entrySet()) {
+                TierStats stats = entry.getValue();
+                if (sb.length() > 0) sb.append(", ");
+                sb.append(entry.getKey())
+                        .append("(launch=").append(stats.launches)
+                        .append(", served=").append(stats.served)
+                        .append(", empty=").append(stats.empties)
+                        .append(", fail=").append(stats.failures)
+                        .append(", latency=").append(Math.round(stats.latencyEwmaMs)).append("ms)");
+            }
+            this.tiers = sb.toString();
+        }
+
+        @NonNull
+        @Override
+        public String toString() {
+            return "requests=" + requests + ", deadlineMisses=" + deadlineMisses + ", last=" + lastServedTier + ", " + tiers;
+        }
+    }
+
+    public Stats getStats() {
+        return new Stats(requests, deadlineMisses, lastServedTier, tierStats);
+    }
+
+    /**
+     * 단계들을 실행하고 결과를 한 번만 전달합니다.
+     *
+     * @param tiers 우선순위 순서의 단계 목록
+     */
+    public void execute(@NonNull List<Tier<T>> tiers, @NonNull HomeContract.Model.OnFinishedListener<List<T>> callback) {
+        requests++;
+        new Request(new ArrayList<>(tiers), callback).start();
+    }
+
+    private TierStats statsFor(String name) {
+        TierStats stats = tierStats.get(name);
+        if (stats == null) {
+            stats = new TierStats();
+            tierStats.put(name, stats);
+        }
+        return stats;
+    }
+
+    /**
+     * 추천 요청 하나의 상태입니다. 메인 스레드에서만 접근합니다.
+     */
+    private final class Request {
+        static final int NOT_STARTED = 0;
+        static final int RUNNING = 1;
+        static final int READY = 2;
+        static final int EMPTY = 3;
+        static final int FAILED = 4;
+
+        final List<Tier<T>> tiers;
+        final HomeContract.Model.OnFinishedListener<List<T>> callback;
+        final long startedAt = timer.now();
+        final Runnable deadline = this::onDeadline;
+
+        final int[] states;
+        final long[] latencies;
+        final List<List<T>> results;
+        Exception lastError;
+        boolean deadlinePassed;
+        boolean delivered;
+
+        Request(List<Tier<T>> tiers, HomeContract.Model.OnFinishedListener<List<T>> callback) {
+            this.tiers = tiers;
+            this.callback = callback;
+            this.states = new int[tiers.size()];
+            this.latencies = new long[tiers.size()];
+            this.results = new ArrayList<>(Collections.nCopies(tiers.size(), null));
+        }
+
+        void start() {
+            if (tiers.isEmpty()) {
+                deliver(-1);
+                return;
+            }
+            timer.postDelayed(deadline, deadlineMs);
+            for (int i = 0; i < tiers.size() && !delivered; i++) {
+                if (states[i] == NOT_STARTED && (i == 0 || tiers.get(i).speculative)) {
+                    launch(i);
+                }
+            }
+        }
+
+        void launch(int index) {
+            Tier<T> tier = tiers.get(index);
+            states[index] = RUNNING;
+            statsFor(tier.name).launches++;
+            long launchedAt = timer.now();
+            tier.fetcher.fetch(new HomeContract.Model.OnFinishedListener<List<T>>() {
+                @Override
+                public void onSuccess(List<T> result) {
+                    onTierFinished(index, launchedAt, result, null);
+                }
+
+                @Override
+                public void onError(Exception e) {
+                    onTierFinished(index, launchedAt, null, e);
+                }
+            });
+        }
+
+        void onTierFinished(int index, long launchedAt, List<T> result, Exception error) {
+            if (states[index] != RUNNING) {
+                return; // 같은 단계가 두 번 콜백한 경우
+            }
+            long latency = timer.now() - launchedAt;
+            latencies[index] = latency;
+            TierStats stats = statsFor(tiers.get(index).name);
+            stats.recordLatency(latency);
+            if (error != null) {
+                states[index] = FAILED;
+                stats.failures++;
+                lastError = error;
+                Log.w(TAG, tiers.get(index).name + " 단계 실패 (" + latency + "ms)", error);
+            } else if (result == null || result.isEmpty()) {
+                states[index] = EMPTY;
+                stats.empties++;
+            } else {
+                states[index] = READY;
+                results.set(index, result);
+            }
+            if (!delivered) {
+                advance();
+            }
+        }
+
+        void onDeadline() {
+            if (delivered) return;
+            deadlinePassed = true;
+            advance();
+        }
+
+        /**
+         * 전달할 수 있는 결과가 있으면 전달하고, 앞선 단계가 모두 끝난(결과 없음) 단계를 시작합니다.
+         */
+        void advance() {
+            // 앞에서부터 결과 없이 끝난 단계를 건너뛴 첫 단계가 지금 기다리는 단계입니다.
+            int first = 0;
+            while (first < tiers.size() && (states[first] == EMPTY || states[first] == FAILED)) {
+                first++;
+            }
+            if (first == tiers.size()) {
+                deliver(-1);
+                return;
+            }
+            if (states[first] == READY) {
+                deliver(first);
+                return;
+            }
+            if (states[first] == NOT_STARTED) {
+                launch(first);
+                if (delivered) return; // 단계가 바로 콜백해 이미 전달된 경우
+            }
+            if (deadlinePassed) {
+                for (int i = first + 1; i < tiers.size(); i++) {
+                    if (states[i] == READY) {
+                        deadlineMisses++;
+                        deliver(i);
+                        return;
+                    }
+                }
+            }
+        }
+
+        void deliver(int index) {
+            delivered = true;
+            timer.cancel(deadline);
+            long elapsed = timer.now() - startedAt;
+            StringBuilder latencyLog = new StringBuilder();
+            for (int i = 0; i < tiers.size(); i++) {
+                if (latencyLog.length() > 0) latencyLog.append(", ");
+                latencyLog.append(tiers.get(i).name).append('=')
+                        .append(states[i] == NOT_STARTED ? "skipped" : states[i] == RUNNING ? "pending" : latencies[i] + "ms");
+            }
+            if (index >= 0) {
+                String name = tiers.get(index).name;
+                lastServedTier = name;
+                statsFor(name).served++;
+                Log.d(TAG, "추천 단계 '" + name + "'의 결과를 " + elapsed + "ms 만에 전달합니다. (" + latencyLog + ")");
+                callback.onSuccess(results.get(index));
+                return;
+            }
+            lastServedTier = null;
+            boolean anyEmpty = false;
+            for (int state : states) {
+                if (state == EMPTY) anyEmpty = true;
+            }
+            Log.w(TAG, "모든 추천 단계가 결과 없이 끝났습니다. (" + elapsed + "ms, " + latencyLog + ")");
+            if (anyEmpty || lastError == null) {
+                callback.onSuccess(new ArrayList<>());
+            } else {
+                callback.onError(lastError);
+            }
+        }
+    }
+}
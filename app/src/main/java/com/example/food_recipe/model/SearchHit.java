@@ -0,0 +1,100 @@
+package com.example.food_recipe.model;
+
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * [추가] 레시피 목록 카드 한 장에 필요한 필드만 가진 불변 객체입니다.
+ * - 검색 결과는 Algolia에서 카드에 필요한 속성만 받아(attributesToRetrieve) 바로 이 객체로 디코딩하며,
+ *   조리 순서 등을 포함한 전체 {@link Recipe}는 상세 화면에서만 불러옵니다.
+ * - 제목과 재료 요약에는 검색어 하이라이트 태그(&lt;b&gt;)가 포함될 수 있습니다.
+ * - [추가] 분류(category_kind)와 난이도(difficulty)는 패싯 필터를 기기에서 바로 적용할 때 사용하며, 값이 없으면 null입니다.
+ * - 홈/즐겨찾기처럼 이미 Recipe를 가진 화면은 {@link #fromRecipe(Recipe)}로 변환해 같은 RecipeAdapter를 사용합니다.
+ */
+public final class SearchHit {
+
+    private final String rcpSno;
+    private final String title;
+    private final String imageUrl;
+    private final String cookingTime;
+    private final String ingredientsSummary;
+    private final String categoryKind;
+    private final String difficulty;
+
+    public SearchHit(String rcpSno, String title, String imageUrl, String cookingTime, String ingredientsSummary) {
+        this(rcpSno, title, imageUrl, cookingTime, ingredientsSummary, null, null);
+    }
+
+    public SearchHit(String rcpSno, String title, String imageUrl, String cookingTime, String ingredientsSummary,
+                     String categoryKind, String difficulty) {
+        this.rcpSno = rcpSno;
+        this.title = title;
+        this.imageUrl = imageUrl;
+        this.cookingTime = cookingTime;
+        this.ingredientsSummary = ingredientsSummary;
+        this.categoryKind = categoryKind;
+        this.difficulty = difficulty;
+    }
+
+    /**
+     * Recipe를 카드용 요약으로 변환합니다. 재료 요약은 ingredientsRaw를 우선 사용하고, 없으면 재료 목록을 ", "로 이어 붙입니다.
+     */
+    public static SearchHit fromRecipe(Recipe recipe) {
+        String summary = recipe.getIngredientsRaw();
+        if (summary == null || summary.isEmpty() || "null".equalsIgnoreCase(summary) || "정보 없음".equals(summary)) {
+            List<String> ingredients = recipe.getIngredients();
+            summary = ingredients != null && !ingredients.isEmpty() ? String.join(", ", ingredients) : null;
+        }
+        return new SearchHit(recipe.getRcpSno(), recipe.getTitle(), recipe.getImageUrl(), recipe.getCookingTime(), summary,
+                recipe.getCategoryKind(), recipe.getDifficulty());
+    }
+
+    public String getRcpSno() {
+        return rcpSno;
+    }
+
+    /** 제목입니다. 검색 결과에서는 하이라이트 태그를 포함할 수 있습니다. */
+    public String getTitle() {
+        return title;
+    }
+
+    public String getImageUrl() {
+        return imageUrl;
+    }
+
+    public String getCookingTime() {
+        return cookingTime;
+    }
+
+    /** 카드에 표시할 재료 요약("재료1, 재료2")입니다. 검색 결과에서는 하이라이트 태그를 포함할 수 있습니다. */
+    public String getIngredientsSummary() {
+        return ingredientsSummary;
+    }
+
+    public String getCategoryKind() {
+        return categoryKind;
+    }
+
+    public String getDifficulty() {
+        return difficulty;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof SearchHit)) return false;
+        SearchHit other = (SearchHit) o;
+        return Objects.equals(rcpSno, other.rcpSno)
+                && Objects.equals(title, other.title)
+                && Objects.equals(imageUrl, other.imageUrl)
+                && Objects.equals(cookingTime, other.cookingTime)
+                && Objects.equals(ingredientsSummary, other.ingredientsSummary)
+                && Objects.equals(categoryKind, other.categoryKind)
+                && Objects.equals(difficulty, other.difficulty);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(rcpSno, title, imageUrl, cookingTime, ingredientsSummary, categoryKind, difficulty);
+    }
+}
@@ -0,0 +1,159 @@
+package com.example.food_recipe.model;
+
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.google.firebase.Timestamp;
+import com.google.firebase.firestore.DocumentSnapshot;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * [추가] users/{uid} 문서를 화면들이 쓰는 형태로 한 번 해석해 둔 값입니다. (읽기 전용)
+ * 사용자 이름, 냉장고 재료(myIngredients), 즐겨찾기한 레시피 ID(bookmarked_recipes)를 담습니다.
+ * {@link com.example.food_recipe.repository.UserProfileStore}가 문서가 바뀔 때마다 새로 만들어 여러 화면에 함께 나눠 줍니다.
+ */
+public final class UserProfile {
+
+    private static final String TAG = "UserProfile";
+
+    /** 로그인하지 않았거나 사용자 문서가 없을 때의 값입니다. */
+    public static final UserProfile EMPTY = new UserProfile(false, null,
+            Collections.emptyList(), Collections.emptyList());
+
+    private final boolean exists;
+    private final String username;
+    private final List<PantryItem> pantryItems;
+    private final List<String> bookmarkedRecipeIds;
+    private final Set<String> bookmarkedRecipeIdSet;
+
+    private UserProfile(boolean exists, String username, List<PantryItem> pantryItems, List<String> bookmarkedRecipeIds) {
+        this.exists = exists;
+        this.username = username;
+        this.pantryItems = Collections.unmodifiableList(pantryItems);
+        this.bookmarkedRecipeIds = Collections.unmodifiableList(bookmarkedRecipeIds);
+        this.bookmarkedRecipeIdSet = new HashSet<>(bookmarkedRecipeIds);
+    }
+
+    /**
+     * 사용자 문서를 해석합니다. 문서가 없으면 {@link #EMPTY}를 반환합니다.
+     * 냉장고 재료 중 이름만 저장된 이전 형식의 항목은 이름만 채웁니다.
+     */
+    @NonNull
+    public static UserProfile fromDocumentSnapshot(@Nullable DocumentSnapshot document) {
+        if (document == null || !document.exists()) {
+            return EMPTY;
+        }
+
+        List<PantryItem> pantryItems = new ArrayList<>();
+        Object myIngredientsObj = document.get("myIngredients");
+        if (myIngredientsObj instanceof List) {
+            for (Object item : (List<?>) myIngredientsObj) {
+                if (item instanceof Map) {
+                    PantryItem pantryItem = toPantryItem((Map<?, ?>) item);
+                    if (pantryItem != null) {
+                        pantryItems.add(pantryItem);
+                    }
+                } else if (item instanceof String) {
+                    PantryItem pantryItem = new PantryItem();
+                    pantryItem.setName((String) item);
+                    pantryItems.add(pantryItem);
+                } else if (item != null) {
+                    Log.w(TAG, "Unexpected data type in myIngredients: " + item.getClass().getName());
+                }
+            }
+        }
+
+        List<String> bookmarkedRecipeIds = new ArrayList<>();
+        Object bookmarksObj = document.get("bookmarked_recipes");
+        if (bookmarksObj instanceof List) {
+            for (Object id : (List<?>) bookmarksObj) {
+                if (id != null) {
+                    bookmarkedRecipeIds.add(id.toString());
+                }
+            }
+        }
+
+        return new UserProfile(true, document.getString("username"), pantryItems, bookmarkedRecipeIds);
+    }
+
+    private static PantryItem toPantryItem(Map<?, ?> map) {
+        Object name = map.get("name");
+        if (name == null) {
+            return null;
+        }
+        Object quantity = map.get("quantity");
+        return new PantryItem(
+                asString(map.get("id")),
+                name.toString(),
+                asString(map.get("category")),
+                quantity instanceof Number ? ((Number) quantity).doubleValue() : 0,
+                asString(map.get("unit")),
+                asString(map.get("storage")),
+                toDate(map.get("expirationDate")));
+    }
+
+    private static String asString(Object value) {
+        return value != null ? value.toString() : null;
+    }
+
+    /** Firestore에 Timestamp 또는 Date로 저장된 유통기한을 Date로 변환합니다. */
+    private static Date toDate(Object value) {
+        if (value instanceof Timestamp) return ((Timestamp) value).toDate();
+        if (value instanceof Date) return (Date) value;
+        return null;
+    }
+
+    /** 사용자 문서가 있으면 true입니다. */
+    public boolean exists() {
+        return exists;
+    }
+
+    @Nullable
+    public String getUsername() {
+        return username;
+    }
+
+    /**
+     * 냉장고 재료 목록의 복사본입니다. {@link PantryItem}은 수정할 수 있는 객체이므로,
+     * 호출한 화면이 고쳐도 다른 화면과 공유하는 스냅샷은 바뀌지 않도록 항목마다 새로 만들어 반환합니다.
+     */
+    @NonNull
+    public List<PantryItem> getPantryItems() {
+        List<PantryItem> items = new ArrayList<>(pantryItems.size());
+        for (PantryItem item : pantryItems) {
+            Date expirationDate = item.getExpirationDate();
+            items.add(new PantryItem(item.getId(), item.getName(), item.getCategory(), item.getQuantity(),
+                    item.getUnit(), item.getStorage(), expirationDate != null ? new Date(expirationDate.getTime()) : null));
+        }
+        return items;
+    }
+
+    /** 냉장고 재료 이름 목록입니다. (저장된 순서) */
+    @NonNull
+    public List<String> getPantryItemNames() {
+        List<String> names = new ArrayList<>(pantryItems.size());
+        for (PantryItem item : pantryItems) {
+            names.add(item.getName());
+        }
+        return names;
+    }
+
+    /** 즐겨찾기한 레시피 ID 목록입니다. (저장된 순서) */
+    @NonNull
+    public List<String> getBookmarkedRecipeIds() {
+        return bookmarkedRecipeIds;
+    }
+
+    public boolean isBookmarked(String recipeId) {
+        return bookmarkedRecipeIdSet.contains(recipeId);
+    }
+}
@@ -6,6 +6,7 @@ import java.util.List;
 
 /**
  * 냉장고(Pantry) 기능의 비즈니스 로직을 처리하는 Presenter 클래스입니다.
+ * [변경] 재료 목록의 변경 알림을 받아, 추가/수정/삭제 후 다시 조회하지 않아도 화면이 갱신됩니다.
  */
 // [변경] BasePresenter를 상속받고, 생성자 및 View 참조 방식을 수정
 public class PantryPresenter extends BasePresenter<PantryContract.View> implements PantryContract.Presenter, PantryRepository.PantryLoadCallback {
@@ -25,16 +26,24 @@ public class PantryPresenter extends BasePresenter<PantryContract.View> implemen
         if (isViewAttached()) {
             getView().showLoading();
         }
-        mPantryRepository.getPantryItems(this);
+        // [변경] 한 번 조회하는 대신 변경 알림을 등록합니다. 이미 등록되어 있으면 현재 목록만 다시 받습니다.
+        mPantryRepository.observePantryItems(this);
     }
 
     @Override
     public void deletePantryItem(PantryItem item) {
+        // [변경] 삭제 결과는 변경 알림으로 전달되므로 다시 조회하지 않습니다.
         mPantryRepository.deletePantryItem(item);
-        loadPantryItems();
     }
 
-    // [삭제] detachView()는 BasePresenter에 구현되어 있으므로 제거
+    /**
+     * [추가] 화면이 사라지면 변경 알림을 해제합니다.
+     */
+    @Override
+    public void detachView() {
+        mPantryRepository.stopObservingPantryItems(this);
+        super.detachView();
+    }
 
     // ===== PantryRepository.PantryLoadCallback 구현부 =====
 
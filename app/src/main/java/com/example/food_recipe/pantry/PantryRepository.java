@@ -3,16 +3,21 @@ package com.example.food_recipe.pantry;
 import android.util.Log;
 import androidx.annotation.NonNull;
 import com.example.food_recipe.model.PantryItem;
+import com.example.food_recipe.model.UserProfile;
+import com.example.food_recipe.repository.UserProfileStore;
 import com.google.firebase.auth.FirebaseAuth;
 import com.google.firebase.auth.FirebaseUser;
 import com.google.firebase.firestore.FieldValue;
 import com.google.firebase.firestore.FirebaseFirestore;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * [기존 주석 유지] Pantry(냉장고) 관련 데이터 처리를 담당하는 Repository 클래스 (싱글톤)
  * [변경] 데이터 쓰기 작업(추가/수정)의 완료 시점을 알리기 위한 콜백이 추가되었습니다.
+ * [변경] 재료 목록은 사용자 문서를 직접 읽지 않고 {@link UserProfileStore}의 공유 스냅샷에서 가져오며, 변경 알림을 받을 수 있습니다.
  */
 public class PantryRepository {
 
@@ -20,6 +25,8 @@ public class PantryRepository {
     private final FirebaseAuth mAuth;
     private final FirebaseFirestore db;
     private static final String TAG = "PantryRepository";
+    // [추가] observePantryItems()로 등록한 콜백 -> UserProfileStore에 등록한 관찰자
+    private final Map<PantryLoadCallback, UserProfileStore.ProfileCallback> pantryObservers = new HashMap<>();
 
     private PantryRepository() {
         mAuth = FirebaseAuth.getInstance();
@@ -140,6 +147,7 @@ public class PantryRepository {
 
     /**
      * [복원] 실수로 삭제되었던 재료 로딩 메서드를 복원합니다.
+     * [변경] UserProfileStore가 이미 받은 스냅샷이 있으면 네트워크 없이 바로 전달합니다.
      */
     public void getPantryItems(final PantryLoadCallback callback) {
         FirebaseUser currentUser = mAuth.getCurrentUser();
@@ -147,24 +155,49 @@ public class PantryRepository {
             callback.onError("사용자 인증 정보가 없습니다.");
             return;
         }
+        UserProfileStore.getInstance().getProfile(toProfileCallback(callback));
+    }
 
-        db.collection("users").document(currentUser.getUid()).get()
-                .addOnSuccessListener(documentSnapshot -> {
-                    if (documentSnapshot.exists()) {
-                        UserData userData = documentSnapshot.toObject(UserData.class);
-                        if (userData != null && userData.myIngredients != null) {
-                            callback.onPantryLoaded(userData.myIngredients);
-                        } else {
-                            callback.onPantryLoaded(new ArrayList<>());
-                        }
-                    } else {
-                        callback.onPantryLoaded(new ArrayList<>());
-                    }
-                })
-                .addOnFailureListener(e -> {
-                    Log.e(TAG, "Error getting pantry items", e);
-                    callback.onError("재료를 불러오는 데 실패했습니다: " + e.getMessage());
-                });
+    /**
+     * [추가] 재료 목록을 전달하고, 이후 재료가 추가/수정/삭제될 때마다 다시 전달합니다.
+     * 이 앱에서 쓴 변경은 서버 응답을 기다리지 않고 바로 전달됩니다. 이미 등록된 콜백이면 현재 목록만 다시 전달합니다.
+     */
+    public void observePantryItems(@NonNull final PantryLoadCallback callback) {
+        if (pantryObservers.containsKey(callback)) {
+            getPantryItems(callback);
+            return;
+        }
+        if (mAuth.getCurrentUser() == null) {
+            callback.onError("사용자 인증 정보가 없습니다.");
+            return;
+        }
+        UserProfileStore.ProfileCallback observer = toProfileCallback(callback);
+        pantryObservers.put(callback, observer);
+        UserProfileStore.getInstance().addObserver(observer);
+    }
+
+    /** [추가] {@link #observePantryItems}로 등록한 콜백을 해제합니다. */
+    public void stopObservingPantryItems(@NonNull PantryLoadCallback callback) {
+        UserProfileStore.ProfileCallback observer = pantryObservers.remove(callback);
+        if (observer != null) {
+            UserProfileStore.getInstance().removeObserver(observer);
+        }
+    }
+
+    private UserProfileStore.ProfileCallback toProfileCallback(PantryLoadCallback callback) {
+        return new UserProfileStore.ProfileCallback() {
+            @Override
+            public void onProfileLoaded(@NonNull UserProfile profile) {
+                // 공유 스냅샷의 재료는 UserProfile이 복사본으로 내주므로 그대로 전달합니다.
+                callback.onPantryLoaded(profile.getPantryItems());
+            }
+
+            @Override
+            public void onError(Exception e) {
+                Log.e(TAG, "Error getting pantry items", e);
+                callback.onError("재료를 불러오는 데 실패했습니다: " + e.getMessage());
+            }
+        };
     }
 
     public static class UserData {
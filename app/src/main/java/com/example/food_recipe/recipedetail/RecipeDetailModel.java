@@ -8,6 +8,8 @@ import androidx.annotation.NonNull;
 import com.google.firebase.firestore.FirebaseFirestoreException;
 import com.google.firebase.firestore.Transaction;
 import com.example.food_recipe.model.Recipe;
+import com.example.food_recipe.model.UserProfile;
+import com.example.food_recipe.repository.UserProfileStore;
 import com.google.firebase.auth.FirebaseAuth;
 import com.google.firebase.auth.FirebaseUser;
 import com.google.firebase.firestore.DocumentReference;
@@ -62,15 +64,19 @@ public class RecipeDetailModel implements RecipeDetailContract.Model {
             callback.onSuccess(false);
             return;
         }
-        DocumentReference userDocRef = db.collection("users").document(user.getUid());
-        userDocRef.get().addOnSuccessListener(documentSnapshot -> {
-            if (documentSnapshot.exists()) {
-                List<String> bookmarkedRecipes = (List<String>) documentSnapshot.get("bookmarked_recipes");
-                callback.onSuccess(bookmarkedRecipes != null && bookmarkedRecipes.contains(recipeId));
-            } else {
-                callback.onSuccess(false);
+        // [변경] 상세 화면을 열 때마다 사용자 문서를 읽지 않고 UserProfileStore의 공유 스냅샷으로 확인합니다.
+        // 즐겨찾기를 바꾸는 트랜잭션의 결과도 같은 리스너로 전달되므로 다시 열었을 때의 상태가 맞습니다.
+        UserProfileStore.getInstance().getProfile(new UserProfileStore.ProfileCallback() {
+            @Override
+            public void onProfileLoaded(@NonNull UserProfile profile) {
+                callback.onSuccess(profile.isBookmarked(recipeId));
             }
-        }).addOnFailureListener(callback::onError);
+
+            @Override
+            public void onError(Exception e) {
+                callback.onError(e);
+            }
+        });
     }
 
     /**
@@ -0,0 +1,225 @@
+package com.example.food_recipe.repository;
+
+import android.os.Handler;
+import android.os.Looper;
+import android.util.Log;
+
+import androidx.annotation.MainThread;
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.example.food_recipe.model.UserProfile;
+import com.google.firebase.auth.FirebaseAuth;
+import com.google.firebase.auth.FirebaseUser;
+import com.google.firebase.firestore.FirebaseFirestore;
+import com.google.firebase.firestore.ListenerRegistration;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * [추가] 로그인한 사용자의 users/{uid} 문서를 앱 전체가 함께 쓰도록 보관하는 저장소입니다. (싱글톤)
+ * - 화면마다 따로 get()을 호출하는 대신, 문서에 스냅샷 리스너 하나만 붙여 두고 해석한 {@link UserProfile}을 메모리에서 나눠 줍니다.
+ *   홈 화면 한 번을 그리는 데 세 번 읽던 문서를 한 번만 읽고, 이후 화면들은 네트워크를 기다리지 않습니다.
+ * - 앱에서 쓴 변경(즐겨찾기, 냉장고 재료)은 Firestore가 리스너로 바로 다시 알려 주므로 별도로 캐시를 비울 필요가 없습니다.
+ * - 로그인 사용자가 바뀌면 리스너를 옮겨 붙이고, 로그아웃하면 떼어 냅니다. 관찰자가 있으면 로그인하자마자 붙입니다.
+ * - 리스너에 오류가 나면 관찰자가 남아 있는 동안 간격을 늘려 가며 다시 붙입니다.
+ * Firestore와 FirebaseAuth 콜백이 모두 메인 스레드에서 오므로 메인 스레드에서만 사용합니다.
+ */
+@MainThread
+public class UserProfileStore {
+
+    private static final String TAG = "UserProfileStore";
+    private static UserProfileStore instance;
+
+    /** 리스너 오류 후 처음 다시 붙이기까지의 시간입니다. 실패할 때마다 두 배로 늘립니다. */
+    private static final long RETRY_INITIAL_DELAY_MS = 1000;
+    private static final long RETRY_MAX_DELAY_MS = 60_000;
+
+    /**
+     * 사용자 문서를 받았을 때 호출됩니다. {@link #addObserver}로 등록하면 문서가 바뀔 때마다 다시 호출됩니다.
+     */
+    public interface ProfileCallback {
+        void onProfileLoaded(@NonNull UserProfile profile);
+        void onError(Exception e);
+    }
+
+    private final FirebaseFirestore db;
+    private final FirebaseAuth auth;
+    // 첫 스냅샷을 기다리는 1회성 요청
+    private final List<ProfileCallback> pendingCallbacks = new ArrayList<>();
+    private final List<ProfileCallback> observers = new ArrayList<>();
+    private final Handler mainHandler = new Handler(Looper.getMainLooper());
+    private final Runnable retryAttach = this::retryAttach;
+
+    private String uid;
+    private ListenerRegistration registration;
+    private UserProfile profile;
+    private long retryDelayMs = RETRY_INITIAL_DELAY_MS;
+
+    private UserProfileStore() {
+        db = FirebaseFirestore.getInstance();
+        auth = FirebaseAuth.getInstance();
+        auth.addAuthStateListener(firebaseAuth -> onUserChanged(firebaseAuth.getCurrentUser()));
+    }
+
+    public static synchronized UserProfileStore getInstance() {
+        if (instance == null) {
+            instance = new UserProfileStore();
+        }
+        return instance;
+    }
+
+    /**
+     * 현재 사용자의 문서를 한 번 전달합니다. 이미 받은 스냅샷이 있으면 바로 전달하고, 없으면 첫 스냅샷을 기다립니다.
+     * 로그인하지 않았으면 {@link UserProfile#EMPTY}를 전달합니다.
+     */
+    public void getProfile(@NonNull ProfileCallback callback) {
+        FirebaseUser user = auth.getCurrentUser();
+        if (user == null) {
+            callback.onProfileLoaded(UserProfile.EMPTY);
+            return;
+        }
+        attach(user.getUid());
+        if (profile != null) {
+            callback.onProfileLoaded(profile);
+        } else {
+            pendingCallbacks.add(callback);
+        }
+    }
+
+    /** 이미 받은 스냅샷입니다. 아직 없으면 null입니다. */
+    @Nullable
+    public UserProfile peekProfile() {
+        return profile;
+    }
+
+    /**
+     * 문서가 바뀔 때마다 알림을 받습니다. 이미 받은 스냅샷이 있으면 등록하자마자 한 번 호출됩니다.
+     * 화면이 사라질 때 {@link #removeObserver}로 해제해야 합니다.
+     */
+    public void addObserver(@NonNull ProfileCallback observer) {
+        if (observers.contains(observer)) {
+            return;
+        }
+        observers.add(observer);
+        FirebaseUser user = auth.getCurrentUser();
+        if (user == null) {
+            observer.onProfileLoaded(UserProfile.EMPTY);
+            return;
+        }
+        attach(user.getUid());
+        if (profile != null) {
+            observer.onProfileLoaded(profile);
+        }
+    }
+
+    public void removeObserver(@NonNull ProfileCallback observer) {
+        observers.remove(observer);
+        if (observers.isEmpty()) {
+            mainHandler.removeCallbacks(retryAttach);
+        }
+    }
+
+    /**
+     * uid의 문서에 리스너를 붙입니다. 이미 같은 사용자의 리스너가 있으면 아무것도 하지 않습니다.
+     */
+    private void attach(String newUid) {
+        if (registration != null && newUid.equals(uid)) {
+            return;
+        }
+        detach();
+        uid = newUid;
+        mainHandler.removeCallbacks(retryAttach);
+        Log.d(TAG, "attach: 사용자 문서 리스너 등록 (UID: " + newUid + ")");
+        registration = db.collection("users").document(newUid).addSnapshotListener((snapshot, error) -> {
+            if (!newUid.equals(uid)) {
+                return; // 사용자가 바뀐 뒤 도착한 이전 리스너의 이벤트
+            }
+            if (error != null) {
+                // 오류가 난 리스너는 다시 이벤트를 보내지 않으므로, 다음 요청에서 새로 붙이도록 비워 둡니다.
+                Log.e(TAG, "사용자 문서 리스너 오류", error);
+                registration = null;
+                profile = null;
+                dispatchError(error);
+                scheduleRetry();
+                return;
+            }
+            retryDelayMs = RETRY_INITIAL_DELAY_MS;
+            profile = UserProfile.fromDocumentSnapshot(snapshot);
+            dispatch(profile);
+        });
+    }
+
+    /**
+     * 관찰자가 남아 있으면 잠시 뒤 리스너를 다시 붙입니다. 1회성 요청은 다음 {@link #getProfile} 호출에서 다시 붙입니다.
+     */
+    private void scheduleRetry() {
+        if (observers.isEmpty()) {
+            return;
+        }
+        Log.d(TAG, "scheduleRetry: " + retryDelayMs + "ms 뒤 사용자 문서 리스너를 다시 등록합니다.");
+        mainHandler.removeCallbacks(retryAttach);
+        mainHandler.postDelayed(retryAttach, retryDelayMs);
+        retryDelayMs = Math.min(retryDelayMs * 2, RETRY_MAX_DELAY_MS);
+    }
+
+    private void retryAttach() {
+        FirebaseUser user = auth.getCurrentUser();
+        if (user != null && !observers.isEmpty() && registration == null) {
+            attach(user.getUid());
+        }
+    }
+
+    private void detach() {
+        mainHandler.removeCallbacks(retryAttach);
+        if (registration != null) {
+            registration.remove();
+            registration = null;
+        }
+        uid = null;
+        profile = null;
+    }
+
+    private void onUserChanged(@Nullable FirebaseUser user) {
+        if (user == null) {
+            if (uid != null) {
+                Log.d(TAG, "onUserChanged: 로그아웃. 사용자 문서 리스너를 해제합니다.");
+                detach();
+                dispatch(UserProfile.EMPTY);
+            }
+            return;
+        }
+        if (uid != null && !uid.equals(user.getUid())) {
+            // 다른 계정으로 로그인했습니다. 이전 사용자의 값은 버리고 새 문서를 기다립니다.
+            retryDelayMs = RETRY_INITIAL_DELAY_MS;
+            attach(user.getUid());
+        } else if (uid == null && !observers.isEmpty()) {
+            // 로그아웃 상태에서 등록한 관찰자(냉장고 화면 등)가 로그인 후의 문서를 받도록 바로 붙입니다.
+            retryDelayMs = RETRY_INITIAL_DELAY_MS;
+            attach(user.getUid());
+        }
+    }
+
+    private void dispatch(UserProfile value) {
+        List<ProfileCallback> callbacks = new ArrayList<>(pendingCallbacks);
+        pendingCallbacks.clear();
+        for (ProfileCallback callback : callbacks) {
+            callback.onProfileLoaded(value);
+        }
+        for (ProfileCallback observer : new ArrayList<>(observers)) {
+            observer.onProfileLoaded(value);
+        }
+    }
+
+    private void dispatchError(Exception error) {
+        List<ProfileCallback> callbacks = new ArrayList<>(pendingCallbacks);
+        pendingCallbacks.clear();
+        for (ProfileCallback callback : callbacks) {
+            callback.onError(error);
+        }
+        for (ProfileCallback observer : new ArrayList<>(observers)) {
+            observer.onError(error);
+        }
+    }
+}
@@ -0,0 +1,274 @@
+package com.example.food_recipe.search;
+
+import com.example.food_recipe.model.SearchHit;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.MalformedJsonException;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * [추가] Algolia 검색 응답(JSON)을 한 번만 순차적으로 읽어 {@link SearchHit} 목록으로 변환하는 스트리밍 디코더입니다.
+ * - 기존 org.json 방식은 응답 전체를 JSONObject 트리로 만든 뒤 다시 순회했지만, 이 디코더는 {@link JsonReader}로
+ *   필요한 필드(objectID, title, imageUrl, cooking_time, ingredients, _highlightResult)만 읽고 나머지는 건너뜁니다.
+ * - 하이라이트된 재료 문자열은 중간 리스트 없이 StringBuilder에 바로 이어 붙입니다.
+ * - [추가] 첫 페이지 요청에 함께 오는 facets({"속성": {"값": 개수}})와 패싯 필터에 쓰는 category_kind, difficulty도 읽습니다.
+ * - 기본값과 우선순위(하이라이트 값 우선, "제목 없음", "정보 없음", "재료 정보 없음")는 기존 parseRecipes()와 동일합니다.
+ * 안드로이드 API를 사용하지 않으므로 로컬 단위 테스트에서 그대로 실행할 수 있습니다.
+ */
+final class AlgoliaHitDecoder {
+
+    private static final String INGREDIENT_SEPARATOR = ", ";
+
+    private AlgoliaHitDecoder() {
+    }
+
+    /**
+     * 응답 본문을 디코딩합니다.
+     * 형식이 올바르지 않거나 objectID가 없는 hit이 있으면 {@link MalformedJsonException} 또는 IllegalStateException을 던집니다.
+     */
+    static SearchResult decode(Reader source) throws IOException {
+        List<SearchHit> hits = new ArrayList<>();
+        int nbHits = 0;
+        int page = 0;
+        int nbPages = 0;
+        Map<String, Map<String, Integer>> facets = null;
+
+        JsonReader reader = new JsonReader(source);
+        reader.beginObject();
+        while (reader.hasNext()) {
+            switch (reader.nextName()) {
+                case "hits":
+                    reader.beginArray();
+                    while (reader.hasNext()) {
+                        hits.add(readHit(reader));
+                    }
+                    reader.endArray();
+                    break;
+                case "nbHits":
+                    nbHits = reader.nextInt();
+                    break;
+                case "page":
+                    page = reader.nextInt();
+                    break;
+                case "nbPages":
+                    nbPages = reader.nextInt();
+                    break;
+                case "facets":
+                    facets = readFacets(reader);
+                    break;
+                default:
+                    reader.skipValue();
+                    break;
+            }
+        }
+        reader.endObject();
+        return new SearchResult(hits, page, nbPages, nbHits, facets);
+    }
+
+    /** {"category_kind": {"반찬": 120, "국": 80}, ...} 형태를 값의 순서를 유지하며 읽습니다. */
+    private static Map<String, Map<String, Integer>> readFacets(JsonReader reader) throws IOException {
+        if (reader.peek() != JsonToken.BEGIN_OBJECT) {
+            reader.skipValue();
+            return null;
+        }
+        Map<String, Map<String, Integer>> facets = new LinkedHashMap<>();
+        reader.beginObject();
+        while (reader.hasNext()) {
+            String attribute = reader.nextName();
+            if (reader.peek() != JsonToken.BEGIN_OBJECT) {
+                reader.skipValue();
+                continue;
+            }
+            Map<String, Integer> counts = new LinkedHashMap<>();
+            reader.beginObject();
+            while (reader.hasNext()) {
+                String value = reader.nextName();
+                if (reader.peek() == JsonToken.NUMBER) {
+                    counts.put(value, reader.nextInt());
+                } else {
+                    reader.skipValue();
+                }
+            }
+            reader.endObject();
+            facets.put(attribute, counts);
+        }
+        reader.endObject();
+        return facets;
+    }
+
+    /**
+     * Algolia 오류 응답({"message": "...", "status": 4xx})에서 메시지만 꺼냅니다.
+     */
+    static String decodeErrorMessage(Reader source) throws IOException {
+        String message = null;
+        JsonReader reader = new JsonReader(source);
+        reader.beginObject();
+        while (reader.hasNext()) {
+            if ("message".equals(reader.nextName())) {
+                message = readString(reader, null);
+            } else {
+                reader.skipValue();
+            }
+        }
+        reader.endObject();
+        return message;
+    }
+
+    private static SearchHit readHit(JsonReader reader) throws IOException {
+        String objectId = null;
+        String title = null;
+        String imageUrl = null;
+        String cookingTime = null;
+        String categoryKind = null;
+        String difficulty = null;
+        StringBuilder ingredients = null;
+        String highlightedTitle = null;
+        StringBuilder highlightedIngredients = null;
+
+        reader.beginObject();
+        while (reader.hasNext()) {
+            switch (reader.nextName()) {
+                case "objectID":
+                    objectId = readString(reader, null);
+                    break;
+                case "title":
+                    title = readString(reader, null);
+                    break;
+                case "imageUrl":
+                    imageUrl = readString(reader, null);
+                    break;
+                case "cooking_time":
+                    cookingTime = readString(reader, null);
+                    break;
+                case "category_kind":
+                    categoryKind = readString(reader, null);
+                    break;
+                case "difficulty":
+                    difficulty = readString(reader, null);
+                    break;
+                case "ingredients":
+                    ingredients = readJoinedStrings(reader);
+                    break;
+                case "_highlightResult":
+                    if (reader.peek() != JsonToken.BEGIN_OBJECT) {
+                        reader.skipValue();
+                        break;
+                    }
+                    reader.beginObject();
+                    while (reader.hasNext()) {
+                        String attribute = reader.nextName();
+                        if ("title".equals(attribute) && reader.peek() == JsonToken.BEGIN_OBJECT) {
+                            highlightedTitle = readHighlightValue(reader);
+                        } else if ("ingredients".equals(attribute) && reader.peek() == JsonToken.BEGIN_ARRAY) {
+                            highlightedIngredients = readJoinedHighlightValues(reader);
+                        } else {
+                            reader.skipValue();
+                        }
+                    }
+                    reader.endObject();
+                    break;
+                default:
+                    reader.skipValue();
+                    break;
+            }
+        }
+        reader.endObject();
+
+        if (objectId == null) {
+            throw new MalformedJsonException("objectID가 없는 검색 결과가 포함되어 있습니다.");
+        }
+
+        String ingredientsSummary;
+        if (highlightedIngredients != null) {
+            ingredientsSummary = highlightedIngredients.toString();
+        } else if (ingredients != null && ingredients.length() > 0) {
+            ingredientsSummary = ingredients.toString();
+        } else {
+            ingredientsSummary = "재료 정보 없음";
+        }
+        return new SearchHit(objectId,
+                highlightedTitle != null ? highlightedTitle : (title != null ? title : "제목 없음"),
+                imageUrl != null ? imageUrl : "",
+                cookingTime != null ? cookingTime : "정보 없음",
+                ingredientsSummary,
+                categoryKind,
+                difficulty);
+    }
+
+    /** {"value": "...", "matchLevel": ...} 형태에서 value만 읽습니다. */
+    private static String readHighlightValue(JsonReader reader) throws IOException {
+        String value = null;
+        reader.beginObject();
+        while (reader.hasNext()) {
+            if ("value".equals(reader.nextName())) {
+                value = readString(reader, null);
+            } else {
+                reader.skipValue();
+            }
+        }
+        reader.endObject();
+        return value;
+    }
+
+    private static StringBuilder readJoinedHighlightValues(JsonReader reader) throws IOException {
+        StringBuilder joined = new StringBuilder();
+        reader.beginArray();
+        boolean first = true;
+        while (reader.hasNext()) {
+            String value = reader.peek() == JsonToken.BEGIN_OBJECT ? readHighlightValue(reader) : skipAndReturnNull(reader);
+            if (!first) joined.append(INGREDIENT_SEPARATOR);
+            joined.append(value);
+            first = false;
+        }
+        reader.endArray();
+        return joined;
+    }
+
+    /** 문자열 배열을 ", "로 이어 붙입니다. 배열이 아니면 null을 반환합니다. */
+    private static StringBuilder readJoinedStrings(JsonReader reader) throws IOException {
+        if (reader.peek() != JsonToken.BEGIN_ARRAY) {
+            reader.skipValue();
+            return null;
+        }
+        StringBuilder joined = new StringBuilder();
+        reader.beginArray();
+        boolean first = true;
+        while (reader.hasNext()) {
+            if (!first) joined.append(INGREDIENT_SEPARATOR);
+            joined.append(readString(reader, "null"));
+            first = false;
+        }
+        reader.endArray();
+        return joined;
+    }
+
+    /**
+     * 문자열/숫자/불리언 값을 문자열로 읽습니다. null이나 객체/배열이면 건너뛰고 기본값을 반환합니다.
+     */
+    private static String readString(JsonReader reader, String fallback) throws IOException {
+        switch (reader.peek()) {
+            case STRING:
+            case NUMBER:
+                return reader.nextString();
+            case BOOLEAN:
+                return String.valueOf(reader.nextBoolean());
+            case NULL:
+                reader.nextNull();
+                return fallback;
+            default:
+                reader.skipValue();
+                return fallback;
+        }
+    }
+
+    private static String skipAndReturnNull(JsonReader reader) throws IOException {
+        reader.skipValue();
+        return null;
+    }
+}
@@ -0,0 +1,244 @@
+package com.example.food_recipe.search;
+
+import android.os.Handler;
+import android.os.Looper;
+import android.util.Log;
+
+import com.example.food_recipe.BuildConfig;
+import com.google.gson.stream.JsonWriter;
+import com.google.gson.stream.MalformedJsonException;
+
+import java.io.BufferedInputStream;
+import java.io.FilterReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.io.Writer;
+import java.net.HttpURLConnection;
+import java.net.SocketTimeoutException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * [추가] Algolia REST 검색 API를 직접 호출하고, 응답 스트림을 {@link AlgoliaHitDecoder}로 바로 디코딩하는 전송 계층입니다.
+ * - Algolia SDK의 searchAsync는 응답 전체를 JSONObject로 만든 뒤 전달하므로, 스트리밍 디코딩을 위해 HTTP 요청만 직접 수행합니다.
+ *   검색 파라미터는 기존과 동일하게 SDK의 {@link com.algolia.search.saas.Query#build()}로 만듭니다.
+ * - 요청과 디코딩은 백그라운드 스레드에서 실행되고, 콜백은 메인 스레드에서 호출됩니다.
+ * - DSN 호스트가 실패하면 SDK와 같은 순서로 대체 호스트(-1, -2, -3.algolianet.com)를 시도합니다.
+ * - 응답 원문 로그는 디버그 빌드에서 {@link #LOG_SAMPLE_RATE}번에 한 번, 앞부분 {@link #LOG_MAX_CHARS}자만 남깁니다.
+ */
+class AlgoliaSearchTransport {
+
+    private static final String TAG = "AlgoliaSearch";
+
+    private static final int CONNECT_TIMEOUT_MS = 2_000;
+    private static final int READ_TIMEOUT_MS = 10_000;
+    private static final int LOG_SAMPLE_RATE = 20;
+    private static final int LOG_MAX_CHARS = 1_024;
+
+    private final String appId;
+    private final String apiKey;
+    private final String[] hosts;
+    private final String path;
+    private final ExecutorService executor = Executors.newFixedThreadPool(2);
+    private final Handler mainHandler = new Handler(Looper.getMainLooper());
+    private final AtomicInteger responseCounter = new AtomicInteger();
+
+    interface Callback {
+        void onSuccess(SearchResult result);
+        void onError(String message);
+    }
+
+    AlgoliaSearchTransport(String appId, String apiKey, String indexName) {
+        this.appId = appId;
+        this.apiKey = apiKey;
+        this.hosts = new String[]{
+                appId + "-dsn.algolia.net",
+                appId + "-1.algolianet.com",
+                appId + "-2.algolianet.com",
+                appId + "-3.algolianet.com"
+        };
+        this.path = "/1/indexes/" + indexName + "/query";
+    }
+
+    /**
+     * 검색을 요청합니다. 반환된 핸들로 취소하면 연결을 끊고 콜백을 호출하지 않습니다.
+     *
+     * @param params URL 인코딩된 Algolia 검색 파라미터 (Query.build()의 결과)
+     * @param label  로그에 남길 요청 설명
+     */
+    SearchCall search(String params, String label, Callback callback) {
+        Call call = new Call();
+        call.future = executor.submit(() -> execute(call, params, label, callback));
+        return call;
+    }
+
+    /**
+     * 취소 여부와 현재 연결을 공유하는 요청 핸들입니다.
+     */
+    private static final class Call implements SearchCall {
+        volatile boolean cancelled;
+        volatile HttpURLConnection connection;
+        volatile Future<?> future;
+
+        @Override
+        public void cancel() {
+            cancelled = true;
+            HttpURLConnection current = connection;
+            if (current != null) {
+                current.disconnect();
+            }
+            Future<?> pending = future;
+            if (pending != null) {
+                pending.cancel(false);
+            }
+        }
+    }
+
+    private void execute(Call call, String params, String label, Callback callback) {
+        long start = System.nanoTime();
+        String lastError = "검색 서버에 연결할 수 없습니다.";
+        for (String host : hosts) {
+            if (call.cancelled) {
+                return;
+            }
+            HttpURLConnection connection = null;
+            try {
+                connection = (HttpURLConnection) new URL("https://" + host + path).openConnection();
+                call.connection = connection;
+                connection.setRequestMethod("POST");
+                connection.setConnectTimeout(CONNECT_TIMEOUT_MS);
+                connection.setReadTimeout(READ_TIMEOUT_MS);
+                connection.setDoOutput(true);
+                connection.setRequestProperty("Content-Type", "application/json; charset=UTF-8");
+                connection.setRequestProperty("X-Algolia-Application-Id", appId);
+                connection.setRequestProperty("X-Algolia-API-Key", apiKey);
+
+                try (Writer writer = new OutputStreamWriter(connection.getOutputStream(), StandardCharsets.UTF_8)) {
+                    JsonWriter json = new JsonWriter(writer);
+                    json.beginObject().name("params").value(params).endObject();
+                    json.flush();
+                }
+
+                int status = connection.getResponseCode();
+                if (status / 100 == 2) {
+                    SearchResult page;
+                    try {
+                        page = readPage(connection.getInputStream(), label);
+                    } catch (MalformedJsonException | IllegalStateException e) {
+                        // 응답 형식 오류는 다른 호스트에서도 같으므로 재시도하지 않습니다.
+                        lastError = "검색 결과를 파싱하는데 실패했습니다: " + e.getMessage();
+                        break;
+                    }
+                    Log.d(TAG, "Query: " + label + " -> " + page.getHits().size() + "/" + page.getNbHits() + "건, "
+                            + (System.nanoTime() - start) / 1_000_000 + "ms (" + host + ")");
+                    deliver(call, () -> callback.onSuccess(page));
+                    return;
+                }
+
+                lastError = readErrorMessage(connection.getErrorStream(), status);
+                if (status / 100 == 4) {
+                    // 잘못된 요청이나 인증 오류는 다른 호스트로 재시도해도 결과가 같습니다.
+                    break;
+                }
+                Log.w(TAG, "Host " + host + " 응답 오류(" + status + "), 다음 호스트를 시도합니다.");
+            } catch (IOException e) {
+                if (call.cancelled) {
+                    return;
+                }
+                Log.w(TAG, "Host " + host + " 요청 실패, 다음 호스트를 시도합니다.", e);
+                lastError = e instanceof SocketTimeoutException
+                        ? "검색 서버 응답 시간이 초과되었습니다."
+                        : "검색 서버에 연결할 수 없습니다.";
+            } finally {
+                if (connection != null) {
+                    connection.disconnect();
+                }
+                call.connection = null;
+            }
+        }
+        Log.e(TAG, "Query failed: " + label + " - " + lastError);
+        String message = lastError;
+        deliver(call, () -> callback.onError(message));
+    }
+
+    private SearchResult readPage(InputStream body, String label) throws IOException {
+        boolean sampled = BuildConfig.DEBUG && responseCounter.getAndIncrement() % LOG_SAMPLE_RATE == 0;
+        try (Reader reader = new InputStreamReader(new BufferedInputStream(body), StandardCharsets.UTF_8)) {
+            if (!sampled) {
+                return AlgoliaHitDecoder.decode(reader);
+            }
+            PrefixCapturingReader capturing = new PrefixCapturingReader(reader, LOG_MAX_CHARS);
+            SearchResult page = AlgoliaHitDecoder.decode(capturing);
+            Log.d(TAG, "Result sample (" + label + "): " + capturing.prefix());
+            return page;
+        }
+    }
+
+    private static String readErrorMessage(InputStream errorBody, int status) {
+        if (errorBody == null) {
+            return "검색 요청이 실패했습니다. (HTTP " + status + ")";
+        }
+        try (Reader reader = new InputStreamReader(errorBody, StandardCharsets.UTF_8)) {
+            String message = AlgoliaHitDecoder.decodeErrorMessage(reader);
+            return message != null ? message : "검색 요청이 실패했습니다. (HTTP " + status + ")";
+        } catch (IOException | RuntimeException e) {
+            return "검색 요청이 실패했습니다. (HTTP " + status + ")";
+        }
+    }
+
+    private void deliver(Call call, Runnable action) {
+        mainHandler.post(() -> {
+            if (!call.cancelled) action.run();
+        });
+    }
+
+    /**
+     * 디코더가 읽는 문자 중 앞부분만 복사해 두는 Reader입니다. 응답 전체를 문자열로 만들지 않고도 로그 샘플을 남길 수 있습니다.
+     */
+    private static final class PrefixCapturingReader extends FilterReader {
+        private final StringBuilder prefix;
+        private final int limit;
+        private boolean truncated;
+
+        PrefixCapturingReader(Reader in, int limit) {
+            super(in);
+            this.limit = limit;
+            this.prefix = new StringBuilder(limit);
+        }
+
+        @Override
+        public int read() throws IOException {
+            int c = super.read();
+            if (c >= 0) capture(new char[]{(char) c}, 0, 1);
+            return c;
+        }
+
+        @Override
+        public int read(char[] buffer, int offset, int length) throws IOException {
+            int n = super.read(buffer, offset, length);
+            if (n > 0) capture(buffer, offset, n);
+            return n;
+        }
+
+        private void capture(char[] buffer, int offset, int length) {
+            int room = limit - prefix.length();
+            if (room <= 0) {
+                truncated = true;
+                return;
+            }
+            prefix.append(buffer, offset, Math.min(room, length));
+            if (length > room) truncated = true;
+        }
+
+        String prefix() {
+            return truncated ? prefix + "…(생략)" : prefix.toString();
+        }
+    }
+}
@@ -0,0 +1,149 @@
+package com.example.food_recipe.search;
+
+import android.os.Handler;
+import android.os.Looper;
+import android.util.Log;
+
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * [추가] 다른 SearchContract.Model을 감싸 {@link SearchResultCache}를 적용하는 데코레이터입니다.
+ * - 신선한 캐시: 네트워크 요청 없이 즉시 결과를 전달합니다.
+ * - 오래된 캐시: 캐시된 결과를 먼저 전달한 뒤 원본 모델로 갱신하고, 갱신 결과를 한 번 더 onSuccess로 전달합니다.
+ * - 캐시 없음: 원본 모델의 결과를 그대로 전달하면서 캐시에 저장합니다.
+ * 모든 콜백은 메인 스레드에서 호출됩니다.
+ */
+public class CachingSearchModel implements SearchContract.Model {
+
+    private static final String TAG = "CachingSearchModel";
+
+    private final SearchContract.Model delegate;
+    private final SearchResultCache cache;
+    private final Handler mainHandler = new Handler(Looper.getMainLooper());
+
+    // 같은 키에 대한 백그라운드 갱신이 중복으로 실행되지 않도록 메인 스레드에서만 접근합니다.
+    private final Set<String> revalidating = new HashSet<>();
+
+    public CachingSearchModel(SearchContract.Model delegate, SearchResultCache cache) {
+        this.delegate = delegate;
+        this.cache = cache;
+    }
+
+    /**
+     * 캐시 조회와 원본 모델 요청을 함께 취소하기 위한 핸들입니다.
+     */
+    private static final class CachedCall implements SearchCall {
+        volatile boolean cancelled;
+        SearchCall upstream = SearchCall.NONE;
+
+        @Override
+        public void cancel() {
+            cancelled = true;
+            upstream.cancel();
+        }
+    }
+
+    @Override
+    public SearchCall fetchInitialRecipes(OnRecipesFetchedListener listener) {
+        return load(SearchQuery.empty(), listener);
+    }
+
+    @Override
+    public SearchCall searchRecipes(SearchQuery query, OnRecipesFetchedListener listener) {
+        return load(query, listener);
+    }
+
+    @Override
+    public void fetchPantryItems(OnPantryItemsFetchedListener listener) {
+        // 냉장고 재료는 사용자마다 자주 바뀌므로 캐시하지 않습니다.
+        delegate.fetchPantryItems(listener);
+    }
+
+    @Override
+    public void fetchPantryDetails(OnPantryDetailsFetchedListener listener) {
+        delegate.fetchPantryDetails(listener);
+    }
+
+    private SearchCall load(SearchQuery query, OnRecipesFetchedListener listener) {
+        String key = query.cacheKey();
+        long now = System.currentTimeMillis();
+        CachedCall call = new CachedCall();
+
+        SearchResultCache.Entry memoryEntry = cache.getFromMemory(key, now);
+        if (memoryEntry != null) {
+            deliverCached(query, memoryEntry, now, listener, call);
+            return call;
+        }
+
+        cache.runOnDiskThread(() -> {
+            if (call.cancelled) {
+                return;
+            }
+            SearchResultCache.Entry diskEntry = cache.getFromDisk(key, now);
+            mainHandler.post(() -> {
+                if (call.cancelled) {
+                    return;
+                }
+                if (diskEntry != null) {
+                    deliverCached(query, diskEntry, now, listener, call);
+                } else {
+                    fetchFromDelegate(query, listener, false, call);
+                }
+            });
+        });
+        return call;
+    }
+
+    private void deliverCached(SearchQuery query, SearchResultCache.Entry entry, long now,
+                               OnRecipesFetchedListener listener, CachedCall call) {
+        SearchResult result = entry.getResult();
+        boolean fresh = entry.isFresh(now);
+        Log.d(TAG, "Cache " + (fresh ? "hit" : "stale") + ": " + query);
+        mainHandler.post(() -> {
+            if (!call.cancelled) listener.onSuccess(result);
+        });
+        if (!fresh) {
+            fetchFromDelegate(query, listener, true, call);
+        }
+    }
+
+    /**
+     * @param revalidation true이면 이미 캐시된 결과가 화면에 있으므로, 갱신 실패는 사용자에게 알리지 않습니다.
+     */
+    private void fetchFromDelegate(SearchQuery query, OnRecipesFetchedListener listener, boolean revalidation,
+                                   CachedCall call) {
+        String key = query.cacheKey();
+        if (revalidation && !revalidating.add(key)) {
+            return;
+        }
+        OnRecipesFetchedListener storingListener = new OnRecipesFetchedListener() {
+            @Override
+            public void onSuccess(SearchResult result) {
+                revalidating.remove(key);
+                if (result != null) {
+                    cache.put(key, result, System.currentTimeMillis());
+                }
+                if (!call.cancelled) listener.onSuccess(result);
+            }
+
+            @Override
+            public void onError(String message) {
+                revalidating.remove(key);
+                if (revalidation) {
+                    Log.w(TAG, "캐시 갱신 실패, 기존 결과를 유지합니다: " + message);
+                } else if (!call.cancelled) {
+                    listener.onError(message);
+                }
+            }
+        };
+        SearchCall upstream = query.isInitialRequest()
+                ? delegate.fetchInitialRecipes(storingListener)
+                : delegate.searchRecipes(query, storingListener);
+        // 취소된 요청의 콜백은 오지 않으므로, 갱신 중 표시도 여기서 해제합니다.
+        call.upstream = () -> {
+            upstream.cancel();
+            if (revalidation) revalidating.remove(key);
+        };
+    }
+}
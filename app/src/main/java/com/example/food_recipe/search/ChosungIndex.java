@@ -0,0 +1,241 @@
+package com.example.food_recipe.search;
+
+import com.example.food_recipe.utils.HangulUtils;
+import com.example.food_recipe.utils.StringUtils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * [추가] 초성만 입력하거나("ㄱㅊ", "ㄷㅍ") 초성과 글자를 섞어 입력한("김ㅊ") 검색어를 재료명/요리명 후보로 바꾸는 색인입니다.
+ * - 재료명과 레시피 제목의 단어를 미리 초성 키("김치찌개" → "ㄱㅊㅉㄱ")로 분해해, 키 순으로 정렬된 하나의 char[]에 저장합니다.
+ * - 조회는 입력의 초성 키로 이진 탐색한 뒤, 같은 키로 시작하는 구간에서 입력에 포함된 완성 글자까지 일치하는 단어만 고릅니다.
+ * - 후보의 순위는 그 단어를 사용하는 레시피 수(재료 + 제목)입니다.
+ * Android 의존성이 없는 순수 Java 클래스입니다.
+ */
+public final class ChosungIndex {
+
+    /** 초성 검색을 적용하는 최소 입력 길이입니다. 한 글자 입력은 {@link IngredientLexicon}의 자동완성이 처리합니다. */
+    public static final int MIN_QUERY_LENGTH = 2;
+
+    /** 제목에서 추출하지 않을 단어입니다. (검색어 불용어와 같습니다) */
+    private static final Set<String> TITLE_STOP_WORDS = new HashSet<>(StringUtils.SEARCH_STOP_WORDS);
+
+    private static final ChosungIndex EMPTY = new Builder().build();
+
+    // --- 초성 키 순으로 정렬된 단어 목록 ---
+    private final String[] words;
+    private final int[] weights;
+    private final char[] keys;
+    private final int[] keyStarts;
+
+    private ChosungIndex(String[] words, int[] weights, char[] keys, int[] keyStarts) {
+        this.words = words;
+        this.weights = weights;
+        this.keys = keys;
+        this.keyStarts = keyStarts;
+    }
+
+    public static ChosungIndex empty() {
+        return EMPTY;
+    }
+
+    /**
+     * 로컬 검색 인덱스의 재료 사전과 레시피 제목으로부터 만듭니다. 모든 제목을 한 번씩 읽으므로 인덱스 스레드에서 호출해야 합니다.
+     */
+    public static ChosungIndex fromIndex(LocalRecipeIndex index) {
+        Builder builder = new Builder();
+        index.forEachIngredientTerm(builder::add);
+        for (int doc = 0; doc < index.size(); doc++) {
+            builder.addTitle(index.document(doc).title);
+        }
+        return builder.build();
+    }
+
+    public int size() {
+        return words.length;
+    }
+
+    /**
+     * 초성 검색이 필요한 입력인지 확인합니다. 자음만 입력된 글자가 있고, 길이가 {@link #MIN_QUERY_LENGTH} 이상이어야 합니다.
+     */
+    public static boolean isChosungQuery(String input) {
+        String key = LocalRecipeIndex.normalizeTerm(input);
+        return key.length() >= MIN_QUERY_LENGTH && HangulUtils.containsConsonant(key);
+    }
+
+    /**
+     * 입력과 초성이 일치하는 단어를 레시피 수 순으로 최대 limit개 반환합니다.
+     * 입력에 완성된 글자가 섞여 있으면 그 자리의 글자도 일치해야 하며, 마지막 글자는 조합 중인 글자로 취급합니다.
+     */
+    public List<String> search(String input, int limit) {
+        String query = LocalRecipeIndex.normalizeTerm(input);
+        if (query.isEmpty() || limit <= 0 || words.length == 0) {
+            return Collections.emptyList();
+        }
+        String key = HangulUtils.toChoseongKey(query);
+
+        int[] top = new int[limit];
+        int size = 0;
+        for (int i = lowerBound(key); i < words.length && startsWith(i, key); i++) {
+            if (matches(words[i], query)) {
+                size = offer(top, size, i);
+            }
+        }
+        List<String> result = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            result.add(words[top[i]]);
+        }
+        return result;
+    }
+
+    /**
+     * [추가] 재료명 또는 제목 단어로 색인된 단어인지 확인합니다. 오타 교정 전에 이미 알려진 단어(예: "볶음밥")를 보호하는 데 사용합니다.
+     */
+    public boolean contains(String word) {
+        String normalized = LocalRecipeIndex.normalizeTerm(word);
+        if (normalized.isEmpty()) return false;
+        String key = HangulUtils.toChoseongKey(normalized);
+        for (int i = lowerBound(key); i < words.length && compareKey(i, key) == 0; i++) {
+            if (words[i].equals(normalized)) return true;
+        }
+        return false;
+    }
+
+    /** 입력의 완성된 글자가 단어의 같은 자리 글자와 일치하는지 확인합니다. 초성 자리는 키 비교로 이미 확인되었습니다. */
+    private static boolean matches(String word, String query) {
+        int last = query.length() - 1;
+        for (int i = 0; i <= last; i++) {
+            char q = query.charAt(i);
+            if (HangulUtils.isCompatibilityConsonant(q)) continue;
+            char w = word.charAt(i);
+            if (i < last ? q != w : !HangulUtils.canComplete(q, w)) return false;
+        }
+        return true;
+    }
+
+    /** 초성 키가 key 이상인 첫 단어의 위치입니다. */
+    private int lowerBound(String key) {
+        int lo = 0;
+        int hi = words.length;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (compareKey(mid, key) < 0) lo = mid + 1;
+            else hi = mid;
+        }
+        return lo;
+    }
+
+    private int compareKey(int entry, String key) {
+        int start = keyStarts[entry];
+        int length = keyStarts[entry + 1] - start;
+        int n = Math.min(length, key.length());
+        for (int i = 0; i < n; i++) {
+            char a = keys[start + i];
+            char b = key.charAt(i);
+            if (a != b) return a - b;
+        }
+        return length - key.length();
+    }
+
+    private boolean startsWith(int entry, String key) {
+        int start = keyStarts[entry];
+        if (keyStarts[entry + 1] - start < key.length()) return false;
+        for (int i = 0; i < key.length(); i++) {
+            if (keys[start + i] != key.charAt(i)) return false;
+        }
+        return true;
+    }
+
+    /** 가중치 내림차순(같으면 짧은 단어 우선)으로 정렬된 상위 목록에 삽입합니다. */
+    private int offer(int[] top, int size, int entry) {
+        int pos = size;
+        while (pos > 0 && ranksBefore(entry, top[pos - 1])) {
+            pos--;
+        }
+        if (pos >= top.length) {
+            return size;
+        }
+        int newSize = Math.min(size + 1, top.length);
+        System.arraycopy(top, pos, top, pos + 1, newSize - pos - 1);
+        top[pos] = entry;
+        return newSize;
+    }
+
+    private boolean ranksBefore(int a, int b) {
+        if (weights[a] != weights[b]) return weights[a] > weights[b];
+        if (words[a].length() != words[b].length()) return words[a].length() < words[b].length();
+        return a < b;
+    }
+
+    /**
+     * 단어와 가중치를 모아 색인을 만듭니다. 같은 단어가 재료와 제목에 모두 나오면 가중치를 합칩니다.
+     */
+    public static final class Builder {
+        private final Map<String, Integer> weights = new HashMap<>();
+
+        public Builder add(String word, int weight) {
+            String normalized = LocalRecipeIndex.normalizeTerm(word);
+            if (normalized.length() >= MIN_QUERY_LENGTH) {
+                Integer previous = weights.get(normalized);
+                weights.put(normalized, (previous != null ? previous : 0) + Math.max(0, weight));
+            }
+            return this;
+        }
+
+        /** 제목을 공백 기준 단어로 나누어, 한글이 포함된 단어를 가중치 1씩 추가합니다. */
+        public Builder addTitle(String title) {
+            if (title == null) return this;
+            for (String word : title.split("[^\\p{L}\\p{N}]+")) {
+                if (!TITLE_STOP_WORDS.contains(word) && containsSyllable(word)) {
+                    add(word, 1);
+                }
+            }
+            return this;
+        }
+
+        private static boolean containsSyllable(String word) {
+            for (int i = 0; i < word.length(); i++) {
+                if (HangulUtils.isSyllable(word.charAt(i))) return true;
+            }
+            return false;
+        }
+
+        public ChosungIndex build() {
+            int n = weights.size();
+            String[] words = weights.keySet().toArray(new String[0]);
+            String[] entryKeys = new String[n];
+            Integer[] order = new Integer[n];
+            for (int i = 0; i < n; i++) {
+                entryKeys[i] = HangulUtils.toChoseongKey(words[i]);
+                order[i] = i;
+            }
+            Arrays.sort(order, (a, b) -> {
+                int byKey = entryKeys[a].compareTo(entryKeys[b]);
+                return byKey != 0 ? byKey : words[a].compareTo(words[b]);
+            });
+
+            String[] sortedWords = new String[n];
+            int[] sortedWeights = new int[n];
+            int[] keyStarts = new int[n + 1];
+            StringBuilder keys = new StringBuilder();
+            for (int i = 0; i < n; i++) {
+                int source = order[i];
+                sortedWords[i] = words[source];
+                sortedWeights[i] = weights.get(words[source]);
+                keyStarts[i] = keys.length();
+                keys.append(entryKeys[source]);
+            }
+            keyStarts[n] = keys.length();
+            char[] keyArray = new char[keys.length()];
+            keys.getChars(0, keys.length(), keyArray, 0);
+            return new ChosungIndex(sortedWords, sortedWeights, keyArray, keyStarts);
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package com.example.food_recipe.search;
+
+import androidx.annotation.NonNull;
+
+import com.example.food_recipe.model.SearchHit;
+import com.example.food_recipe.utils.HangulUtils;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.TreeSet;
+
+/**
+ * [추가] 제외 재료(알레르기, 기피 재료)가 들어간 레시피를 기기에서 걸러내는 불변 필터입니다.
+ * - 서버에는 같은 재료를 NOT 필터로 보내지만, 재료 값이 정확히 같아야 하는 서버 필터와 달리 여기서는 제목과 재료 문자열에
+ *   포함되는지로 판단하므로 "우유 200ml"처럼 표기가 다른 재료도 걸러냅니다.
+ * - 한 글자 재료("파")는 "양파"처럼 다른 재료의 일부로 잘못 걸리지 않도록, 재료 항목이 그 글자로만 이루어졌거나
+ *   바로 뒤에 분량 등 한글이 아닌 글자가 올 때만 일치로 봅니다.
+ * - {@link #mask(List)}는 한 페이지의 제외 여부를 BitSet으로 계산해, 목록을 다시 그릴 때마다 문자열을 다시 검사하지 않도록 합니다.
+ */
+public final class ExclusionFilter {
+
+    public static final ExclusionFilter NONE = new ExclusionFilter(Collections.emptyList());
+
+    // 하이라이트 태그와 공백을 지우고 소문자로 바꾼 제외 재료 (정렬됨)
+    private final List<String> needles;
+
+    private ExclusionFilter(List<String> needles) {
+        this.needles = needles;
+    }
+
+    public static ExclusionFilter of(Collection<String> ingredients) {
+        if (ingredients == null || ingredients.isEmpty()) {
+            return NONE;
+        }
+        TreeSet<String> needles = new TreeSet<>();
+        for (String ingredient : ingredients) {
+            String needle = ResultRefiner.haystack(ingredient);
+            if (!needle.isEmpty()) needles.add(needle);
+        }
+        return needles.isEmpty() ? NONE : new ExclusionFilter(Collections.unmodifiableList(new ArrayList<>(needles)));
+    }
+
+    public boolean isEmpty() {
+        return needles.isEmpty();
+    }
+
+    public boolean excludes(SearchHit hit) {
+        return excludes(hit.getTitle(), hit.getIngredientsSummary());
+    }
+
+    /**
+     * @param title       레시피 제목 (하이라이트 태그 포함 가능)
+     * @param ingredients ", "로 구분된 재료 문자열 (하이라이트 태그 포함 가능)
+     */
+    public boolean excludes(String title, String ingredients) {
+        if (needles.isEmpty()) return false;
+        String titleText = ResultRefiner.haystack(title);
+        String ingredientText = ResultRefiner.haystack(ingredients);
+        for (String needle : needles) {
+            if (needle.length() == 1) {
+                if (startsAnyItem(ingredientText, needle.charAt(0))) return true;
+            } else if (titleText.contains(needle) || ingredientText.contains(needle)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 제외할 결과의 위치에 비트를 켠 BitSet을 반환합니다.
+     */
+    @NonNull
+    public BitSet mask(List<SearchHit> hits) {
+        BitSet mask = new BitSet(hits.size());
+        if (needles.isEmpty()) return mask;
+        for (int i = 0; i < hits.size(); i++) {
+            if (excludes(hits.get(i))) mask.set(i);
+        }
+        return mask;
+    }
+
+    /** 쉼표로 구분된 재료 항목 중 c로 시작하고 바로 뒤가 끝이거나 한글이 아닌 항목이 있는지 확인합니다. */
+    private static boolean startsAnyItem(String ingredients, char c) {
+        int start = 0;
+        while (start < ingredients.length()) {
+            int end = ingredients.indexOf(',', start);
+            if (end < 0) end = ingredients.length();
+            if (end > start && ingredients.charAt(start) == c
+                    && (end == start + 1 || !HangulUtils.isSyllable(ingredients.charAt(start + 1)))) {
+                return true;
+            }
+            start = end + 1;
+        }
+        return false;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof ExclusionFilter)) return false;
+        return needles.equals(((ExclusionFilter) o).needles);
+    }
+
+    @Override
+    public int hashCode() {
+        return needles.hashCode();
+    }
+
+    @NonNull
+    @Override
+    public String toString() {
+        return needles.toString();
+    }
+}
@@ -0,0 +1,184 @@
+package com.example.food_recipe.search;
+
+import androidx.annotation.NonNull;
+
+import com.example.food_recipe.model.SearchHit;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * [추가] 검색 결과를 좁히는 패싯(분류, 조리 시간, 난이도) 선택 상태를 담는 불변 객체입니다.
+ * - 같은 속성 안에서 선택한 값은 OR, 서로 다른 속성끼리는 AND로 결합합니다. (예: 반찬 또는 국 중에서 초급)
+ * - {@link #toAlgoliaFilters()}로 서버 필터를 만들고, {@link #matches(SearchHit)}로 이미 받은 결과를 기기에서 바로 걸러냅니다.
+ *   두 규칙이 같으므로 서버 응답이 오기 전에 보여준 목록과 응답 후의 목록이 어긋나지 않습니다.
+ */
+public final class FacetFilter {
+
+    public static final String CATEGORY = "category_kind";
+    public static final String COOKING_TIME = "cooking_time";
+    public static final String DIFFICULTY = "difficulty";
+
+    /** 패싯 개수를 요청하고 필터로 사용할 수 있는 속성입니다. (화면에 표시되는 순서) */
+    static final String[] ATTRIBUTES = {CATEGORY, COOKING_TIME, DIFFICULTY};
+
+    private static final FacetFilter NONE = new FacetFilter(Collections.emptyMap());
+    private static final char SAVED_STATE_SEPARATOR = '\u001F';
+
+    // 속성 -> 선택한 값 (모두 정렬되어 있어 선택 순서와 무관하게 같은 키를 만듭니다)
+    private final Map<String, Set<String>> selected;
+
+    private FacetFilter(Map<String, Set<String>> selected) {
+        this.selected = selected;
+    }
+
+    public static FacetFilter none() {
+        return NONE;
+    }
+
+    public boolean isEmpty() {
+        return selected.isEmpty();
+    }
+
+    public boolean isSelected(String attribute, String value) {
+        Set<String> values = selected.get(attribute);
+        return values != null && value != null && values.contains(value);
+    }
+
+    /**
+     * 값의 선택 여부를 뒤집은 새 필터를 반환합니다. 지원하지 않는 속성이면 그대로 반환합니다.
+     */
+    @NonNull
+    public FacetFilter toggle(String attribute, String value) {
+        if (!isSupported(attribute) || value == null || value.isEmpty()) {
+            return this;
+        }
+        Map<String, Set<String>> next = new TreeMap<>();
+        for (Map.Entry<String, Set<String>> entry : selected.entrySet()) {
+            next.put(entry.getKey(), new TreeSet<>(entry.getValue()));
+        }
+        Set<String> values = next.computeIfAbsent(attribute, key -> new TreeSet<>());
+        if (!values.remove(value)) {
+            values.add(value);
+        }
+        if (values.isEmpty()) {
+            next.remove(attribute);
+        }
+        if (next.isEmpty()) {
+            return NONE;
+        }
+        for (Map.Entry<String, Set<String>> entry : next.entrySet()) {
+            entry.setValue(Collections.unmodifiableSet(entry.getValue()));
+        }
+        return new FacetFilter(Collections.unmodifiableMap(next));
+    }
+
+    /**
+     * 검색 결과 하나가 선택한 모든 속성의 값 중 하나와 일치하는지 확인합니다.
+     */
+    public boolean matches(SearchHit hit) {
+        for (Map.Entry<String, Set<String>> entry : selected.entrySet()) {
+            String value = valueOf(hit, entry.getKey());
+            if (value == null || !entry.getValue().contains(value)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Algolia filters 문법으로 변환합니다. 예: {@code (category_kind:"국" OR category_kind:"반찬") AND difficulty:"초급"}
+     * 선택이 없으면 빈 문자열입니다.
+     */
+    @NonNull
+    public String toAlgoliaFilters() {
+        StringBuilder filters = new StringBuilder();
+        for (Map.Entry<String, Set<String>> entry : selected.entrySet()) {
+            if (filters.length() > 0) filters.append(" AND ");
+            boolean grouped = entry.getValue().size() > 1;
+            if (grouped) filters.append('(');
+            boolean first = true;
+            for (String value : entry.getValue()) {
+                if (!first) filters.append(" OR ");
+                filters.append(entry.getKey()).append(":\"").append(value.replace("\"", "")).append('"');
+                first = false;
+            }
+            if (grouped) filters.append(')');
+        }
+        return filters.toString();
+    }
+
+    /**
+     * [추가] 화면 상태 저장(SavedStateHandle)용으로 선택을 "속성\u001F값" 목록으로 바꿉니다.
+     */
+    @NonNull
+    ArrayList<String> toSavedState() {
+        ArrayList<String> saved = new ArrayList<>();
+        for (Map.Entry<String, Set<String>> entry : selected.entrySet()) {
+            for (String value : entry.getValue()) {
+                saved.add(entry.getKey() + SAVED_STATE_SEPARATOR + value);
+            }
+        }
+        return saved;
+    }
+
+    /** [추가] {@link #toSavedState()}로 저장한 목록에서 선택을 복원합니다. 지원하지 않는 속성은 무시합니다. */
+    @NonNull
+    static FacetFilter fromSavedState(List<String> saved) {
+        FacetFilter filter = NONE;
+        if (saved == null) return filter;
+        for (String item : saved) {
+            int separator = item.indexOf(SAVED_STATE_SEPARATOR);
+            if (separator > 0 && !filter.isSelected(item.substring(0, separator), item.substring(separator + 1))) {
+                filter = filter.toggle(item.substring(0, separator), item.substring(separator + 1));
+            }
+        }
+        return filter;
+    }
+
+    /** 검색 결과 캐시 키에 덧붙일 문자열입니다. 선택이 없으면 빈 문자열입니다. */
+    @NonNull
+    String cacheKey() {
+        return selected.isEmpty() ? "" : selected.toString();
+    }
+
+    static boolean isSupported(String attribute) {
+        return CATEGORY.equals(attribute) || COOKING_TIME.equals(attribute) || DIFFICULTY.equals(attribute);
+    }
+
+    private static String valueOf(SearchHit hit, String attribute) {
+        switch (attribute) {
+            case CATEGORY:
+                return hit.getCategoryKind();
+            case COOKING_TIME:
+                return hit.getCookingTime();
+            case DIFFICULTY:
+                return hit.getDifficulty();
+            default:
+                return null;
+        }
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof FacetFilter)) return false;
+        return selected.equals(((FacetFilter) o).selected);
+    }
+
+    @Override
+    public int hashCode() {
+        return selected.hashCode();
+    }
+
+    @NonNull
+    @Override
+    public String toString() {
+        return selected.toString();
+    }
+}
@@ -0,0 +1,295 @@
+package com.example.food_recipe.search;
+
+import android.util.Log;
+
+import androidx.annotation.MainThread;
+import androidx.annotation.NonNull;
+
+import com.example.food_recipe.utils.MainThreadTimer;
+
+/**
+ * [추가] 같은 검색 조건을 Algolia(원격)와 기기 내 인덱스(로컬)에 동시에 보내는 통합 검색 Model입니다.
+ * - 원격 결과가 마감 시간({@link #deadlineMs}) 안에 오면 원격 결과를 그대로 전달합니다.
+ * - 마감 시간이 지나도록 원격 결과가 없으면 로컬 결과를 먼저 전달하고, 원격 결과가 도착하면 {@link RankFusion}으로 합쳐
+ *   다시 전달합니다. 따라서 네트워크가 나쁠 때의 응답 시간은 마감 시간과 로컬 검색 시간으로 제한됩니다.
+ * - 원격 요청이 실패하면 로컬 결과로 대신하고, 두 소스가 모두 실패했을 때만 오류를 전달합니다.
+ * - 로컬 결과가 비어 있으면 원격 결과를 기다립니다. (원격에는 있을 수 있는 결과를 '결과 없음'으로 먼저 보여주지 않기 위함)
+ * - 로컬 인덱스는 패싯을 지원하지 않고, 합친 첫 페이지 뒤의 페이지는 원격 결과만 이어지므로
+ *   패싯을 선택한 검색과 두 번째 페이지부터는 원격으로만 요청합니다.
+ * - 소스별 지연 시간(EWMA)과 먼저 전달된 횟수(승률)를 기록합니다. ({@link #getStats()})
+ * 모든 콜백은 메인 스레드에서 호출되어야 하며, 감싼 두 Model도 메인 스레드에서 콜백해야 합니다.
+ */
+public class FederatedSearchModel implements SearchContract.Model {
+
+    private static final String TAG = "FederatedSearch";
+
+    /** 원격 결과를 기다리는 기본 마감 시간입니다. 평소 Algolia 응답(수백 ms)은 기다리고, 그보다 느린 꼬리 지연만 로컬로 대신합니다. */
+    public static final long DEFAULT_DEADLINE_MS = 700;
+    private static final double LATENCY_EWMA_ALPHA = 0.3;
+
+    private final SearchContract.Model remote;
+    private final SearchContract.Model local;
+    private final long deadlineMs;
+    private final MainThreadTimer timer;
+
+    private final SourceStats remoteStats = new SourceStats();
+    private final SourceStats localStats = new SourceStats();
+    private int raceCount;
+
+    public FederatedSearchModel(SearchContract.Model remote, SearchContract.Model local) {
+        this(remote, local, DEFAULT_DEADLINE_MS);
+    }
+
+    /**
+     * @param deadlineMs 원격 결과를 기다리는 최대 시간. 이 시간이 지나면 로컬 결과를 먼저 보여줍니다.
+     */
+    public FederatedSearchModel(SearchContract.Model remote, SearchContract.Model local, long deadlineMs) {
+        this(remote, local, deadlineMs, MainThreadTimer.system());
+    }
+
+    /**
+     * [추가] 마감 시간과 지연 시간 측정에 쓸 타이머를 지정합니다. 테스트에서 시간을 직접 진행시킬 때 사용합니다.
+     */
+    FederatedSearchModel(SearchContract.Model remote, SearchContract.Model local, long deadlineMs,
+                         @NonNull MainThreadTimer timer) {
+        this.remote = remote;
+        this.local = local;
+        this.deadlineMs = Math.max(0, deadlineMs);
+        this.timer = timer;
+    }
+
+    /**
+     * 소스 하나의 누적 통계입니다. 메인 스레드에서만 갱신합니다.
+     */
+    private static final class SourceStats {
+        int responses;
+        int failures;
+        int wins;
+        double latencyEwmaMs = -1;
+
+        void recordLatency(long latencyMs) {
+            responses++;
+            latencyEwmaMs = latencyEwmaMs < 0
+                    ? latencyMs
+                    : LATENCY_EWMA_ALPHA * latencyMs + (1 - LATENCY_EWMA_ALPHA) * latencyEwmaMs;
+        }
+    }
+
+    /**
+     * 디버깅 및 성능 측정용 통계의 스냅샷입니다. 승률은 경쟁한 검색 중 그 소스의 결과가 먼저 화면에 전달된 비율입니다.
+     */
+    public static final class Stats {
+        public final int races;
+        public final int remoteWins;
+        public final int localWins;
+        public final int remoteFailures;
+        public final int localFailures;
+        public final long remoteLatencyEwmaMs;
+        public final long localLatencyEwmaMs;
+
+        Stats(int races, SourceStats remote, SourceStats local) {
+            this.races = races;
+            this.remoteWins = remote.wins;
+            this.localWins = local.wins;
+            this.remoteFailures = remote.failures;
+            this.localFailures = local.failures;
+            this.remoteLatencyEwmaMs = Math.round(remote.latencyEwmaMs);
+            this.localLatencyEwmaMs = Math.round(local.latencyEwmaMs);
+        }
+
+        public double remoteWinRate() {
+            return races == 0 ? 0 : (double) remoteWins / races;
+        }
+
+        public double localWinRate() {
+            return races == 0 ? 0 : (double) localWins / races;
+        }
+
+        @NonNull
+        @Override
+        public String toString() {
+            return "races=" + races
+                    + ", remote(win=" + remoteWins + ", fail=" + remoteFailures + ", latency=" + remoteLatencyEwmaMs + "ms)"
+                    + ", local(win=" + localWins + ", fail=" + localFailures + ", latency=" + localLatencyEwmaMs + "ms)";
+        }
+    }
+
+    @MainThread
+    public Stats getStats() {
+        return new Stats(raceCount, remoteStats, localStats);
+    }
+
+    @Override
+    public SearchCall fetchInitialRecipes(OnRecipesFetchedListener listener) {
+        return race(SearchQuery.empty(), listener);
+    }
+
+    @Override
+    public SearchCall searchRecipes(SearchQuery query, OnRecipesFetchedListener listener) {
+        if (query.getPage() > 0 || !query.getFacetFilter().isEmpty()) {
+            return remote.searchRecipes(query, listener);
+        }
+        return race(query, listener);
+    }
+
+    @Override
+    public void fetchPantryItems(OnPantryItemsFetchedListener listener) {
+        remote.fetchPantryItems(listener);
+    }
+
+    @Override
+    public void fetchPantryDetails(OnPantryDetailsFetchedListener listener) {
+        remote.fetchPantryDetails(listener);
+    }
+
+    private SearchCall race(SearchQuery query, OnRecipesFetchedListener listener) {
+        raceCount++;
+        Race race = new Race(query, listener);
+        race.start();
+        return race;
+    }
+
+    /**
+     * 검색 조건 하나에 대한 두 소스의 경쟁 상태입니다. 메인 스레드에서만 접근합니다.
+     */
+    private final class Race implements SearchCall {
+        final SearchQuery query;
+        final OnRecipesFetchedListener listener;
+        final long startedAt = timer.now();
+        final Runnable deadline = this::onDeadline;
+
+        SearchCall remoteCall = SearchCall.NONE;
+        SearchCall localCall = SearchCall.NONE;
+        boolean cancelled;
+        boolean deadlinePassed;
+
+        SearchResult remoteResult;
+        SearchResult localResult;
+        String remoteError;
+        boolean localFailed;
+        // 로컬 결과가 화면에 전달되었는지 여부. 이후 원격 결과는 로컬 결과와 합쳐서 전달합니다.
+        boolean localShown;
+        boolean delivered;
+
+        Race(SearchQuery query, OnRecipesFetchedListener listener) {
+            this.query = query;
+            this.listener = listener;
+        }
+
+        void start() {
+            timer.postDelayed(deadline, deadlineMs);
+            OnRecipesFetchedListener remoteListener = new OnRecipesFetchedListener() {
+                @Override
+                public void onSuccess(SearchResult result) {
+                    onRemoteResult(result);
+                }
+
+                @Override
+                public void onError(String message) {
+                    onRemoteError(message);
+                }
+            };
+            OnRecipesFetchedListener localListener = new OnRecipesFetchedListener() {
+                @Override
+                public void onSuccess(SearchResult result) {
+                    onLocalResult(result);
+                }
+
+                @Override
+                public void onError(String message) {
+                    onLocalError(message);
+                }
+            };
+            remoteCall = query.isInitialRequest()
+                    ? remote.fetchInitialRecipes(remoteListener)
+                    : remote.searchRecipes(query, remoteListener);
+            localCall = query.isInitialRequest()
+                    ? local.fetchInitialRecipes(localListener)
+                    : local.searchRecipes(query, localListener);
+        }
+
+        @Override
+        public void cancel() {
+            cancelled = true;
+            timer.cancel(deadline);
+            remoteCall.cancel();
+            localCall.cancel();
+        }
+
+        void onRemoteResult(SearchResult result) {
+            if (cancelled) return;
+            // 캐시 Model은 한 요청에 두 번 응답할 수 있으므로 지연 시간은 첫 응답으로만 기록합니다.
+            if (remoteResult == null && remoteError == null) {
+                remoteStats.recordLatency(elapsed());
+            }
+            remoteResult = result;
+            timer.cancel(deadline);
+            if (!delivered) {
+                win(remoteStats, "remote");
+            }
+            listener.onSuccess(localShown ? RankFusion.merge(result, localResult) : result);
+        }
+
+        void onRemoteError(String message) {
+            if (cancelled) return;
+            remoteStats.failures++;
+            remoteError = message;
+            timer.cancel(deadline);
+            if (delivered) {
+                return;
+            }
+            if (localResult != null) {
+                showLocal();
+            } else if (localFailed) {
+                listener.onError(message);
+            }
+            // 로컬 결과가 아직 없으면 도착하는 대로 전달합니다.
+        }
+
+        void onLocalResult(SearchResult result) {
+            if (cancelled) return;
+            localStats.recordLatency(elapsed());
+            localResult = result;
+            if (delivered) {
+                return;
+            }
+            if (remoteError != null || (deadlinePassed && result != null && !result.isEmpty())) {
+                showLocal();
+            }
+        }
+
+        void onLocalError(String message) {
+            if (cancelled) return;
+            localStats.failures++;
+            localFailed = true;
+            Log.d(TAG, "Local search failed: " + message);
+            if (!delivered && remoteError != null) {
+                listener.onError(remoteError);
+            }
+        }
+
+        void onDeadline() {
+            if (cancelled) return;
+            deadlinePassed = true;
+            if (!delivered && localResult != null && !localResult.isEmpty()) {
+                showLocal();
+            }
+        }
+
+        private void showLocal() {
+            win(localStats, "local");
+            localShown = true;
+            listener.onSuccess(localResult);
+        }
+
+        private void win(SourceStats source, String name) {
+            delivered = true;
+            source.wins++;
+            Log.d(TAG, query + " -> " + name + " first after " + elapsed() + "ms (" + getStats() + ")");
+        }
+
+        private long elapsed() {
+            return timer.now() - startedAt;
+        }
+    }
+}
@@ -0,0 +1,600 @@
+package com.example.food_recipe.search;
+
+import androidx.annotation.Nullable;
+
+import com.example.food_recipe.utils.HangulUtils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * [추가] 레시피 코퍼스의 재료명 사전과, 그 위에 만든 자동완성용 트라이(Trie)입니다.
+ * - 재료명은 그 재료를 사용하는 레시피 수(가중치)와 함께 사전순으로 저장됩니다.
+ * - 트라이의 노드는 객체가 아닌 병렬 배열(라벨, 첫 자식, 자식 수)로 저장하고, 자식은 BFS 순서로 연속 배치되어
+ *   자식 탐색은 이진 탐색으로 처리됩니다.
+ * - 노드마다 그 접두어로 시작하는 재료 중 가중치 상위 {@link #MAX_SUGGESTIONS}개를 미리 계산해 두므로,
+ *   입력 한 글자마다 하위 트리를 순회하지 않고 접두어 길이만큼의 탐색으로 추천 목록을 얻습니다.
+ * - 마지막 글자는 한글 조합 중인 글자("된자", "곡")로 보고 완성될 수 있는 글자를 모두 후보로 포함합니다.
+ * - [추가] 재료별 가중치는 곧 코퍼스의 문서 빈도이므로, 결과가 없는 검색을 완화할 때 칩의 선택도 표로도 사용합니다.
+ * - [수정] 오타가 있는 입력과 가까운 재료명은 재료명을 길이별로 모아 둔 구간에서 찾습니다. 허용 거리 안에 들 수 있는 길이의
+ *   구간만 훑고, 재료명마다 미리 모아 둔 자모 집합으로 구한 하한이 허용 거리를 넘는 재료는 편집 거리를 계산하지 않습니다.
+ *   (트라이를 편집 거리 행과 함께 탐색하던 방식은 두 번째 글자부터 거의 공유되는 접두어가 없어 사전 전체를 훑는 것과 같았습니다.)
+ * Android 의존성이 없는 순수 Java 클래스입니다.
+ */
+public final class IngredientLexicon {
+
+    /** 노드마다 미리 계산해 두는 추천 후보 수입니다. 한 번에 보여줄 수 있는 최대 추천 수이기도 합니다. */
+    public static final int MAX_SUGGESTIONS = 8;
+
+    /** [추가] 오타 교정에서 음절 하나를 삽입/삭제하거나 완전히 다른 음절로 바꾸는 비용입니다. 자모 하나 차이는 1입니다. */
+    static final int SYLLABLE_COST = 3;
+
+    /** [추가] 오타 교정에서 허용 거리를 넘는 것이 확실해 끝까지 계산하지 않은 거리입니다. */
+    private static final int TOO_FAR = Integer.MAX_VALUE;
+
+    private static final IngredientLexicon EMPTY = new Builder().build();
+
+    // --- 사전 (정규화된 재료명, 사전순) ---
+    private final String[] terms;
+    private final int[] weights;
+
+    // --- 트라이 (0번이 루트) ---
+    private final char[] labels;
+    private final int[] firstChild;
+    private final int[] childCount;
+    private final int[] terminal;
+    private final int[] topStarts;
+    private final int[] tops;
+    private final int maxTermLength;
+
+    // --- [추가] 오타 교정용 길이별 구간 (재료명 길이, 사전순) ---
+    // lengthStarts[n]부터 lengthStarts[n + 1] 전까지가 n글자 재료입니다. 나머지 배열은 이 순서로 저장합니다.
+    private final int[] lengthStarts;
+    private final int[] byLength;
+    // 재료명의 글자를 {@link #jamoCode}로 분해해 이어 붙인 값과, 재료마다 나오는 초성·중성/종성의 집합입니다.
+    private final int[] jamoStarts;
+    private final int[] jamoCodes;
+    private final long[] choJungSets;
+    private final int[] jongSets;
+
+    private IngredientLexicon(String[] terms, int[] weights) {
+        this.terms = terms;
+        this.weights = weights;
+
+        // 1. 정렬된 사전을 BFS로 나누어 노드를 만듭니다. 노드 하나는 같은 접두어를 가진 재료의 연속 구간입니다.
+        int capacity = 1;
+        int longest = 0;
+        for (String term : terms) {
+            capacity += term.length();
+            longest = Math.max(longest, term.length());
+        }
+        this.maxTermLength = longest;
+        char[] label = new char[capacity];
+        int[] first = new int[capacity];
+        int[] count = new int[capacity];
+        int[] term = new int[capacity];
+        int[] from = new int[capacity];
+        int[] to = new int[capacity];
+        int[] depth = new int[capacity];
+
+        int nodeCount = 1;
+        to[0] = terms.length;
+        for (int node = 0; node < nodeCount; node++) {
+            int d = depth[node];
+            int i = from[node];
+            term[node] = -1;
+            if (i < to[node] && terms[i].length() == d) {
+                term[node] = i++;
+            }
+            first[node] = nodeCount;
+            while (i < to[node]) {
+                char c = terms[i].charAt(d);
+                int j = i + 1;
+                while (j < to[node] && terms[j].charAt(d) == c) j++;
+                int child = nodeCount++;
+                label[child] = c;
+                from[child] = i;
+                to[child] = j;
+                depth[child] = d + 1;
+                i = j;
+            }
+            count[node] = nodeCount - first[node];
+        }
+
+        // 2. 자식이 부모보다 뒤에 있으므로, 뒤에서부터 자식들의 상위 후보를 합쳐 노드별 상위 후보를 계산합니다.
+        int[][] nodeTops = new int[nodeCount][];
+        int[] candidates = new int[MAX_SUGGESTIONS];
+        int total = 0;
+        for (int node = nodeCount - 1; node >= 0; node--) {
+            int size = 0;
+            if (term[node] >= 0) {
+                size = offer(candidates, size, term[node]);
+            }
+            for (int child = first[node]; child < first[node] + count[node]; child++) {
+                for (int candidate : nodeTops[child]) {
+                    size = offer(candidates, size, candidate);
+                }
+            }
+            nodeTops[node] = Arrays.copyOf(candidates, size);
+            total += size;
+        }
+
+        this.labels = Arrays.copyOf(label, nodeCount);
+        this.firstChild = Arrays.copyOf(first, nodeCount);
+        this.childCount = Arrays.copyOf(count, nodeCount);
+        this.terminal = Arrays.copyOf(term, nodeCount);
+        this.topStarts = new int[nodeCount + 1];
+        this.tops = new int[total];
+        int offset = 0;
+        for (int node = 0; node < nodeCount; node++) {
+            topStarts[node] = offset;
+            System.arraycopy(nodeTops[node], 0, tops, offset, nodeTops[node].length);
+            offset += nodeTops[node].length;
+        }
+        topStarts[nodeCount] = offset;
+
+        // 3. [추가] 오타 교정용으로 재료를 길이별로 모으고, 글자마다 자모로 분해해 둡니다.
+        this.lengthStarts = new int[longest + 2];
+        for (String t : terms) {
+            lengthStarts[t.length() + 1]++;
+        }
+        for (int n = 1; n < lengthStarts.length; n++) {
+            lengthStarts[n] += lengthStarts[n - 1];
+        }
+        this.byLength = new int[terms.length];
+        int[] filled = Arrays.copyOf(lengthStarts, lengthStarts.length);
+        for (int i = 0; i < terms.length; i++) {
+            byLength[filled[terms[i].length()]++] = i;
+        }
+        this.jamoStarts = new int[terms.length + 1];
+        this.jamoCodes = new int[capacity - 1];
+        this.choJungSets = new long[terms.length];
+        this.jongSets = new int[terms.length];
+        offset = 0;
+        for (int p = 0; p < terms.length; p++) {
+            jamoStarts[p] = offset;
+            String t = terms[byLength[p]];
+            for (int i = 0; i < t.length(); i++) {
+                int code = jamoCode(t.charAt(i));
+                jamoCodes[offset++] = code;
+                choJungSets[p] |= choJungBits(code);
+                jongSets[p] |= jongBit(code);
+            }
+        }
+        jamoStarts[terms.length] = offset;
+    }
+
+    public static IngredientLexicon empty() {
+        return EMPTY;
+    }
+
+    /**
+     * 로컬 검색 인덱스의 재료 사전으로부터 만듭니다. 가중치는 그 재료를 사용하는 레시피 수입니다.
+     */
+    public static IngredientLexicon fromIndex(LocalRecipeIndex index) {
+        Builder builder = new Builder();
+        index.forEachIngredientTerm(builder::add);
+        return builder.build();
+    }
+
+    public int size() {
+        return terms.length;
+    }
+
+    public boolean isEmpty() {
+        return terms.length == 0;
+    }
+
+    /** 사전순 i번째 재료명입니다. */
+    String term(int i) {
+        return terms[i];
+    }
+
+    /**
+     * [추가] 재료를 사용하는 레시피 수(문서 빈도)입니다. 사전에 없는 단어는 0입니다.
+     * 결과가 없는 칩 조합에서 가장 드문(결과를 가장 많이 줄이는) 칩을 고를 때 사용합니다.
+     */
+    public int documentFrequency(String ingredient) {
+        int i = Arrays.binarySearch(terms, LocalRecipeIndex.normalizeTerm(ingredient));
+        return i >= 0 ? weights[i] : 0;
+    }
+
+    /**
+     * 사전에 있는 재료명인지 확인합니다. 입력은 {@link LocalRecipeIndex#normalizeTerm(String)}으로 정규화해 비교합니다.
+     */
+    public boolean contains(String ingredient) {
+        return Arrays.binarySearch(terms, LocalRecipeIndex.normalizeTerm(ingredient)) >= 0;
+    }
+
+    /**
+     * [추가] text의 start 위치에서 시작하는 가장 긴 재료명의 길이를 반환합니다. 일치하는 재료가 없으면 0입니다.
+     * text는 {@link LocalRecipeIndex#normalizeTerm}으로 정규화되어 있어야 합니다. (검색어 명사 분리에 사용)
+     */
+    public int longestMatchAt(CharSequence text, int start) {
+        int term = longestTermAt(text, start);
+        return term >= 0 ? terms[term].length() : 0;
+    }
+
+    /**
+     * [추가] text의 start 위치에서 시작하는 가장 긴 재료명의 번호(사전순 위치)를 반환합니다. 일치하는 재료가 없으면 -1입니다.
+     * 재료 집합을 정수 번호로 비교할 때 사용합니다.
+     */
+    int longestTermAt(CharSequence text, int start) {
+        int longest = -1;
+        int node = 0;
+        for (int i = start; i < text.length(); i++) {
+            node = child(node, text.charAt(i));
+            if (node < 0) break;
+            if (terminal[node] >= 0) longest = terminal[node];
+        }
+        return longest;
+    }
+
+    /**
+     * [추가] {@link #longestTermAt(CharSequence, int)}와 같지만 문자 배열의 [start, end) 구간에서 찾습니다.
+     * 재료 문자열을 항목마다 새 문자열로 만들지 않고 버퍼 하나로 처리할 때 사용합니다. ({@link PantryCoverageRanker})
+     */
+    int longestTermAt(char[] text, int start, int end) {
+        int longest = -1;
+        int node = 0;
+        for (int i = start; i < end; i++) {
+            node = child(node, text[i]);
+            if (node < 0) break;
+            if (terminal[node] >= 0) longest = terminal[node];
+        }
+        return longest;
+    }
+
+    /**
+     * [추가] 재료 항목("돼지고기 200g", "대 파")에서 가장 앞에 나오는 재료명의 번호를 반환합니다. 없으면 -1입니다.
+     * 냉장고 재료와 레시피 재료를 번호로 비교하는 곳({@link PantryCoverageRanker}, 홈 화면의 재료 기반 추천)이
+     * 모두 이 규칙을 사용하므로, 같은 재료인지에 대한 판단이 서로 어긋나지 않습니다.
+     */
+    public int ingredientId(String item) {
+        String text = LocalRecipeIndex.normalizeTerm(item);
+        return ingredientId(text.toCharArray(), text.length());
+    }
+
+    /**
+     * [추가] {@link #ingredientId(String)}와 같지만 이미 정규화된 text의 앞 length글자에서 찾습니다.
+     */
+    int ingredientId(char[] text, int length) {
+        for (int start = 0; start < length; start++) {
+            int id = longestTermAt(text, start, length);
+            if (id >= 0) return id;
+        }
+        return -1;
+    }
+
+    /**
+     * 입력 중인 문자열로 시작하는 재료명을 가중치 순으로 최대 limit개 반환합니다.
+     * 입력과 정확히 같은 재료가 있으면 가중치와 관계없이 맨 앞에 둡니다.
+     *
+     * @param input 사용자가 입력 중인 문자열 (공백, 대소문자 무관)
+     * @param limit 반환할 최대 개수 ({@link #MAX_SUGGESTIONS}를 넘을 수 없습니다)
+     */
+    public List<String> suggest(String input, int limit) {
+        String key = LocalRecipeIndex.normalizeTerm(input);
+        int k = Math.min(limit, MAX_SUGGESTIONS);
+        if (key.isEmpty() || k <= 0 || terms.length == 0) {
+            return Collections.emptyList();
+        }
+
+        // 1. 마지막 글자를 제외한 부분은 정확히 일치해야 합니다.
+        int node = 0;
+        for (int i = 0; i < key.length() - 1 && node >= 0; i++) {
+            node = child(node, key.charAt(i));
+        }
+        if (node < 0) {
+            return Collections.emptyList();
+        }
+
+        // 2. 마지막 글자는 조합 중일 수 있으므로, 완성될 수 있는 모든 자식의 상위 후보를 합칩니다.
+        char last = key.charAt(key.length() - 1);
+        int[] candidates = new int[k];
+        int size = 0;
+        int exact = -1;
+        for (int c = firstChild[node]; c < firstChild[node] + childCount[node]; c++) {
+            if (HangulUtils.canComplete(last, labels[c])) {
+                size = offerTops(candidates, size, c);
+                if (labels[c] == last) exact = terminal[c];
+            }
+        }
+        // 3. 받침이 다음 글자의 초성이 되는 경우("곡" → "고기")도 후보에 포함합니다.
+        if (HangulUtils.hasJongseong(last)) {
+            int base = child(node, HangulUtils.detachJongseong(last));
+            int moved = HangulUtils.detachedChoseong(last);
+            if (base >= 0) {
+                for (int c = firstChild[base]; c < firstChild[base] + childCount[base]; c++) {
+                    if (HangulUtils.choseong(labels[c]) == moved) {
+                        size = offerTops(candidates, size, c);
+                    }
+                }
+            }
+        }
+
+        List<String> suggestions = new ArrayList<>(size + 1);
+        if (exact >= 0) {
+            suggestions.add(terms[exact]);
+        }
+        for (int i = 0; i < size && suggestions.size() < k; i++) {
+            if (candidates[i] != exact) {
+                suggestions.add(terms[candidates[i]]);
+            }
+        }
+        return suggestions;
+    }
+
+    // =====================================================================
+    // 오타 교정
+    // =====================================================================
+
+    /**
+     * [추가] 입력 길이에 따른 허용 거리입니다. 짧은 단어일수록 다른 재료로 잘못 바뀌기 쉬우므로 엄격하게 제한합니다.
+     * 한 글자: 교정하지 않음, 두 글자: 자모 하나, 세~네 글자: 음절 하나, 다섯 글자 이상: 음절 둘.
+     */
+    static int maxDistanceFor(int length) {
+        if (length <= 1) return 0;
+        if (length == 2) return 1;
+        if (length <= 4) return SYLLABLE_COST;
+        return 2 * SYLLABLE_COST;
+    }
+
+    /**
+     * [추가] 허용 거리 안의 재료명을 (거리 오름차순, 레시피 수 내림차순)으로 최대 limit개 반환합니다.
+     * 거리는 음절 단위 편집 거리이되, 음절을 바꾸는 비용은 서로 다른 자모 수(1~3)입니다.
+     * 예: "고춧가루" → "고추가루"(1), "감쟈" → "감자"(1)
+     */
+    public List<String> suggestSimilar(String input, int limit) {
+        String query = LocalRecipeIndex.normalizeTerm(input);
+        if (query.isEmpty() || limit <= 0 || terms.length == 0) {
+            return Collections.emptyList();
+        }
+        FuzzyCollector collector = new FuzzyCollector(limit);
+        JamoQuery jamo = new JamoQuery(query);
+        int m = query.length();
+        int maxDistance = maxDistanceFor(m);
+        // [수정] 음절 하나를 더하거나 빼는 데 SYLLABLE_COST가 들므로, 길이 차이가 허용 거리를 넘는 구간은 보지 않습니다.
+        int shortest = Math.max(0, m - maxDistance / SYLLABLE_COST);
+        int longest = Math.min(maxTermLength, m + maxDistance / SYLLABLE_COST);
+        for (int n = shortest; n <= longest; n++) {
+            int lengthGap = Math.abs(n - m) * SYLLABLE_COST;
+            for (int p = lengthStarts[n]; p < lengthStarts[n + 1]; p++) {
+                // 후보를 limit개 모았으면 가장 먼 후보보다 먼 재료는 순위에 들 수 없으므로 허용 거리를 줄여 갑니다.
+                int cutoff = collector.cutoff(maxDistance);
+                if (lengthGap > cutoff) break;
+                if (missingJamo(jamo, p) > cutoff) continue;
+                int distance = distance(jamo, p, cutoff);
+                if (distance <= cutoff) {
+                    collector.offer(byLength[p], distance);
+                }
+            }
+        }
+
+        List<String> similar = new ArrayList<>(collector.size);
+        for (int i = 0; i < collector.size; i++) {
+            similar.add(terms[collector.terms[i]]);
+        }
+        return similar;
+    }
+
+    /**
+     * [추가] 입력을 사전의 재료명으로 교정합니다. 사전에 그대로 있으면 그 재료명을, 허용 거리 안의 재료가 있으면
+     * 가장 가까운(같으면 더 많이 쓰이는) 재료명을, 없으면 null을 반환합니다.
+     */
+    @Nullable
+    public String snap(String input) {
+        // [수정] 사전에 그대로 있는 입력(거리 0)은 다른 재료가 더 가까울 수 없으므로 찾지 않습니다.
+        int exact = Arrays.binarySearch(terms, LocalRecipeIndex.normalizeTerm(input));
+        if (exact >= 0) {
+            return terms[exact];
+        }
+        List<String> best = suggestSimilar(input, 1);
+        return best.isEmpty() ? null : best.get(0);
+    }
+
+    /**
+     * [추가] 길이별 구간의 p번째 재료와 입력 사이 거리의 하한입니다.
+     * 한쪽에만 나오는 자모는 나올 때마다 치환이나 삽입/삭제로 자모 하나 이상의 비용이 들므로,
+     * 한쪽에만 있는 (초성, 중성, 종성) 종류의 수가 더 많은 쪽이 하한이 됩니다. 비트 연산 몇 번으로 대부분의 재료를 걸러냅니다.
+     */
+    private int missingJamo(JamoQuery query, int p) {
+        int inQueryOnly = Long.bitCount(query.choJungSet & ~choJungSets[p])
+                + Integer.bitCount(query.jongSet & ~jongSets[p]);
+        int inTermOnly = Long.bitCount(choJungSets[p] & ~query.choJungSet)
+                + Integer.bitCount(jongSets[p] & ~query.jongSet);
+        return Math.max(inQueryOnly, inTermOnly);
+    }
+
+    /**
+     * [추가] 길이별 구간의 p번째 재료와 입력 사이의 편집 거리입니다.
+     * 한 행의 최솟값이 cutoff를 넘으면 그 뒤의 거리도 cutoff를 넘으므로 계산을 멈추고 {@link #TOO_FAR}를 반환합니다.
+     */
+    private int distance(JamoQuery query, int p, int cutoff) {
+        int m = query.codes.length;
+        int[] row = query.row;
+        int[] next = query.next;
+        for (int j = 0; j <= m; j++) {
+            row[j] = j * SYLLABLE_COST;
+        }
+        for (int i = jamoStarts[p]; i < jamoStarts[p + 1]; i++) {
+            int code = jamoCodes[i];
+            next[0] = row[0] + SYLLABLE_COST;
+            int rowMin = next[0];
+            for (int j = 1; j <= m; j++) {
+                int substitute = row[j - 1] + jamoDifference(query.codes[j - 1], code);
+                next[j] = Math.min(substitute, Math.min(row[j], next[j - 1]) + SYLLABLE_COST);
+                rowMin = Math.min(rowMin, next[j]);
+            }
+            if (rowMin > cutoff) {
+                return TOO_FAR;
+            }
+            int[] swap = row;
+            row = next;
+            next = swap;
+        }
+        return row[m];
+    }
+
+    /**
+     * 입력 글자를 미리 자모로 분해해 둔 것입니다. 재료명의 글자 하나를 입력의 모든 글자와 비교하므로,
+     * 비교할 때마다 나눗셈으로 분해하지 않도록 합니다.
+     */
+    private static final class JamoQuery {
+        final int[] codes;
+        /** 입력에 나오는 초성·중성({@link #choJungBits})과 종성({@link #jongBit})의 집합입니다. */
+        long choJungSet;
+        int jongSet;
+        /** 편집 거리 행 두 줄을 번갈아 쓰는 작업 공간입니다. */
+        final int[] row;
+        final int[] next;
+
+        JamoQuery(String query) {
+            codes = new int[query.length()];
+            for (int i = 0; i < codes.length; i++) {
+                codes[i] = jamoCode(query.charAt(i));
+                choJungSet |= choJungBits(codes[i]);
+                jongSet |= jongBit(codes[i]);
+            }
+            row = new int[codes.length + 1];
+            next = new int[codes.length + 1];
+        }
+    }
+
+    /**
+     * [추가] 음절은 (초성 << 10 | 중성 << 5 | 종성)으로, 음절이 아닌 글자는 글자마다 다른 음수로 나타냅니다.
+     * 두 값의 XOR에서 5비트씩 끊어 보면 서로 다른 자모를 셀 수 있습니다.
+     */
+    private static int jamoCode(char c) {
+        if (!HangulUtils.isSyllable(c)) return -1 - c;
+        return HangulUtils.choseong(c) << 10 | HangulUtils.jungseong(c) << 5 | HangulUtils.jongseong(c);
+    }
+
+    /** {@link #jamoCode}의 초성(비트 0~18)과 중성(비트 19~39)을 한 비트씩 켠 값입니다. 음절이 아니면 0입니다. */
+    private static long choJungBits(int code) {
+        if (code < 0) return 0;
+        return 1L << (code >>> 10) | 1L << (19 + ((code >>> 5) & 0x1F));
+    }
+
+    /** {@link #jamoCode}의 종성을 한 비트 켠 값입니다. 음절이 아니면 0입니다. */
+    private static int jongBit(int code) {
+        return code < 0 ? 0 : 1 << (code & 0x1F);
+    }
+
+    /** 두 {@link #jamoCode}의 치환 비용입니다. 결과는 {@link HangulUtils#jamoDifference}와 같습니다. */
+    private static int jamoDifference(int a, int b) {
+        if ((a | b) < 0) return a == b ? 0 : SYLLABLE_COST;
+        int x = a ^ b;
+        return ((x >>> 10) != 0 ? 1 : 0) + ((x & 0x3E0) != 0 ? 1 : 0) + ((x & 0x1F) != 0 ? 1 : 0);
+    }
+
+    /** (거리, 레시피 수) 순으로 정렬된 상위 limit개의 교정 후보입니다. */
+    private final class FuzzyCollector {
+        final int[] terms;
+        final int[] distances;
+        int size;
+
+        FuzzyCollector(int limit) {
+            terms = new int[limit];
+            distances = new int[limit];
+        }
+
+        /** 새 후보가 순위에 들 수 있는 최대 거리입니다. 가득 찼으면 가장 먼 후보의 거리(같으면 레시피 수로 겨룹니다)입니다. */
+        int cutoff(int maxDistance) {
+            return size < terms.length ? maxDistance : Math.min(maxDistance, distances[size - 1]);
+        }
+
+        void offer(int term, int distance) {
+            int pos = size;
+            while (pos > 0 && (distance < distances[pos - 1]
+                    || (distance == distances[pos - 1] && ranksBefore(term, terms[pos - 1])))) {
+                pos--;
+            }
+            if (pos >= terms.length) {
+                return;
+            }
+            int newSize = Math.min(size + 1, terms.length);
+            System.arraycopy(terms, pos, terms, pos + 1, newSize - pos - 1);
+            System.arraycopy(distances, pos, distances, pos + 1, newSize - pos - 1);
+            terms[pos] = term;
+            distances[pos] = distance;
+            size = newSize;
+        }
+    }
+
+    private int offerTops(int[] candidates, int size, int node) {
+        for (int i = topStarts[node]; i < topStarts[node + 1]; i++) {
+            size = offer(candidates, size, tops[i]);
+        }
+        return size;
+    }
+
+    /** 자식 노드 중 라벨이 c인 노드를 이진 탐색으로 찾습니다. 없으면 -1을 반환합니다. */
+    private int child(int node, char c) {
+        int lo = firstChild[node];
+        int hi = lo + childCount[node] - 1;
+        while (lo <= hi) {
+            int mid = (lo + hi) >>> 1;
+            if (labels[mid] < c) lo = mid + 1;
+            else if (labels[mid] > c) hi = mid - 1;
+            else return mid;
+        }
+        return -1;
+    }
+
+    /**
+     * 정렬된 상위 후보 배열(최대 candidates.length개)에 재료를 삽입 정렬로 추가합니다.
+     * 순위는 가중치 내림차순, 같으면 짧은 이름, 그다음 사전순입니다.
+     */
+    private int offer(int[] candidates, int size, int term) {
+        int pos = size;
+        while (pos > 0 && ranksBefore(term, candidates[pos - 1])) {
+            pos--;
+        }
+        if (pos >= candidates.length) {
+            return size;
+        }
+        int newSize = Math.min(size + 1, candidates.length);
+        System.arraycopy(candidates, pos, candidates, pos + 1, newSize - pos - 1);
+        candidates[pos] = term;
+        return newSize;
+    }
+
+    private boolean ranksBefore(int a, int b) {
+        if (weights[a] != weights[b]) return weights[a] > weights[b];
+        if (terms[a].length() != terms[b].length()) return terms[a].length() < terms[b].length();
+        return a < b;
+    }
+
+    /**
+     * 재료명과 가중치를 모아 사전을 만듭니다. 정규화 결과가 같은 재료는 가중치를 합칩니다.
+     */
+    public static final class Builder {
+        private final Map<String, Integer> weights = new TreeMap<>();
+
+        public Builder add(String ingredient, int weight) {
+            String term = LocalRecipeIndex.normalizeTerm(ingredient);
+            if (!term.isEmpty()) {
+                Integer previous = weights.get(term);
+                weights.put(term, (previous != null ? previous : 0) + Math.max(0, weight));
+            }
+            return this;
+        }
+
+        public IngredientLexicon build() {
+            String[] termArray = new String[weights.size()];
+            int[] weightArray = new int[weights.size()];
+            int i = 0;
+            for (Map.Entry<String, Integer> entry : weights.entrySet()) {
+                termArray[i] = entry.getKey();
+                weightArray[i] = entry.getValue();
+                i++;
+            }
+            return new IngredientLexicon(termArray, weightArray);
+        }
+    }
+}
@@ -0,0 +1,845 @@
+package com.example.food_recipe.search;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+
+/**
+ * [추가] 레시피 코퍼스를 기기 안에서 검색하기 위한 역색인(Inverted Index)입니다.
+ * - 재료명은 정확 일치 단어로, 제목은 글자 bigram으로 색인하여 "김치"로 "김치찌개"를 찾을 수 있도록 합니다.
+ * - 포스팅 리스트는 docId 델타 + varint로 압축하여 하나의 byte[]에 저장하고, 점수는 BM25로 계산합니다.
+ * - 제목/이미지 URL 등 화면 표시용 필드는 UTF-8 바이트로 묶어 두고, 결과로 선택된 문서만 디코딩합니다.
+ * - Android 의존성이 없는 순수 Java 클래스이므로 JVM 단위 테스트로 검증할 수 있습니다.
+ */
+public final class LocalRecipeIndex {
+
+    /** 직렬화 파일의 식별자("RCPI")와 포맷 버전입니다. 포맷이 바뀌면 버전을 올려 캐시를 무효화합니다. */
+    private static final int MAGIC = 0x52435049;
+    static final int FORMAT_VERSION = 1;
+
+    private static final char INGREDIENT_PREFIX = 'I';
+    private static final char TITLE_PREFIX = 'T';
+
+    /** 저장 필드 구분자 (제목/이미지/조리시간/재료 목록) 및 재료 목록 내부 구분자입니다. */
+    private static final char FIELD_SEPARATOR = '\u001F';
+    private static final char LIST_SEPARATOR = '\u001E';
+
+    /** BM25 파라미터와 필드 가중치입니다. Algolia 설정과 같이 제목 일치를 재료 일치보다 우선합니다. */
+    private static final float K1 = 1.2f;
+    private static final float B = 0.75f;
+    private static final float TITLE_WEIGHT = 1.5f;
+    private static final float INGREDIENT_WEIGHT = 1.0f;
+
+    private static final String HIGHLIGHT_PRE_TAG = "<b>";
+    private static final String HIGHLIGHT_POST_TAG = "</b>";
+
+    private static final int[] EMPTY_DOCS = new int[0];
+    private static final float[] EMPTY_SCORES = new float[0];
+
+    // --- 문서 저장 영역 ---
+    private final int docCount;
+    private final byte[] storedFields;
+    private final int[] storedOffsets;
+    private final short[] ingredientCounts;
+    private final short[] titleLengths;
+    private final int[] recommendCounts;
+
+    // --- 단어 사전 및 포스팅 영역 ---
+    private final String[] terms;
+    private final int[] docFreqs;
+    private final int[] postingStarts;
+    private final byte[] postings;
+
+    private final float avgIngredientCount;
+    private final float avgTitleLength;
+
+    /** 칩 없는 기본 목록용 정렬 결과 캐시입니다. 동시에 계산되더라도 결과가 같으므로 별도로 동기화하지 않습니다. */
+    private int[] popularityOrder;
+
+    private LocalRecipeIndex(int docCount, byte[] storedFields, int[] storedOffsets,
+                             short[] ingredientCounts, short[] titleLengths, int[] recommendCounts,
+                             String[] terms, int[] docFreqs, int[] postingStarts, byte[] postings) {
+        this.docCount = docCount;
+        this.storedFields = storedFields;
+        this.storedOffsets = storedOffsets;
+        this.ingredientCounts = ingredientCounts;
+        this.titleLengths = titleLengths;
+        this.recommendCounts = recommendCounts;
+        this.terms = terms;
+        this.docFreqs = docFreqs;
+        this.postingStarts = postingStarts;
+        this.postings = postings;
+
+        long ingredientSum = 0;
+        long titleSum = 0;
+        for (int i = 0; i < docCount; i++) {
+            ingredientSum += ingredientCounts[i];
+            titleSum += titleLengths[i];
+        }
+        this.avgIngredientCount = docCount == 0 ? 1f : Math.max(1f, (float) ingredientSum / docCount);
+        this.avgTitleLength = docCount == 0 ? 1f : Math.max(1f, (float) titleSum / docCount);
+    }
+
+    /**
+     * 문서가 하나도 없는 빈 인덱스를 반환합니다. 코퍼스 파일이 없을 때의 안전한 기본값으로 사용됩니다.
+     */
+    public static LocalRecipeIndex empty() {
+        return new Builder().build();
+    }
+
+    public int size() {
+        return docCount;
+    }
+
+    public boolean isEmpty() {
+        return docCount == 0;
+    }
+
+    // =====================================================================
+    // 검색
+    // =====================================================================
+
+    /**
+     * 하나의 검색 결과 문서(docId)와 점수입니다.
+     */
+    public static final class Hit {
+        public final int doc;
+        public final float score;
+
+        Hit(int doc, float score) {
+            this.doc = doc;
+            this.score = score;
+        }
+    }
+
+    /**
+     * 검색 결과 묶음입니다. totalHits는 페이지와 관계없이 모든 칩 조건을 만족한 문서 수입니다.
+     */
+    public static final class Result {
+        public final int totalHits;
+        public final List<Hit> hits;
+
+        Result(int totalHits, List<Hit> hits) {
+            this.totalHits = totalHits;
+            this.hits = hits;
+        }
+    }
+
+    /**
+     * 칩 목록으로 검색합니다. 모든 칩이 (재료명 일치 또는 제목 포함) 조건을 만족해야 결과에 포함됩니다.
+     * 유효한 칩이 하나도 없으면 recommend_count 순의 기본 목록을 반환합니다.
+     *
+     * @param chips  검색 칩 목록 (순서 무관)
+     * @param offset 건너뛸 결과 수
+     * @param limit  반환할 최대 결과 수
+     */
+    public Result search(List<String> chips, int offset, int limit) {
+        List<String> normalizedChips = new ArrayList<>();
+        if (chips != null) {
+            Set<String> seen = new LinkedHashSet<>();
+            for (String chip : chips) {
+                String normalized = normalizeTerm(chip);
+                if (!normalized.isEmpty() && seen.add(normalized)) {
+                    normalizedChips.add(chip);
+                }
+            }
+        }
+
+        if (normalizedChips.isEmpty()) {
+            return topByPopularity(offset, limit);
+        }
+
+        // 1. 칩마다 (docId 오름차순, 점수) 목록을 구합니다.
+        List<Matches> perChip = new ArrayList<>(normalizedChips.size());
+        for (String chip : normalizedChips) {
+            Matches matches = matchChip(chip);
+            if (matches.size == 0) {
+                return new Result(0, Collections.emptyList());
+            }
+            perChip.add(matches);
+        }
+
+        // 2. 가장 짧은 목록부터 교집합을 구해 비교 횟수를 줄입니다.
+        Collections.sort(perChip, (a, b) -> Integer.compare(a.size, b.size));
+        Matches acc = perChip.get(0);
+        for (int i = 1; i < perChip.size() && acc.size > 0; i++) {
+            acc = intersect(acc, perChip.get(i));
+        }
+
+        return selectTop(acc.docs, acc.scores, acc.size, offset, limit);
+    }
+
+    /**
+     * 칩이 없는 기본 목록은 매번 같으므로, 최초 한 번만 recommend_count 순으로 정렬해 재사용합니다.
+     */
+    private Result topByPopularity(int offset, int limit) {
+        int[] order = popularityOrder;
+        if (order == null) {
+            Integer[] boxed = new Integer[docCount];
+            for (int i = 0; i < docCount; i++) boxed[i] = i;
+            Arrays.sort(boxed, (a, b) -> a.equals(b) ? 0
+                    : recommendCounts[a] != recommendCounts[b]
+                    ? Integer.compare(recommendCounts[b], recommendCounts[a])
+                    : Integer.compare(a, b));
+            order = new int[docCount];
+            for (int i = 0; i < docCount; i++) order[i] = boxed[i];
+            popularityOrder = order;
+        }
+        List<Hit> page = new ArrayList<>();
+        int from = Math.max(0, offset);
+        int to = Math.min(docCount, from + Math.max(0, limit));
+        for (int i = from; i < to; i++) {
+            page.add(new Hit(order[i], 0f));
+        }
+        return new Result(docCount, page);
+    }
+
+    /**
+     * 점수 내림차순(동점이면 recommend_count 내림차순)으로 상위 offset+limit 개만 힙으로 골라냅니다.
+     * 전체 정렬을 피하므로 수만 건이 일치해도 비용이 O(n log k)에 머뭅니다.
+     */
+    private Result selectTop(int[] docs, float[] scores, int size, int offset, int limit) {
+        int k = Math.max(0, offset) + Math.max(0, limit);
+        if (size == 0 || k == 0) {
+            return new Result(size, Collections.emptyList());
+        }
+
+        PriorityQueue<Hit> heap = new PriorityQueue<>(Math.min(k, size) + 1, this::compareAscending);
+        for (int i = 0; i < size; i++) {
+            if (heap.size() < k) {
+                heap.add(new Hit(docs[i], scores[i]));
+            } else if (isBetter(docs[i], scores[i], heap.peek())) {
+                heap.poll();
+                heap.add(new Hit(docs[i], scores[i]));
+            }
+        }
+
+        Hit[] ordered = new Hit[heap.size()];
+        for (int i = ordered.length - 1; i >= 0; i--) {
+            ordered[i] = heap.poll();
+        }
+        List<Hit> page = new ArrayList<>();
+        for (int i = Math.max(0, offset); i < ordered.length; i++) {
+            page.add(ordered[i]);
+        }
+        return new Result(size, page);
+    }
+
+    private int compareAscending(Hit a, Hit b) {
+        int byScore = Float.compare(a.score, b.score);
+        if (byScore != 0) return byScore;
+        int byPopularity = Integer.compare(recommendCounts[a.doc], recommendCounts[b.doc]);
+        if (byPopularity != 0) return byPopularity;
+        return Integer.compare(b.doc, a.doc);
+    }
+
+    private boolean isBetter(int doc, float score, Hit worst) {
+        if (score != worst.score) return score > worst.score;
+        if (recommendCounts[doc] != recommendCounts[worst.doc]) return recommendCounts[doc] > recommendCounts[worst.doc];
+        return doc < worst.doc;
+    }
+
+    /** 칩 하나에 대한 일치 문서 목록 (docId 오름차순) 입니다. */
+    private static final class Matches {
+        final int[] docs;
+        final float[] scores;
+        final int size;
+
+        Matches(int[] docs, float[] scores, int size) {
+            this.docs = docs;
+            this.scores = scores;
+            this.size = size;
+        }
+    }
+
+    private Matches matchChip(String chip) {
+        Matches ingredient = matchIngredient(normalizeTerm(chip));
+        Matches title = matchTitle(chip);
+        return union(ingredient, title);
+    }
+
+    private Matches matchIngredient(String normalizedChip) {
+        int term = findTerm(INGREDIENT_PREFIX + normalizedChip);
+        if (term < 0) {
+            return new Matches(EMPTY_DOCS, EMPTY_SCORES, 0);
+        }
+        int df = docFreqs[term];
+        int[] docs = new int[df];
+        int[] tfs = new int[df];
+        decodePostings(term, docs, tfs);
+
+        float idf = idf(df);
+        float[] scores = new float[df];
+        for (int i = 0; i < df; i++) {
+            int doc = docs[i];
+            scores[i] = INGREDIENT_WEIGHT * idf * bm25(1, ingredientCounts[doc], avgIngredientCount);
+        }
+        return new Matches(docs, scores, df);
+    }
+
+    /**
+     * 칩을 구성하는 모든 제목 bigram을 가진 문서를 찾습니다. bigram 점수의 평균을 사용하여
+     * 긴 칩이 짧은 칩보다 과도하게 높은 점수를 받지 않도록 합니다.
+     */
+    private Matches matchTitle(String chip) {
+        List<String> grams = titleGrams(chip);
+        if (grams.isEmpty()) {
+            return new Matches(EMPTY_DOCS, EMPTY_SCORES, 0);
+        }
+
+        int[] termIds = new int[grams.size()];
+        for (int i = 0; i < grams.size(); i++) {
+            termIds[i] = findTerm(TITLE_PREFIX + grams.get(i));
+            if (termIds[i] < 0) {
+                return new Matches(EMPTY_DOCS, EMPTY_SCORES, 0);
+            }
+        }
+        // 희소한 bigram부터 교집합을 구합니다.
+        Integer[] order = new Integer[termIds.length];
+        for (int i = 0; i < order.length; i++) order[i] = i;
+        Arrays.sort(order, (a, b) -> Integer.compare(docFreqs[termIds[a]], docFreqs[termIds[b]]));
+
+        Matches acc = null;
+        for (Integer index : order) {
+            int term = termIds[index];
+            int df = docFreqs[term];
+            int[] docs = new int[df];
+            int[] tfs = new int[df];
+            decodePostings(term, docs, tfs);
+
+            float idf = idf(df);
+            float[] scores = new float[df];
+            for (int i = 0; i < df; i++) {
+                scores[i] = TITLE_WEIGHT * idf * bm25(tfs[i], titleLengths[docs[i]], avgTitleLength) / grams.size();
+            }
+            Matches current = new Matches(docs, scores, df);
+            acc = acc == null ? current : intersect(acc, current);
+            if (acc.size == 0) break;
+        }
+        return acc;
+    }
+
+    private static Matches intersect(Matches a, Matches b) {
+        int capacity = Math.min(a.size, b.size);
+        int[] docs = new int[capacity];
+        float[] scores = new float[capacity];
+        int i = 0, j = 0, n = 0;
+        while (i < a.size && j < b.size) {
+            int da = a.docs[i];
+            int db = b.docs[j];
+            if (da == db) {
+                docs[n] = da;
+                scores[n] = a.scores[i] + b.scores[j];
+                n++;
+                i++;
+                j++;
+            } else if (da < db) {
+                i++;
+            } else {
+                j++;
+            }
+        }
+        return new Matches(docs, scores, n);
+    }
+
+    private static Matches union(Matches a, Matches b) {
+        if (a.size == 0) return b;
+        if (b.size == 0) return a;
+        int[] docs = new int[a.size + b.size];
+        float[] scores = new float[a.size + b.size];
+        int i = 0, j = 0, n = 0;
+        while (i < a.size || j < b.size) {
+            if (j >= b.size || (i < a.size && a.docs[i] < b.docs[j])) {
+                docs[n] = a.docs[i];
+                scores[n++] = a.scores[i++];
+            } else if (i >= a.size || b.docs[j] < a.docs[i]) {
+                docs[n] = b.docs[j];
+                scores[n++] = b.scores[j++];
+            } else {
+                docs[n] = a.docs[i];
+                scores[n++] = a.scores[i++] + b.scores[j++];
+            }
+        }
+        return new Matches(docs, scores, n);
+    }
+
+    private float idf(int df) {
+        return (float) Math.log(1.0 + (docCount - df + 0.5) / (df + 0.5));
+    }
+
+    private static float bm25(int tf, int length, float avgLength) {
+        float norm = K1 * (1f - B + B * length / avgLength);
+        return tf * (K1 + 1f) / (tf + norm);
+    }
+
+    private int findTerm(String term) {
+        int found = Arrays.binarySearch(terms, term);
+        return found >= 0 ? found : -1;
+    }
+
+    // =====================================================================
+    // 재료 사전
+    // =====================================================================
+
+    /**
+     * [추가] 재료 사전을 순회할 때 호출되는 콜백입니다. term은 정규화된 재료명, docFreq는 그 재료를 쓰는 레시피 수입니다.
+     */
+    public interface TermVisitor {
+        void visit(String term, int docFreq);
+    }
+
+    /**
+     * [추가] 색인된 모든 재료명을 사전순으로 순회합니다. 자동완성 사전({@link IngredientLexicon})을 만들 때 사용합니다.
+     * 단어 사전이 접두어 순으로 정렬되어 있으므로 재료 영역만 이진 탐색으로 찾아 순회합니다.
+     */
+    public void forEachIngredientTerm(TermVisitor visitor) {
+        int start = Arrays.binarySearch(terms, String.valueOf(INGREDIENT_PREFIX));
+        if (start < 0) start = -start - 1;
+        for (int t = start; t < terms.length && terms[t].charAt(0) == INGREDIENT_PREFIX; t++) {
+            visitor.visit(terms[t].substring(1), docFreqs[t]);
+        }
+    }
+
+    private void decodePostings(int term, int[] docsOut, int[] tfsOut) {
+        int pos = postingStarts[term];
+        int doc = 0;
+        for (int i = 0; i < docsOut.length; i++) {
+            int value = 0;
+            int shift = 0;
+            byte b;
+            do {
+                b = postings[pos++];
+                value |= (b & 0x7F) << shift;
+                shift += 7;
+            } while ((b & 0x80) != 0);
+            doc += value;
+
+            int tf = 0;
+            shift = 0;
+            do {
+                b = postings[pos++];
+                tf |= (b & 0x7F) << shift;
+                shift += 7;
+            } while ((b & 0x80) != 0);
+
+            docsOut[i] = doc;
+            tfsOut[i] = tf;
+        }
+    }
+
+    // =====================================================================
+    // 저장 필드 접근
+    // =====================================================================
+
+    /**
+     * 검색 결과로 선택된 문서의 표시용 필드입니다. 필요한 문서만 그때그때 디코딩합니다.
+     */
+    public static final class Document {
+        public final String objectId;
+        public final String title;
+        public final String imageUrl;
+        public final String cookingTime;
+        public final List<String> ingredients;
+        public final int recommendCount;
+
+        Document(String objectId, String title, String imageUrl, String cookingTime,
+                 List<String> ingredients, int recommendCount) {
+            this.objectId = objectId;
+            this.title = title;
+            this.imageUrl = imageUrl;
+            this.cookingTime = cookingTime;
+            this.ingredients = ingredients;
+            this.recommendCount = recommendCount;
+        }
+    }
+
+    public Document document(int doc) {
+        int start = storedOffsets[doc];
+        int end = storedOffsets[doc + 1];
+        String record = new String(storedFields, start, end - start, StandardCharsets.UTF_8);
+        String[] fields = splitKeepEmpty(record, FIELD_SEPARATOR, 5);
+        List<String> ingredients = fields[4].isEmpty()
+                ? new ArrayList<>()
+                : new ArrayList<>(Arrays.asList(splitKeepEmpty(fields[4], LIST_SEPARATOR, -1)));
+        return new Document(fields[0], fields[1], fields[2], fields[3],
+                Collections.unmodifiableList(ingredients), recommendCounts[doc]);
+    }
+
+    private static String[] splitKeepEmpty(String text, char separator, int expected) {
+        List<String> parts = new ArrayList<>(expected > 0 ? expected : 8);
+        int start = 0;
+        for (int i = 0; i < text.length(); i++) {
+            if (text.charAt(i) == separator) {
+                parts.add(text.substring(start, i));
+                start = i + 1;
+            }
+        }
+        parts.add(text.substring(start));
+        while (expected > 0 && parts.size() < expected) {
+            parts.add("");
+        }
+        return parts.toArray(new String[0]);
+    }
+
+    // =====================================================================
+    // 정규화 / 하이라이트
+    // =====================================================================
+
+    /**
+     * 색인과 질의에 공통으로 적용하는 정규화입니다. 소문자로 바꾸고 글자/숫자 외의 문자는 모두 제거합니다.
+     */
+    static String normalizeTerm(String text) {
+        if (text == null) return "";
+        StringBuilder sb = new StringBuilder(text.length());
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (Character.isLetterOrDigit(c)) {
+                sb.append(Character.toLowerCase(c));
+            }
+        }
+        return sb.toString();
+    }
+
+    /**
+     * 제목 또는 칩을 단어 단위로 나눈 뒤, 각 단어를 글자 bigram으로 분해합니다. 한 글자 단어는 그대로 사용합니다.
+     */
+    static List<String> titleGrams(String text) {
+        List<String> grams = new ArrayList<>();
+        if (text == null) return grams;
+        for (String word : words(text)) {
+            if (word.length() == 1) {
+                grams.add(word);
+            } else {
+                for (int i = 0; i + 1 < word.length(); i++) {
+                    grams.add(word.substring(i, i + 2));
+                }
+            }
+        }
+        return grams;
+    }
+
+    private static List<String> words(String text) {
+        List<String> words = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (Character.isLetterOrDigit(c)) {
+                current.append(Character.toLowerCase(c));
+            } else if (current.length() > 0) {
+                words.add(current.toString());
+                current.setLength(0);
+            }
+        }
+        if (current.length() > 0) {
+            words.add(current.toString());
+        }
+        return words;
+    }
+
+    /**
+     * Algolia의 _highlightResult와 같은 형식으로, 칩과 일치하는 부분을 &lt;b&gt; 태그로 감쌉니다.
+     * Algolia와 동일하게 원문의 HTML 특수문자는 이스케이프합니다.
+     */
+    static String highlight(String text, List<String> chips) {
+        if (text == null || text.isEmpty()) return "";
+        String lower = text.toLowerCase(Locale.ROOT);
+        boolean[] marked = new boolean[text.length()];
+        if (chips != null) {
+            for (String chip : chips) {
+                for (String word : words(chip)) {
+                    int from = 0;
+                    int found;
+                    while ((found = lower.indexOf(word, from)) >= 0) {
+                        Arrays.fill(marked, found, found + word.length(), true);
+                        from = found + word.length();
+                    }
+                }
+            }
+        }
+
+        StringBuilder sb = new StringBuilder(text.length() + 16);
+        boolean open = false;
+        for (int i = 0; i < text.length(); i++) {
+            if (marked[i] && !open) {
+                sb.append(HIGHLIGHT_PRE_TAG);
+                open = true;
+            } else if (!marked[i] && open) {
+                sb.append(HIGHLIGHT_POST_TAG);
+                open = false;
+            }
+            char c = text.charAt(i);
+            if (c == '<') sb.append("&lt;");
+            else if (c == '>') sb.append("&gt;");
+            else if (c == '&') sb.append("&amp;");
+            else sb.append(c);
+        }
+        if (open) sb.append(HIGHLIGHT_POST_TAG);
+        return sb.toString();
+    }
+
+    // =====================================================================
+    // 직렬화
+    // =====================================================================
+
+    /**
+     * 인덱스를 바이너리로 기록합니다. 다음 실행부터는 코퍼스를 다시 분석하지 않고 이 파일을 바로 읽습니다.
+     */
+    public void writeTo(OutputStream out) throws IOException {
+        DataOutputStream data = new DataOutputStream(new BufferedOutputStream(out, 64 * 1024));
+        data.writeInt(MAGIC);
+        data.writeInt(FORMAT_VERSION);
+
+        data.writeInt(docCount);
+        for (int i = 0; i <= docCount; i++) data.writeInt(storedOffsets[i]);
+        data.writeInt(storedFields.length);
+        data.write(storedFields);
+        for (int i = 0; i < docCount; i++) {
+            data.writeShort(ingredientCounts[i]);
+            data.writeShort(titleLengths[i]);
+            data.writeInt(recommendCounts[i]);
+        }
+
+        data.writeInt(terms.length);
+        for (int i = 0; i < terms.length; i++) {
+            data.writeUTF(terms[i]);
+            data.writeInt(docFreqs[i]);
+            data.writeInt(postingStarts[i]);
+        }
+        data.writeInt(postings.length);
+        data.write(postings);
+        data.flush();
+    }
+
+    /**
+     * {@link #writeTo(OutputStream)}로 기록된 인덱스를 읽습니다.
+     *
+     * @throws IOException 파일이 손상되었거나 포맷 버전이 다른 경우
+     */
+    public static LocalRecipeIndex readFrom(InputStream in) throws IOException {
+        DataInputStream data = new DataInputStream(new BufferedInputStream(in, 64 * 1024));
+        if (data.readInt() != MAGIC) {
+            throw new IOException("로컬 검색 인덱스 파일 형식이 올바르지 않습니다.");
+        }
+        int version = data.readInt();
+        if (version != FORMAT_VERSION) {
+            throw new IOException("지원하지 않는 로컬 검색 인덱스 버전입니다: " + version);
+        }
+
+        int docCount = data.readInt();
+        int[] storedOffsets = new int[docCount + 1];
+        for (int i = 0; i <= docCount; i++) storedOffsets[i] = data.readInt();
+        byte[] storedFields = new byte[data.readInt()];
+        data.readFully(storedFields);
+        short[] ingredientCounts = new short[docCount];
+        short[] titleLengths = new short[docCount];
+        int[] recommendCounts = new int[docCount];
+        for (int i = 0; i < docCount; i++) {
+            ingredientCounts[i] = data.readShort();
+            titleLengths[i] = data.readShort();
+            recommendCounts[i] = data.readInt();
+        }
+
+        int termCount = data.readInt();
+        String[] terms = new String[termCount];
+        int[] docFreqs = new int[termCount];
+        int[] postingStarts = new int[termCount];
+        for (int i = 0; i < termCount; i++) {
+            terms[i] = data.readUTF();
+            docFreqs[i] = data.readInt();
+            postingStarts[i] = data.readInt();
+        }
+        byte[] postings = new byte[data.readInt()];
+        data.readFully(postings);
+
+        return new LocalRecipeIndex(docCount, storedFields, storedOffsets, ingredientCounts, titleLengths,
+                recommendCounts, terms, docFreqs, postingStarts, postings);
+    }
+
+    // =====================================================================
+    // 빌더
+    // =====================================================================
+
+    /**
+     * 코퍼스를 한 건씩 받아 인덱스를 생성합니다. 문서는 추가된 순서대로 docId가 부여됩니다.
+     */
+    public static final class Builder {
+        private final ByteBuffer stored = new ByteBuffer(1024);
+        private final List<Integer> storedOffsets = new ArrayList<>();
+        private final List<Short> ingredientCounts = new ArrayList<>();
+        private final List<Short> titleLengths = new ArrayList<>();
+        private final List<Integer> recommendCounts = new ArrayList<>();
+        private final Map<String, PostingBuilder> postings = new HashMap<>();
+        private int docCount;
+
+        public Builder add(String objectId, String title, String imageUrl, String cookingTime,
+                           List<String> ingredients, int recommendCount) {
+            int doc = docCount++;
+
+            // 1. 화면 표시용 필드를 저장합니다.
+            StringBuilder record = new StringBuilder();
+            record.append(clean(objectId)).append(FIELD_SEPARATOR)
+                    .append(clean(title)).append(FIELD_SEPARATOR)
+                    .append(clean(imageUrl)).append(FIELD_SEPARATOR)
+                    .append(clean(cookingTime)).append(FIELD_SEPARATOR);
+            int ingredientCount = 0;
+            if (ingredients != null) {
+                for (String ingredient : ingredients) {
+                    String cleaned = clean(ingredient);
+                    if (cleaned.isEmpty()) continue;
+                    if (ingredientCount > 0) record.append(LIST_SEPARATOR);
+                    record.append(cleaned);
+                    ingredientCount++;
+                }
+            }
+            storedOffsets.add(stored.size());
+            stored.write(record.toString().getBytes(StandardCharsets.UTF_8));
+
+            // 2. 재료명(정확 일치)을 색인합니다. 한 문서 안의 중복 재료는 한 번만 셉니다.
+            Set<String> ingredientTerms = new LinkedHashSet<>();
+            if (ingredients != null) {
+                for (String ingredient : ingredients) {
+                    String normalized = normalizeTerm(ingredient);
+                    if (!normalized.isEmpty()) ingredientTerms.add(INGREDIENT_PREFIX + normalized);
+                }
+            }
+            for (String term : ingredientTerms) {
+                posting(term).add(doc);
+            }
+
+            // 3. 제목 bigram을 색인합니다.
+            List<String> grams = titleGrams(title);
+            for (String gram : grams) {
+                posting(TITLE_PREFIX + gram).add(doc);
+            }
+
+            ingredientCounts.add((short) Math.min(Short.MAX_VALUE, ingredientTerms.size()));
+            titleLengths.add((short) Math.min(Short.MAX_VALUE, grams.size()));
+            recommendCounts.add(Math.max(0, recommendCount));
+            return this;
+        }
+
+        private PostingBuilder posting(String term) {
+            PostingBuilder builder = postings.get(term);
+            if (builder == null) {
+                builder = new PostingBuilder();
+                postings.put(term, builder);
+            }
+            return builder;
+        }
+
+        private static String clean(String value) {
+            if (value == null) return "";
+            return value.replace(FIELD_SEPARATOR, ' ').replace(LIST_SEPARATOR, ' ').trim();
+        }
+
+        public LocalRecipeIndex build() {
+            int[] offsets = new int[docCount + 1];
+            for (int i = 0; i < docCount; i++) offsets[i] = storedOffsets.get(i);
+            offsets[docCount] = stored.size();
+
+            short[] ingredientCountArray = new short[docCount];
+            short[] titleLengthArray = new short[docCount];
+            int[] recommendArray = new int[docCount];
+            for (int i = 0; i < docCount; i++) {
+                ingredientCountArray[i] = ingredientCounts.get(i);
+                titleLengthArray[i] = titleLengths.get(i);
+                recommendArray[i] = recommendCounts.get(i);
+            }
+
+            String[] termArray = postings.keySet().toArray(new String[0]);
+            Arrays.sort(termArray);
+            int[] docFreqArray = new int[termArray.length];
+            int[] startArray = new int[termArray.length];
+            ByteBuffer encoded = new ByteBuffer(termArray.length * 8 + 16);
+            for (int t = 0; t < termArray.length; t++) {
+                PostingBuilder posting = postings.get(termArray[t]);
+                docFreqArray[t] = posting.size;
+                startArray[t] = encoded.size();
+                int previous = 0;
+                for (int i = 0; i < posting.size; i++) {
+                    encoded.writeVarInt(posting.docs[i] - previous);
+                    encoded.writeVarInt(posting.tfs[i]);
+                    previous = posting.docs[i];
+                }
+            }
+
+            return new LocalRecipeIndex(docCount, stored.toByteArray(), offsets, ingredientCountArray,
+                    titleLengthArray, recommendArray, termArray, docFreqArray, startArray, encoded.toByteArray());
+        }
+    }
+
+    /** 문서가 docId 오름차순으로만 추가된다는 전제에서 (docId, tf) 쌍을 누적합니다. */
+    private static final class PostingBuilder {
+        int[] docs = new int[4];
+        int[] tfs = new int[4];
+        int size;
+
+        void add(int doc) {
+            if (size > 0 && docs[size - 1] == doc) {
+                tfs[size - 1]++;
+                return;
+            }
+            if (size == docs.length) {
+                docs = Arrays.copyOf(docs, size * 2);
+                tfs = Arrays.copyOf(tfs, size * 2);
+            }
+            docs[size] = doc;
+            tfs[size] = 1;
+            size++;
+        }
+    }
+
+    /** 크기가 자동으로 늘어나는 단순 바이트 버퍼입니다. */
+    private static final class ByteBuffer {
+        private byte[] bytes;
+        private int size;
+
+        ByteBuffer(int capacity) {
+            bytes = new byte[Math.max(16, capacity)];
+        }
+
+        int size() {
+            return size;
+        }
+
+        void write(byte[] data) {
+            ensure(data.length);
+            System.arraycopy(data, 0, bytes, size, data.length);
+            size += data.length;
+        }
+
+        void writeVarInt(int value) {
+            ensure(5);
+            while ((value & ~0x7F) != 0) {
+                bytes[size++] = (byte) ((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            bytes[size++] = (byte) value;
+        }
+
+        private void ensure(int extra) {
+            if (size + extra > bytes.length) {
+                bytes = Arrays.copyOf(bytes, Math.max(bytes.length * 2, size + extra));
+            }
+        }
+
+        byte[] toByteArray() {
+            return Arrays.copyOf(bytes, size);
+        }
+    }
+}
@@ -0,0 +1,213 @@
+package com.example.food_recipe.search;
+
+import android.content.Context;
+import android.content.pm.PackageManager;
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileNotFoundException;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * [추가] {@link LocalRecipeIndex}를 앱 전역에서 하나만 유지하는 싱글톤 제공자입니다.
+ * - 최초 사용 시 filesDir의 바이너리 인덱스를 읽고, 없거나 앱이 업데이트되었다면 assets의 코퍼스로 새로 생성합니다.
+ * - 인덱스 로딩과 검색은 모두 전용 단일 스레드에서 순서대로 실행되므로, 로딩 전에 들어온 검색도 안전하게 대기합니다.
+ * - 코퍼스 파일은 data_pipeline/step5_search_corpus_exporter.py로 생성합니다. 파일이 없으면 빈 인덱스를 사용합니다.
+ */
+public class LocalRecipeIndexProvider {
+
+    private static final String TAG = "LocalRecipeIndex";
+
+    /** data_pipeline이 생성하는 코퍼스(TSV, gzip) 경로입니다. */
+    static final String CORPUS_ASSET = "search/recipe_corpus.tsv.gz";
+    private static final String INDEX_DIR = "search";
+    private static final String INDEX_FILE = "recipe_index.v" + LocalRecipeIndex.FORMAT_VERSION + ".bin";
+
+    private static LocalRecipeIndexProvider instance;
+
+    private final Context appContext;
+    private final ExecutorService executor = Executors.newSingleThreadExecutor();
+    private volatile LocalRecipeIndex index;
+    // [추가] 인덱스의 재료 사전으로 만든 자동완성 사전입니다. 인덱스와 같은 시점에 준비됩니다.
+    private volatile IngredientLexicon lexicon;
+    // [추가] 초성 검색 색인입니다. 모든 제목을 읽어야 하므로 인덱스 로딩 직후의 작업을 지연시키지 않도록 나중에 만듭니다.
+    private volatile ChosungIndex chosungIndex;
+
+    /**
+     * 인덱스 스레드에서 실행될 작업입니다. 호출 시점에는 인덱스 로딩이 끝나 있음이 보장됩니다.
+     */
+    public interface IndexTask {
+        void run(@NonNull LocalRecipeIndex index);
+    }
+
+    private LocalRecipeIndexProvider(Context context) {
+        this.appContext = context.getApplicationContext();
+    }
+
+    public static synchronized LocalRecipeIndexProvider getInstance(Context context) {
+        if (instance == null) {
+            instance = new LocalRecipeIndexProvider(context);
+        }
+        return instance;
+    }
+
+    /**
+     * 이미 로딩된 인덱스가 있으면 반환하고, 아직 준비되지 않았다면 null을 반환합니다.
+     */
+    @Nullable
+    public LocalRecipeIndex peek() {
+        return index;
+    }
+
+    /**
+     * [추가] 재료 자동완성 사전이 준비되었으면 반환하고, 아직 로딩 중이면 null을 반환합니다.
+     * 메인 스레드에서 키 입력마다 호출해도 되도록 대기하지 않습니다. 준비가 필요하면 {@link #preload()}를 호출합니다.
+     */
+    @Nullable
+    public IngredientLexicon peekLexicon() {
+        return lexicon;
+    }
+
+    /**
+     * [추가] 초성 검색 색인이 준비되었으면 반환하고, 아직 만드는 중이면 null을 반환합니다.
+     */
+    @Nullable
+    public ChosungIndex peekChosungIndex() {
+        return chosungIndex;
+    }
+
+    /**
+     * 검색 화면 진입 전에 미리 인덱스를 로딩해 둡니다. 결과를 기다리지 않습니다.
+     */
+    public void preload() {
+        submit(loaded -> { });
+    }
+
+    /**
+     * 인덱스 스레드에서 작업을 실행합니다. 필요하면 먼저 인덱스를 로딩합니다.
+     * 콜백은 백그라운드 스레드에서 호출되므로, UI 갱신은 호출 측에서 메인 스레드로 전달해야 합니다.
+     */
+    public void submit(@NonNull IndexTask task) {
+        executor.execute(() -> task.run(ensureLoaded()));
+    }
+
+    private LocalRecipeIndex ensureLoaded() {
+        if (index == null) {
+            long start = System.nanoTime();
+            LocalRecipeIndex loaded = load();
+            lexicon = IngredientLexicon.fromIndex(loaded);
+            index = loaded;
+            Log.d(TAG, "로컬 검색 인덱스 준비 완료: " + loaded.size() + "건, 재료 " + lexicon.size() + "개, "
+                    + (System.nanoTime() - start) / 1_000_000 + "ms");
+            // 이미 대기 중인 검색 작업 뒤에 실행되도록 별도 작업으로 등록합니다.
+            executor.execute(() -> {
+                long chosungStart = System.nanoTime();
+                chosungIndex = ChosungIndex.fromIndex(loaded);
+                Log.d(TAG, "초성 색인 준비 완료: " + chosungIndex.size() + "단어, "
+                        + (System.nanoTime() - chosungStart) / 1_000_000 + "ms");
+            });
+        }
+        return index;
+    }
+
+    private LocalRecipeIndex load() {
+        File indexFile = new File(new File(appContext.getFilesDir(), INDEX_DIR), INDEX_FILE);
+
+        // 1. 앱 설치/업데이트 이후에 만들어진 바이너리 인덱스가 있으면 그대로 사용합니다.
+        if (indexFile.exists() && indexFile.lastModified() >= appLastUpdateTime()) {
+            try (InputStream in = new FileInputStream(indexFile)) {
+                return LocalRecipeIndex.readFrom(in);
+            } catch (IOException e) {
+                Log.w(TAG, "저장된 인덱스를 읽지 못해 코퍼스로부터 다시 생성합니다.", e);
+            }
+        }
+
+        // 2. assets의 코퍼스로 인덱스를 생성하고, 다음 실행을 위해 저장합니다.
+        LocalRecipeIndex built;
+        try {
+            built = buildFromCorpus();
+        } catch (FileNotFoundException e) {
+            Log.w(TAG, "코퍼스 파일(" + CORPUS_ASSET + ")이 없어 빈 로컬 인덱스를 사용합니다.");
+            return LocalRecipeIndex.empty();
+        } catch (IOException e) {
+            Log.e(TAG, "코퍼스로부터 인덱스를 생성하지 못했습니다.", e);
+            return LocalRecipeIndex.empty();
+        }
+        persist(built, indexFile);
+        return built;
+    }
+
+    /**
+     * 코퍼스 한 줄의 형식: RCP_SNO \t title \t imageUrl \t cooking_time \t 재료1|재료2|... \t recommend_count
+     */
+    private LocalRecipeIndex buildFromCorpus() throws IOException {
+        LocalRecipeIndex.Builder builder = new LocalRecipeIndex.Builder();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(
+                new GZIPInputStream(appContext.getAssets().open(CORPUS_ASSET)), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                String[] columns = line.split("\t", -1);
+                if (columns.length < 6 || columns[0].isEmpty()) {
+                    continue;
+                }
+                List<String> ingredients = new ArrayList<>();
+                for (String ingredient : columns[4].split("\\|")) {
+                    if (!ingredient.trim().isEmpty()) {
+                        ingredients.add(ingredient.trim());
+                    }
+                }
+                builder.add(columns[0], columns[1], columns[2], columns[3], ingredients, parseCount(columns[5]));
+            }
+        }
+        return builder.build();
+    }
+
+    private static int parseCount(String value) {
+        try {
+            return Integer.parseInt(value.trim());
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+
+    private void persist(LocalRecipeIndex built, File indexFile) {
+        File dir = indexFile.getParentFile();
+        if (dir != null && !dir.exists() && !dir.mkdirs()) {
+            Log.w(TAG, "인덱스 디렉터리를 만들 수 없습니다: " + dir);
+            return;
+        }
+        File temp = new File(dir, INDEX_FILE + ".tmp");
+        try (FileOutputStream out = new FileOutputStream(temp)) {
+            built.writeTo(out);
+        } catch (IOException e) {
+            Log.w(TAG, "인덱스를 저장하지 못했습니다. 다음 실행 시 다시 생성합니다.", e);
+            temp.delete();
+            return;
+        }
+        if (!temp.renameTo(indexFile)) {
+            temp.delete();
+        }
+    }
+
+    private long appLastUpdateTime() {
+        try {
+            return appContext.getPackageManager().getPackageInfo(appContext.getPackageName(), 0).lastUpdateTime;
+        } catch (PackageManager.NameNotFoundException e) {
+            return Long.MAX_VALUE;
+        }
+    }
+}
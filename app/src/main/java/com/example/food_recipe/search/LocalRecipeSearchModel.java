@@ -0,0 +1,109 @@
+package com.example.food_recipe.search;
+
+import android.content.Context;
+import android.os.Handler;
+import android.os.Looper;
+import android.util.Log;
+
+import com.example.food_recipe.model.SearchHit;
+import com.google.firebase.auth.FirebaseAuth;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * [추가] 네트워크 없이 기기 안의 {@link LocalRecipeIndex}로 검색하는 SearchContract.Model 구현체입니다.
+ * Algolia 기반 {@link SearchModel}과 같은 모양의 {@link SearchHit}(&lt;b&gt; 하이라이트 태그 포함)을 반환하므로
+ * Presenter와 RecipeAdapter는 수정 없이 두 모델을 바꿔 끼울 수 있습니다.
+ * 로컬 인덱스에는 분류와 난이도가 없으므로 패싯 개수를 반환하지 않으며(패싯 영역이 표시되지 않음), 패싯 선택도 무시합니다.
+ */
+public class LocalRecipeSearchModel implements SearchContract.Model {
+
+    private static final String TAG = "LocalRecipeSearch";
+
+    private final LocalRecipeIndexProvider indexProvider;
+    private final Handler mainHandler = new Handler(Looper.getMainLooper());
+    private final FirebaseAuth mAuth;
+
+    public LocalRecipeSearchModel(Context context) {
+        indexProvider = LocalRecipeIndexProvider.getInstance(context);
+        mAuth = FirebaseAuth.getInstance();
+        indexProvider.preload();
+    }
+
+    @Override
+    public SearchCall fetchInitialRecipes(OnRecipesFetchedListener listener) {
+        return search(Collections.emptyList(), 0, listener);
+    }
+
+    @Override
+    public SearchCall searchRecipes(SearchQuery query, OnRecipesFetchedListener listener) {
+        // [수정] 제외 재료 칩은 검색어가 아니므로 넘기지 않습니다. 제외 재료가 든 결과는 화면(SearchViewModel)에서 걸러집니다.
+        return search(query.getIncludedChips(), query.getPage(), listener);
+    }
+
+    @Override
+    public void fetchPantryItems(OnPantryItemsFetchedListener listener) {
+        // 냉장고 재료는 검색 인덱스가 아닌 사용자 문서에 있으므로 SearchModel과 같은 경로로 조회합니다.
+        SearchModel.loadPantryItemNames(mAuth, listener);
+    }
+
+    @Override
+    public void fetchPantryDetails(OnPantryDetailsFetchedListener listener) {
+        SearchModel.loadPantryItems(mAuth, listener);
+    }
+
+    private SearchCall search(List<String> chips, int page, OnRecipesFetchedListener listener) {
+        // 취소된 요청은 인덱스 스레드에서 건너뛰고, 이미 계산된 결과도 전달하지 않습니다.
+        AtomicBoolean cancelled = new AtomicBoolean(false);
+        indexProvider.submit(index -> {
+            if (cancelled.get()) {
+                return;
+            }
+            if (index.isEmpty()) {
+                mainHandler.post(() -> {
+                    if (!cancelled.get()) listener.onError("기기에 검색 데이터가 준비되지 않았습니다.");
+                });
+                return;
+            }
+            long start = System.nanoTime();
+            // [수정] Algolia와 같은 페이지 크기로 잘라서 반환합니다.
+            int hitsPerPage = SearchQuery.HITS_PER_PAGE;
+            LocalRecipeIndex.Result result = index.search(chips, page * hitsPerPage, hitsPerPage);
+            List<SearchHit> hits = new ArrayList<>(result.hits.size());
+            for (LocalRecipeIndex.Hit hit : result.hits) {
+                hits.add(toSearchHit(index.document(hit.doc), chips));
+            }
+            int nbPages = (result.totalHits + hitsPerPage - 1) / hitsPerPage;
+            Log.d(TAG, "Query: " + chips + " p" + page + " -> " + result.totalHits + "건 중 " + hits.size() + "건, "
+                    + (System.nanoTime() - start) / 1000 + "us");
+            mainHandler.post(() -> {
+                if (!cancelled.get()) listener.onSuccess(new SearchResult(hits, page, nbPages, result.totalHits));
+            });
+        });
+        return () -> cancelled.set(true);
+    }
+
+    /**
+     * 로컬 문서를 Algolia 디코더와 동일한 규칙(기본값, 재료 구분자, 하이라이트 태그)으로 변환합니다.
+     */
+    static SearchHit toSearchHit(LocalRecipeIndex.Document document, List<String> chips) {
+        String ingredientsSummary;
+        if (document.ingredients.isEmpty()) {
+            ingredientsSummary = "재료 정보 없음";
+        } else {
+            List<String> highlighted = new ArrayList<>(document.ingredients.size());
+            for (String ingredient : document.ingredients) {
+                highlighted.add(LocalRecipeIndex.highlight(ingredient, chips));
+            }
+            ingredientsSummary = String.join(", ", highlighted);
+        }
+        return new SearchHit(document.objectId,
+                document.title.isEmpty() ? "제목 없음" : LocalRecipeIndex.highlight(document.title, chips),
+                document.imageUrl,
+                document.cookingTime.isEmpty() ? "정보 없음" : document.cookingTime,
+                ingredientsSummary);
+    }
+}
@@ -0,0 +1,238 @@
+package com.example.food_recipe.search;
+
+import androidx.annotation.NonNull;
+
+import com.example.food_recipe.model.PantryItem;
+import com.example.food_recipe.model.SearchHit;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * [추가] '내 재료로 요리하기' 정렬을 위해, 검색 결과 한 페이지를 냉장고 재료를 많이 쓰는 순서로 다시 정렬합니다.
+ * - 냉장고 재료와 레시피 재료는 모두 {@link IngredientLexicon}의 재료 번호(정수)로 바꾸어, 정렬된 int 배열끼리 병합하듯 비교합니다.
+ *   레시피 재료 번호는 rcpSno 단위로 기억해 두므로, 같은 레시피를 다시 정렬할 때는 문자열을 다시 분석하지 않습니다.
+ * - 점수는 가진 재료마다 {@link #OWNED_WEIGHT}에, 유통기한이 {@link #EXPIRY_HORIZON_DAYS}일 이내로 남은 재료는
+ *   남은 날이 적을수록 최대 {@link #EXPIRY_BONUS}를 더한 값의 합입니다. 이미 유통기한이 지난 재료는 가산점을 주지 않습니다.
+ * - 점수가 같으면 부족한 재료가 적은 순서, 그다음은 원래(Algolia 관련도) 순서를 유지합니다.
+ * - 재료를 하나도 알아보지 못한 레시피는 점수 0, 부족한 재료 수는 {@link #UNKNOWN}으로 두고 같은 점수 중 마지막에 둡니다.
+ * 메인 스레드에서만 사용합니다. Android 의존성이 없는 순수 Java 클래스입니다.
+ */
+public final class PantryCoverageRanker {
+
+    /** 가진 재료 하나의 기본 점수입니다. */
+    static final int OWNED_WEIGHT = 100;
+    /** 오늘 유통기한이 끝나는 재료에 더하는 최대 가산점입니다. */
+    static final int EXPIRY_BONUS = 200;
+    /** 유통기한 가산점을 주기 시작하는 남은 일수입니다. */
+    static final int EXPIRY_HORIZON_DAYS = 7;
+    /** 부족한 재료 수를 알 수 없음을 나타냅니다. */
+    public static final int UNKNOWN = -1;
+
+    private static final long DAY_MS = 24L * 60 * 60 * 1000;
+    private static final int[] NO_IDS = new int[0];
+    /** 재료 번호를 기억해 둘 최대 레시피 수입니다. 페이지 창(5페이지)보다 넉넉하게 둡니다. */
+    private static final int MAX_CACHED_RECIPES = 512;
+    /** 재료 항목 하나에서 살펴볼 최대 글자 수입니다. 재료명 뒤의 긴 설명은 잘라냅니다. */
+    private static final int MAX_ITEM_LENGTH = 64;
+
+    private final IngredientLexicon lexicon;
+    // 가진 재료의 번호(오름차순)와 같은 위치의 점수
+    private final int[] ownedIds;
+    private final int[] ownedWeights;
+    // 재료 항목 하나를 정규화해 담는 버퍼 (메인 스레드에서만 사용)
+    private final char[] termBuffer = new char[MAX_ITEM_LENGTH];
+    // rcpSno -> 재료 번호(오름차순, 중복 없음)
+    private final Map<String, int[]> idsByRecipe = new LinkedHashMap<String, int[]>(64, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, int[]> eldest) {
+            return size() > MAX_CACHED_RECIPES;
+        }
+    };
+
+    private PantryCoverageRanker(IngredientLexicon lexicon, int[] ownedIds, int[] ownedWeights) {
+        this.lexicon = lexicon;
+        this.ownedIds = ownedIds;
+        this.ownedWeights = ownedWeights;
+    }
+
+    /**
+     * 냉장고 재료로 정렬기를 만듭니다. 재료 사전에 없는 재료는 어떤 레시피와도 일치하지 않으므로 건너뜁니다.
+     * 같은 재료가 여러 개 있으면 유통기한이 가장 임박한(점수가 가장 높은) 것을 사용합니다.
+     *
+     * @param now 유통기한까지 남은 일수를 계산할 기준 시각
+     */
+    @NonNull
+    public static PantryCoverageRanker of(@NonNull IngredientLexicon lexicon, Collection<PantryItem> pantry, long now) {
+        if (pantry == null || pantry.isEmpty()) {
+            return new PantryCoverageRanker(lexicon, NO_IDS, NO_IDS);
+        }
+        // 번호와 점수를 하나의 long으로 묶어 정렬한 뒤, 같은 번호 중 가장 높은 점수만 남깁니다.
+        long[] packed = new long[pantry.size()];
+        int size = 0;
+        for (PantryItem item : pantry) {
+            if (item == null) continue;
+            int id = lexicon.ingredientId(item.getName());
+            if (id >= 0) {
+                packed[size++] = ((long) id << 32) | expiryWeight(item.getExpirationDate(), now);
+            }
+        }
+        Arrays.sort(packed, 0, size);
+        int[] ids = new int[size];
+        int[] weights = new int[size];
+        int count = 0;
+        for (int i = 0; i < size; i++) {
+            int id = (int) (packed[i] >>> 32);
+            int weight = (int) packed[i];
+            if (count > 0 && ids[count - 1] == id) {
+                weights[count - 1] = weight; // 오름차순이므로 마지막 값이 가장 큰 점수입니다.
+            } else {
+                ids[count] = id;
+                weights[count] = weight;
+                count++;
+            }
+        }
+        return new PantryCoverageRanker(lexicon, Arrays.copyOf(ids, count), Arrays.copyOf(weights, count));
+    }
+
+    /** 알아본 냉장고 재료가 하나도 없으면 true입니다. 이때 정렬은 원래 순서를 그대로 유지합니다. */
+    public boolean isEmpty() {
+        return ownedIds.length == 0;
+    }
+
+    /**
+     * 한 페이지의 정렬 결과입니다. 위치는 모두 정렬 전 목록 기준입니다.
+     */
+    public static final class Ranking {
+        /** 정렬된 순서대로 나열한 원래 위치입니다. */
+        public final int[] order;
+        /** 원래 위치별 부족한 재료 수입니다. 알 수 없으면 {@link #UNKNOWN}입니다. */
+        public final int[] missing;
+
+        Ranking(int[] order, int[] missing) {
+            this.order = order;
+            this.missing = missing;
+        }
+    }
+
+    /**
+     * 결과 한 페이지를 냉장고 재료 점수 순으로 정렬합니다. 목록 자체는 바꾸지 않습니다.
+     */
+    @NonNull
+    public Ranking rank(@NonNull List<SearchHit> hits) {
+        int size = hits.size();
+        int[] missing = new int[size];
+        // (최대 점수 - 점수, 부족한 재료 수, 원래 위치)를 하나의 long으로 묶어 정렬하면 세 기준의 사전순 정렬이 됩니다.
+        long[] keys = new long[size];
+        for (int i = 0; i < size; i++) {
+            int[] ids = ingredientIds(hits.get(i));
+            int score = 0;
+            int owned = 0;
+            for (int a = 0, b = 0; a < ids.length && b < ownedIds.length; ) {
+                if (ids[a] < ownedIds[b]) {
+                    a++;
+                } else if (ids[a] > ownedIds[b]) {
+                    b++;
+                } else {
+                    score += ownedWeights[b];
+                    owned++;
+                    a++;
+                    b++;
+                }
+            }
+            missing[i] = ids.length == 0 ? UNKNOWN : ids.length - owned;
+            long rankScore = Math.min(score, 0xFFFFF);
+            // 재료를 알 수 없는 레시피는 같은 점수 중 마지막에 둡니다.
+            long rankMissing = missing[i] == UNKNOWN ? 0xFFFFF : Math.min(missing[i], 0xFFFFF);
+            keys[i] = ((0xFFFFFL - rankScore) << 40) | (rankMissing << 20) | i;
+        }
+        Arrays.sort(keys);
+        int[] order = new int[size];
+        for (int i = 0; i < size; i++) {
+            order[i] = (int) (keys[i] & 0xFFFFF);
+        }
+        return new Ranking(order, missing);
+    }
+
+    /**
+     * 레시피의 재료 번호(오름차순, 중복 없음)입니다. 재료 문자열을 ", "로 나눈 항목마다 가장 앞에서 일치하는 재료명을 사용합니다.
+     * ("돼지고기 200g" → 돼지고기)
+     */
+    @NonNull
+    int[] ingredientIds(@NonNull SearchHit hit) {
+        String key = hit.getRcpSno();
+        int[] cached = key != null ? idsByRecipe.get(key) : null;
+        if (cached != null) {
+            return cached;
+        }
+        int[] ids = parseIngredientIds(hit.getIngredientsSummary());
+        if (key != null) {
+            idsByRecipe.put(key, ids);
+        }
+        return ids;
+    }
+
+    /**
+     * 재료 문자열을 한 번 훑으면서, 항목마다 하이라이트 태그와 공백/기호를 뺀 소문자를 버퍼에 모아 재료 번호를 찾습니다.
+     * 항목마다 문자열을 만들지 않으므로 페이지를 처음 정렬할 때의 할당이 레시피당 배열 하나로 줄어듭니다.
+     */
+    private int[] parseIngredientIds(String summary) {
+        if (summary == null || summary.isEmpty()) {
+            return NO_IDS;
+        }
+        int[] ids = new int[8];
+        int size = 0;
+        int length = 0;
+        for (int i = 0; i <= summary.length(); i++) {
+            char c = i < summary.length() ? summary.charAt(i) : ',';
+            if (c == '<') {
+                // 하이라이트 태그(<b>, </b>)는 건너뜁니다.
+                int close = summary.indexOf('>', i);
+                if (close >= 0) {
+                    i = close;
+                    continue;
+                }
+            }
+            if (c == ',') {
+                int id = lexicon.ingredientId(termBuffer, length);
+                if (id >= 0) {
+                    if (size == ids.length) ids = Arrays.copyOf(ids, size * 2);
+                    ids[size++] = id;
+                }
+                length = 0;
+            } else if (Character.isLetterOrDigit(c) && length < termBuffer.length) {
+                termBuffer[length++] = Character.toLowerCase(c);
+            }
+        }
+        Arrays.sort(ids, 0, size);
+        int count = 0;
+        for (int i = 0; i < size; i++) {
+            if (count == 0 || ids[count - 1] != ids[i]) ids[count++] = ids[i];
+        }
+        return count == 0 ? NO_IDS : Arrays.copyOf(ids, count);
+    }
+
+    /**
+     * 냉장고 재료 하나의 점수입니다. 유통기한이 없거나 {@link #EXPIRY_HORIZON_DAYS}일 이상 남았으면 {@link #OWNED_WEIGHT}이고,
+     * 오늘까지인 재료는 {@link #OWNED_WEIGHT} + {@link #EXPIRY_BONUS}입니다.
+     */
+    static int expiryWeight(Date expirationDate, long now) {
+        if (expirationDate == null) {
+            return OWNED_WEIGHT;
+        }
+        long remaining = expirationDate.getTime() - now;
+        // 유통기한은 보통 그날 0시로 저장되므로, 하루가 지나기 전까지는 오늘까지인 재료로 봅니다.
+        if (remaining < -DAY_MS) {
+            return OWNED_WEIGHT;
+        }
+        long daysLeft = Math.max(0, remaining / DAY_MS);
+        if (daysLeft >= EXPIRY_HORIZON_DAYS) {
+            return OWNED_WEIGHT;
+        }
+        return OWNED_WEIGHT + (int) (EXPIRY_BONUS * (EXPIRY_HORIZON_DAYS - daysLeft) / EXPIRY_HORIZON_DAYS);
+    }
+}
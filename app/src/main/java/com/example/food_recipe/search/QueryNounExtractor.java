@@ -0,0 +1,141 @@
+package com.example.food_recipe.search;
+
+import com.example.food_recipe.utils.StringUtils;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * [추가] 레시피 검색어에서 재료명/요리명을 뽑아내는 사전 기반 명사 추출기입니다.
+ * - 검색어를 공백 단위 어절로 나눈 뒤, 각 어절을 재료 사전과 요리명 단어 사전으로 최장 일치 분리합니다.
+ *   ("돼지고기김치찌개" → "돼지고기", "김치찌개" / "감자를" → "감자")
+ * - 사전에 없는 조각 중 조사로 보이는 것은 버리고, 나머지는 {@link Result#unknown}으로 돌려줍니다.
+ *   호출 측은 필요할 때만 이 조각을 Okt({@link StringUtils#extractNouns})로 분석합니다.
+ * 사전 조회만 하므로 형태소 분석기 초기화가 필요 없고, 검색어 하나에 수 마이크로초가 걸립니다.
+ * Android 의존성이 없는 순수 Java 클래스입니다.
+ */
+public final class QueryNounExtractor {
+
+    /** 사전에 없는 조각의 끝에서 떼어낼 조사입니다. 긴 것부터 확인합니다. */
+    private static final String[] PARTICLES = {
+            "으로", "에서", "이랑", "하고", "까지", "부터", "처럼",
+            "을", "를", "이", "가", "은", "는", "로", "와", "과", "랑", "에", "의", "도", "만"
+    };
+
+    private final IngredientLexicon lexicon;
+    private final ChosungIndex dishWords;
+
+    /**
+     * @param lexicon   재료 사전 (한 글자 재료 포함)
+     * @param dishWords 재료명과 레시피 제목 단어를 담은 색인. 아직 준비되지 않았으면 null이며, 이때는 재료 사전만 사용합니다.
+     */
+    public QueryNounExtractor(IngredientLexicon lexicon, ChosungIndex dishWords) {
+        this.lexicon = lexicon;
+        this.dishWords = dishWords;
+    }
+
+    /**
+     * 추출 결과입니다. nouns는 사전에서 찾은 단어(입력 순서, 중복 제거), unknown은 사전에 없는 조각입니다.
+     */
+    public static final class Result {
+        public final List<String> nouns;
+        public final List<String> unknown;
+
+        Result(List<String> nouns, List<String> unknown) {
+            this.nouns = Collections.unmodifiableList(nouns);
+            this.unknown = Collections.unmodifiableList(unknown);
+        }
+    }
+
+    public Result extract(String query) {
+        List<String> nouns = new ArrayList<>();
+        List<String> unknown = new ArrayList<>();
+        String normalized = StringUtils.normalizeSearchQuery(query);
+        if (normalized.isEmpty()) {
+            return new Result(nouns, unknown);
+        }
+        for (String token : normalized.split(" ")) {
+            segment(LocalRecipeIndex.normalizeTerm(token), nouns, unknown);
+        }
+        return new Result(nouns, unknown);
+    }
+
+    /**
+     * 어절 하나를 왼쪽부터 최장 일치로 분리합니다. 한 글자 재료("무", "김")는 어절의 첫머리에 있고 뒤에 조사나 다른 단어가
+     * 이어질 때만 인정해, "무침"의 "무"나 "매콤한"의 "한"처럼 다른 단어의 일부가 재료로 잘리는 것을 막습니다.
+     */
+    private void segment(String token, List<String> nouns, List<String> unknown) {
+        int unknownStart = -1;
+        int i = 0;
+        while (i < token.length()) {
+            int length = longestWordAt(token, i);
+            if (length == 1 && (i > 0 || !isBoundary(token, 1))) {
+                length = 0;
+            }
+            if (length == 0) {
+                if (unknownStart < 0) unknownStart = i;
+                i++;
+                continue;
+            }
+            if (unknownStart >= 0) {
+                addUnknown(token.substring(unknownStart, i), unknown);
+                unknownStart = -1;
+            }
+            addNoun(token.substring(i, i + length), nouns);
+            i += length;
+        }
+        if (unknownStart >= 0) {
+            addUnknown(token.substring(unknownStart), unknown);
+        }
+    }
+
+    /** position 이후가 비었거나, 조사이거나, 두 글자 이상의 단어로 시작하는지 확인합니다. */
+    private boolean isBoundary(String token, int position) {
+        if (position == token.length()) return true;
+        String rest = token.substring(position);
+        for (String particle : PARTICLES) {
+            if (rest.equals(particle)) return true;
+        }
+        return longestWordAt(token, position) >= 2;
+    }
+
+    private int longestWordAt(String token, int start) {
+        int longest = lexicon.longestMatchAt(token, start);
+        if (dishWords != null) {
+            // 요리명 단어는 두 글자 이상이므로 재료 사전보다 긴 경우만 확인합니다.
+            for (int end = token.length(); end - start > Math.max(longest, 1); end--) {
+                if (dishWords.contains(token.substring(start, end))) {
+                    return end - start;
+                }
+            }
+        }
+        return longest;
+    }
+
+    private static void addNoun(String word, List<String> nouns) {
+        if (!StringUtils.SEARCH_STOP_WORDS.contains(word) && !nouns.contains(word)) {
+            nouns.add(word);
+        }
+    }
+
+    /** 조사를 떼어낸 뒤 두 글자 이상 남는 조각만 남깁니다. 한 글자 조각은 조사나 어미로 봅니다. */
+    private static void addUnknown(String fragment, List<String> unknown) {
+        String stripped = stripParticle(fragment);
+        if (stripped.length() >= 2 && !StringUtils.SEARCH_STOP_WORDS.contains(stripped) && !unknown.contains(stripped)) {
+            unknown.add(stripped);
+        }
+    }
+
+    private static String stripParticle(String fragment) {
+        for (String particle : PARTICLES) {
+            if (fragment.equals(particle)) {
+                return "";
+            }
+            if (fragment.length() > particle.length() && fragment.endsWith(particle)) {
+                return fragment.substring(0, fragment.length() - particle.length());
+            }
+        }
+        return fragment;
+    }
+}
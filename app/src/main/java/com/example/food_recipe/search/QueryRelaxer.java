@@ -0,0 +1,43 @@
+package com.example.food_recipe.search;
+
+import androidx.annotation.Nullable;
+
+import java.util.function.ToIntFunction;
+
+/**
+ * [추가] 결과가 없는 칩 조합에서 뺄 칩 하나를 고르는 유틸리티입니다.
+ * - 칩을 하나씩 빼며 다시 검색하는 대신, 재료별 문서 빈도(그 재료를 쓰는 레시피 수) 표로 가장 드문 칩을 골라 한 번만 다시 검색합니다.
+ * - 재료 사전에 없는 칩(요리명, 드문 단어)은 빈도를 0으로 보아 가장 먼저 뺍니다. 빈도가 같으면 재료 칩보다 전문 검색어 칩을 먼저 뺍니다.
+ * - 제외 재료 칩은 알레르기 등 사용자가 명시한 조건이므로 완화하지 않으며, 칩이 하나뿐이면 빼지 않습니다. (빈 검색이 되므로)
+ * - 패싯을 선택한 검색은 완화하지 않습니다. 결과가 없는 원인이 패싯일 수 있는데, 사용자가 입력한 칩을 대신 빼면 안 되기 때문입니다.
+ * Android 의존성이 없는 순수 Java 클래스입니다.
+ */
+final class QueryRelaxer {
+
+    private QueryRelaxer() {
+    }
+
+    /**
+     * @param documentFrequency 칩(재료명)을 사용하는 레시피 수. 모르는 단어는 0을 반환해야 합니다.
+     * @return 뺄 칩 (정규화된 값), 완화할 수 없으면 null
+     */
+    @Nullable
+    static String chipToRelax(SearchQuery query, ToIntFunction<String> documentFrequency) {
+        if (query.getIncludedChips().size() < 2 || !query.getFacetFilter().isEmpty()) {
+            return null;
+        }
+        String selected = null;
+        int selectedFrequency = Integer.MAX_VALUE;
+        boolean selectedIsIngredient = true;
+        for (String chip : query.getIncludedChips()) {
+            int frequency = documentFrequency.applyAsInt(chip);
+            boolean isIngredient = query.getIngredientChips().contains(chip);
+            if (frequency < selectedFrequency || (frequency == selectedFrequency && selectedIsIngredient && !isIngredient)) {
+                selected = chip;
+                selectedFrequency = frequency;
+                selectedIsIngredient = isIngredient;
+            }
+        }
+        return selected;
+    }
+}
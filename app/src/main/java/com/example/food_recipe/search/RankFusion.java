@@ -0,0 +1,62 @@
+package com.example.food_recipe.search;
+
+import com.example.food_recipe.model.SearchHit;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * [추가] 두 검색 소스(Algolia, 기기 내 인덱스)의 첫 페이지를 하나의 순위로 합치는 유틸리티입니다.
+ * - 점수 척도가 서로 다른 두 결과를 비교하지 않고 순위만 사용하는 RRF(Reciprocal Rank Fusion)로 합칩니다.
+ *   레시피마다 각 결과에서의 순위 r에 대해 1 / (K + r)를 더하므로, 두 소스 모두에 있는 레시피가 앞으로 옵니다.
+ * - 같은 레시피가 양쪽에 있으면 분류/난이도와 서버 하이라이트를 가진 주(primary) 결과의 항목을 사용합니다.
+ * - 페이지 정보와 패싯 개수는 주 결과를 따릅니다.
+ * Android 의존성이 없는 순수 Java 클래스입니다.
+ */
+final class RankFusion {
+
+    /** RRF의 순위 보정 상수입니다. 클수록 상위 몇 개의 순위 차이가 점수에 주는 영향이 줄어듭니다. */
+    static final int K = 60;
+
+    private RankFusion() {
+    }
+
+    /**
+     * @param primary   우선하는 결과 (Algolia)
+     * @param secondary 보조 결과 (기기 내 인덱스). null이면 primary를 그대로 반환합니다.
+     */
+    static SearchResult merge(SearchResult primary, SearchResult secondary) {
+        if (secondary == null || secondary.isEmpty()) {
+            return primary;
+        }
+        Map<String, SearchHit> hits = new LinkedHashMap<>();
+        Map<String, Double> scores = new LinkedHashMap<>();
+        accumulate(primary.getHits(), hits, scores);
+        int primaryCount = hits.size();
+        accumulate(secondary.getHits(), hits, scores);
+
+        List<String> ids = new ArrayList<>(hits.keySet());
+        // 점수가 같으면 주 결과의 순서, 그다음 보조 결과의 순서를 따르도록 안정 정렬합니다.
+        Collections.sort(ids, (a, b) -> Double.compare(scores.get(b), scores.get(a)));
+        List<SearchHit> merged = new ArrayList<>(ids.size());
+        for (String id : ids) {
+            merged.add(hits.get(id));
+        }
+        int nbHits = Math.max(primary.getNbHits(), primary.getNbHits() + merged.size() - primaryCount);
+        return new SearchResult(merged, primary.getPage(), Math.max(1, primary.getNbPages()), nbHits, primary.getFacets());
+    }
+
+    private static void accumulate(List<SearchHit> ranked, Map<String, SearchHit> hits, Map<String, Double> scores) {
+        for (int rank = 0; rank < ranked.size(); rank++) {
+            SearchHit hit = ranked.get(rank);
+            String id = hit.getRcpSno();
+            if (id == null) continue;
+            hits.putIfAbsent(id, hit);
+            Double previous = scores.get(id);
+            scores.put(id, (previous != null ? previous : 0d) + 1d / (K + rank + 1));
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package com.example.food_recipe.search;
+
+import com.example.food_recipe.model.SearchHit;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * [추가] 칩이 추가되었을 때 서버 응답을 기다리지 않고, 이미 화면에 있는 검색 결과로 새 결과를 미리 만들어 보여주기 위한 유틸리티입니다.
+ * 서버 검색 규칙과 같은 방향으로 결과를 좁히거나 순서를 바꿉니다.
+ * - 전문 검색어 칩: 모든 단어가 일치해야 하므로, 제목이나 재료에 새 칩이 모두 들어 있는 결과만 남깁니다.
+ * - 재료 칩: 이전 검색에 재료 필터가 없었다면 새 재료 중 하나 이상을 쓰는 결과만 남깁니다.
+ *   이미 재료 필터(OR)로 검색 중이었다면 결과가 줄지 않고 일치하는 재료 수로 순위만 바뀌므로, 새 재료를 쓰는 결과를 앞으로 옮깁니다.
+ * 미리보기는 화면에 있던 결과 안에서만 계산하므로, 정확한 결과는 이후 서버 응답으로 교체됩니다.
+ * Android 의존성이 없는 순수 Java 클래스입니다.
+ */
+final class ResultRefiner {
+
+    private ResultRefiner() {
+    }
+
+    /**
+     * @param current              현재 화면에 표시된 결과
+     * @param addedTextChips       새로 추가된 전문 검색어 칩
+     * @param addedIngredientChips 새로 추가된 재료 칩
+     * @param hadIngredientFilters 현재 결과가 재료 필터로 검색된 결과인지 여부
+     * @return 미리 보여줄 결과 (원래 순서를 유지하는 안정 정렬)
+     */
+    static List<SearchHit> refine(List<SearchHit> current, List<String> addedTextChips,
+                                  List<String> addedIngredientChips, boolean hadIngredientFilters) {
+        if (current == null || current.isEmpty()) {
+            return Collections.emptyList();
+        }
+        List<String> textNeedles = needles(addedTextChips);
+        List<String> ingredientNeedles = needles(addedIngredientChips);
+
+        List<SearchHit> refined = new ArrayList<>(current.size());
+        List<Integer> scores = new ArrayList<>(current.size());
+        for (SearchHit hit : current) {
+            String ingredients = haystack(hit.getIngredientsSummary());
+            if (!textNeedles.isEmpty()) {
+                String title = haystack(hit.getTitle());
+                if (!containsAll(title, ingredients, textNeedles)) continue;
+            }
+            int matched = 0;
+            for (String needle : ingredientNeedles) {
+                if (ingredients.contains(needle)) matched++;
+            }
+            if (!hadIngredientFilters && !ingredientNeedles.isEmpty() && matched == 0) continue;
+            refined.add(hit);
+            scores.add(matched);
+        }
+        if (!hadIngredientFilters || ingredientNeedles.isEmpty()) {
+            return refined;
+        }
+        // 일치한 새 재료가 많은 결과부터, 같으면 원래 순서대로 둡니다.
+        List<SearchHit> ranked = new ArrayList<>(refined.size());
+        for (int score = ingredientNeedles.size(); score >= 0; score--) {
+            for (int i = 0; i < refined.size(); i++) {
+                if (scores.get(i) == score) ranked.add(refined.get(i));
+            }
+        }
+        return ranked;
+    }
+
+    private static boolean containsAll(String title, String ingredients, List<String> needles) {
+        for (String needle : needles) {
+            if (!title.contains(needle) && !ingredients.contains(needle)) return false;
+        }
+        return true;
+    }
+
+    /** 하이라이트 태그와 공백을 지우고 소문자로 바꿉니다. ("다진 <b>마늘</b>" → "다진마늘") */
+    static String haystack(String text) {
+        if (text == null) return "";
+        return text.replace("<b>", "").replace("</b>", "").replace(" ", "").toLowerCase(Locale.ROOT);
+    }
+
+    private static List<String> needles(List<String> chips) {
+        List<String> needles = new ArrayList<>();
+        if (chips == null) return needles;
+        for (String chip : chips) {
+            String needle = haystack(SearchQuery.normalizeChip(chip));
+            if (!needle.isEmpty()) needles.add(needle);
+        }
+        return needles;
+    }
+}
@@ -0,0 +1,13 @@
+package com.example.food_recipe.search;
+
+/**
+ * [추가] 진행 중인 검색 요청을 취소하기 위한 핸들입니다.
+ * 취소된 요청의 콜백은 호출되지 않으며, 이미 끝난 요청에 대한 취소는 아무 동작도 하지 않습니다.
+ */
+public interface SearchCall {
+
+    /** 취소할 작업이 없는 경우(예: 캐시에서 즉시 응답한 경우)에 사용하는 핸들입니다. */
+    SearchCall NONE = () -> { };
+
+    void cancel();
+}
@@ -1,7 +1,8 @@
 package com.example.food_recipe.search;
 
 import com.example.food_recipe.base.BaseContract;
-import com.example.food_recipe.model.Recipe;
+import com.example.food_recipe.model.PantryItem;
+import com.example.food_recipe.model.SearchHit;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -9,7 +10,10 @@ public interface SearchContract {
 
     interface Model {
         interface OnRecipesFetchedListener {
-            void onSuccess(List<Recipe> recipes);
+            /**
+             * [변경] 레시피 목록과 함께 페이지 정보를 전달하도록 {@link SearchResult}를 받습니다.
+             */
+            void onSuccess(SearchResult result);
             void onError(String message);
         }
 
@@ -18,13 +22,34 @@ public interface SearchContract {
             void onError(String message);
         }
 
-        void fetchInitialRecipes(OnRecipesFetchedListener listener);
-        void searchRecipes(String query, OnRecipesFetchedListener listener);
+        /**
+         * [추가] 재료 이름과 유통기한을 함께 받는 리스너입니다. (냉장고 재료 정렬에 사용)
+         */
+        interface OnPantryDetailsFetchedListener {
+            void onSuccess(List<PantryItem> items);
+            void onError(String message);
+        }
+
+        /**
+         * [변경] 진행 중인 요청을 취소할 수 있도록 {@link SearchCall}을 반환합니다.
+         */
+        SearchCall fetchInitialRecipes(OnRecipesFetchedListener listener);
+
+        /**
+         * [변경] 검색어 문자열 대신 정규화된 칩 집합과 페이지 번호({@link SearchQuery})를 받습니다.
+         * 캐시를 사용하는 구현체는 같은 요청에 대해 onSuccess를 두 번(캐시 결과, 갱신 결과) 호출할 수 있습니다.
+         */
+        SearchCall searchRecipes(SearchQuery query, OnRecipesFetchedListener listener);
         void fetchPantryItems(OnPantryItemsFetchedListener listener);
+
+        /**
+         * [추가] 냉장고 재료를 유통기한과 함께 불러옵니다. 이름만 필요하면 {@link #fetchPantryItems}를 사용합니다.
+         */
+        void fetchPantryDetails(OnPantryDetailsFetchedListener listener);
     }
 
     interface View extends BaseContract.View {
-        void showRecipes(List<Recipe> recipes);
+        void showRecipes(List<SearchHit> recipes);
         void showError(String message);
         void showLoadingIndicator();
         void hideLoadingIndicator();
@@ -39,6 +64,12 @@ public interface SearchContract {
          */
         void showEmptyView(String message);
 
+        /**
+         * [추가] 결과가 없어 칩 하나를 빼고 다시 검색한 결과를 보여줄 때, 어떤 칩을 뺐는지 알립니다.
+         * @param relaxedChip 검색 조건에서 뺀 칩
+         */
+        void showRelaxedSearchNotice(String relaxedChip);
+
         /**
          * [수정] 사용자가 검색하기 전, 초기 안내 문구를 보여주는 화면을 표시합니다.
          */
@@ -49,6 +80,31 @@ public interface SearchContract {
          * 이 메소드는 일회성 알림이며, 화면의 다른 부분은 초기 상태로 돌아갈 수 있습니다.
          */
         void showEmptyPantrySnackbar();
+
+        /**
+         * [추가] 검색창 아래에 재료 자동완성 후보를 표시합니다. 후보를 누르면 {@link Presenter#onIngredientSuggestionSelected(String)}가 호출됩니다.
+         */
+        void showIngredientSuggestions(List<String> suggestions);
+
+        /**
+         * [추가] 재료 자동완성 후보 영역을 숨깁니다.
+         */
+        void hideIngredientSuggestions();
+
+        /**
+         * [추가] 검색창 아래에 검색 기록 추천(칩 조합, 검색어)을 표시합니다. 누르면 {@link Presenter#onHistorySuggestionSelected(String)}가 호출됩니다.
+         */
+        void showHistorySuggestions(List<String> labels);
+
+        /**
+         * [추가] 검색 기록 추천 영역을 숨깁니다.
+         */
+        void hideHistorySuggestions();
+
+        /**
+         * [추가] 냉장고 재료 정렬 스위치의 상태를 바꿉니다. 냉장고 재료를 불러오지 못해 정렬을 끌 때 사용합니다.
+         */
+        void showPantryRankingEnabled(boolean enabled);
     }
 
     interface Presenter extends BaseContract.Presenter<View> {
@@ -59,5 +115,45 @@ public interface SearchContract {
         void onPantryIngredientsSelected(ArrayList<String> ingredients);
         void onChipClosed(String chipText);
         void onPantrySelectionCancelled();
+
+        /**
+         * [추가] 검색 결과 목록이 끝에 가까워졌을 때 호출되어 다음 페이지를 미리 불러옵니다.
+         */
+        void onListScrolledNearEnd();
+
+        /**
+         * [추가] 목록의 처음에 가까워졌을 때 호출되어, 메모리 절약을 위해 버려진 이전 페이지를 다시 불러옵니다.
+         */
+        void onListScrolledNearStart();
+
+        /**
+         * [추가] 검색창의 입력이 바뀔 때마다 호출되어, 기기 안의 재료 사전으로 자동완성 후보를 보여줍니다. (네트워크 사용 없음)
+         * [수정] 입력으로 시작하는 검색 기록도 함께 보여줍니다. 검색창에 포커스가 올 때도 호출되어 최근 검색을 보여줍니다.
+         */
+        void onQueryTextChanged(String text);
+
+        /**
+         * [추가] 자동완성 후보를 선택하면 형태소 분석 없이 바로 칩으로 추가합니다.
+         */
+        void onIngredientSuggestionSelected(String ingredient);
+
+        /**
+         * [추가] 검색 기록 추천을 선택하면 그 칩 조합이나 검색어로 다시 검색합니다.
+         * @param label {@link View#showHistorySuggestions(List)}로 표시한 문자열
+         */
+        void onHistorySuggestionSelected(String label);
+
+        /**
+         * [추가] 패싯 값(분류, 조리 시간, 난이도)을 선택하거나 해제합니다.
+         * 이미 불러온 결과를 기기에서 바로 걸러 보여준 뒤, 서버에서 필터를 적용한 결과로 갱신합니다.
+         * @param attribute {@link FacetFilter}의 속성 이름 (예: {@link FacetFilter#CATEGORY})
+         */
+        void onFacetToggled(String attribute, String value);
+
+        /**
+         * [추가] '내 재료 우선 정렬'을 켜거나 끕니다. 켜면 결과를 냉장고 재료(유통기한 임박 재료 우대)를 많이 쓰는 순서로 정렬하고
+         * 카드마다 부족한 재료 수를 표시합니다.
+         */
+        void onPantryRankingToggled(boolean enabled);
     }
 }
@@ -21,7 +21,8 @@ import androidx.recyclerview.widget.RecyclerView;
 import com.example.food_recipe.R;
 import com.example.food_recipe.adapter.RecipeAdapter;
 import com.example.food_recipe.main.AuthViewModel;
-import com.example.food_recipe.model.Recipe;
+import com.example.food_recipe.model.SearchHit;
+import com.example.food_recipe.utils.ExcludedIngredientManager;
 import com.google.android.material.bottomnavigation.BottomNavigationView;
 import com.google.android.material.button.MaterialButton;
 import com.google.android.material.chip.Chip;
@@ -29,7 +30,9 @@ import com.google.android.material.chip.ChipGroup;
 import com.google.android.material.snackbar.Snackbar;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 
 public class SearchFragment extends Fragment implements SearchContract.View, RecipeAdapter.OnItemClickListener {
 
@@ -37,7 +40,17 @@ public class SearchFragment extends Fragment implements SearchContract.View, Rec
 
     private CoordinatorLayout coordinatorLayout;
     private ChipGroup searchChipGroup;
+    // [추가] 재료 자동완성 후보를 보여주는 한 줄짜리 칩 영역
+    private View suggestionScrollView;
+    private ChipGroup suggestionChipGroup;
+    // [추가] 검색 기록 추천 영역
+    private View historyScrollView;
+    private ChipGroup historyChipGroup;
+    // [추가] 분류/조리 시간/난이도 패싯 칩 영역
+    private View facetScrollView;
+    private ChipGroup facetChipGroup;
     private MaterialButton searchBtnPantryImport;
+    private Chip pantryRankingChip;
     private RecyclerView recyclerView;
     private TextView emptyTextView;
     private ProgressBar progressBar;
@@ -54,7 +67,17 @@ public class SearchFragment extends Fragment implements SearchContract.View, Rec
         super.onCreate(savedInstanceState);
         viewModel = new ViewModelProvider(this).get(SearchViewModel.class);
         authViewModel = new ViewModelProvider(requireActivity()).get(AuthViewModel.class);
-        presenter = new SearchPresenter(viewModel);
+        // [수정] 검색 결과 캐시(메모리 + 디스크)를 적용한 Model을 주입합니다.
+        SearchContract.Model remoteModel = new CachingSearchModel(new SearchModel(), SearchResultCache.getInstance(requireContext()));
+        // [수정] Algolia 응답이 마감 시간 안에 오지 않으면 기기 내 인덱스의 결과를 먼저 보여주는 통합 검색을 사용합니다.
+        // 로컬 결과는 캐시에 저장되지 않도록 캐시 Model 바깥에서 합칩니다.
+        SearchContract.Model model = new FederatedSearchModel(remoteModel, new LocalRecipeSearchModel(requireContext()));
+        // [추가] 재료 자동완성 사전이 첫 입력 전에 준비되도록 로컬 인덱스를 미리 로딩합니다.
+        LocalRecipeIndexProvider indexProvider = LocalRecipeIndexProvider.getInstance(requireContext());
+        indexProvider.preload();
+        // [수정] 제외 재료 칩을 사용자별로 저장/복원하도록 저장소를 함께 주입합니다.
+        presenter = new SearchPresenter(viewModel, model, indexProvider, ExcludedIngredientManager.getInstance(requireContext()),
+                SearchHistoryStore.getInstance(requireContext()));
     }
 
     @Nullable
@@ -95,20 +118,49 @@ public class SearchFragment extends Fragment implements SearchContract.View, Rec
         emptyTextView = view.findViewById(R.id.text_view_empty);
         searchView = view.findViewById(R.id.search_view);
         searchChipGroup = view.findViewById(R.id.search_chip_group);
+        suggestionScrollView = view.findViewById(R.id.search_suggestion_scroll);
+        suggestionChipGroup = view.findViewById(R.id.search_suggestion_chip_group);
+        historyScrollView = view.findViewById(R.id.search_history_scroll);
+        historyChipGroup = view.findViewById(R.id.search_history_chip_group);
+        facetScrollView = view.findViewById(R.id.search_facet_scroll);
+        facetChipGroup = view.findViewById(R.id.search_facet_chip_group);
         searchBtnPantryImport = view.findViewById(R.id.search_btn_pantry_import);
+        pantryRankingChip = view.findViewById(R.id.search_chip_pantry_ranking);
         progressBar = view.findViewById(R.id.search_progress_bar);
     }
 
     private void setupRecyclerView() {
         recipeAdapter = new RecipeAdapter(requireContext());
         recipeAdapter.setOnItemClickListener(this);
-        recyclerView.setLayoutManager(new LinearLayoutManager(getContext()));
+        LinearLayoutManager layoutManager = new LinearLayoutManager(getContext());
+        recyclerView.setLayoutManager(layoutManager);
         recyclerView.setAdapter(recipeAdapter);
+
+        // [추가] 목록의 끝(또는 처음)에서 지정한 거리 이내로 스크롤되면 인접 페이지를 미리 불러옵니다.
+        int prefetchDistance = getResources().getInteger(R.integer.search_prefetch_distance);
+        recyclerView.addOnScrollListener(new RecyclerView.OnScrollListener() {
+            @Override
+            public void onScrolled(@NonNull RecyclerView rv, int dx, int dy) {
+                if (dy > 0) {
+                    int lastVisible = layoutManager.findLastVisibleItemPosition();
+                    if (lastVisible != RecyclerView.NO_POSITION
+                            && layoutManager.getItemCount() - 1 - lastVisible <= prefetchDistance) {
+                        presenter.onListScrolledNearEnd();
+                    }
+                } else if (dy < 0) {
+                    int firstVisible = layoutManager.findFirstVisibleItemPosition();
+                    if (firstVisible != RecyclerView.NO_POSITION && firstVisible <= prefetchDistance) {
+                        presenter.onListScrolledNearStart();
+                    }
+                }
+            }
+        });
     }
 
     private void observeViewModel() {
         viewModel.searchResult.observe(getViewLifecycleOwner(), recipes -> {
-            recipeAdapter.setRecipes(recipes);
+            // [수정] 냉장고 재료 정렬을 켰으면 카드별 부족한 재료 수도 함께 전달합니다. (목록보다 먼저 갱신됨)
+            recipeAdapter.setHits(recipes, viewModel.missingIngredientCounts.getValue());
             if (recipes != null && !recipes.isEmpty()) {
                 recyclerView.setVisibility(View.VISIBLE);
                 emptyTextView.setVisibility(View.GONE);
@@ -118,13 +170,44 @@ public class SearchFragment extends Fragment implements SearchContract.View, Rec
         viewModel.searchChips.observe(getViewLifecycleOwner(), chips -> {
             updateChipsUI(chips);
         });
+
+        // [추가] 패싯 개수나 선택이 바뀌면 패싯 칩을 다시 그립니다.
+        viewModel.facetCounts.observe(getViewLifecycleOwner(), counts -> updateFacetsUI());
+        viewModel.facetFilter.observe(getViewLifecycleOwner(), filter -> updateFacetsUI());
+    }
+
+    /**
+     * [추가] 패싯 값을 "값 (개수)" 형태의 칩으로 표시합니다. 속성 순서는 {@link FacetFilter#ATTRIBUTES}를 따르고,
+     * 값은 서버가 보낸 순서(결과가 많은 순)를 유지합니다. 선택 상태는 ViewModel의 패싯 선택으로 정해집니다.
+     */
+    private void updateFacetsUI() {
+        Map<String, Map<String, Integer>> counts = viewModel.facetCounts.getValue();
+        if (counts == null) counts = Collections.emptyMap();
+        FacetFilter filter = viewModel.getFacetFilter();
+        facetChipGroup.removeAllViews();
+        for (String attribute : FacetFilter.ATTRIBUTES) {
+            Map<String, Integer> values = counts.get(attribute);
+            if (values == null) continue;
+            for (Map.Entry<String, Integer> entry : values.entrySet()) {
+                String value = entry.getKey();
+                Chip chip = (Chip) getLayoutInflater().inflate(R.layout.item_search_facet_chip, facetChipGroup, false);
+                chip.setText(value + " (" + entry.getValue() + ")");
+                chip.setChecked(filter.isSelected(attribute, value));
+                chip.setOnClickListener(v -> presenter.onFacetToggled(attribute, value));
+                facetChipGroup.addView(chip);
+            }
+        }
+        facetScrollView.setVisibility(facetChipGroup.getChildCount() > 0 ? View.VISIBLE : View.GONE);
     }
 
     private void updateChipsUI(List<String> chips) {
         searchChipGroup.removeAllViews();
         for (String chipText : chips) {
             Chip chip = (Chip) getLayoutInflater().inflate(R.layout.item_search_chip, searchChipGroup, false);
-            chip.setText(chipText);
+            // [수정] 제외 재료 칩("-우유")은 "우유 제외"로 표시합니다. 닫기는 원래 칩 문자열로 처리합니다.
+            chip.setText(SearchQuery.isExclusionChip(chipText)
+                    ? chipText.substring(SearchQuery.EXCLUDE_PREFIX.length()) + " 제외"
+                    : chipText);
             chip.setOnCloseIconClickListener(v -> presenter.onChipClosed(chipText));
             searchChipGroup.addView(chip);
         }
@@ -139,6 +222,17 @@ public class SearchFragment extends Fragment implements SearchContract.View, Rec
             }
         });
 
+        // [추가] 냉장고 재료 정렬 스위치. 화면이 다시 만들어져도 ViewModel의 정렬 상태를 따릅니다.
+        pantryRankingChip.setChecked(viewModel.isPantryRankingEnabled());
+        pantryRankingChip.setOnClickListener(v -> {
+            if (authViewModel.user.getValue() != null) {
+                presenter.onPantryRankingToggled(pantryRankingChip.isChecked());
+            } else {
+                pantryRankingChip.setChecked(false);
+                Toast.makeText(getContext(), "로그인이 필요한 기능입니다.", Toast.LENGTH_SHORT).show();
+            }
+        });
+
         searchView.setOnQueryTextListener(new SearchView.OnQueryTextListener() {
             @Override
             public boolean onQueryTextSubmit(String query) {
@@ -147,7 +241,14 @@ public class SearchFragment extends Fragment implements SearchContract.View, Rec
                 return true;
             }
             @Override
-            public boolean onQueryTextChange(String newText) { return false; }
+            public boolean onQueryTextChange(String newText) {
+                presenter.onQueryTextChanged(newText);
+                return true;
+            }
+        });
+        // [추가] 검색창에 포커스가 오면 입력 전에도 최근 검색 기록을 보여줍니다.
+        searchView.setOnQueryTextFocusChangeListener((v, hasFocus) -> {
+            if (hasFocus) presenter.onQueryTextChanged(searchView.getQuery().toString());
         });
     }
 
@@ -175,7 +276,7 @@ public class SearchFragment extends Fragment implements SearchContract.View, Rec
     }
 
     @Override
-    public void onItemClick(Recipe recipe) {
+    public void onItemClick(SearchHit recipe) {
         if (recipe != null && recipe.getRcpSno() != null && !recipe.getRcpSno().isEmpty()) {
             Bundle bundle = new Bundle();
             bundle.putString("rcpSno", recipe.getRcpSno());
@@ -187,7 +288,7 @@ public class SearchFragment extends Fragment implements SearchContract.View, Rec
     }
 
     @Override
-    public void showRecipes(List<Recipe> recipes) { }
+    public void showRecipes(List<SearchHit> recipes) { }
 
     @Override
     public void addChipToGroup(String text) { }
@@ -256,6 +357,70 @@ public class SearchFragment extends Fragment implements SearchContract.View, Rec
         emptyTextView.setText("레시피를 검색하거나\n냉장고 재료를 불러와보세요.");
     }
 
+    /**
+     * [추가] 키 입력마다 호출되므로, 이미 만들어 둔 칩은 텍스트만 바꿔 재사용하고 부족한 만큼만 새로 만듭니다.
+     */
+    @Override
+    public void showIngredientSuggestions(List<String> suggestions) {
+        for (int i = 0; i < suggestions.size(); i++) {
+            Chip chip;
+            if (i < suggestionChipGroup.getChildCount()) {
+                chip = (Chip) suggestionChipGroup.getChildAt(i);
+            } else {
+                chip = (Chip) getLayoutInflater().inflate(R.layout.item_search_suggestion_chip, suggestionChipGroup, false);
+                chip.setOnClickListener(v -> presenter.onIngredientSuggestionSelected(((Chip) v).getText().toString()));
+                suggestionChipGroup.addView(chip);
+            }
+            chip.setText(suggestions.get(i));
+        }
+        if (suggestionChipGroup.getChildCount() > suggestions.size()) {
+            suggestionChipGroup.removeViews(suggestions.size(), suggestionChipGroup.getChildCount() - suggestions.size());
+        }
+        suggestionScrollView.setVisibility(View.VISIBLE);
+    }
+
+    @Override
+    public void hideIngredientSuggestions() {
+        suggestionScrollView.setVisibility(View.GONE);
+    }
+
+    /**
+     * [추가] 재료 자동완성과 같이 키 입력마다 호출되므로, 이미 만들어 둔 칩을 재사용합니다.
+     */
+    @Override
+    public void showHistorySuggestions(List<String> labels) {
+        for (int i = 0; i < labels.size(); i++) {
+            Chip chip;
+            if (i < historyChipGroup.getChildCount()) {
+                chip = (Chip) historyChipGroup.getChildAt(i);
+            } else {
+                chip = (Chip) getLayoutInflater().inflate(R.layout.item_search_history_chip, historyChipGroup, false);
+                chip.setOnClickListener(v -> presenter.onHistorySuggestionSelected(((Chip) v).getText().toString()));
+                historyChipGroup.addView(chip);
+            }
+            chip.setText(labels.get(i));
+        }
+        if (historyChipGroup.getChildCount() > labels.size()) {
+            historyChipGroup.removeViews(labels.size(), historyChipGroup.getChildCount() - labels.size());
+        }
+        historyScrollView.setVisibility(View.VISIBLE);
+    }
+
+    @Override
+    public void hideHistorySuggestions() {
+        historyScrollView.setVisibility(View.GONE);
+    }
+
+    @Override
+    public void showPantryRankingEnabled(boolean enabled) {
+        pantryRankingChip.setChecked(enabled);
+    }
+
+    @Override
+    public void showRelaxedSearchNotice(String relaxedChip) {
+        Snackbar.make(coordinatorLayout, "'" + relaxedChip + "' 조건을 빼고 찾은 결과입니다.", Snackbar.LENGTH_LONG).show();
+    }
+
     @Override
     public void showEmptyPantrySnackbar() {
         if (pantryEmptySnackbar != null && pantryEmptySnackbar.isShown()) {
@@ -0,0 +1,254 @@
+package com.example.food_recipe.search;
+
+import androidx.annotation.NonNull;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * [추가] 사용자의 검색 기록(칩 조합, 직접 입력한 검색어)과 접두어 추천을 위한 메모리 색인입니다.
+ * - 기록마다 사용 횟수, 마지막 사용 시각, 감쇠 점수를 가집니다. 감쇠 점수는 사용할 때마다
+ *   {@code score × 0.5^(경과 시간 / 반감기) + 1}로 갱신되어, 자주 그리고 최근에 쓴 기록일수록 높습니다.
+ * - 칩과 검색어의 단어를 키로 하는 정렬 맵(TreeMap)에서 접두어 범위만 조회하므로, 입력마다 전체 기록을 훑지 않습니다.
+ * - 기록 수가 {@link #MAX_ENTRIES} + {@link #COMPACTION_SLACK}을 넘으면 점수가 낮은 기록을 버려 {@link #MAX_ENTRIES}개로 줄입니다.
+ *   (기록할 때마다 정렬하지 않도록 여유분만큼 모았다가 한 번에 정리합니다)
+ * 저장과 로딩은 {@link SearchHistoryStore}가 담당합니다. 메인 스레드의 조회와 저장 스레드의 기록이 겹칠 수 있어 모든 메소드를 동기화합니다.
+ * Android 의존성이 없는 순수 Java 클래스입니다.
+ */
+public final class SearchHistory {
+
+    /** 정리 후 남기는 최대 기록 수입니다. */
+    static final int MAX_ENTRIES = 100;
+    /** 정리하기 전까지 더 쌓아 둘 수 있는 기록 수입니다. */
+    static final int COMPACTION_SLACK = 50;
+    /** 감쇠 점수의 반감기(7일)입니다. */
+    static final long HALF_LIFE_MS = 7L * 24 * 60 * 60 * 1000;
+
+    private static final String CHIPS_KEY_PREFIX = "c:";
+    private static final String TEXT_KEY_PREFIX = "t:";
+
+    /**
+     * 검색 기록 하나입니다. 칩 조합 기록은 chips가 비어 있지 않고, 검색어 기록은 text만 가집니다.
+     * Gson으로 그대로 저장되므로 필드 이름을 바꾸면 {@link SearchHistoryStore}의 파일 버전을 올려야 합니다.
+     */
+    public static final class Entry {
+        private final String text;
+        private final List<String> chips;
+        private int count;
+        private double score;
+        private long lastUsedAt;
+
+        Entry(String text, List<String> chips) {
+            this.text = text;
+            this.chips = chips;
+        }
+
+        /** 추천 목록에 표시할 문자열입니다. 칩 조합은 칩을 공백으로 이은 값입니다. */
+        @NonNull
+        public String getLabel() {
+            return isChipSet() ? String.join(" ", chips) : text;
+        }
+
+        /** 칩 조합 기록이면 정규화된 칩 목록, 검색어 기록이면 빈 목록입니다. */
+        @NonNull
+        public List<String> getChips() {
+            return chips != null ? chips : Collections.emptyList();
+        }
+
+        public boolean isChipSet() {
+            return chips != null && !chips.isEmpty();
+        }
+
+        public String getText() {
+            return text;
+        }
+
+        public int getCount() {
+            return count;
+        }
+
+        public long getLastUsedAt() {
+            return lastUsedAt;
+        }
+
+        /** now 시점의 감쇠 점수입니다. */
+        double scoreAt(long now) {
+            return score * Math.pow(0.5, Math.max(0, now - lastUsedAt) / (double) HALF_LIFE_MS);
+        }
+
+        String key() {
+            return isChipSet()
+                    ? CHIPS_KEY_PREFIX + String.join("\u001F", chips)
+                    : TEXT_KEY_PREFIX + text;
+        }
+    }
+
+    private final Map<String, Entry> entries = new HashMap<>();
+    // 단어(칩, 검색어의 단어) -> 그 단어를 가진 기록의 키
+    private final TreeMap<String, Set<String>> tokenIndex = new TreeMap<>();
+
+    public SearchHistory() {
+    }
+
+    /**
+     * 저장된 기록으로 색인을 만듭니다. 잘못된 기록은 건너뜁니다.
+     */
+    SearchHistory(Collection<Entry> stored, long now) {
+        if (stored != null) {
+            for (Entry entry : stored) {
+                if (entry == null || (entry.text == null && !entry.isChipSet())) continue;
+                entries.put(entry.key(), entry);
+            }
+        }
+        if (entries.size() > MAX_ENTRIES) {
+            compact(now);
+        } else {
+            rebuildIndex();
+        }
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    /**
+     * 칩 조합으로 검색한 기록을 남깁니다. 칩 순서와 대소문자가 달라도 같은 기록입니다.
+     */
+    public synchronized void recordChips(Collection<String> chips, long now) {
+        TreeSet<String> normalized = new TreeSet<>();
+        if (chips != null) {
+            for (String chip : chips) {
+                String value = SearchQuery.normalizeChip(chip);
+                if (!value.isEmpty()) normalized.add(value);
+            }
+        }
+        if (!normalized.isEmpty()) {
+            record(new Entry(null, Collections.unmodifiableList(new ArrayList<>(normalized))), now);
+        }
+    }
+
+    /**
+     * 검색창에 직접 입력해 제출한 검색어 기록을 남깁니다.
+     */
+    public synchronized void recordText(String text, long now) {
+        String normalized = normalize(text);
+        if (!normalized.isEmpty()) {
+            record(new Entry(normalized, null), now);
+        }
+    }
+
+    /**
+     * 입력 중인 문자열로 시작하는 단어를 가진 기록을 감쇠 점수 순으로 반환합니다.
+     * 입력이 비어 있으면 모든 기록 중 점수가 높은 순서입니다. 같은 문자열로 표시되는 기록은 한 번만 포함합니다.
+     */
+    @NonNull
+    public synchronized List<Entry> suggest(String prefix, int limit, long now) {
+        String normalized = normalize(prefix);
+        Collection<Entry> candidates;
+        if (normalized.isEmpty()) {
+            candidates = entries.values();
+        } else {
+            Set<String> keys = new LinkedHashSet<>();
+            for (Set<String> matched : tokenIndex.subMap(normalized, true, normalized + Character.MAX_VALUE, true).values()) {
+                keys.addAll(matched);
+            }
+            List<Entry> matchedEntries = new ArrayList<>(keys.size());
+            for (String key : keys) {
+                matchedEntries.add(entries.get(key));
+            }
+            candidates = matchedEntries;
+        }
+        List<Entry> ranked = new ArrayList<>(candidates);
+        ranked.sort((a, b) -> Double.compare(b.scoreAt(now), a.scoreAt(now)));
+        List<Entry> suggestions = new ArrayList<>(Math.min(limit, ranked.size()));
+        Set<String> labels = new LinkedHashSet<>();
+        for (Entry entry : ranked) {
+            if (suggestions.size() >= limit) break;
+            if (labels.add(entry.getLabel())) suggestions.add(entry);
+        }
+        return suggestions;
+    }
+
+    /** 저장할 기록의 복사본입니다. */
+    @NonNull
+    synchronized List<Entry> snapshot() {
+        List<Entry> copy = new ArrayList<>(entries.size());
+        for (Entry entry : entries.values()) {
+            Entry clone = new Entry(entry.text, entry.chips);
+            clone.count = entry.count;
+            clone.score = entry.score;
+            clone.lastUsedAt = entry.lastUsedAt;
+            copy.add(clone);
+        }
+        return copy;
+    }
+
+    private void record(Entry candidate, long now) {
+        String key = candidate.key();
+        Entry entry = entries.get(key);
+        if (entry == null) {
+            entry = candidate;
+            entries.put(key, entry);
+            index(entry);
+        }
+        entry.score = entry.scoreAt(now) + 1;
+        entry.count++;
+        entry.lastUsedAt = Math.max(entry.lastUsedAt, now);
+        if (entries.size() > MAX_ENTRIES + COMPACTION_SLACK) {
+            compact(now);
+        }
+    }
+
+    /** 점수가 높은 {@link #MAX_ENTRIES}개만 남기고 색인을 다시 만듭니다. */
+    private void compact(long now) {
+        List<Entry> ranked = new ArrayList<>(entries.values());
+        ranked.sort((a, b) -> Double.compare(b.scoreAt(now), a.scoreAt(now)));
+        entries.clear();
+        for (Entry entry : ranked.subList(0, Math.min(MAX_ENTRIES, ranked.size()))) {
+            entries.put(entry.key(), entry);
+        }
+        rebuildIndex();
+    }
+
+    private void rebuildIndex() {
+        tokenIndex.clear();
+        for (Entry entry : entries.values()) {
+            index(entry);
+        }
+    }
+
+    private void index(Entry entry) {
+        String key = entry.key();
+        for (String token : tokensOf(entry)) {
+            tokenIndex.computeIfAbsent(token, t -> new TreeSet<>()).add(key);
+        }
+    }
+
+    /** 칩(제외 칩은 재료명으로도), 검색어 전체와 검색어의 각 단어입니다. */
+    private static Set<String> tokensOf(Entry entry) {
+        Set<String> tokens = new LinkedHashSet<>();
+        if (entry.isChipSet()) {
+            for (String chip : entry.chips) {
+                tokens.add(chip);
+                if (SearchQuery.isExclusionChip(chip)) tokens.add(chip.substring(SearchQuery.EXCLUDE_PREFIX.length()));
+            }
+        } else {
+            tokens.add(entry.text);
+            Collections.addAll(tokens, entry.text.split(" "));
+        }
+        return tokens;
+    }
+
+    private static String normalize(String text) {
+        return text == null ? "" : text.trim().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,145 @@
+package com.example.food_recipe.search;
+
+import android.content.Context;
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.annotation.WorkerThread;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
+import com.google.gson.reflect.TypeToken;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.io.Writer;
+import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * [추가] {@link SearchHistory}를 filesDir의 JSON 파일로 저장하고 불러오는 싱글톤입니다.
+ * - 앱 시작 시에는 아무것도 읽지 않고, 검색 화면이 {@link #preload()}를 호출하거나 처음 기록할 때 전용 스레드에서 읽습니다.
+ *   조회({@link #peek()})는 기다리지 않으므로, 로딩이 끝나기 전에는 검색 기록 추천을 보여주지 않습니다.
+ * - 기록이 바뀔 때마다 전체를 임시 파일에 쓴 뒤 교체합니다. 기록 수가 제한되어 있어 파일은 수십 KB를 넘지 않습니다.
+ * - 검색 결과 캐시와 달리 사용자의 기록이므로 시스템이 지울 수 있는 cacheDir가 아닌 filesDir에 저장합니다.
+ */
+public class SearchHistoryStore {
+
+    private static final String TAG = "SearchHistoryStore";
+
+    private static final String HISTORY_DIR = "search";
+    /** {@link SearchHistory.Entry}의 형식이 바뀌면 버전을 올립니다. */
+    private static final String HISTORY_FILE = "history.v1.json";
+
+    private static SearchHistoryStore instance;
+
+    private final File file;
+    private final ExecutorService executor = Executors.newSingleThreadExecutor();
+    private final Gson gson = new Gson();
+    private volatile SearchHistory history;
+
+    private SearchHistoryStore(Context context) {
+        this(new File(new File(context.getApplicationContext().getFilesDir(), HISTORY_DIR), HISTORY_FILE));
+    }
+
+    SearchHistoryStore(File file) {
+        this.file = file;
+    }
+
+    public static synchronized SearchHistoryStore getInstance(Context context) {
+        if (instance == null) {
+            instance = new SearchHistoryStore(context);
+        }
+        return instance;
+    }
+
+    /**
+     * 불러온 검색 기록이 있으면 반환하고, 아직 읽는 중이면 null을 반환합니다.
+     */
+    @Nullable
+    public SearchHistory peek() {
+        return history;
+    }
+
+    /**
+     * 검색 기록을 미리 읽어 둡니다. 결과를 기다리지 않습니다.
+     */
+    public void preload() {
+        executor.execute(this::ensureLoaded);
+    }
+
+    /** 칩 조합 검색 기록을 남기고 저장합니다. */
+    public void recordChips(@NonNull Collection<String> chips) {
+        long now = System.currentTimeMillis();
+        executor.execute(() -> {
+            SearchHistory loaded = ensureLoaded();
+            loaded.recordChips(chips, now);
+            save(loaded);
+        });
+    }
+
+    /** 직접 입력한 검색어 기록을 남기고 저장합니다. */
+    public void recordText(@NonNull String text) {
+        long now = System.currentTimeMillis();
+        executor.execute(() -> {
+            SearchHistory loaded = ensureLoaded();
+            loaded.recordText(text, now);
+            save(loaded);
+        });
+    }
+
+    @WorkerThread
+    private SearchHistory ensureLoaded() {
+        if (history == null) {
+            long start = System.nanoTime();
+            history = new SearchHistory(read(), System.currentTimeMillis());
+            Log.d(TAG, "검색 기록 " + history.size() + "건 로딩, " + (System.nanoTime() - start) / 1000 + "us");
+        }
+        return history;
+    }
+
+    @WorkerThread
+    private List<SearchHistory.Entry> read() {
+        if (!file.exists()) {
+            return null;
+        }
+        Type type = new TypeToken<List<SearchHistory.Entry>>() {}.getType();
+        try (Reader reader = new InputStreamReader(new FileInputStream(file), StandardCharsets.UTF_8)) {
+            return gson.fromJson(reader, type);
+        } catch (IOException | JsonParseException e) {
+            Log.w(TAG, "검색 기록을 읽지 못해 비어 있는 기록으로 시작합니다.", e);
+            file.delete();
+            return null;
+        }
+    }
+
+    @WorkerThread
+    private void save(SearchHistory loaded) {
+        File dir = file.getParentFile();
+        if (dir != null && !dir.exists() && !dir.mkdirs()) {
+            Log.w(TAG, "검색 기록 디렉터리를 만들 수 없습니다: " + dir);
+            return;
+        }
+        File temp = new File(file.getPath() + ".tmp");
+        try (Writer writer = new OutputStreamWriter(new FileOutputStream(temp), StandardCharsets.UTF_8)) {
+            gson.toJson(loaded.snapshot(), writer);
+        } catch (IOException e) {
+            Log.w(TAG, "검색 기록을 저장하지 못했습니다.", e);
+            temp.delete();
+            return;
+        }
+        if (!temp.renameTo(file)) {
+            temp.delete();
+        }
+    }
+}
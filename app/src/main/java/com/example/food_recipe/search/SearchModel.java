@@ -1,186 +1,204 @@
 package com.example.food_recipe.search;
 
-import android.util.Log;
-import com.algolia.search.saas.Client;
-import com.algolia.search.saas.Index;
+import androidx.annotation.NonNull;
 import com.algolia.search.saas.Query;
 import com.example.food_recipe.BuildConfig;
-import com.example.food_recipe.model.Recipe;
+import com.example.food_recipe.model.PantryItem;
+import com.example.food_recipe.model.UserProfile;
+import com.example.food_recipe.repository.UserProfileStore;
 import com.google.firebase.auth.FirebaseAuth;
-import com.google.firebase.auth.FirebaseUser;
-import com.google.firebase.firestore.FirebaseFirestore;
-import org.json.JSONArray;
-import org.json.JSONException;
-import org.json.JSONObject;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Map;
 
 public class SearchModel implements SearchContract.Model {
 
-    private final Index index;
-    private final FirebaseFirestore db;
+    /**
+     * [추가] 목록 카드에 필요한 속성만 받습니다. (objectID는 항상 포함됩니다)
+     * cooking_steps 등 긴 필드를 받지 않아 응답 크기와 디코딩 시간이 줄며, 전체 레시피는 상세 화면에서 Firestore로 불러옵니다.
+     * [수정] 패싯 필터를 기기에서 바로 적용할 수 있도록 분류와 난이도도 받습니다.
+     */
+    static final String[] LIST_ATTRIBUTES = {"title", "imageUrl", "cooking_time", "ingredients", "category_kind", "difficulty"};
+
+    /** [추가] 패싯 속성마다 받을 값의 최대 개수입니다. 개수가 많은 값부터 옵니다. */
+    private static final int MAX_FACET_VALUES = 10;
+
+    // [변경] Algolia SDK의 Index 대신, 응답을 스트리밍으로 디코딩하는 전송 계층을 사용합니다.
+    private final AlgoliaSearchTransport transport;
     private final FirebaseAuth mAuth;
 
     public SearchModel() {
-        Client client = new Client(BuildConfig.ALGOLIA_APP_ID, BuildConfig.ALGOLIA_API_KEY);
-        index = client.getIndex("recipes");
-        db = FirebaseFirestore.getInstance();
+        transport = new AlgoliaSearchTransport(BuildConfig.ALGOLIA_APP_ID, BuildConfig.ALGOLIA_API_KEY, "recipes");
         mAuth = FirebaseAuth.getInstance();
     }
 
-    // [추가] Algolia 검색 결과를 Recipe 객체 리스트로 파싱하는 공통 로직을 별도 메소드로 분리합니다.
-    private List<Recipe> parseRecipes(JSONObject json) throws JSONException {
-        List<Recipe> recipes = new ArrayList<>();
-        JSONArray hits = json.getJSONArray("hits");
-        for (int i = 0; i < hits.length(); i++) {
-            JSONObject hit = hits.getJSONObject(i);
-            Recipe recipe = new Recipe();
-
-            JSONObject highlightResult = hit.optJSONObject("_highlightResult");
-
-            String title;
-            if (highlightResult != null && highlightResult.has("title")) {
-                title = highlightResult.getJSONObject("title").getString("value");
-            } else {
-                title = hit.optString("title", "제목 없음");
-            }
+    @Override
+    public SearchCall searchRecipes(SearchQuery query, OnRecipesFetchedListener listener) {
+        if (!query.hasIngredientFilters()) {
+            // [변경] 새 검색이 시작되면 이전 요청을 취소할 수 있도록 요청 핸들을 반환합니다.
+            return search(buildQuery(query), query.toString(), listener);
+        }
+        if (!query.allowsFullTextFallback()) {
+            // [추가] 완화한 검색은 재료 필터로 한 번만 검색합니다.
+            return search(buildQuery(query), query + " (filters only)", listener);
+        }
 
-            String ingredientsRaw;
-            if (highlightResult != null && highlightResult.has("ingredients")) {
-                JSONArray highlightedIngredients = highlightResult.getJSONArray("ingredients");
-                List<String> ingredientsList = new ArrayList<>();
-                for (int j = 0; j < highlightedIngredients.length(); j++) {
-                    ingredientsList.add(highlightedIngredients.getJSONObject(j).getString("value"));
+        // [추가] 재료 칩은 ingredients 필터로 검색하고, 결과가 없으면 같은 칩을 전문 검색어로 한 번 더 검색합니다.
+        // (인덱스에 ingredients가 attributesForFaceting으로 설정되지 않았거나, 칩과 재료 표기가 다른 경우를 위한 대체 경로)
+        FallbackCall call = new FallbackCall();
+        call.current = search(buildQuery(query), query + " (filters)", new OnRecipesFetchedListener() {
+            @Override
+            public void onSuccess(SearchResult result) {
+                if (result != null && result.getNbHits() > 0) {
+                    listener.onSuccess(result);
+                    return;
                 }
-                ingredientsRaw = String.join(", ", ingredientsList);
-            } else {
-                JSONArray ingredientsArray = hit.optJSONArray("ingredients");
-                if (ingredientsArray != null && ingredientsArray.length() > 0) {
-                    List<String> ingredientsList = new ArrayList<>();
-                    for (int j = 0; j < ingredientsArray.length(); j++) {
-                        ingredientsList.add(ingredientsArray.getString(j));
-                    }
-                    ingredientsRaw = String.join(", ", ingredientsList);
-                } else {
-                    ingredientsRaw = "재료 정보 없음";
+                if (!call.cancelled) {
+                    SearchQuery fullText = query.asFullText();
+                    call.current = search(buildQuery(fullText), fullText.toString(), listener);
                 }
             }
 
-            recipe.setRcpSno(hit.getString("objectID"));
-            recipe.setTitle(title);
-            recipe.setImageUrl(hit.optString("imageUrl", ""));
-            recipe.setCookingTime(hit.optString("cooking_time", "정보 없음"));
-            recipe.setIngredientsRaw(ingredientsRaw);
-
-            recipes.add(recipe);
-        }
-        return recipes;
+            @Override
+            public void onError(String message) {
+                listener.onError(message);
+            }
+        });
+        return call;
     }
 
-    @Override
-    public void searchRecipes(String query, OnRecipesFetchedListener listener) {
-        // [변경] 검색 쿼리를 생성하는 부분을 유지합니다.
-        Query algoliaQuery = new Query(query)
+    /**
+     * [추가] 검색 조건을 Algolia 쿼리로 바꿉니다.
+     * 재료 칩은 전문 검색어에서 빼고 ingredients 필터의 OR 조건으로 보내며, sumOrFiltersScores로 일치한 칩 수만큼 점수를 합산해
+     * 사용자의 재료를 많이 쓰는 레시피가 먼저 오도록 합니다. 요리명처럼 재료가 아닌 칩만 전문 검색어로 남습니다.
+     * [추가] 선택한 패싯은 재료 필터와 AND로 결합하고, 패싯 선택이 없는 첫 페이지에서는 패싯 개수를 함께 요청합니다.
+     */
+    private static Query buildQuery(SearchQuery query) {
+        Query algoliaQuery = new Query(query.toQueryText())
+                .setAttributesToRetrieve(LIST_ATTRIBUTES)
                 .setAttributesToHighlight("title", "ingredients")
                 .setHighlightPreTag("<b>")
-                .setHighlightPostTag("</b>");
+                .setHighlightPostTag("</b>")
+                // [추가] 무한 스크롤을 위해 페이지 단위로 요청합니다.
+                .setPage(query.getPage())
+                .setHitsPerPage(SearchQuery.HITS_PER_PAGE);
+        String filters = query.toFilters();
+        if (!filters.isEmpty()) {
+            algoliaQuery.setFilters(filters);
+        }
+        if (query.hasIngredientFilters()) {
+            algoliaQuery.set("sumOrFiltersScores", true);
+        }
+        if (query.requestsFacets()) {
+            requestFacets(algoliaQuery);
+        }
+        return algoliaQuery;
+    }
 
-        index.searchAsync(algoliaQuery, (json, e) -> {
-            Log.d("AlgoliaSearch", "Query: " + query);
-            if (e != null) {
-                Log.e("AlgoliaSearch", "Error: ", e);
-            }
-            if (json != null) {
-                Log.d("AlgoliaSearch", "Result: " + json.toString());
-            }
+    private static Query requestFacets(Query algoliaQuery) {
+        return algoliaQuery.setFacets(FacetFilter.ATTRIBUTES)
+                .setMaxValuesPerFacet(MAX_FACET_VALUES);
+    }
 
-            if (e != null) {
-                listener.onError(e.getMessage());
-                return;
+    /**
+     * [추가] 재료 필터 검색과 대체 전문 검색 중 현재 진행 중인 요청을 취소하는 핸들입니다.
+     */
+    private static final class FallbackCall implements SearchCall {
+        volatile boolean cancelled;
+        volatile SearchCall current = SearchCall.NONE;
+
+        @Override
+        public void cancel() {
+            cancelled = true;
+            current.cancel();
+        }
+    }
+
+    /**
+     * [변경] SDK의 JSONObject 대신 응답 스트림을 {@link AlgoliaHitDecoder}로 바로 디코딩합니다.
+     * 디코딩은 백그라운드 스레드에서 끝나고, 리스너는 메인 스레드에서 완성된 SearchHit 목록만 전달받습니다.
+     */
+    private SearchCall search(Query algoliaQuery, String label, OnRecipesFetchedListener listener) {
+        return transport.search(algoliaQuery.build(), label, new AlgoliaSearchTransport.Callback() {
+            @Override
+            public void onSuccess(SearchResult result) {
+                listener.onSuccess(result);
             }
-            try {
-                // [변경] 공통 파싱 메소드를 호출하여 중복을 제거합니다.
-                List<Recipe> recipes = parseRecipes(json);
-                listener.onSuccess(recipes);
-            } catch (JSONException jsonException) {
-                listener.onError("검색 결과를 파싱하는데 실패했습니다: " + jsonException.getMessage());
+
+            @Override
+            public void onError(String message) {
+                listener.onError(message);
             }
         });
     }
 
     @Override
     public void fetchPantryItems(OnPantryItemsFetchedListener listener) {
-        FirebaseUser currentUser = mAuth.getCurrentUser();
-        if (currentUser == null) {
-            listener.onError("로그인이 필요합니다.");
-            return;
-        }
-        String uid = currentUser.getUid();
-        db.collection("users").document(uid)
-                .get()
-                .addOnSuccessListener(documentSnapshot -> {
-                    if (!documentSnapshot.exists()) {
-                        listener.onError("사용자 정보를 찾을 수 없습니다.");
-                        return;
-                    }
-
-                    List<String> items = new ArrayList<>();
-                    Object myIngredientsObj = documentSnapshot.get("myIngredients");
-
-                    if (myIngredientsObj instanceof List) {
-                        List<?> rawList = (List<?>) myIngredientsObj;
-                        for (Object item : rawList) {
-                            if (item instanceof Map) {
-                                Map<String, Object> ingredientMap = (Map<String, Object>) item;
-                                if (ingredientMap.containsKey("name")) {
-                                    Object nameObj = ingredientMap.get("name");
-                                    if (nameObj != null) {
-                                        items.add(nameObj.toString());
-                                    }
-                                 }
-                            } else if (item instanceof String) {
-                                items.add((String) item);
-                            } else if (item != null) {
-                                Log.w("SearchModel", "Unexpected data type in myIngredients: " + item.getClass().getName());
-                            }
-                        }
-                    }
-
-                    if (items.isEmpty() && myIngredientsObj != null) {
-                        Log.w("SearchModel", "myIngredients field exists but failed to parse any items. Data: " + myIngredientsObj.toString());
-                    }
-                    
-                    listener.onSuccess(items);
-                })
-                .addOnFailureListener(e -> listener.onError(e.getMessage()));
+        loadPantryItemNames(mAuth, listener);
     }
 
     @Override
-    public void fetchInitialRecipes(OnRecipesFetchedListener listener) {
-        // [수정] 검색어가 없는 빈 Query 객체를 생성합니다. Algolia는 검색어가 없으면 설정된 랭킹 순으로 결과를 반환합니다.
-        Query algoliaQuery = new Query("");
+    public void fetchPantryDetails(OnPantryDetailsFetchedListener listener) {
+        loadPantryItems(mAuth, listener);
+    }
 
-        index.searchAsync(algoliaQuery, (json, e) -> {
-            Log.d("AlgoliaSearch", "Initial fetch");
-            if (e != null) {
-                Log.e("AlgoliaSearch", "Error: ", e);
+    /**
+     * [추가] 사용자 문서의 myIngredients에서 재료 이름 목록을 추출합니다.
+     * Algolia 검색 모델과 로컬 검색 모델이 같은 로직을 공유하도록 정적 메소드로 분리했습니다.
+     * [수정] 문서 해석은 {@link #loadPantryItems}와 공유하고, 여기서는 이름만 꺼냅니다.
+     */
+    static void loadPantryItemNames(FirebaseAuth mAuth, OnPantryItemsFetchedListener listener) {
+        loadPantryItems(mAuth, new OnPantryDetailsFetchedListener() {
+            @Override
+            public void onSuccess(List<PantryItem> pantryItems) {
+                List<String> items = new ArrayList<>(pantryItems.size());
+                for (PantryItem item : pantryItems) {
+                    items.add(item.getName());
+                }
+                listener.onSuccess(items);
             }
-            if (json != null) {
-                Log.d("AlgoliaSearch", "Result: " + json.toString());
+
+            @Override
+            public void onError(String message) {
+                listener.onError(message);
             }
+        });
+    }
 
-            if (e != null) {
-                listener.onError(e.getMessage());
-                return;
+    /**
+     * [추가] 사용자 문서의 myIngredients에서 재료 이름과 유통기한을 추출합니다. 이름만 저장된 이전 형식의 항목은 유통기한이 null입니다.
+     * [변경] 문서를 직접 읽지 않고 {@link UserProfileStore}가 해석해 둔 스냅샷을 사용합니다.
+     */
+    static void loadPantryItems(FirebaseAuth mAuth, OnPantryDetailsFetchedListener listener) {
+        if (mAuth.getCurrentUser() == null) {
+            listener.onError("로그인이 필요합니다.");
+            return;
+        }
+        UserProfileStore.getInstance().getProfile(new UserProfileStore.ProfileCallback() {
+            @Override
+            public void onProfileLoaded(@NonNull UserProfile profile) {
+                if (!profile.exists()) {
+                    listener.onError("사용자 정보를 찾을 수 없습니다.");
+                    return;
+                }
+                listener.onSuccess(profile.getPantryItems());
             }
-            try {
-                // [수정] 일반 검색과 동일하게 공통 파싱 메소드를 호출하여 결과를 처리합니다.
-                List<Recipe> recipes = parseRecipes(json);
-                listener.onSuccess(recipes);
-            } catch (JSONException jsonException) {
-                listener.onError("초기 레시피를 파싱하는데 실패했습니다: " + jsonException.getMessage());
+
+            @Override
+            public void onError(Exception e) {
+                listener.onError(e.getMessage());
             }
         });
     }
+
+    @Override
+    public SearchCall fetchInitialRecipes(OnRecipesFetchedListener listener) {
+        // [수정] 검색어가 없는 빈 Query 객체를 생성합니다. Algolia는 검색어가 없으면 설정된 랭킹 순으로 결과를 반환합니다.
+        Query algoliaQuery = new Query("")
+                .setAttributesToRetrieve(LIST_ATTRIBUTES)
+                .setPage(0)
+                .setHitsPerPage(SearchQuery.HITS_PER_PAGE);
+        // [추가] 칩이 없는 목록에서도 패싯으로 좁힐 수 있도록 패싯 개수를 함께 받습니다.
+        requestFacets(algoliaQuery);
+        return search(algoliaQuery, "(initial)", listener);
+    }
 }
@@ -4,50 +4,168 @@ import android.os.Handler;
 import android.os.Looper;
 import android.util.Log;
 import com.example.food_recipe.base.BasePresenter;
-import com.example.food_recipe.model.Recipe;
+import com.example.food_recipe.model.PantryItem;
+import com.example.food_recipe.model.SearchHit;
+import com.example.food_recipe.utils.ExcludedIngredientManager;
 import com.example.food_recipe.utils.StringUtils;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
 
 public class SearchPresenter extends BasePresenter<SearchContract.View> implements SearchContract.Presenter {
 
+    /** [추가] 한 번에 보여줄 검색 기록 추천 수입니다. */
+    private static final int MAX_HISTORY_SUGGESTIONS = 5;
+
+    /** [추가] 앞의 재료를 제외하라는 뜻의 접미어입니다. ("우유빼고", "땅콩 없이") */
+    private static final String[] EXCLUSION_SUFFIXES = {"빼고", "없이", "제외"};
+
     private final SearchContract.Model model;
     private final SearchViewModel viewModel;
 
+    // [변경] 고정 300ms 디바운스 대신, 요청 순서 보장/취소/적응형 디바운스를 담당하는 스케줄러를 사용합니다.
+    private final SearchScheduler scheduler;
     private final Handler searchHandler = new Handler(Looper.getMainLooper());
-    private Runnable searchRunnable;
-    private static final long SEARCH_DELAY_MS = 300;
+    // [추가] 다음/이전 페이지를 불러오는 중인지 여부 (중복 요청 방지)
+    private boolean pageLoading;
+    // [추가] 재료 자동완성 사전을 제공합니다. null이면 자동완성을 사용하지 않습니다.
+    private final LocalRecipeIndexProvider indexProvider;
+    // [추가] 칩 추가 직후 현재 결과를 좁힌 미리보기를 표시했는지 여부 (다음 검색에서 로딩 화면을 생략)
+    private boolean refinementPreviewShown;
+    // [추가] 사용자별 제외 재료 저장소입니다. null이면 제외 칩을 저장하거나 복원하지 않습니다.
+    private final ExcludedIngredientManager exclusionStore;
+    // [추가] 검색 기록 저장소입니다.
+    private final SearchHistoryStore historyStore;
+    // [추가] 화면에 보여준 검색 기록 추천입니다. 선택한 추천을 표시 문자열로 찾습니다.
+    private List<SearchHistory.Entry> shownHistory = Collections.emptyList();
+    // [추가] 목록을 가리지 않고 요청한 검색(칩 추가 미리보기, 패싯 선택)의 응답을 기다리는 중인지 여부
+    private boolean quietRefreshPending;
+    // [추가] 냉장고 재료 정렬을 켜 두었는지 여부. 냉장고 재료를 불러오는 사이에 꺼졌으면 정렬기를 적용하지 않습니다.
+    private boolean pantryRankingRequested;
 
     public SearchPresenter(SearchViewModel viewModel) {
-        this.model = new SearchModel();
+        this(viewModel, new SearchModel());
+    }
+
+    /**
+     * [추가] 검색 모델을 외부에서 주입하기 위한 보조 생성자입니다.
+     * Algolia 대신 {@link LocalRecipeSearchModel}을 사용하거나, 단위 테스트에서 가짜(Mock) Model을 주입할 때 사용합니다.
+     */
+    public SearchPresenter(SearchViewModel viewModel, SearchContract.Model model) {
+        this(viewModel, model, null);
+    }
+
+    /**
+     * [추가] 재료 자동완성에 사용할 로컬 인덱스 제공자를 함께 주입합니다.
+     */
+    public SearchPresenter(SearchViewModel viewModel, SearchContract.Model model, LocalRecipeIndexProvider indexProvider) {
+        this(viewModel, model, indexProvider, null, null);
+    }
+
+    /**
+     * [추가] 제외 재료 칩을 사용자별로 저장하고 복원할 저장소를 함께 주입합니다.
+     * [수정] 검색 기록 저장소도 함께 주입합니다. null이면 검색 기록을 남기거나 추천하지 않습니다.
+     */
+    public SearchPresenter(SearchViewModel viewModel, SearchContract.Model model, LocalRecipeIndexProvider indexProvider,
+                           ExcludedIngredientManager exclusionStore, SearchHistoryStore historyStore) {
+        this(viewModel, model, indexProvider, exclusionStore, historyStore, new SearchScheduler(model));
+    }
+
+    /**
+     * [추가] 요청 스케줄러를 함께 주입합니다. 단위 테스트에서 가짜 타이머를 쓰는 스케줄러로 디바운스 시점을 제어할 때 사용합니다.
+     */
+    SearchPresenter(SearchViewModel viewModel, SearchContract.Model model, LocalRecipeIndexProvider indexProvider,
+                    ExcludedIngredientManager exclusionStore, SearchHistoryStore historyStore, SearchScheduler scheduler) {
+        this.model = model;
         this.viewModel = viewModel;
+        this.scheduler = scheduler;
+        this.indexProvider = indexProvider;
+        this.exclusionStore = exclusionStore;
+        this.historyStore = historyStore;
+    }
+
+    /**
+     * [추가] 화면이 사라지면 대기 중이거나 진행 중인 검색을 취소하여 불필요한 네트워크 사용을 막습니다.
+     */
+    @Override
+    public void detachView() {
+        scheduler.cancelAll();
+        Log.d("SearchPresenter", "Search stats: " + scheduler.getStats());
+        super.detachView();
     }
 
     @Override
     public void start() {
+        // [추가] 검색 기록은 앱 시작이 아닌 검색 화면 진입 시 백그라운드에서 읽습니다.
+        if (historyStore != null) historyStore.preload();
+        restoreExcludedIngredients();
+        // [추가] 냉장고 재료 정렬이 켜져 있으면, 다른 화면에서 바뀌었을 수 있는 냉장고 재료를 다시 불러옵니다.
+        if (viewModel.isPantryRankingEnabled()) {
+            onPantryRankingToggled(true);
+        }
+        // [추가] 프로세스 종료 후 저장된 목록으로 복원되었다면 그 목록을 그대로 두고 백그라운드에서만 갱신합니다.
+        if (viewModel.consumeRestoredSnapshot()) {
+            // 목록을 받기 전에 칩이 바뀌었던 경우에는 화면의 칩으로 검색합니다.
+            SearchQuery displayed = viewModel.getDisplayedQuery();
+            SearchQuery current = currentChipQuery();
+            search(current.getChips().equals(displayed.getChips()) ? displayed : current, false, false);
+            return;
+        }
         if (viewModel.searchResult.getValue() == null || viewModel.searchResult.getValue().isEmpty()) {
-            loadInitialRecipes();
+            // [수정] 저장된 제외 재료가 있으면 첫 목록부터 NOT 필터로 검색합니다. (없으면 기존처럼 초기 목록)
+            search(currentChipQuery());
         }
     }
 
+    /**
+     * [추가] 저장된 제외 재료를 제외 칩으로 복원합니다. 이미 칩으로 있는 재료는 다시 추가하지 않습니다.
+     */
+    private void restoreExcludedIngredients() {
+        if (exclusionStore == null) return;
+        List<String> chips = new ArrayList<>(viewModel.searchChips.getValue());
+        boolean isChanged = false;
+        for (String ingredient : exclusionStore.getExcludedIngredients()) {
+            String chip = SearchQuery.toExclusionChip(ingredient);
+            if (!chips.contains(chip)) {
+                chips.add(chip);
+                isChanged = true;
+            }
+        }
+        if (isChanged) {
+            viewModel.setSearchChips(chips);
+        }
+        viewModel.setExcludedIngredients(currentChipQuery().getExcludedIngredients());
+    }
+
     private void loadInitialRecipes() {
+        loadInitialRecipes(true);
+    }
+
+    /**
+     * @param showLoading false이면 현재 목록을 가리지 않고 조용히 갱신합니다. (저장된 목록을 복원한 경우)
+     */
+    private void loadInitialRecipes(boolean showLoading) {
         if (!isViewAttached()) return;
-        getView().showLoadingIndicator();
-        model.fetchInitialRecipes(new SearchContract.Model.OnRecipesFetchedListener() {
+        if (showLoading) getView().showLoadingIndicator();
+        pageLoading = false;
+        quietRefreshPending = !showLoading;
+        scheduler.submit(SearchQuery.empty(), new SearchContract.Model.OnRecipesFetchedListener() {
             @Override
-            public void onSuccess(List<Recipe> recipes) {
+            public void onSuccess(SearchResult result) {
+                quietRefreshPending = false;
                 if (!isViewAttached()) return;
                 getView().hideLoadingIndicator();
-                if (recipes == null || recipes.isEmpty()) {
+                if (result == null || result.isEmpty()) {
                     getView().showInitialView();
                 } else {
-                    viewModel.setSearchResult(recipes);
+                    viewModel.showFirstPage(SearchQuery.empty(), result);
                 }
             }
 
             @Override
             public void onError(String message) {
+                quietRefreshPending = false;
                 if (!isViewAttached()) return;
                 getView().hideLoadingIndicator();
                 getView().showError(message);
@@ -57,23 +175,104 @@ public class SearchPresenter extends BasePresenter<SearchContract.View> implemen
 
     @Override
     public void search(String query) {
+        search(SearchQuery.fromText(query), true, true);
+    }
+
+    /**
+     * [변경] 칩 목록을 정규화된 {@link SearchQuery}로 검색합니다.
+     * 칩의 순서만 바뀐 경우에도 같은 쿼리로 취급되어 Model의 결과 캐시를 재사용합니다.
+     * 화면 진입 시의 검색이므로 검색 기록에는 남기지 않습니다.
+     */
+    private void search(SearchQuery query) {
+        search(query, true, false);
+    }
+
+    /**
+     * @param showLoading   false이면 현재 목록을 가리지 않고 조용히 갱신합니다. (패싯 선택처럼 목록을 이미 기기에서 걸러 보여준 경우)
+     * @param recordHistory 사용자가 칩을 바꿔 요청한 검색이면 true. 결과가 있으면 칩 조합을 검색 기록에 한 번 남깁니다.
+     *                      (패싯 선택, 복원 후 갱신처럼 사용자가 새로 검색하지 않은 요청은 기록하지 않습니다)
+     */
+    private void search(SearchQuery query, boolean showLoading, boolean recordHistory) {
         if (!isViewAttached()) return;
 
-        if (query == null || query.trim().isEmpty()) {
-            loadInitialRecipes();
+        // [수정] 칩이 없어도 패싯을 선택했다면 필터 검색을 합니다.
+        if (query.isInitialRequest()) {
+            loadInitialRecipes(showLoading);
             return;
         }
 
+        if (showLoading) getView().showLoadingIndicator();
+        // 새 검색이 진행 중인 페이지 요청을 대체(취소)하므로 페이지 로딩 상태도 초기화합니다.
+        pageLoading = false;
+        quietRefreshPending = !showLoading;
+        scheduler.submit(query, new SearchContract.Model.OnRecipesFetchedListener() {
+            // 캐시 결과와 갱신 결과(또는 로컬 결과와 병합 결과)로 두 번 호출될 수 있으므로 기록은 한 번만 남깁니다.
+            private boolean isRecorded = !recordHistory;
+
+            @Override
+            public void onSuccess(SearchResult result) {
+                quietRefreshPending = false;
+                if (!isViewAttached()) return;
+                getView().hideLoadingIndicator();
+                if (result == null || result.isEmpty()) {
+                    // [수정] 결과가 없으면 가장 드문 칩 하나를 빼고 한 번만 다시 검색합니다.
+                    if (!searchRelaxed(query)) {
+                        getView().showEmptyView("검색 결과가 없습니다.");
+                    }
+                } else {
+                    viewModel.showFirstPage(query, result);
+                    // [추가] 결과가 있는 칩 조합만 검색 기록으로 남깁니다.
+                    if (!isRecorded && historyStore != null && !query.isEmpty()) {
+                        isRecorded = true;
+                        historyStore.recordChips(query.getChips());
+                    }
+                }
+            }
+            @Override
+            public void onError(String message) {
+                quietRefreshPending = false;
+                if (!isViewAttached()) return;
+                getView().hideLoadingIndicator();
+                getView().showError(message);
+            }
+        });
+    }
+
+    /**
+     * [추가] 결과가 없는 검색 조건에서 재료 문서 빈도가 가장 낮은 칩을 빼고 다시 검색합니다. 패싯을 선택한 검색은 완화하지 않습니다.
+     * 결과가 있으면 뺀 칩을 칩 목록에서도 지우고 어떤 칩을 뺐는지 알립니다. 완화한 검색의 결과도 없으면 더 완화하지 않습니다.
+     * @return 완화한 검색을 요청했으면 true (재료 사전이 준비되지 않았거나 뺄 칩이 없으면 false)
+     */
+    private boolean searchRelaxed(SearchQuery query) {
+        IngredientLexicon lexicon = indexProvider != null ? indexProvider.peekLexicon() : null;
+        if (lexicon == null) return false;
+        String relaxedChip = QueryRelaxer.chipToRelax(query, lexicon::documentFrequency);
+        if (relaxedChip == null) return false;
+
+        // 완화 전 조건은 SearchModel이 이미 전문 검색까지 해 봤으므로, 완화한 조건은 재료 필터로 한 번만 검색합니다.
+        SearchQuery relaxed = query.withoutChip(relaxedChip).withoutFullTextFallback();
+        Log.d("SearchPresenter", "No results for " + query + ", retrying without '" + relaxedChip + "'");
         getView().showLoadingIndicator();
-        model.searchRecipes(query, new SearchContract.Model.OnRecipesFetchedListener() {
+        pageLoading = false;
+        scheduler.submit(relaxed, new SearchContract.Model.OnRecipesFetchedListener() {
+            // 캐시 결과와 갱신 결과로 두 번 호출될 수 있으므로 알림은 한 번만 보여줍니다.
+            private boolean isNotified;
+
             @Override
-            public void onSuccess(List<Recipe> recipes) {
+            public void onSuccess(SearchResult result) {
                 if (!isViewAttached()) return;
                 getView().hideLoadingIndicator();
-                if (recipes == null || recipes.isEmpty()) {
+                if (result == null || result.isEmpty()) {
                     getView().showEmptyView("검색 결과가 없습니다.");
-                } else {
-                    viewModel.setSearchResult(recipes);
+                    return;
+                }
+                List<String> chips = new ArrayList<>(viewModel.searchChips.getValue());
+                chips.removeIf(chip -> SearchQuery.normalizeChip(chip).equals(relaxedChip));
+                viewModel.setSearchChips(chips);
+                viewModel.showFirstPage(relaxed, result);
+                if (!isNotified) {
+                    isNotified = true;
+                    getView().showRelaxedSearchNotice(relaxedChip);
                 }
             }
             @Override
@@ -83,29 +282,68 @@ public class SearchPresenter extends BasePresenter<SearchContract.View> implemen
                 getView().showError(message);
             }
         });
+        return true;
     }
 
     @Override
     public void onSearchQuerySubmitted(String query) {
         if (!isViewAttached()) return;
-        CompletableFuture.supplyAsync(() -> StringUtils.extractNouns(query))
+        if (historyStore != null && query != null && !query.trim().isEmpty()) historyStore.recordText(query);
+        hideHistorySuggestions();
+        // [추가] "-우유", "우유 빼고"처럼 제외를 뜻하는 토큰은 먼저 제외 재료 칩으로 바꿉니다.
+        StringBuilder included = new StringBuilder();
+        List<String> resolved = extractExclusionChips(query, included);
+        // [추가] 초성 토큰("ㄱㅊ")은 형태소 분석 과정에서 지워지므로, 먼저 초성 색인으로 재료명/요리명 칩으로 바꿉니다.
+        StringBuilder remainder = new StringBuilder();
+        resolved.addAll(resolveChosungTokens(included.toString(), remainder));
+        addChipsAndSearch(resolved);
+        String rest = remainder.toString().trim();
+        if (rest.isEmpty()) {
+            getView().clearSearchViewText();
+            return;
+        }
+
+        // [변경] 재료 사전이 준비되었으면 사전 기반 추출기로 바로 칩을 만들고, 사전에 없는 조각만 Okt로 분석합니다.
+        IngredientLexicon lexicon = indexProvider != null ? indexProvider.peekLexicon() : null;
+        if (lexicon == null) {
+            extractNounsWithOkt(rest);
+        } else {
+            QueryNounExtractor.Result extracted =
+                    new QueryNounExtractor(lexicon, indexProvider.peekChosungIndex()).extract(rest);
+            List<String> chips = new ArrayList<>(extracted.nouns);
+            StringBuilder unresolved = new StringBuilder();
+            for (String fragment : extracted.unknown) {
+                // 오타로 사전에 없었던 조각("감쟈")은 교정해서 사용하고, 교정되지 않는 조각만 Okt에 넘깁니다.
+                String snapped = lexicon.snap(fragment);
+                if (snapped != null) {
+                    chips.add(snapped);
+                } else {
+                    unresolved.append(fragment).append(' ');
+                }
+            }
+            addChipsAndSearch(chips);
+            if (unresolved.length() > 0) {
+                extractNounsWithOkt(unresolved.toString().trim());
+            }
+        }
+
+        getView().clearSearchViewText();
+    }
+
+    /**
+     * [추가] Okt로 명사를 추출해 칩으로 추가합니다. 형태소 분석은 첫 호출 시 사전을 로딩하므로 백그라운드에서 실행합니다.
+     */
+    private void extractNounsWithOkt(String text) {
+        CompletableFuture.supplyAsync(() -> StringUtils.extractNouns(text))
                 .thenAccept(extractedNouns -> {
                     searchHandler.post(() -> {
                         if (!isViewAttached()) return;
                         if (extractedNouns != null && !extractedNouns.isEmpty()) {
-                            List<String> currentChips = new ArrayList<>(viewModel.searchChips.getValue());
-                            boolean isChanged = false;
-                            String[] nouns = extractedNouns.split(" ");
-                            for (String noun : nouns) {
-                                if (!currentChips.contains(noun)) {
-                                    currentChips.add(noun);
-                                    isChanged = true;
-                                }
-                            }
-                            if (isChanged) {
-                                viewModel.setSearchChips(currentChips);
-                                triggerDebouncedSearch();
+                            List<String> nouns = new ArrayList<>();
+                            for (String noun : extractedNouns.split(" ")) {
+                                nouns.add(snapToVocabulary(noun));
                             }
+                            addChipsAndSearch(nouns);
                         }
                     });
                 })
@@ -118,8 +356,122 @@ public class SearchPresenter extends BasePresenter<SearchContract.View> implemen
                     });
                     return null;
                 });
+    }
 
-        getView().clearSearchViewText();
+    /**
+     * [추가] 제외를 뜻하는 토큰을 제외 재료 칩으로 바꾸고, 나머지 토큰은 included에 그대로 남깁니다.
+     * - "-우유": 접두어 뒤의 재료
+     * - "우유빼고", "우유 빼고", "땅콩은 없이", "새우 제외": 접미어 앞이나 바로 앞 토큰의 재료 (조사 "은/는/을/를"은 뗍니다)
+     * 재료명은 냉장고 재료와 같은 규칙으로 재료 사전의 표기로 교정합니다.
+     */
+    private List<String> extractExclusionChips(String query, StringBuilder included) {
+        List<String> chips = new ArrayList<>();
+        if (query == null) return chips;
+        List<String> kept = new ArrayList<>();
+        for (String token : query.trim().split("\\s+")) {
+            String ingredient = null;
+            if (token.length() > SearchQuery.EXCLUDE_PREFIX.length() && SearchQuery.isExclusionChip(token)) {
+                ingredient = token.substring(SearchQuery.EXCLUDE_PREFIX.length());
+            } else {
+                for (String suffix : EXCLUSION_SUFFIXES) {
+                    if (!token.endsWith(suffix)) continue;
+                    if (token.length() > suffix.length()) {
+                        ingredient = token.substring(0, token.length() - suffix.length());
+                    } else if (!kept.isEmpty()) {
+                        ingredient = kept.remove(kept.size() - 1);
+                    }
+                    break;
+                }
+            }
+            if (ingredient == null) {
+                kept.add(token);
+                continue;
+            }
+            String canonical = toCanonicalIngredient(stripTopicParticle(ingredient));
+            if (canonical != null && !canonical.isEmpty()) {
+                chips.add(SearchQuery.toExclusionChip(canonical));
+            }
+        }
+        included.append(String.join(" ", kept));
+        return chips;
+    }
+
+    private static String stripTopicParticle(String word) {
+        if (word.length() >= 2) {
+            char last = word.charAt(word.length() - 1);
+            if (last == '은' || last == '는' || last == '을' || last == '를') {
+                return word.substring(0, word.length() - 1);
+            }
+        }
+        return word;
+    }
+
+    /**
+     * [추가] 공백으로 나눈 토큰 중 초성이 포함된 토큰을 초성 색인의 1순위 후보로 바꿉니다.
+     * 후보가 없거나 색인이 아직 준비되지 않은 토큰과 일반 토큰은 remainder에 그대로 남깁니다.
+     */
+    private List<String> resolveChosungTokens(String query, StringBuilder remainder) {
+        List<String> resolved = new ArrayList<>();
+        if (query == null) return resolved;
+        ChosungIndex chosungIndex = indexProvider != null ? indexProvider.peekChosungIndex() : null;
+        for (String token : query.trim().split("\\s+")) {
+            if (chosungIndex != null && ChosungIndex.isChosungQuery(token)) {
+                List<String> candidates = chosungIndex.search(token, 1);
+                if (!candidates.isEmpty()) {
+                    resolved.add(candidates.get(0));
+                    continue;
+                }
+            }
+            remainder.append(token).append(' ');
+        }
+        return resolved;
+    }
+
+    /**
+     * [추가] 냉장고 재료명을 검색 칩으로 바꿉니다. 원래 이름이 재료 사전에 그대로 있으면 그대로 사용하고
+     * ("생강"처럼 수식어 제거 규칙에 잘못 걸리는 이름 보호), 아니면 정규화한 뒤 사전의 표기로 교정합니다.
+     */
+    private String toCanonicalIngredient(String ingredient) {
+        IngredientLexicon lexicon = indexProvider != null ? indexProvider.peekLexicon() : null;
+        if (lexicon != null && lexicon.contains(ingredient)) {
+            return LocalRecipeIndex.normalizeTerm(ingredient);
+        }
+        return snapToVocabulary(StringUtils.normalizeIngredientName(ingredient));
+    }
+
+    /**
+     * [추가] 칩을 네트워크 검색 전에 재료 사전의 가장 가까운 재료명으로 교정합니다.
+     * 이미 재료명이나 요리명 단어로 알려진 칩("볶음밥")은 다른 재료로 바뀌지 않도록 그대로 두며,
+     * 그 판단에 필요한 초성 색인이 아직 준비되지 않았거나 허용 거리 안의 재료가 없으면 입력을 그대로 반환합니다.
+     */
+    private String snapToVocabulary(String chip) {
+        IngredientLexicon lexicon = indexProvider != null ? indexProvider.peekLexicon() : null;
+        ChosungIndex knownWords = indexProvider != null ? indexProvider.peekChosungIndex() : null;
+        if (lexicon == null || knownWords == null || chip == null || chip.isEmpty() || knownWords.contains(chip)) {
+            return chip;
+        }
+        String snapped = lexicon.snap(chip);
+        if (snapped != null && !snapped.equals(chip)) {
+            Log.d("SearchPresenter", "Snapped chip '" + chip + "' to '" + snapped + "'");
+        }
+        return snapped != null ? snapped : chip;
+    }
+
+    /**
+     * [추가] 현재 칩 목록에 없는 칩만 추가하고, 변경이 있으면 디바운스된 검색을 요청합니다.
+     */
+    private void addChipsAndSearch(List<String> chips) {
+        List<String> currentChips = new ArrayList<>(viewModel.searchChips.getValue());
+        boolean isChanged = false;
+        for (String chip : chips) {
+            if (chip != null && !chip.isEmpty() && !currentChips.contains(chip)) {
+                currentChips.add(chip);
+                isChanged = true;
+            }
+        }
+        if (isChanged) {
+            onChipsChanged(currentChips);
+        }
     }
 
     @Override
@@ -153,15 +505,15 @@ public class SearchPresenter extends BasePresenter<SearchContract.View> implemen
         List<String> currentChips = new ArrayList<>(viewModel.searchChips.getValue());
         boolean isChanged = false;
         for (String ingredient : ingredients) {
-            String normalizedIngredient = StringUtils.normalizeIngredientName(ingredient);
+            // [수정] 정규화한 재료명을 재료 사전의 표기로 교정한 뒤 칩으로 추가합니다. (예: "고춧가루" → "고추가루")
+            String normalizedIngredient = toCanonicalIngredient(ingredient);
             if (!currentChips.contains(normalizedIngredient)) {
                 currentChips.add(normalizedIngredient);
                 isChanged = true;
             }
         }
         if (isChanged) {
-            viewModel.setSearchChips(currentChips);
-            triggerDebouncedSearch();
+            onChipsChanged(currentChips);
         }
     }
 
@@ -169,15 +521,84 @@ public class SearchPresenter extends BasePresenter<SearchContract.View> implemen
     public void onChipClosed(String chipText) {
         List<String> currentChips = new ArrayList<>(viewModel.searchChips.getValue());
         if (currentChips.remove(chipText)) {
-            viewModel.setSearchChips(currentChips);
-            triggerDebouncedSearch();
+            onChipsChanged(currentChips);
         }
     }
 
+    /**
+     * [추가] 칩 목록이 바뀌었을 때의 공통 처리입니다.
+     * 칩이 추가되어 새 결과가 현재 결과 안에서 정해지는 경우에는 디바운스를 기다리지 않고 현재 결과를 바로 좁혀서 보여줍니다.
+     */
+    private void onChipsChanged(List<String> chips) {
+        viewModel.setSearchChips(chips);
+        // [추가] 제외 재료는 사용자별로 저장하고, 이미 불러온 결과에서 바로 숨깁니다.
+        List<String> excluded = currentChipQuery().getExcludedIngredients();
+        if (exclusionStore != null) {
+            exclusionStore.setExcludedIngredients(excluded);
+        }
+        viewModel.setExcludedIngredients(excluded);
+        if (onlyExclusionsAdded()) {
+            // 남은 결과만으로 목록을 채울 수 있으면 다시 검색하지 않습니다. 다음 검색부터 NOT 필터가 함께 전송됩니다.
+            Log.d("SearchPresenter", "Excluded " + excluded + " locally without a new request");
+            return;
+        }
+        // [수정] 패싯 개수는 칩 조합마다 다르므로 칩이 바뀌면 패싯 선택을 해제합니다.
+        viewModel.applyFacetFilter(FacetFilter.none());
+        refinementPreviewShown = showRefinementPreview();
+        triggerDebouncedSearch();
+    }
+
+    /**
+     * [추가] 현재 목록을 만든 검색 조건에서 제외 재료만 늘어났고, 숨긴 뒤에도 보여줄 결과가 남아 있는지 확인합니다.
+     */
+    private boolean onlyExclusionsAdded() {
+        SearchQuery displayed = viewModel.getDisplayedQuery();
+        SearchQuery next = currentChipQuery();
+        List<SearchHit> visible = viewModel.searchResult.getValue();
+        return visible != null && !visible.isEmpty()
+                && next.getIncludedChips().equals(displayed.getIncludedChips())
+                && next.getExcludedIngredients().containsAll(displayed.getExcludedIngredients());
+    }
+
+    /**
+     * [추가] 현재 목록을 만든 검색 조건에 칩만 추가된 경우, 화면에 있는 결과를 새 칩으로 걸러 미리 보여줍니다.
+     * (칩이 빠진 경우는 결과가 늘어나므로 미리 만들 수 없습니다)
+     * @return 미리보기를 표시했는지 여부. 표시했다면 서버 검색 중에도 목록을 가리지 않습니다.
+     */
+    private boolean showRefinementPreview() {
+        List<SearchHit> current = viewModel.searchResult.getValue();
+        SearchQuery displayed = viewModel.getDisplayedQuery();
+        SearchQuery next = currentChipQuery();
+        // [수정] 제외 재료 칩은 ViewModel이 따로 걸러내므로 결과를 좁히는 칩만 비교합니다.
+        List<String> displayedChips = displayed.getIncludedChips();
+        if (current == null || current.isEmpty() || !next.getIncludedChips().containsAll(displayedChips)) {
+            return false;
+        }
+        List<String> addedText = new ArrayList<>();
+        List<String> addedIngredients = new ArrayList<>();
+        for (String chip : next.getIncludedChips()) {
+            if (displayedChips.contains(chip)) continue;
+            (next.getIngredientChips().contains(chip) ? addedIngredients : addedText).add(chip);
+        }
+        if (addedText.isEmpty() && addedIngredients.isEmpty()) {
+            return false;
+        }
+        List<SearchHit> preview = new ArrayList<>();
+        ExclusionFilter exclusion = viewModel.getExclusionFilter();
+        for (SearchHit hit : ResultRefiner.refine(current, addedText, addedIngredients, displayed.hasIngredientFilters())) {
+            if (!exclusion.excludes(hit)) preview.add(hit);
+        }
+        if (preview.isEmpty()) {
+            return false;
+        }
+        viewModel.setSearchResult(preview);
+        return true;
+    }
+
     @Override
     public void onPantrySelectionCancelled() {
         if (!isViewAttached()) return;
-        List<Recipe> currentRecipes = viewModel.searchResult.getValue();
+        List<SearchHit> currentRecipes = viewModel.searchResult.getValue();
 
         if (currentRecipes == null || currentRecipes.isEmpty()) {
             loadInitialRecipes();
@@ -186,16 +607,255 @@ public class SearchPresenter extends BasePresenter<SearchContract.View> implemen
         }
     }
 
-    private void triggerDebouncedSearch() {
-        if (searchRunnable != null) {
-            searchHandler.removeCallbacks(searchRunnable);
+    @Override
+    public void onListScrolledNearEnd() {
+        loadAdjacentPage(viewModel.getNextPageToLoad());
+    }
+
+    @Override
+    public void onListScrolledNearStart() {
+        loadAdjacentPage(viewModel.getPreviousPageToLoad());
+    }
+
+    /**
+     * [추가] 현재 목록에 이어지는 페이지를 불러와 ViewModel의 페이지 창에 합칩니다.
+     * 화면 전체 로딩 표시 없이 조용히 불러오며, 실패하면 다음 스크롤 때 다시 시도합니다.
+     */
+    private void loadAdjacentPage(int page) {
+        // [수정] 미리보기 목록을 보여주며 새 검색을 기다리는 동안에는 이전 검색의 페이지를 불러오지 않습니다.
+        // (페이지 요청이 진행 중인 새 검색을 대체하고, 미리보기를 이전 결과로 덮어쓰는 것을 방지)
+        // [수정] 칩을 빼서 디바운스 중인 검색이 있을 때도 마찬가지입니다. 페이지 요청이 대기 중인 검색을 취소하면 새 칩으로 검색하지 않게 됩니다.
+        if (!isViewAttached() || pageLoading || page < 0 || refinementPreviewShown || quietRefreshPending
+                || scheduler.hasPending()) return;
+        pageLoading = true;
+        SearchQuery pageQuery = viewModel.getDisplayedQuery().withPage(page);
+        scheduler.submit(pageQuery, new SearchContract.Model.OnRecipesFetchedListener() {
+            @Override
+            public void onSuccess(SearchResult result) {
+                pageLoading = false;
+                if (result != null && pageQuery.equals(viewModel.getDisplayedQuery().withPage(page))) {
+                    viewModel.mergePage(result);
+                }
+            }
+
+            @Override
+            public void onError(String message) {
+                pageLoading = false;
+                Log.w("SearchPresenter", "Failed to load page " + page + ": " + message);
+            }
+        });
+    }
+
+    /**
+     * [추가] 입력 중인 문자열로 시작하는 재료명을 기기 안의 트라이에서 찾아 보여줍니다.
+     * 조회는 접두어 길이만큼의 배열 탐색이므로 메인 스레드에서 키 입력마다 호출해도 됩니다.
+     * 사전이 아직 준비되지 않았다면 준비를 요청하고 이번 입력에는 후보를 보여주지 않습니다.
+     */
+    @Override
+    public void onQueryTextChanged(String text) {
+        if (!isViewAttached()) return;
+        showHistorySuggestions(text);
+        IngredientLexicon lexicon = indexProvider != null ? indexProvider.peekLexicon() : null;
+        if (lexicon == null && indexProvider != null) {
+            indexProvider.preload();
+        }
+        if (lexicon == null || text == null || text.trim().isEmpty()) {
+            getView().hideIngredientSuggestions();
+            return;
+        }
+
+        List<String> candidates = new ArrayList<>(lexicon.suggest(text, IngredientLexicon.MAX_SUGGESTIONS));
+        // [추가] 초성이 포함된 입력("ㄱㅊ", "김ㅊ")은 재료명과 요리명의 초성 색인 후보를 이어 붙입니다.
+        ChosungIndex chosungIndex = indexProvider.peekChosungIndex();
+        if (chosungIndex != null && ChosungIndex.isChosungQuery(text)) {
+            candidates.addAll(chosungIndex.search(text, IngredientLexicon.MAX_SUGGESTIONS));
+        }
+        // [추가] 접두어로 찾은 후보가 없으면 오타로 보고 가까운 재료명을 제안합니다. (예: "감쟈" → "감자")
+        if (candidates.isEmpty()) {
+            candidates.addAll(lexicon.suggestSimilar(text, IngredientLexicon.MAX_SUGGESTIONS));
+        }
+
+        // 이미 칩으로 추가된 재료와 중복 후보는 제외합니다.
+        List<String> currentChips = viewModel.searchChips.getValue();
+        List<String> suggestions = new ArrayList<>();
+        for (String suggestion : candidates) {
+            if ((currentChips == null || !currentChips.contains(suggestion)) && !suggestions.contains(suggestion)
+                    && suggestions.size() < IngredientLexicon.MAX_SUGGESTIONS) {
+                suggestions.add(suggestion);
+            }
+        }
+        if (suggestions.isEmpty()) {
+            getView().hideIngredientSuggestions();
+        } else {
+            getView().showIngredientSuggestions(suggestions);
+        }
+    }
+
+    /**
+     * [추가] 입력 중인 문자열로 시작하는 검색 기록을 자주, 최근에 쓴 순서로 보여줍니다. 입력이 비어 있으면 최근 검색을 보여줍니다.
+     * 현재 칩 조합과 같은 기록은 제외합니다. 기록을 아직 읽는 중이면 이번 입력에는 보여주지 않습니다.
+     */
+    private void showHistorySuggestions(String text) {
+        SearchHistory history = historyStore != null ? historyStore.peek() : null;
+        if (history == null) {
+            hideHistorySuggestions();
+            return;
+        }
+        List<String> currentChips = currentChipQuery().getChips();
+        List<SearchHistory.Entry> entries = new ArrayList<>();
+        List<String> labels = new ArrayList<>();
+        for (SearchHistory.Entry entry : history.suggest(text, MAX_HISTORY_SUGGESTIONS + 1, System.currentTimeMillis())) {
+            if (entry.getChips().equals(currentChips) || entries.size() >= MAX_HISTORY_SUGGESTIONS) continue;
+            entries.add(entry);
+            labels.add(entry.getLabel());
+        }
+        if (entries.isEmpty()) {
+            hideHistorySuggestions();
+            return;
+        }
+        shownHistory = entries;
+        getView().showHistorySuggestions(labels);
+    }
+
+    private void hideHistorySuggestions() {
+        shownHistory = Collections.emptyList();
+        if (isViewAttached()) getView().hideHistorySuggestions();
+    }
+
+    /**
+     * [추가] 칩 조합 기록은 현재 칩을 그 조합으로 바꿔 검색하고, 검색어 기록은 다시 제출한 것처럼 처리합니다.
+     */
+    @Override
+    public void onHistorySuggestionSelected(String label) {
+        if (!isViewAttached()) return;
+        SearchHistory.Entry selected = null;
+        for (SearchHistory.Entry entry : shownHistory) {
+            if (entry.getLabel().equals(label)) {
+                selected = entry;
+                break;
+            }
+        }
+        hideHistorySuggestions();
+        getView().hideIngredientSuggestions();
+        getView().clearSearchViewText();
+        if (selected == null) return;
+        if (selected.isChipSet()) {
+            // 알레르기 등으로 지금 제외 중인 재료는 기록에 없더라도 계속 제외합니다.
+            List<String> chips = new ArrayList<>(selected.getChips());
+            for (String excluded : currentChipQuery().getExcludedIngredients()) {
+                String chip = SearchQuery.toExclusionChip(excluded);
+                if (!chips.contains(chip)) chips.add(chip);
+            }
+            if (!SearchQuery.of(chips).getChips().equals(currentChipQuery().getChips())) {
+                onChipsChanged(chips);
+            }
+        } else {
+            onSearchQuerySubmitted(selected.getText());
         }
-        searchRunnable = this::performSearch;
-        searchHandler.postDelayed(searchRunnable, SEARCH_DELAY_MS);
     }
 
+    @Override
+    public void onIngredientSuggestionSelected(String ingredient) {
+        if (!isViewAttached()) return;
+        getView().hideIngredientSuggestions();
+        getView().clearSearchViewText();
+
+        // 후보는 이미 사전의 정규화된 재료명이므로 Okt 분석이나 추가 정규화 없이 그대로 칩이 됩니다.
+        addChipsAndSearch(Collections.singletonList(ingredient));
+    }
+
+    private void triggerDebouncedSearch() {
+        scheduler.debounce(this::performSearch);
+    }
+
+    /**
+     * [수정] 칩 추가로 미리보기를 보여주고 있으면 로딩 화면으로 목록을 가리지 않고, 서버 결과가 오면 목록을 교체합니다.
+     */
     private void performSearch() {
-        String finalQuery = String.join(" ", viewModel.searchChips.getValue());
-        search(finalQuery);
+        boolean showLoading = !refinementPreviewShown;
+        refinementPreviewShown = false;
+        search(currentChipQuery(), showLoading, true);
+    }
+
+    /**
+     * [추가] 패싯 선택을 바꾸면 불러온 결과를 기기에서 바로 다시 거르고, 같은 칩 조합에 새 패싯 필터를 적용한 검색을 곧바로 요청합니다.
+     * 패싯 개수는 칩 조합 단위로 ViewModel에 보관된 값을 그대로 사용하므로 다시 받지 않습니다.
+     */
+    @Override
+    public void onFacetToggled(String attribute, String value) {
+        if (!isViewAttached()) return;
+        FacetFilter filter = viewModel.getFacetFilter().toggle(attribute, value);
+        viewModel.applyFacetFilter(filter);
+        search(currentChipQuery().withFacetFilter(filter), false, false);
+    }
+
+    /**
+     * [추가] 냉장고 재료 정렬을 켜면 유통기한을 포함한 냉장고 재료를 불러와 정렬기를 만들고, 이미 불러온 결과를 바로 다시 정렬합니다.
+     * 재료 번호를 매길 재료 사전이 로딩 중일 수 있으므로 정렬기는 인덱스 스레드에서 만듭니다. (네트워크는 냉장고 재료 조회 한 번)
+     * 끄면 원래(관련도) 순서로 되돌립니다.
+     */
+    @Override
+    public void onPantryRankingToggled(boolean enabled) {
+        pantryRankingRequested = enabled;
+        if (!enabled) {
+            viewModel.setPantryRanker(null);
+            return;
+        }
+        if (indexProvider == null) {
+            pantryRankingRequested = false;
+            if (isViewAttached()) getView().showPantryRankingEnabled(false);
+            return;
+        }
+        model.fetchPantryDetails(new SearchContract.Model.OnPantryDetailsFetchedListener() {
+            @Override
+            public void onSuccess(List<PantryItem> items) {
+                if (!pantryRankingRequested) return;
+                if (items == null || items.isEmpty()) {
+                    pantryRankingRequested = false;
+                    viewModel.setPantryRanker(null);
+                    if (!isViewAttached()) return;
+                    getView().showPantryRankingEnabled(false);
+                    getView().showEmptyPantrySnackbar();
+                    return;
+                }
+                long now = System.currentTimeMillis();
+                indexProvider.submit(index -> {
+                    IngredientLexicon lexicon = indexProvider.peekLexicon();
+                    if (lexicon == null) return;
+                    PantryCoverageRanker ranker = PantryCoverageRanker.of(lexicon, items, now);
+                    searchHandler.post(() -> {
+                        if (pantryRankingRequested) viewModel.setPantryRanker(ranker);
+                    });
+                });
+            }
+
+            @Override
+            public void onError(String message) {
+                if (!pantryRankingRequested) return;
+                pantryRankingRequested = false;
+                viewModel.setPantryRanker(null);
+                if (!isViewAttached()) return;
+                getView().showPantryRankingEnabled(false);
+                getView().showError(message);
+            }
+        });
+    }
+
+    /**
+     * [변경] 재료 사전에 있는 칩은 재료 칩으로 구분해 재료 필터로 검색합니다. 사전이 준비되기 전에는 모두 전문 검색어로 검색합니다.
+     */
+    private SearchQuery currentChipQuery() {
+        IngredientLexicon lexicon = indexProvider != null ? indexProvider.peekLexicon() : null;
+        return lexicon != null
+                ? SearchQuery.of(viewModel.searchChips.getValue(), chip -> isIngredientChip(lexicon, chip))
+                : SearchQuery.of(viewModel.searchChips.getValue());
+    }
+
+    /**
+     * [추가] 재료 필터로 검색할 칩인지 확인합니다. 재료 사전에 있고, 공백이나 기호 없이 사전 표기와 같은 칩만 해당합니다.
+     * 사전 표기와 Algolia의 재료 값이 달라("다진마늘"/"다진 마늘") 결과가 없으면 SearchModel이 전문 검색으로 대체합니다.
+     */
+    private static boolean isIngredientChip(IngredientLexicon lexicon, String chip) {
+        return chip.equals(LocalRecipeIndex.normalizeTerm(chip)) && lexicon.contains(chip);
     }
 }
@@ -0,0 +1,371 @@
+package com.example.food_recipe.search;
+
+import androidx.annotation.NonNull;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.TreeSet;
+import java.util.function.Predicate;
+
+/**
+ * [추가] 검색 칩 목록을 정규화한 불변 검색 조건입니다.
+ * - 칩은 공백 정리 및 소문자 변환 후 중복 제거, 정렬되어 저장되므로 칩의 입력 순서와 무관하게 같은 조건은 같은 객체로 취급됩니다.
+ * - {@link #cacheKey()}는 검색 결과 캐시의 키로 사용됩니다.
+ * - [추가] 페이지 번호(0부터 시작)를 함께 가지며, 같은 칩 조합의 다음 페이지는 {@link #withPage(int)}로 만듭니다.
+ * - [추가] 재료 사전에 있는 칩은 재료 칩으로 구분해, 전문 검색어 대신 재료 필터({@link #toIngredientFilters()})로 검색합니다.
+ * - [추가] 분류/조리 시간/난이도 패싯 선택({@link FacetFilter})을 함께 가지며, 패싯 개수는 칩 조합 단위({@link #facetKey()})로 캐시됩니다.
+ * - [추가] "-"로 시작하는 칩("-우유")은 제외 재료 칩으로, 검색어에 넣지 않고 NOT 필터로 보냅니다.
+ * - [추가] 재료 필터 검색의 결과가 없을 때 전문 검색으로 한 번 더 검색할지({@link #allowsFullTextFallback()})를 함께 가집니다.
+ */
+public final class SearchQuery {
+
+    /** [추가] 한 페이지에 요청하는 검색 결과 수입니다. Algolia의 기본 hitsPerPage와 같습니다. */
+    public static final int HITS_PER_PAGE = 20;
+
+    /** [추가] 제외 재료 칩의 접두어입니다. */
+    public static final String EXCLUDE_PREFIX = "-";
+
+    private static final SearchQuery EMPTY =
+            new SearchQuery(Collections.emptyList(), Collections.emptyList(), Collections.emptyList(), FacetFilter.none(), 0, true);
+
+    /** 캐시 키에서 칩을 구분하는 문자입니다. 정규화된 칩에는 포함될 수 없습니다. */
+    private static final char KEY_SEPARATOR = '\u001F';
+
+    private final List<String> chips;
+    // [추가] chips 중 재료 필터로 검색할 칩입니다. (정렬됨, chips의 부분집합)
+    private final List<String> ingredientChips;
+    // [추가] 제외 재료 칩에서 접두어를 뗀 재료명입니다. (정렬됨)
+    private final List<String> excludedIngredients;
+    // [추가] 선택한 패싯 값입니다. 칩과 달리 전문 검색어에 포함되지 않고 필터로만 사용됩니다.
+    private final FacetFilter facetFilter;
+    private final int page;
+    // [추가] 재료 필터 검색의 결과가 없으면 같은 칩을 전문 검색어로 다시 검색할지 여부입니다.
+    private final boolean fullTextFallback;
+
+    private SearchQuery(List<String> chips, List<String> ingredientChips, List<String> excludedIngredients,
+                        FacetFilter facetFilter, int page, boolean fullTextFallback) {
+        this.chips = chips;
+        this.ingredientChips = ingredientChips;
+        this.excludedIngredients = excludedIngredients;
+        this.facetFilter = facetFilter;
+        this.page = page;
+        this.fullTextFallback = fullTextFallback;
+    }
+
+    public static SearchQuery empty() {
+        return EMPTY;
+    }
+
+    /**
+     * 화면의 칩 목록으로부터 검색 조건을 만듭니다. 비어 있는 칩은 무시됩니다.
+     */
+    public static SearchQuery of(Collection<String> rawChips) {
+        return of(rawChips, chip -> false);
+    }
+
+    /**
+     * [추가] 칩 목록으로 검색 조건을 만들면서, isIngredient를 만족하는 칩을 재료 칩으로 구분합니다.
+     * 재료 칩은 재료 필터로, 나머지 칩(요리명, 사전에 없는 단어)은 전문 검색어로 검색됩니다.
+     * [추가] 제외 재료 칩은 isIngredient와 관계없이 제외 재료로 구분됩니다.
+     */
+    public static SearchQuery of(Collection<String> rawChips, Predicate<String> isIngredient) {
+        if (rawChips == null || rawChips.isEmpty()) {
+            return EMPTY;
+        }
+        TreeSet<String> normalized = new TreeSet<>();
+        for (String chip : rawChips) {
+            String value = normalizeChip(chip);
+            if (!value.isEmpty()) {
+                normalized.add(value);
+            }
+        }
+        if (normalized.isEmpty()) {
+            return EMPTY;
+        }
+        List<String> ingredients = new ArrayList<>();
+        List<String> excluded = new ArrayList<>();
+        for (String chip : normalized) {
+            if (isExclusionChip(chip)) {
+                excluded.add(chip.substring(EXCLUDE_PREFIX.length()));
+            } else if (isIngredient.test(chip)) {
+                ingredients.add(chip);
+            }
+        }
+        return new SearchQuery(Collections.unmodifiableList(new ArrayList<>(normalized)),
+                ingredients.isEmpty() ? Collections.emptyList() : Collections.unmodifiableList(ingredients),
+                excluded.isEmpty() ? Collections.emptyList() : Collections.unmodifiableList(excluded),
+                FacetFilter.none(), 0, true);
+    }
+
+    /**
+     * 공백으로 구분된 검색어 문자열로부터 검색 조건을 만듭니다.
+     */
+    public static SearchQuery fromText(String text) {
+        if (text == null || text.trim().isEmpty()) {
+            return EMPTY;
+        }
+        List<String> chips = new ArrayList<>();
+        Collections.addAll(chips, text.trim().split("\\s+"));
+        return of(chips);
+    }
+
+    static String normalizeChip(String chip) {
+        if (chip == null) {
+            return "";
+        }
+        String normalized = chip.replace(KEY_SEPARATOR, ' ').trim().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+        // [추가] 재료명이 없는 제외 칩("-")은 버리고, "- 우유"처럼 접두어 뒤의 공백은 지웁니다.
+        if (isExclusionChip(normalized)) {
+            String ingredient = normalized.substring(EXCLUDE_PREFIX.length()).trim();
+            return ingredient.isEmpty() ? "" : EXCLUDE_PREFIX + ingredient;
+        }
+        return normalized;
+    }
+
+    /** [추가] 제외 재료 칩인지 확인합니다. */
+    public static boolean isExclusionChip(String chip) {
+        return chip != null && chip.startsWith(EXCLUDE_PREFIX);
+    }
+
+    /** [추가] 재료명으로 제외 재료 칩을 만듭니다. ("우유" → "-우유") */
+    public static String toExclusionChip(String ingredient) {
+        return EXCLUDE_PREFIX + ingredient;
+    }
+
+    /** 정규화 및 정렬된 칩 목록입니다. (수정 불가) */
+    @NonNull
+    public List<String> getChips() {
+        return chips;
+    }
+
+    public boolean isEmpty() {
+        return chips.isEmpty();
+    }
+
+    /** [추가] 재료 필터로 검색할 칩 목록입니다. (수정 불가, 정렬됨) */
+    @NonNull
+    public List<String> getIngredientChips() {
+        return ingredientChips;
+    }
+
+    /** [추가] 제외 재료 칩을 뺀 칩 목록입니다. (정렬됨) 결과를 좁히거나 넓히는 칩은 이 목록뿐입니다. */
+    @NonNull
+    public List<String> getIncludedChips() {
+        if (excludedIngredients.isEmpty()) {
+            return chips;
+        }
+        List<String> included = new ArrayList<>(chips.size());
+        for (String chip : chips) {
+            if (!isExclusionChip(chip)) included.add(chip);
+        }
+        return Collections.unmodifiableList(included);
+    }
+
+    /** [추가] 제외 재료 목록입니다. (수정 불가, 정렬됨, 접두어 없음) */
+    @NonNull
+    public List<String> getExcludedIngredients() {
+        return excludedIngredients;
+    }
+
+    /** [추가] 재료 필터로 검색할 칩이 있는지 확인합니다. */
+    public boolean hasIngredientFilters() {
+        return !ingredientChips.isEmpty();
+    }
+
+    /**
+     * [추가] 재료 칩과 같은 칩 목록이지만, 모든 칩을 전문 검색어로 검색하는 조건을 만듭니다.
+     * 재료 필터 검색의 결과가 없을 때 대체 검색에 사용합니다.
+     */
+    @NonNull
+    public SearchQuery asFullText() {
+        return ingredientChips.isEmpty()
+                ? this
+                : new SearchQuery(chips, Collections.emptyList(), excludedIngredients, facetFilter, page, true);
+    }
+
+    /**
+     * [추가] 재료 필터 검색의 결과가 없으면 같은 칩을 전문 검색어로 다시 검색하는 조건인지 확인합니다. (기본값 true)
+     */
+    public boolean allowsFullTextFallback() {
+        return fullTextFallback;
+    }
+
+    /**
+     * [추가] 재료 필터 검색의 결과가 없어도 전문 검색으로 다시 검색하지 않는 조건을 만듭니다.
+     * 결과가 없는 검색을 완화할 때 사용합니다. 완화 전 조건은 이미 전문 검색까지 해 봤으므로, 완화한 조건은 한 번만 검색합니다.
+     */
+    @NonNull
+    public SearchQuery withoutFullTextFallback() {
+        return !fullTextFallback
+                ? this
+                : new SearchQuery(chips, ingredientChips, excludedIngredients, facetFilter, page, false);
+    }
+
+    /**
+     * [추가] 칩 하나를 뺀 첫 페이지 검색 조건을 만듭니다. 패싯 선택과 제외 재료는 유지합니다.
+     * 결과가 없는 검색을 완화할 때 사용합니다. 정규화된 칩 목록에 없는 칩이면 그대로 반환합니다.
+     */
+    @NonNull
+    public SearchQuery withoutChip(String chip) {
+        if (!chips.contains(chip)) {
+            return this;
+        }
+        List<String> remaining = new ArrayList<>(chips);
+        remaining.remove(chip);
+        List<String> ingredients = new ArrayList<>(ingredientChips);
+        ingredients.remove(chip);
+        return new SearchQuery(Collections.unmodifiableList(remaining),
+                ingredients.isEmpty() ? Collections.emptyList() : Collections.unmodifiableList(ingredients),
+                excludedIngredients, facetFilter, 0, fullTextFallback);
+    }
+
+    /** [추가] 선택한 패싯 값입니다. */
+    @NonNull
+    public FacetFilter getFacetFilter() {
+        return facetFilter;
+    }
+
+    /**
+     * [추가] 칩 조합은 같고 패싯 선택만 다른 첫 페이지 검색 조건을 만듭니다.
+     */
+    @NonNull
+    public SearchQuery withFacetFilter(@NonNull FacetFilter facetFilter) {
+        return facetFilter.equals(this.facetFilter) && page == 0
+                ? this
+                : new SearchQuery(chips, ingredientChips, excludedIngredients, facetFilter, 0, fullTextFallback);
+    }
+
+    /**
+     * [추가] 패싯 개수를 함께 요청할 조건인지 확인합니다. 패싯 개수는 칩 조합마다 한 번, 패싯 선택이 없는 첫 페이지에서만 받습니다.
+     */
+    public boolean requestsFacets() {
+        return page == 0 && facetFilter.isEmpty();
+    }
+
+    public int getPage() {
+        return page;
+    }
+
+    /**
+     * [추가] 칩 조합은 같고 페이지만 다른 검색 조건을 만듭니다.
+     */
+    @NonNull
+    public SearchQuery withPage(int page) {
+        return page == this.page
+                ? this
+                : new SearchQuery(chips, ingredientChips, excludedIngredients, facetFilter, Math.max(0, page), fullTextFallback);
+    }
+
+    /**
+     * [추가] 칩이 없는 첫 페이지 요청인지 확인합니다. 이 경우 Model의 fetchInitialRecipes()로 처리합니다.
+     * [수정] 패싯을 선택했다면 칩이 없어도 필터가 있는 검색으로 처리합니다.
+     */
+    public boolean isInitialRequest() {
+        return chips.isEmpty() && page == 0 && facetFilter.isEmpty();
+    }
+
+    /**
+     * 검색 엔진에 전달할 검색어 문자열입니다. [수정] 재료 필터로 검색하는 칩은 제외합니다.
+     * [수정] 제외 재료 칩도 검색어에 넣지 않습니다.
+     */
+    @NonNull
+    public String toQueryText() {
+        if (ingredientChips.isEmpty() && excludedIngredients.isEmpty()) {
+            return String.join(" ", chips);
+        }
+        List<String> textChips = new ArrayList<>(getIncludedChips());
+        textChips.removeAll(ingredientChips);
+        return String.join(" ", textChips);
+    }
+
+    /**
+     * [추가] 재료 칩을 Algolia filters 문법의 OR 조건으로 만듭니다. 예: {@code ingredients:"감자"<score=1> OR ingredients:"양파"<score=1>}
+     * 칩 중 하나 이상을 사용하는 레시피만 남기고, sumOrFiltersScores와 함께 쓰면 일치하는 칩이 많은 레시피가 앞에 옵니다.
+     * 재료 칩이 없으면 빈 문자열입니다.
+     */
+    @NonNull
+    public String toIngredientFilters() {
+        StringBuilder filters = new StringBuilder();
+        for (String chip : ingredientChips) {
+            if (filters.length() > 0) filters.append(" OR ");
+            filters.append("ingredients:\"").append(chip.replace("\"", "")).append("\"<score=1>");
+        }
+        return filters.toString();
+    }
+
+    /**
+     * [추가] 재료 필터와 패싯 필터를 AND로 결합한 Algolia filters 문자열입니다. 둘 다 없으면 빈 문자열입니다.
+     * 재료 필터의 점수(score)는 OR 묶음 안에서만 합산되므로, 패싯 조건이 붙어도 재료 일치 수에 따른 순위는 유지됩니다.
+     * [추가] 제외 재료는 {@code NOT ingredients:"우유"} 조건으로 AND 결합합니다.
+     */
+    @NonNull
+    public String toFilters() {
+        List<String> clauses = new ArrayList<>();
+        String ingredients = toIngredientFilters();
+        if (!ingredients.isEmpty()) {
+            clauses.add(ingredientChips.size() > 1 && (!facetFilter.isEmpty() || !excludedIngredients.isEmpty())
+                    ? "(" + ingredients + ")"
+                    : ingredients);
+        }
+        String facets = facetFilter.toAlgoliaFilters();
+        if (!facets.isEmpty()) clauses.add(facets);
+        for (String excluded : excludedIngredients) {
+            clauses.add("NOT ingredients:\"" + excluded.replace("\"", "") + "\"");
+        }
+        return String.join(" AND ", clauses);
+    }
+
+    /**
+     * [추가] 패싯 선택과 페이지를 뺀 칩 조합의 키입니다. 패싯 개수 캐시의 키로 사용합니다.
+     * [수정] 제외 재료 칩은 몇 건만 빠질 뿐 패싯 분포를 크게 바꾸지 않으므로 키에서 뺍니다.
+     * (제외 칩만 바뀌었을 때 네트워크 요청 없이 같은 패싯 개수를 계속 보여주기 위함)
+     */
+    @NonNull
+    public String facetKey() {
+        SearchQuery included = excludedIngredients.isEmpty() && fullTextFallback
+                ? this
+                : new SearchQuery(getIncludedChips(), ingredientChips, Collections.emptyList(), facetFilter, page, true);
+        return included.withFacetFilter(FacetFilter.none()).cacheKey();
+    }
+
+    /**
+     * 칩 순서와 무관한 캐시 키입니다. [수정] 페이지마다 별도로 캐시되도록 페이지 번호를 포함합니다.
+     * [수정] 같은 칩이라도 재료 필터 검색과 전문 검색의 결과가 다르므로 재료 칩도 포함합니다.
+     * [수정] 패싯 선택이 있으면 함께 포함합니다.
+     * [수정] 전문 검색 대체를 하지 않는 재료 필터 검색은 결과가 다를 수 있으므로 따로 캐시합니다.
+     */
+    @NonNull
+    public String cacheKey() {
+        String key = "q:" + String.join(String.valueOf(KEY_SEPARATOR), chips) + KEY_SEPARATOR + "p" + page;
+        if (!ingredientChips.isEmpty()) {
+            key += KEY_SEPARATOR + "i:" + String.join(String.valueOf(KEY_SEPARATOR), ingredientChips);
+            if (!fullTextFallback) key += KEY_SEPARATOR + "nf";
+        }
+        return facetFilter.isEmpty() ? key : key + KEY_SEPARATOR + "f:" + facetFilter.cacheKey();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof SearchQuery)) return false;
+        SearchQuery other = (SearchQuery) o;
+        return page == other.page && fullTextFallback == other.fullTextFallback && chips.equals(other.chips)
+                && ingredientChips.equals(other.ingredientChips) && facetFilter.equals(other.facetFilter);
+    }
+
+    @Override
+    public int hashCode() {
+        int hash = 31 * (31 * (31 * chips.hashCode() + ingredientChips.hashCode()) + facetFilter.hashCode()) + page;
+        return 31 * hash + Boolean.hashCode(fullTextFallback);
+    }
+
+    @NonNull
+    @Override
+    public String toString() {
+        String text = facetFilter.isEmpty() ? chips.toString() : chips + " " + facetFilter;
+        return page == 0 ? text : text + " p" + page;
+    }
+}
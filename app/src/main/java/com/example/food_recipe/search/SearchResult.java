@@ -0,0 +1,90 @@
+package com.example.food_recipe.search;
+
+import androidx.annotation.NonNull;
+
+import com.example.food_recipe.model.SearchHit;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * [추가] 검색 결과 한 페이지와 페이지 정보(전체 건수, 전체 페이지 수)를 담는 불변 객체입니다.
+ * Algolia의 page/nbPages/nbHits 응답 필드와 같은 의미를 가지며, 로컬 검색 모델도 같은 형식으로 결과를 반환합니다.
+ * [변경] 전체 Recipe 대신 목록 카드에 필요한 필드만 가진 {@link SearchHit}을 담습니다.
+ * [추가] 첫 페이지 응답에는 패싯 속성별 값의 개수({@link #getFacets()})가 함께 담길 수 있습니다.
+ */
+public final class SearchResult {
+
+    private final List<SearchHit> hits;
+    private final int page;
+    private final int nbPages;
+    private final int nbHits;
+    // [추가] 속성 -> (값 -> 결과 수). 값은 서버가 보낸 순서(많은 순)를 유지합니다. 요청하지 않았으면 비어 있습니다.
+    private final Map<String, Map<String, Integer>> facets;
+
+    public SearchResult(List<SearchHit> hits, int page, int nbPages, int nbHits) {
+        this(hits, page, nbPages, nbHits, null);
+    }
+
+    public SearchResult(List<SearchHit> hits, int page, int nbPages, int nbHits, Map<String, Map<String, Integer>> facets) {
+        this.hits = hits != null ? Collections.unmodifiableList(new ArrayList<>(hits)) : Collections.emptyList();
+        this.page = page;
+        this.nbPages = nbPages;
+        this.nbHits = nbHits;
+        this.facets = copyFacets(facets);
+    }
+
+    private static Map<String, Map<String, Integer>> copyFacets(Map<String, Map<String, Integer>> facets) {
+        if (facets == null || facets.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        Map<String, Map<String, Integer>> copy = new LinkedHashMap<>();
+        for (Map.Entry<String, Map<String, Integer>> entry : facets.entrySet()) {
+            copy.put(entry.getKey(), Collections.unmodifiableMap(new LinkedHashMap<>(entry.getValue())));
+        }
+        return Collections.unmodifiableMap(copy);
+    }
+
+    /** 이 페이지의 검색 결과 목록입니다. (수정 불가) */
+    @NonNull
+    public List<SearchHit> getHits() {
+        return hits != null ? hits : Collections.emptyList();
+    }
+
+    /** 0부터 시작하는 페이지 번호입니다. */
+    public int getPage() {
+        return page;
+    }
+
+    public int getNbPages() {
+        return nbPages;
+    }
+
+    public int getNbHits() {
+        return nbHits;
+    }
+
+    /**
+     * [추가] 패싯 속성별 값의 개수입니다. (수정 불가)
+     * 이전 형식의 디스크 캐시에서 읽은 결과처럼 패싯 정보가 없으면 빈 맵을 반환합니다.
+     */
+    @NonNull
+    public Map<String, Map<String, Integer>> getFacets() {
+        return facets != null ? facets : Collections.emptyMap();
+    }
+
+    public boolean hasFacets() {
+        return !getFacets().isEmpty();
+    }
+
+    public boolean isEmpty() {
+        return getHits().isEmpty();
+    }
+
+    public boolean hasNextPage() {
+        return page + 1 < nbPages;
+    }
+}
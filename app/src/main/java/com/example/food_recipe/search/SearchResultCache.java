@@ -0,0 +1,234 @@
+package com.example.food_recipe.search;
+
+import android.content.Context;
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.annotation.WorkerThread;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * [추가] 검색 결과를 2단계(메모리 LRU + 크기 제한 디스크)로 보관하는 캐시입니다.
+ * - 키는 {@link SearchQuery#cacheKey()}이며, 칩의 순서가 달라도 같은 조합이면 같은 결과를 재사용합니다.
+ * - 저장된 지 {@link #FRESH_TTL_MS}가 지나지 않은 결과는 신선(fresh)하여 네트워크 요청 없이 사용하고,
+ *   {@link #MAX_STALE_MS}까지는 오래된(stale) 결과를 먼저 보여준 뒤 백그라운드에서 갱신합니다.
+ * - 디스크 파일은 cacheDir에 저장되므로 시스템이 공간 부족 시 임의로 지울 수 있습니다.
+ */
+public class SearchResultCache {
+
+    private static final String TAG = "SearchResultCache";
+
+    static final long FRESH_TTL_MS = 10 * 60 * 1000L;
+    static final long MAX_STALE_MS = 24 * 60 * 60 * 1000L;
+
+    // [수정] 페이지마다 항목이 생기므로 메모리 항목 수를 늘렸습니다.
+    private static final int MEMORY_MAX_ENTRIES = 64;
+    private static final long DISK_MAX_BYTES = 2 * 1024 * 1024L;
+    // [수정] 결과 형식이 Recipe에서 SearchHit으로 바뀌어 이전 형식의 파일을 읽지 않도록 디렉터리를 바꿨습니다.
+    // [수정] 패싯 개수와 분류/난이도 필드가 추가되어 다시 바꿨습니다. (이전 파일의 결과는 패싯으로 걸러낼 수 없음)
+    private static final String DISK_DIR = "search_results_v3";
+
+    private static SearchResultCache instance;
+
+    private final Map<String, Entry> memory = new LinkedHashMap<String, Entry>(MEMORY_MAX_ENTRIES, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+            return size() > MEMORY_MAX_ENTRIES;
+        }
+    };
+    private final File diskDir;
+    private final ExecutorService diskExecutor = Executors.newSingleThreadExecutor();
+    private final Gson gson = new Gson();
+
+    /**
+     * 캐시에 저장되는 하나의 검색 결과입니다. 디스크에는 Gson으로 그대로 직렬화됩니다.
+     */
+    public static class Entry {
+        final String key;
+        final long savedAt;
+        final SearchResult result;
+
+        Entry(String key, long savedAt, SearchResult result) {
+            this.key = key;
+            this.savedAt = savedAt;
+            this.result = result;
+        }
+
+        /** [변경] 페이지 정보를 포함한 결과를 반환합니다. SearchResult는 불변이므로 그대로 공유합니다. */
+        @NonNull
+        public SearchResult getResult() {
+            return result;
+        }
+
+        public boolean isFresh(long now) {
+            return now - savedAt < FRESH_TTL_MS;
+        }
+
+        boolean isUsable(long now) {
+            return now - savedAt < MAX_STALE_MS;
+        }
+    }
+
+    private SearchResultCache(Context context) {
+        this(new File(context.getApplicationContext().getCacheDir(), DISK_DIR));
+    }
+
+    SearchResultCache(File diskDir) {
+        this.diskDir = diskDir;
+    }
+
+    public static synchronized SearchResultCache getInstance(Context context) {
+        if (instance == null) {
+            instance = new SearchResultCache(context);
+        }
+        return instance;
+    }
+
+    /**
+     * 메모리에서만 결과를 찾습니다. 사용 가능 기간이 지난 항목은 제거하고 null을 반환합니다.
+     */
+    @Nullable
+    public synchronized Entry getFromMemory(String key, long now) {
+        Entry entry = memory.get(key);
+        if (entry != null && !entry.isUsable(now)) {
+            memory.remove(key);
+            return null;
+        }
+        return entry;
+    }
+
+    /**
+     * 디스크에서 결과를 찾아 메모리로 올립니다. 파일 I/O가 있으므로 백그라운드 스레드에서 호출해야 합니다.
+     */
+    @WorkerThread
+    @Nullable
+    public Entry getFromDisk(String key, long now) {
+        File file = fileFor(key);
+        if (!file.exists()) {
+            return null;
+        }
+        Entry entry;
+        try (Reader reader = new InputStreamReader(new FileInputStream(file), StandardCharsets.UTF_8)) {
+            entry = gson.fromJson(reader, Entry.class);
+        } catch (IOException | JsonParseException e) {
+            Log.w(TAG, "디스크 캐시를 읽지 못해 삭제합니다: " + file.getName(), e);
+            file.delete();
+            return null;
+        }
+        // 해시 충돌이나 손상된 파일은 사용하지 않습니다.
+        if (entry == null || entry.result == null || !key.equals(entry.key) || !entry.isUsable(now)) {
+            file.delete();
+            return null;
+        }
+        synchronized (this) {
+            memory.put(key, entry);
+        }
+        return entry;
+    }
+
+    /**
+     * 결과를 메모리에 즉시 저장하고, 디스크에는 백그라운드로 기록합니다.
+     */
+    public void put(String key, SearchResult result, long now) {
+        Entry entry = new Entry(key, now, result);
+        synchronized (this) {
+            memory.put(key, entry);
+        }
+        diskExecutor.execute(() -> writeToDisk(entry));
+    }
+
+    /** 디스크 조회를 캐시 전용 스레드에서 실행하기 위한 실행기입니다. */
+    public void runOnDiskThread(Runnable task) {
+        diskExecutor.execute(task);
+    }
+
+    public synchronized void clearMemory() {
+        memory.clear();
+    }
+
+    private void writeToDisk(Entry entry) {
+        if (!diskDir.exists() && !diskDir.mkdirs()) {
+            Log.w(TAG, "캐시 디렉터리를 만들 수 없습니다: " + diskDir);
+            return;
+        }
+        File file = fileFor(entry.key);
+        File temp = new File(diskDir, file.getName() + ".tmp");
+        try (Writer writer = new OutputStreamWriter(new FileOutputStream(temp), StandardCharsets.UTF_8)) {
+            gson.toJson(entry, writer);
+        } catch (IOException e) {
+            Log.w(TAG, "디스크 캐시를 저장하지 못했습니다.", e);
+            temp.delete();
+            return;
+        }
+        if (!temp.renameTo(file)) {
+            temp.delete();
+            return;
+        }
+        trimDisk();
+    }
+
+    /**
+     * 디스크 사용량이 {@link #DISK_MAX_BYTES}를 넘으면 가장 오래 전에 기록된 파일부터 삭제합니다.
+     */
+    private void trimDisk() {
+        File[] files = diskDir.listFiles((dir, name) -> name.endsWith(".json"));
+        if (files == null) {
+            return;
+        }
+        long total = 0;
+        for (File file : files) {
+            total += file.length();
+        }
+        if (total <= DISK_MAX_BYTES) {
+            return;
+        }
+        Arrays.sort(files, (a, b) -> Long.compare(a.lastModified(), b.lastModified()));
+        for (File file : files) {
+            if (total <= DISK_MAX_BYTES) {
+                break;
+            }
+            long length = file.length();
+            if (file.delete()) {
+                total -= length;
+            }
+        }
+    }
+
+    private File fileFor(String key) {
+        return new File(diskDir, sha1(key) + ".json");
+    }
+
+    private static String sha1(String value) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-1").digest(value.getBytes(StandardCharsets.UTF_8));
+            StringBuilder sb = new StringBuilder(digest.length * 2);
+            for (byte b : digest) {
+                sb.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+            }
+            return sb.toString();
+        } catch (NoSuchAlgorithmException e) {
+            // SHA-1은 모든 안드로이드 기기에서 제공되므로 이 경로는 사실상 실행되지 않습니다.
+            return Integer.toHexString(value.hashCode());
+        }
+    }
+}
@@ -0,0 +1,204 @@
+package com.example.food_recipe.search;
+
+import android.util.Log;
+
+import androidx.annotation.MainThread;
+import androidx.annotation.NonNull;
+
+import com.example.food_recipe.utils.MainThreadTimer;
+
+/**
+ * [추가] 검색 요청의 디바운스, 순서 보장, 취소를 전담하는 스케줄러입니다.
+ * - 모든 요청에 증가하는 순번(sequence)을 부여하고, 가장 최근 요청의 응답만 전달합니다. 이전 순번의 응답은 버려집니다(dropped).
+ * - 새 요청이 발행될 때 아직 응답이 오지 않은 이전 요청은 {@link SearchCall#cancel()}로 취소합니다(cancelled).
+ * - 디바운스 간격은 최근 검색 지연 시간의 지수 이동 평균(EWMA)에 맞춰 {@link #MIN_DEBOUNCE_MS}~{@link #MAX_DEBOUNCE_MS} 사이에서 조절됩니다.
+ *   응답이 느릴수록 입력을 더 오래 모아 중간에 취소될 요청을 줄이고, 빠를수록 즉시 검색합니다.
+ * 모든 메소드는 메인 스레드에서 호출되어야 합니다.
+ */
+public class SearchScheduler {
+
+    private static final String TAG = "SearchScheduler";
+
+    static final long INITIAL_DEBOUNCE_MS = 300;
+    static final long MIN_DEBOUNCE_MS = 150;
+    static final long MAX_DEBOUNCE_MS = 600;
+    private static final double LATENCY_EWMA_ALPHA = 0.3;
+
+    private final SearchContract.Model model;
+    private final MainThreadTimer timer;
+
+    private Runnable pendingRunnable;
+    private InFlight inFlight;
+    private long latestSequence;
+    private double latencyEwmaMs = -1;
+
+    private int issuedCount;
+    private int cancelledCount;
+    private int droppedCount;
+
+    /**
+     * 발행된 하나의 요청 상태입니다.
+     */
+    private static final class InFlight {
+        final long sequence;
+        final long startedAt;
+        SearchCall call = SearchCall.NONE;
+        boolean responded;
+
+        InFlight(long sequence, long startedAt) {
+            this.sequence = sequence;
+            this.startedAt = startedAt;
+        }
+    }
+
+    /**
+     * 디버깅 및 성능 측정용 카운터의 스냅샷입니다.
+     */
+    public static final class Stats {
+        public final int issued;
+        public final int cancelled;
+        public final int dropped;
+        public final long debounceMs;
+        public final long latencyEwmaMs;
+
+        Stats(int issued, int cancelled, int dropped, long debounceMs, long latencyEwmaMs) {
+            this.issued = issued;
+            this.cancelled = cancelled;
+            this.dropped = dropped;
+            this.debounceMs = debounceMs;
+            this.latencyEwmaMs = latencyEwmaMs;
+        }
+
+        @NonNull
+        @Override
+        public String toString() {
+            return "issued=" + issued + ", cancelled=" + cancelled + ", dropped=" + dropped
+                    + ", debounce=" + debounceMs + "ms, latency=" + latencyEwmaMs + "ms";
+        }
+    }
+
+    public SearchScheduler(SearchContract.Model model) {
+        this(model, MainThreadTimer.system());
+    }
+
+    /**
+     * [추가] 디바운스 예약과 지연 시간 측정에 사용할 타이머를 주입합니다. 단위 테스트에서 시간을 직접 진행시킬 때 사용합니다.
+     */
+    SearchScheduler(SearchContract.Model model, MainThreadTimer timer) {
+        this.model = model;
+        this.timer = timer;
+    }
+
+    /**
+     * 현재 디바운스 간격이 지난 뒤 작업을 실행합니다. 그 전에 다시 호출되면 이전 작업은 실행되지 않습니다.
+     */
+    @MainThread
+    public void debounce(@NonNull Runnable task) {
+        cancelPending();
+        pendingRunnable = () -> {
+            pendingRunnable = null;
+            task.run();
+        };
+        timer.postDelayed(pendingRunnable, currentDebounceMs());
+    }
+
+    /**
+     * [추가] 디바운스 간격이 지나기를 기다리는 작업이 있으면 true입니다.
+     * 이때 {@link #submit}을 호출하면 대기 중인 작업이 취소되므로, 대기 중인 검색을 대체하면 안 되는 요청은 이 값을 먼저 확인합니다.
+     */
+    @MainThread
+    public boolean hasPending() {
+        return pendingRunnable != null;
+    }
+
+    /**
+     * 검색 요청을 즉시 발행합니다. 대기 중인 디바운스 작업과 응답 전의 이전 요청은 취소됩니다.
+     * 칩이 없는 첫 페이지 요청은 {@link SearchContract.Model#fetchInitialRecipes}로 처리합니다.
+     */
+    @MainThread
+    public void submit(@NonNull SearchQuery query, @NonNull SearchContract.Model.OnRecipesFetchedListener listener) {
+        cancelPending();
+        supersedeInFlight();
+
+        InFlight request = new InFlight(++latestSequence, timer.now());
+        inFlight = request;
+        issuedCount++;
+        Log.d(TAG, "#" + request.sequence + " " + query + " (" + getStats() + ")");
+
+        SearchContract.Model.OnRecipesFetchedListener guarded = new SearchContract.Model.OnRecipesFetchedListener() {
+            @Override
+            public void onSuccess(SearchResult result) {
+                if (accept(request)) listener.onSuccess(result);
+            }
+
+            @Override
+            public void onError(String message) {
+                if (accept(request)) listener.onError(message);
+            }
+        };
+        SearchCall call = query.isInitialRequest()
+                ? model.fetchInitialRecipes(guarded)
+                : model.searchRecipes(query, guarded);
+        request.call = call != null ? call : SearchCall.NONE;
+    }
+
+    /**
+     * 대기 중인 작업과 진행 중인 요청을 모두 취소합니다. 이후 도착하는 응답은 모두 버려집니다.
+     */
+    @MainThread
+    public void cancelAll() {
+        cancelPending();
+        supersedeInFlight();
+        latestSequence++;
+    }
+
+    @MainThread
+    public Stats getStats() {
+        return new Stats(issuedCount, cancelledCount, droppedCount, currentDebounceMs(), Math.round(latencyEwmaMs));
+    }
+
+    /**
+     * 최근 지연 시간의 EWMA를 디바운스 간격으로 사용합니다. 측정값이 없으면 기존 고정값(300ms)을 사용합니다.
+     */
+    long currentDebounceMs() {
+        if (latencyEwmaMs < 0) {
+            return INITIAL_DEBOUNCE_MS;
+        }
+        return Math.max(MIN_DEBOUNCE_MS, Math.min(MAX_DEBOUNCE_MS, Math.round(latencyEwmaMs)));
+    }
+
+    private boolean accept(InFlight request) {
+        if (request.sequence != latestSequence) {
+            droppedCount++;
+            Log.d(TAG, "#" + request.sequence + " 이전 요청의 응답을 버립니다. (최신 #" + latestSequence + ")");
+            return false;
+        }
+        // 캐시 모델은 한 요청에 두 번 응답할 수 있으므로, 지연 시간은 첫 응답으로만 측정합니다.
+        if (!request.responded) {
+            request.responded = true;
+            recordLatency(timer.now() - request.startedAt);
+        }
+        return true;
+    }
+
+    private void recordLatency(long latencyMs) {
+        latencyEwmaMs = latencyEwmaMs < 0
+                ? latencyMs
+                : LATENCY_EWMA_ALPHA * latencyMs + (1 - LATENCY_EWMA_ALPHA) * latencyEwmaMs;
+    }
+
+    private void supersedeInFlight() {
+        if (inFlight != null && !inFlight.responded) {
+            inFlight.call.cancel();
+            cancelledCount++;
+        }
+        inFlight = null;
+    }
+
+    private void cancelPending() {
+        if (pendingRunnable != null) {
+            timer.cancel(pendingRunnable);
+            pendingRunnable = null;
+        }
+    }
+}
@@ -1,33 +1,293 @@
 package com.example.food_recipe.search;
 
+import android.os.Bundle;
 import androidx.lifecycle.LiveData;
 import androidx.lifecycle.MutableLiveData;
+import androidx.lifecycle.SavedStateHandle;
 import androidx.lifecycle.ViewModel;
-import com.example.food_recipe.model.Recipe;
+import com.example.food_recipe.model.SearchHit;
+import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.ArrayList;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
 
 /**
  * [추가] SearchFragment의 UI 상태를 저장하고 관리하는 ViewModel 클래스입니다.
  * 이 클래스는 화면 회전이나 프래그먼트 재생성 시에도 데이터를 안전하게 보존합니다.
+ * [추가] 프로세스가 종료되었다가 복원될 때를 위해 칩 목록과 현재 목록의 첫 페이지를 {@link SavedStateHandle}에 저장합니다.
+ * - 칩 목록은 바뀔 때마다 핸들에 저장되고, 결과 페이지는 상태를 저장하는 시점에만 직렬화합니다.
+ * - 복원은 ViewModel 생성 시(Fragment의 onCreate) 끝나므로 첫 화면부터 이전 목록이 보이고, 네트워크는 백그라운드 갱신에만 사용됩니다.
  */
 public class SearchViewModel extends ViewModel {
 
-    // 검색 결과 레시피 목록을 저장하는 LiveData
+    // [추가] SavedStateHandle 키
+    private static final String KEY_CHIPS = "search_chips";
+    private static final String KEY_SNAPSHOT = "search_snapshot";
+    private static final String SNAPSHOT_QUERY_CHIPS = "query_chips";
+    private static final String SNAPSHOT_QUERY_INGREDIENTS = "query_ingredients";
+    private static final String SNAPSHOT_QUERY_FACETS = "query_facets";
+    private static final String SNAPSHOT_PAGE = "page";
+
+    private final SavedStateHandle savedState;
+    // [추가] 저장된 목록으로 복원되었고 아직 갱신하지 않았으면 true
+    private boolean restoredFromSnapshot;
+
+    // 검색 결과 목록을 저장하는 LiveData ([변경] 목록 카드용 SearchHit)
     // 외부에서는 수정 불가능한 LiveData로 노출하고, 내부에서는 MutableLiveData로 값을 변경합니다.
-    private final MutableLiveData<List<Recipe>> _searchResult = new MutableLiveData<>();
-    public LiveData<List<Recipe>> searchResult = _searchResult;
+    private final MutableLiveData<List<SearchHit>> _searchResult = new MutableLiveData<>();
+    public LiveData<List<SearchHit>> searchResult = _searchResult;
+
+    /**
+     * [추가] 메모리에 유지할 최대 페이지 수입니다. 이를 넘으면 방금 불러온 페이지에서 가장 먼 페이지를 버립니다.
+     */
+    static final int MAX_PAGES_IN_WINDOW = 5;
+
+    // [추가] 현재 화면에 올라와 있는 연속된 페이지들 (페이지 번호 -> 레시피 목록)
+    private final TreeMap<Integer, List<SearchHit>> loadedPages = new TreeMap<>();
+    private int nbPages;
+    // [추가] 현재 목록을 만든 검색 조건입니다. 다음 페이지는 칩이 바뀌는 중이더라도 이 조건으로 불러옵니다.
+    private SearchQuery displayedQuery = SearchQuery.empty();
+
+    /** [추가] 패싯 개수를 보관할 칩 조합의 최대 개수입니다. */
+    static final int MAX_CACHED_FACET_SETS = 16;
+
+    // [추가] 칩 조합(SearchQuery#facetKey) -> 패싯 개수. 패싯을 선택한 검색은 개수를 다시 받지 않고 이 값을 그대로 보여줍니다.
+    private final Map<String, Map<String, Map<String, Integer>>> facetCountsByChips =
+            new LinkedHashMap<String, Map<String, Map<String, Integer>>>(MAX_CACHED_FACET_SETS, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, Map<String, Map<String, Integer>>> eldest) {
+                    return size() > MAX_CACHED_FACET_SETS;
+                }
+            };
+
+    // [추가] 현재 칩 조합의 패싯 개수 (속성 -> 값 -> 결과 수)
+    private final MutableLiveData<Map<String, Map<String, Integer>>> _facetCounts = new MutableLiveData<>(Collections.emptyMap());
+    public LiveData<Map<String, Map<String, Integer>>> facetCounts = _facetCounts;
 
-    // 현재 검색어 칩 목록을 저장하는 LiveData
-    private final MutableLiveData<List<String>> _searchChips = new MutableLiveData<>(new ArrayList<>());
-    public LiveData<List<String>> searchChips = _searchChips;
+    // [추가] 현재 선택한 패싯 값. 목록은 항상 이 선택으로 걸러서 보여줍니다.
+    private final MutableLiveData<FacetFilter> _facetFilter = new MutableLiveData<>(FacetFilter.none());
+    public LiveData<FacetFilter> facetFilter = _facetFilter;
+
+    // [추가] 제외 재료 필터와, 불러온 페이지마다 제외할 결과의 위치를 표시한 BitSet (페이지 번호 -> 마스크)
+    private ExclusionFilter exclusionFilter = ExclusionFilter.NONE;
+    private final Map<Integer, BitSet> exclusionMasks = new HashMap<>();
+
+    // [추가] '내 재료로 요리하기' 정렬기와, 불러온 페이지마다 계산해 둔 정렬 결과 (페이지 번호 -> 정렬). 정렬기가 null이면 원래 순서입니다.
+    private PantryCoverageRanker pantryRanker;
+    private final Map<Integer, PantryCoverageRanker.Ranking> pantryRankings = new HashMap<>();
+
+    // [추가] 목록 카드별 부족한 재료 수 (rcpSno -> 개수). 냉장고 재료 정렬을 켰을 때만 채워지며, 목록보다 먼저 갱신됩니다.
+    private final MutableLiveData<Map<String, Integer>> _missingIngredientCounts = new MutableLiveData<>(Collections.emptyMap());
+    public LiveData<Map<String, Integer>> missingIngredientCounts = _missingIngredientCounts;
+
+    // 현재 검색어 칩 목록을 저장하는 LiveData ([수정] SavedStateHandle에 저장되어 프로세스 종료 후에도 복원됩니다)
+    private final MutableLiveData<List<String>> _searchChips;
+    public final LiveData<List<String>> searchChips;
+
+    public SearchViewModel() {
+        this(new SavedStateHandle());
+    }
+
+    /**
+     * [추가] SavedStateHandle로 칩 목록과 마지막 목록을 복원합니다. 기본 ViewModelProvider 팩토리가 이 생성자를 사용합니다.
+     */
+    public SearchViewModel(SavedStateHandle savedState) {
+        this.savedState = savedState;
+        _searchChips = savedState.getLiveData(KEY_CHIPS, new ArrayList<>());
+        searchChips = _searchChips;
+        restoreSnapshot(savedState.get(KEY_SNAPSHOT));
+        savedState.setSavedStateProvider(KEY_SNAPSHOT, this::saveSnapshot);
+    }
 
     /**
      * Presenter가 검색 결과를 ViewModel에 저장하기 위해 호출하는 메소드입니다.
-     * @param recipes 새로 검색된 레시피 목록
+     * @param hits 새로 검색된 결과 목록
+     */
+    public void setSearchResult(List<SearchHit> hits) {
+        _searchResult.setValue(hits);
+    }
+
+    /**
+     * [추가] 새 검색의 첫 페이지로 목록을 초기화합니다. 이전에 불러온 페이지는 모두 버립니다.
+     * [추가] 결과에 패싯 개수가 있으면 칩 조합 단위로 보관하고, 없으면 같은 칩 조합에서 받아 둔 개수를 보여줍니다.
+     * @param query  첫 페이지를 요청한 검색 조건
+     * @param result 첫 페이지 검색 결과
+     */
+    public void showFirstPage(SearchQuery query, SearchResult result) {
+        displayedQuery = query.withPage(0);
+        loadedPages.clear();
+        exclusionMasks.clear();
+        pantryRankings.clear();
+        loadedPages.put(result.getPage(), result.getHits());
+        nbPages = result.getNbPages();
+
+        String facetKey = query.facetKey();
+        if (query.requestsFacets() && result.hasFacets()) {
+            facetCountsByChips.put(facetKey, result.getFacets());
+        }
+        Map<String, Map<String, Integer>> counts = facetCountsByChips.get(facetKey);
+        _facetCounts.setValue(counts != null ? counts : Collections.emptyMap());
+        _facetFilter.setValue(query.getFacetFilter());
+        publishPages();
+    }
+
+    /**
+     * [추가] 패싯 선택을 바꾸고, 이미 불러온 페이지를 새 선택으로 바로 다시 걸러서 보여줍니다.
+     * 서버의 갱신 결과는 이후 {@link #showFirstPage}로 목록을 교체합니다.
+     */
+    public void applyFacetFilter(FacetFilter filter) {
+        if (filter.equals(getFacetFilter())) {
+            return;
+        }
+        _facetFilter.setValue(filter);
+        publishPages();
+    }
+
+    /**
+     * [추가] 제외 재료를 바꾸고 이미 불러온 페이지에서 해당 재료가 든 결과를 바로 숨깁니다. (네트워크 요청 없음)
+     * 제외 재료가 바뀌었을 때만 페이지별 마스크를 다시 계산합니다.
+     */
+    public void setExcludedIngredients(Collection<String> ingredients) {
+        ExclusionFilter filter = ExclusionFilter.of(ingredients);
+        if (filter.equals(exclusionFilter)) {
+            return;
+        }
+        exclusionFilter = filter;
+        exclusionMasks.clear();
+        if (!loadedPages.isEmpty()) {
+            publishPages();
+        }
+    }
+
+    /** [추가] 현재 제외 재료 필터입니다. */
+    public ExclusionFilter getExclusionFilter() {
+        return exclusionFilter;
+    }
+
+    /**
+     * [추가] 냉장고 재료 정렬기를 바꾸고 이미 불러온 페이지를 바로 다시 정렬합니다. null이면 원래(관련도) 순서로 되돌립니다.
+     * 페이지 단위로 정렬하므로, 다음 페이지를 불러와도 앞 페이지의 순서는 바뀌지 않습니다.
+     */
+    public void setPantryRanker(PantryCoverageRanker ranker) {
+        if (ranker == pantryRanker) {
+            return;
+        }
+        pantryRanker = ranker;
+        pantryRankings.clear();
+        if (!loadedPages.isEmpty()) {
+            publishPages();
+        }
+    }
+
+    /** [추가] 냉장고 재료 정렬을 사용 중인지 여부입니다. */
+    public boolean isPantryRankingEnabled() {
+        return pantryRanker != null;
+    }
+
+    /** [추가] 현재 선택한 패싯 값입니다. */
+    public FacetFilter getFacetFilter() {
+        FacetFilter filter = _facetFilter.getValue();
+        return filter != null ? filter : FacetFilter.none();
+    }
+
+    /**
+     * [추가] 현재 페이지 창(window)의 앞이나 뒤에 이어지는 페이지를 추가합니다.
+     * 이미 있는 페이지라면 내용을 교체하고(캐시 갱신 결과), 이어지지 않는 페이지는 무시합니다.
+     * 창의 크기가 {@link #MAX_PAGES_IN_WINDOW}를 넘으면 반대쪽 끝의 페이지를 버려 메모리 사용량을 일정하게 유지합니다.
+     * @param result 추가할 페이지의 검색 결과
+     * @return 목록에 반영되었는지 여부
+     */
+    public boolean mergePage(SearchResult result) {
+        int page = result.getPage();
+        if (loadedPages.isEmpty()) {
+            return false;
+        }
+        int first = loadedPages.firstKey();
+        int last = loadedPages.lastKey();
+        if (!loadedPages.containsKey(page) && page != last + 1 && page != first - 1) {
+            return false;
+        }
+        loadedPages.put(page, result.getHits());
+        exclusionMasks.remove(page);
+        pantryRankings.remove(page);
+        nbPages = result.getNbPages();
+        while (loadedPages.size() > MAX_PAGES_IN_WINDOW) {
+            int dropped = page == loadedPages.lastKey()
+                    ? loadedPages.pollFirstEntry().getKey()
+                    : loadedPages.pollLastEntry().getKey();
+            exclusionMasks.remove(dropped);
+            pantryRankings.remove(dropped);
+        }
+        publishPages();
+        return true;
+    }
+
+    /**
+     * [추가] 창의 뒤쪽에 이어서 불러올 페이지 번호를 반환합니다. 더 없으면 -1을 반환합니다.
+     */
+    public int getNextPageToLoad() {
+        if (loadedPages.isEmpty()) return -1;
+        int next = loadedPages.lastKey() + 1;
+        return next < nbPages ? next : -1;
+    }
+
+    /**
+     * [추가] 창에서 버려진 앞쪽 페이지를 다시 불러와야 할 때의 페이지 번호를 반환합니다. 없으면 -1을 반환합니다.
      */
-    public void setSearchResult(List<Recipe> recipes) {
-        _searchResult.setValue(recipes);
+    public int getPreviousPageToLoad() {
+        if (loadedPages.isEmpty()) return -1;
+        return loadedPages.firstKey() - 1;
+    }
+
+    /**
+     * [추가] 현재 목록을 만든 검색 조건을 반환합니다.
+     */
+    public SearchQuery getDisplayedQuery() {
+        return displayedQuery;
+    }
+
+    /**
+     * [수정] 불러온 페이지를 이어 붙이면서 현재 패싯 선택과 맞지 않는 결과는 제외합니다.
+     * [수정] 제외 재료가 든 결과도 페이지별 마스크로 건너뜁니다.
+     * [수정] 냉장고 재료 정렬을 켰으면 페이지마다 정렬된 순서로 이어 붙이고, 카드별 부족한 재료 수를 함께 알립니다.
+     */
+    private void publishPages() {
+        FacetFilter filter = getFacetFilter();
+        List<SearchHit> flattened = new ArrayList<>();
+        Map<String, Integer> missingCounts = pantryRanker != null ? new HashMap<>() : Collections.emptyMap();
+        // [추가] 통합 검색의 첫 페이지에는 로컬 결과가 섞여 있어 다음 페이지와 겹칠 수 있으므로, 같은 레시피는 한 번만 표시합니다.
+        Set<String> shownIds = new HashSet<>();
+        for (Map.Entry<Integer, List<SearchHit>> entry : loadedPages.entrySet()) {
+            List<SearchHit> hits = entry.getValue();
+            BitSet excluded = filter.isEmpty() && exclusionFilter.isEmpty()
+                    ? null
+                    : exclusionMasks.computeIfAbsent(entry.getKey(), page -> exclusionFilter.mask(hits));
+            PantryCoverageRanker.Ranking ranking = pantryRanker == null
+                    ? null
+                    : pantryRankings.computeIfAbsent(entry.getKey(), page -> pantryRanker.rank(hits));
+            for (int n = 0; n < hits.size(); n++) {
+                int i = ranking != null ? ranking.order[n] : n;
+                SearchHit hit = hits.get(i);
+                if (excluded != null && (excluded.get(i) || !filter.matches(hit))) continue;
+                if (hit.getRcpSno() == null || shownIds.add(hit.getRcpSno())) {
+                    flattened.add(hit);
+                    if (ranking != null && hit.getRcpSno() != null && ranking.missing[i] != PantryCoverageRanker.UNKNOWN) {
+                        missingCounts.put(hit.getRcpSno(), ranking.missing[i]);
+                    }
+                }
+            }
+        }
+        _missingIngredientCounts.setValue(missingCounts);
+        _searchResult.setValue(flattened);
     }
 
     /**
@@ -35,6 +295,65 @@ public class SearchViewModel extends ViewModel {
      * @param chips 현재 화면에 표시된 칩 목록
      */
     public void setSearchChips(List<String> chips) {
-        _searchChips.setValue(chips);
+        // [수정] SavedStateHandle에 저장할 수 있도록 ArrayList로 보관합니다.
+        _searchChips.setValue(new ArrayList<>(chips));
+    }
+
+    /**
+     * [추가] 저장된 목록으로 복원된 뒤 처음 호출되면 true를 반환합니다. Presenter는 이때 목록을 가리지 않고 조용히 갱신합니다.
+     */
+    public boolean consumeRestoredSnapshot() {
+        boolean restored = restoredFromSnapshot;
+        restoredFromSnapshot = false;
+        return restored;
+    }
+
+    /**
+     * [추가] 현재 창의 첫 페이지와 그 페이지를 만든 검색 조건을 저장합니다. 상태를 저장하는 시점에만 호출됩니다.
+     * 한 페이지(최대 {@link SearchQuery#HITS_PER_PAGE}건)의 카드 필드만 저장하므로 Bundle 크기는 수 KB입니다.
+     */
+    private Bundle saveSnapshot() {
+        Bundle bundle = new Bundle();
+        if (loadedPages.isEmpty()) {
+            return bundle;
+        }
+        Map.Entry<Integer, List<SearchHit>> first = loadedPages.firstEntry();
+        Map<String, Map<String, Integer>> counts = _facetCounts.getValue();
+        SearchResult page = new SearchResult(first.getValue(), first.getKey(), nbPages, 0, counts);
+        bundle.putStringArrayList(SNAPSHOT_QUERY_CHIPS, new ArrayList<>(displayedQuery.getChips()));
+        bundle.putStringArrayList(SNAPSHOT_QUERY_INGREDIENTS, new ArrayList<>(displayedQuery.getIngredientChips()));
+        bundle.putStringArrayList(SNAPSHOT_QUERY_FACETS, getFacetFilter().toSavedState());
+        bundle.putString(SNAPSHOT_PAGE, new Gson().toJson(page));
+        return bundle;
+    }
+
+    private void restoreSnapshot(Bundle bundle) {
+        String json = bundle != null ? bundle.getString(SNAPSHOT_PAGE) : null;
+        if (json == null) {
+            return;
+        }
+        SearchResult page;
+        try {
+            page = new Gson().fromJson(json, SearchResult.class);
+        } catch (JsonParseException e) {
+            return;
+        }
+        if (page == null || page.isEmpty()) {
+            return;
+        }
+        List<String> ingredients = bundle.getStringArrayList(SNAPSHOT_QUERY_INGREDIENTS);
+        SearchQuery query = SearchQuery.of(bundle.getStringArrayList(SNAPSHOT_QUERY_CHIPS),
+                        chip -> ingredients != null && ingredients.contains(chip))
+                .withFacetFilter(FacetFilter.fromSavedState(bundle.getStringArrayList(SNAPSHOT_QUERY_FACETS)));
+        displayedQuery = query.withPage(0);
+        loadedPages.put(page.getPage(), page.getHits());
+        nbPages = page.getNbPages();
+        if (page.hasFacets()) {
+            facetCountsByChips.put(query.facetKey(), page.getFacets());
+            _facetCounts.setValue(page.getFacets());
+        }
+        _facetFilter.setValue(query.getFacetFilter());
+        restoredFromSnapshot = true;
+        publishPages();
     }
 }
@@ -0,0 +1,85 @@
+package com.example.food_recipe.utils;
+
+import android.content.Context;
+import android.content.SharedPreferences;
+
+import com.google.firebase.auth.FirebaseAuth;
+import com.google.firebase.auth.FirebaseUser;
+import com.google.gson.Gson;
+import com.google.gson.reflect.TypeToken;
+
+import java.lang.reflect.Type;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * [추가] 사용자가 제외한 재료(알레르기, 기피 재료) 목록을 SharedPreferences에 사용자별로 저장하는 클래스입니다.
+ * - 검색 화면의 제외 칩("-우유")을 추가하거나 닫을 때 갱신되며, 홈 화면 추천에서도 같은 목록으로 레시피를 걸러냅니다.
+ * - 로그인하지 않은 사용자는 "guest" 키로 저장합니다.
+ * - 읽은 목록은 사용자별로 메모리에 보관하므로, 화면마다 호출해도 SharedPreferences를 다시 파싱하지 않습니다.
+ */
+public class ExcludedIngredientManager {
+
+    private static final String PREFS_NAME = "FoodRecipePrefs";
+    private static final String KEY_PREFIX = "excluded_ingredients_";
+    private static final String GUEST_KEY = "guest";
+
+    private static ExcludedIngredientManager instance;
+
+    private final SharedPreferences prefs;
+    private final Gson gson = new Gson();
+    private final Map<String, Set<String>> cached = new HashMap<>();
+
+    private ExcludedIngredientManager(Context context) {
+        prefs = context.getApplicationContext().getSharedPreferences(PREFS_NAME, Context.MODE_PRIVATE);
+    }
+
+    public static synchronized ExcludedIngredientManager getInstance(Context context) {
+        if (instance == null) {
+            instance = new ExcludedIngredientManager(context);
+        }
+        return instance;
+    }
+
+    /**
+     * 현재 사용자의 제외 재료 목록을 반환합니다. (정렬됨, 수정 불가)
+     */
+    public synchronized Set<String> getExcludedIngredients() {
+        String userKey = currentUserKey();
+        Set<String> excluded = cached.get(userKey);
+        if (excluded == null) {
+            Type type = new TypeToken<TreeSet<String>>() {}.getType();
+            TreeSet<String> stored = gson.fromJson(prefs.getString(KEY_PREFIX + userKey, null), type);
+            excluded = Collections.unmodifiableSet(stored != null ? stored : new TreeSet<>());
+            cached.put(userKey, excluded);
+        }
+        return excluded;
+    }
+
+    /**
+     * 현재 사용자의 제외 재료 목록을 교체합니다. 바뀐 내용이 없으면 저장하지 않습니다.
+     */
+    public synchronized void setExcludedIngredients(Collection<String> ingredients) {
+        TreeSet<String> updated = new TreeSet<>();
+        if (ingredients != null) {
+            for (String ingredient : ingredients) {
+                if (ingredient != null && !ingredient.trim().isEmpty()) updated.add(ingredient.trim());
+            }
+        }
+        if (updated.equals(getExcludedIngredients())) {
+            return;
+        }
+        String userKey = currentUserKey();
+        cached.put(userKey, Collections.unmodifiableSet(updated));
+        prefs.edit().putString(KEY_PREFIX + userKey, gson.toJson(updated)).apply();
+    }
+
+    private static String currentUserKey() {
+        FirebaseUser user = FirebaseAuth.getInstance().getCurrentUser();
+        return user != null ? user.getUid() : GUEST_KEY;
+    }
+}
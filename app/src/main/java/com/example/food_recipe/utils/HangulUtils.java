@@ -0,0 +1,191 @@
+package com.example.food_recipe.utils;
+
+/**
+ * [추가] 한글 음절을 초성/중성/종성으로 분해하고, 입력 중인(조합 중인) 글자를 다루기 위한 유틸리티입니다.
+ * 한글 IME는 "된장"을 입력하는 동안 "된자", "고기"를 입력하는 동안 "곡"과 같은 중간 상태를 거치므로,
+ * 자동완성은 마지막 글자를 완성된 글자가 아니라 "앞으로 완성될 수 있는 글자"로 취급해야 합니다.
+ */
+public final class HangulUtils {
+
+    private static final char SYLLABLE_BEGIN = '가';
+    private static final char SYLLABLE_END = '힣';
+    private static final int JUNGSEONG_COUNT = 21;
+    private static final int JONGSEONG_COUNT = 28;
+
+    /** 호환용 자음(ㄱ~ㅎ, U+3131~U+314E)의 범위입니다. */
+    private static final char COMPAT_CONSONANT_BEGIN = 'ㄱ';
+    private static final char COMPAT_CONSONANT_END = 'ㅎ';
+
+    /** [추가] 초성 인덱스 → 호환용 자음입니다. 초성 검색 키("김치" → "ㄱㅊ")를 만들 때 사용합니다. */
+    private static final String CHOSEONG_CHARS = "ㄱㄲㄴㄷㄸㄹㅁㅂㅃㅅㅆㅇㅈㅉㅊㅋㅌㅍㅎ";
+
+    /** 호환용 자음 → 초성 인덱스. 초성으로 쓰일 수 없는 겹자음(ㄳ, ㄺ 등)은 -1입니다. */
+    private static final int[] COMPAT_TO_CHOSEONG = {
+            0, 1, -1, 2, -1, -1, 3, 4, 5, -1, -1, -1, -1, -1, -1, -1,
+            6, 7, 8, -1, 9, 10, 11, 12, 13, 14, 15, 16, 17, 18
+    };
+
+    /**
+     * 종성 뒤에 모음이 입력되면 종성(또는 겹받침의 뒷자음)이 다음 글자의 초성으로 넘어갑니다.
+     * 종성 인덱스별로 {남는 종성, 넘어가는 초성}입니다. (예: "닭" + ㅏ → "달가")
+     */
+    private static final int[][] JONGSEONG_SPLIT = {
+            {0, -1}, {0, 0}, {0, 1}, {1, 9}, {0, 2}, {4, 12}, {4, 18}, {0, 3}, {0, 5},
+            {8, 0}, {8, 6}, {8, 7}, {8, 9}, {8, 16}, {8, 17}, {8, 18},
+            {0, 6}, {0, 7}, {17, 9}, {0, 9}, {0, 10}, {0, 11}, {0, 12}, {0, 14}, {0, 15}, {0, 16}, {0, 17}, {0, 18}
+    };
+
+    private HangulUtils() {
+    }
+
+    public static boolean isSyllable(char c) {
+        return c >= SYLLABLE_BEGIN && c <= SYLLABLE_END;
+    }
+
+    public static boolean isCompatibilityConsonant(char c) {
+        return c >= COMPAT_CONSONANT_BEGIN && c <= COMPAT_CONSONANT_END;
+    }
+
+    /** 음절의 초성 인덱스(0~18)입니다. 음절이 아니면 -1을 반환합니다. */
+    public static int choseong(char c) {
+        return isSyllable(c) ? (c - SYLLABLE_BEGIN) / (JUNGSEONG_COUNT * JONGSEONG_COUNT) : -1;
+    }
+
+    /** 음절의 중성 인덱스(0~20)입니다. 음절이 아니면 -1을 반환합니다. */
+    public static int jungseong(char c) {
+        return isSyllable(c) ? (c - SYLLABLE_BEGIN) / JONGSEONG_COUNT % JUNGSEONG_COUNT : -1;
+    }
+
+    /** 음절의 종성 인덱스(0은 받침 없음)입니다. 음절이 아니면 -1을 반환합니다. */
+    public static int jongseong(char c) {
+        return isSyllable(c) ? (c - SYLLABLE_BEGIN) % JONGSEONG_COUNT : -1;
+    }
+
+    public static char compose(int choseong, int jungseong, int jongseong) {
+        return (char) (SYLLABLE_BEGIN + (choseong * JUNGSEONG_COUNT + jungseong) * JONGSEONG_COUNT + jongseong);
+    }
+
+    /** 호환용 자음(ㄱ, ㄴ ...)을 초성 인덱스로 변환합니다. 초성이 될 수 없으면 -1을 반환합니다. */
+    public static int choseongOfConsonant(char c) {
+        return isCompatibilityConsonant(c) ? COMPAT_TO_CHOSEONG[c - COMPAT_CONSONANT_BEGIN] : -1;
+    }
+
+    /**
+     * 입력 중인 글자 partial에 자모를 더 입력해서 같은 자리의 글자 target이 될 수 있는지 확인합니다.
+     * <ul>
+     *     <li>자음만 입력된 경우: "ㄷ" → "되", "된" 등 초성이 같은 모든 글자</li>
+     *     <li>받침이 없는 경우: "고" → "곡", "과", "괜" 등 (겹모음 포함)</li>
+     *     <li>받침이 있는 경우: "달" → "닭", "닮" 등 겹받침</li>
+     * </ul>
+     * 받침이 다음 글자로 넘어가는 경우("곡" → "고기")는 {@link #detachJongseong(char)}로 따로 처리해야 합니다.
+     */
+    public static boolean canComplete(char partial, char target) {
+        if (partial == target) return true;
+        if (!isSyllable(target)) return false;
+
+        int consonant = choseongOfConsonant(partial);
+        if (consonant >= 0) {
+            return choseong(target) == consonant;
+        }
+        if (!isSyllable(partial) || choseong(partial) != choseong(target)) {
+            return false;
+        }
+        int partialJong = jongseong(partial);
+        if (partialJong == 0) {
+            return extendsJungseong(jungseong(partial), jungseong(target));
+        }
+        return jungseong(partial) == jungseong(target) && extendsJongseong(partialJong, jongseong(target));
+    }
+
+    /**
+     * [추가] 음절은 초성 자음으로, 그 외의 글자는 그대로 반환합니다. (예: '김' → 'ㄱ', 'ㄱ' → 'ㄱ', 'a' → 'a')
+     */
+    public static char toChoseongChar(char c) {
+        return isSyllable(c) ? CHOSEONG_CHARS.charAt(choseong(c)) : c;
+    }
+
+    /**
+     * [추가] 문자열의 모든 음절을 초성으로 바꾼 초성 검색 키입니다. (예: "김치찌개" → "ㄱㅊㅉㄱ", "김ㅊ" → "ㄱㅊ")
+     */
+    public static String toChoseongKey(String text) {
+        char[] key = new char[text.length()];
+        for (int i = 0; i < key.length; i++) {
+            key[i] = toChoseongChar(text.charAt(i));
+        }
+        return new String(key);
+    }
+
+    /**
+     * [추가] 자음만 입력된 글자가 하나라도 있는지 확인합니다. ("ㄱㅊ", "김ㅊ"은 true, "김치"는 false)
+     */
+    public static boolean containsConsonant(String text) {
+        for (int i = 0; i < text.length(); i++) {
+            if (isCompatibilityConsonant(text.charAt(i))) return true;
+        }
+        return false;
+    }
+
+    /**
+     * [추가] 두 음절에서 서로 다른 자모(초성/중성/종성)의 수(0~3)입니다. 한글 음절이 아니면 같을 때 0, 다를 때 3입니다.
+     * 오타 교정에서 "고춧가루"와 "고추가루"처럼 받침 하나만 다른 글자를 가깝게 취급하기 위해 사용합니다.
+     */
+    public static int jamoDifference(char a, char b) {
+        if (a == b) return 0;
+        if (!isSyllable(a) || !isSyllable(b)) return 3;
+        int offsetA = a - SYLLABLE_BEGIN;
+        int offsetB = b - SYLLABLE_BEGIN;
+        int difference = 0;
+        if (offsetA / (JUNGSEONG_COUNT * JONGSEONG_COUNT) != offsetB / (JUNGSEONG_COUNT * JONGSEONG_COUNT)) difference++;
+        if (offsetA / JONGSEONG_COUNT % JUNGSEONG_COUNT != offsetB / JONGSEONG_COUNT % JUNGSEONG_COUNT) difference++;
+        if (offsetA % JONGSEONG_COUNT != offsetB % JONGSEONG_COUNT) difference++;
+        return difference;
+    }
+
+    public static boolean hasJongseong(char c) {
+        return jongseong(c) > 0;
+    }
+
+    /**
+     * 다음에 모음이 입력될 경우 받침이 빠지고 남는 글자입니다. (예: "곡" → "고", "닭" → "달")
+     * 받침이 없는 글자는 그대로 반환합니다.
+     */
+    public static char detachJongseong(char c) {
+        int jong = jongseong(c);
+        if (jong <= 0) return c;
+        return compose(choseong(c), jungseong(c), JONGSEONG_SPLIT[jong][0]);
+    }
+
+    /**
+     * 다음에 모음이 입력될 경우 다음 글자의 초성으로 넘어가는 자음의 초성 인덱스입니다. (예: "곡" → ㄱ, "닭" → ㄱ)
+     * 받침이 없으면 -1을 반환합니다.
+     */
+    public static int detachedChoseong(char c) {
+        int jong = jongseong(c);
+        return jong <= 0 ? -1 : JONGSEONG_SPLIT[jong][1];
+    }
+
+    /** ㅗ → ㅘ/ㅙ/ㅚ, ㅜ → ㅝ/ㅞ/ㅟ, ㅡ → ㅢ 처럼 모음을 더 입력해 만들 수 있는 겹모음인지 확인합니다. */
+    private static boolean extendsJungseong(int partial, int target) {
+        if (partial == target) return true;
+        switch (partial) {
+            case 8:  return target >= 9 && target <= 11;   // ㅗ
+            case 9:  return target == 10;                  // ㅘ → ㅙ
+            case 13: return target >= 14 && target <= 16;  // ㅜ
+            case 14: return target == 15;                  // ㅝ → ㅞ
+            case 18: return target == 19;                  // ㅡ
+            default: return false;
+        }
+    }
+
+    /** ㄱ → ㄳ, ㄴ → ㄵ/ㄶ, ㄹ → ㄺ~ㅀ, ㅂ → ㅄ 처럼 자음을 더 입력해 만들 수 있는 겹받침인지 확인합니다. */
+    private static boolean extendsJongseong(int partial, int target) {
+        if (partial == target) return true;
+        switch (partial) {
+            case 1:  return target == 3;
+            case 4:  return target == 5 || target == 6;
+            case 8:  return target >= 9 && target <= 15;
+            case 17: return target == 18;
+            default: return false;
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.example.food_recipe.utils;
+
+import android.os.Handler;
+import android.os.Looper;
+import android.os.SystemClock;
+
+/**
+ * [추가] 메인 스레드에서 지연 작업을 예약하고 경과 시간을 재는 타이머입니다.
+ * 디바운스나 마감 시간처럼 시간에 따라 동작이 달라지는 코드가 {@link Handler}와 {@link SystemClock}을 직접 쓰지 않도록 분리하여,
+ * 단위 테스트에서는 시간을 직접 진행시키는 가짜 타이머를 주입할 수 있게 합니다.
+ */
+public interface MainThreadTimer {
+
+    /** 기기가 부팅된 뒤 흐른 시간(ms)입니다. 경과 시간 계산에만 사용합니다. */
+    long now();
+
+    /** delayMs가 지난 뒤 메인 스레드에서 task를 실행합니다. */
+    void postDelayed(Runnable task, long delayMs);
+
+    /** 아직 실행되지 않은 task의 예약을 취소합니다. */
+    void cancel(Runnable task);
+
+    /**
+     * 메인 루퍼의 {@link Handler}와 {@link SystemClock#elapsedRealtime()}을 사용하는 기본 타이머를 만듭니다.
+     */
+    static MainThreadTimer system() {
+        Handler handler = new Handler(Looper.getMainLooper());
+        return new MainThreadTimer() {
+            @Override
+            public long now() {
+                return SystemClock.elapsedRealtime();
+            }
+
+            @Override
+            public void postDelayed(Runnable task, long delayMs) {
+                handler.postDelayed(task, delayMs);
+            }
+
+            @Override
+            public void cancel(Runnable task) {
+                handler.removeCallbacks(task);
+            }
+        };
+    }
+}
@@ -14,6 +14,11 @@ import java.util.stream.Collectors;
  */
 public class StringUtils {
 
+    /**
+     * [추가] 검색어에서 칩으로 만들지 않을 단어 목록입니다. Okt 명사 추출과 사전 기반 명사 추출이 같은 목록을 사용합니다.
+     */
+    public static final List<String> SEARCH_STOP_WORDS = List.of("레시피", "방법", "만들기", "요리");
+
     // --- [추가] 재료명 정규화를 위한 상수 정의 ---
 
     /**
@@ -116,9 +121,8 @@ public class StringUtils {
                 .collect(Collectors.toList());
 
 
-        // 3. 불용어 사전을 정의하고, 해당 단어들을 결과에서 제거합니다.
-        List<String> stopWords = List.of("레시피", "방법", "만들기", "요리");
-        nouns.removeAll(stopWords);
+        // 3. 불용어를 결과에서 제거합니다.
+        nouns.removeAll(SEARCH_STOP_WORDS);
 
         // 4. 추출 및 필터링된 명사들을 공백으로 연결하여 최종 검색어를 만듭니다.
         return String.join(" ", nouns);
@@ -0,0 +1,99 @@
+package com.example.food_recipe.home;
+
+import com.example.food_recipe.search.IngredientLexicon;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+/**
+ * {@link IngredientOverlapScorer}가 냉장고 재료와 겹치는 정도로 후보를 정렬하는지 검증합니다.
+ */
+public class IngredientOverlapScorerTest {
+
+    private static final IngredientLexicon LEXICON = lexicon("김치", "돼지고기", "두부", "대파", "고춧가루", "밥", "참기름",
+            "우유", "버터", "밀가루", "양파", "소금", "트러플", "감자", "당근", "간장", "된장", "고추장");
+
+    @Test
+    public void top_ranksMoreOverlapFirst() {
+        IngredientOverlapScorer scorer = new IngredientOverlapScorer(LEXICON, Arrays.asList("김치", "돼지고기", "두부", "대파"));
+        scorer.add(Arrays.asList("김치", "밥", "참기름"), 10);
+        scorer.add(Arrays.asList("김치", "돼지고기", "두부", "대파", "고춧가루"), 0);
+        scorer.add(Arrays.asList("우유", "버터", "밀가루"), 100);
+        scorer.add(Arrays.asList("김치", "돼지고기", "양파"), 0);
+
+        assertArrayEquals(new int[]{1, 3, 0, 2}, scorer.top(10));
+        assertArrayEquals(new int[]{1, 3}, scorer.top(2));
+    }
+
+    @Test
+    public void top_weighsRareIngredientsAboveCommonOnes() {
+        IngredientOverlapScorer scorer = new IngredientOverlapScorer(LEXICON, Arrays.asList("소금", "트러플"));
+        // 소금은 모든 후보에 들어 있으므로, 트러플이 겹치는 후보가 더 높은 점수를 받습니다.
+        scorer.add(Arrays.asList("소금", "감자"), 0);
+        scorer.add(Arrays.asList("트러플", "감자"), 0);
+        scorer.add(Arrays.asList("소금", "양파"), 0);
+        scorer.add(Arrays.asList("소금", "당근"), 0);
+
+        assertEquals(1, scorer.top(1)[0]);
+    }
+
+    @Test
+    public void top_breaksTiesByRecommendCountThenOrder() {
+        IngredientOverlapScorer scorer = new IngredientOverlapScorer(LEXICON, Collections.singletonList("두부"));
+        scorer.add(Arrays.asList("두부", "간장"), 5);
+        scorer.add(Arrays.asList("두부", "된장"), 50);
+        scorer.add(Arrays.asList("두부", "고추장"), 5);
+
+        assertArrayEquals(new int[]{1, 0, 2}, scorer.top(3));
+    }
+
+    @Test
+    public void add_normalizesAndDeduplicatesIngredients() {
+        IngredientOverlapScorer scorer = new IngredientOverlapScorer(LEXICON, Arrays.asList(" 대파", "대파"));
+        scorer.add(Arrays.asList("대 파", "대파", null, ""), 0);
+        scorer.add(null, 0);
+
+        double[] scores = scorer.scores();
+        assertEquals(1.0, scores[0], 1e-9);
+        assertEquals(0.0, scores[1], 0);
+        assertEquals(2, scorer.size());
+    }
+
+    @Test
+    public void add_matchesIngredientsTheWaySearchRankingDoes() {
+        // 검색 화면의 냉장고 재료 정렬과 같이, 수량이 붙은 항목도 가장 앞의 재료명으로 알아봅니다.
+        IngredientOverlapScorer scorer = new IngredientOverlapScorer(LEXICON, Arrays.asList("돼지고기", "김치"));
+        scorer.add(Arrays.asList("돼지고기 200g", "김치 1/4포기"), 0);
+
+        assertEquals(LEXICON.ingredientId("돼지고기"), LEXICON.ingredientId("돼지고기 200g"));
+        assertEquals(1.0, scorer.scores()[0], 1e-9);
+    }
+
+    @Test
+    public void scores_countUnknownIngredientsAgainstRecipe() {
+        IngredientOverlapScorer scorer = new IngredientOverlapScorer(LEXICON, Arrays.asList("김치", "두부"));
+        scorer.add(Arrays.asList("김치", "두부", "알 수 없는 재료", "사전에 없는 양념"), 0);
+        scorer.add(Arrays.asList("김치", "두부"), 0);
+
+        // 냉장고 재료와 겹치는 정도는 같지만, 사전에 없는 재료가 더 많은 레시피가 뒤로 갑니다.
+        assertArrayEquals(new int[]{1, 0}, scorer.top(2));
+        // 사전에 없는 재료는 어느 후보에도 없는 재료의 가중치 ln(N + 1) + 1로 분모에 더해집니다.
+        double shared = 2 * (Math.log(3.0 / 3.0) + 1);
+        double unknown = 2 * (Math.log(3.0) + 1);
+        assertEquals(shared / (shared + unknown), scorer.scores()[0], 1e-9);
+        assertEquals(1.0, scorer.scores()[1], 1e-9);
+    }
+
+    private static IngredientLexicon lexicon(String... ingredients) {
+        IngredientLexicon.Builder builder = new IngredientLexicon.Builder();
+        for (String ingredient : ingredients) {
+            builder.add(ingredient, 1);
+        }
+        return builder.build();
+    }
+}
@@ -0,0 +1,158 @@
+package com.example.food_recipe.home;
+
+import com.example.food_recipe.utils.ManualTimer;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * {@link RecommendationTierExecutor}가 마감 시간과 단계별 결과에 따라 전달할 단계를 고르는지 검증합니다.
+ */
+public class RecommendationTierExecutorTest {
+
+    private static final long DEADLINE_MS = 1000;
+
+    private final ManualTimer timer = new ManualTimer();
+    private final RecommendationTierExecutor<String> executor = new RecommendationTierExecutor<>(DEADLINE_MS, timer);
+    private final Recorder recorder = new Recorder();
+
+    private final FakeTier pantry = new FakeTier();
+    private final FakeTier favorite = new FakeTier();
+    private final FakeTier popular = new FakeTier();
+
+    private void execute() {
+        executor.execute(Arrays.asList(
+                new RecommendationTierExecutor.Tier<>("pantry", false, pantry),
+                new RecommendationTierExecutor.Tier<>("favorite", false, favorite),
+                new RecommendationTierExecutor.Tier<>("popular", true, popular)), recorder);
+    }
+
+    @Test
+    public void firstTier_winsWhenItAnswersBeforeDeadline() {
+        execute();
+        popular.answer(Collections.singletonList("인기"));
+        timer.advance(DEADLINE_MS / 2);
+        pantry.answer(Collections.singletonList("냉장고"));
+
+        assertEquals(Collections.singletonList(Collections.singletonList("냉장고")), recorder.results);
+        assertEquals("pantry", executor.getStats().lastServedTier);
+        assertEquals(0, executor.getStats().deadlineMisses);
+        assertEquals(0, timer.pendingCount());
+    }
+
+    @Test
+    public void lowerTier_isServedAfterDeadline() {
+        execute();
+        popular.answer(Collections.singletonList("인기"));
+        timer.advance(DEADLINE_MS - 1);
+        assertTrue(recorder.results.isEmpty());
+
+        timer.advance(1);
+        pantry.answer(Collections.singletonList("냉장고"));
+
+        // 마감 시간에 도착해 있던 인기 목록을 전달하고, 늦게 온 1순위 결과는 다시 전달하지 않습니다.
+        assertEquals(Collections.singletonList(Collections.singletonList("인기")), recorder.results);
+        assertEquals("popular", executor.getStats().lastServedTier);
+        assertEquals(1, executor.getStats().deadlineMisses);
+    }
+
+    @Test
+    public void nonSpeculativeTier_startsOnlyAfterTiersAboveAreEmpty() {
+        execute();
+        assertEquals(1, pantry.launches());
+        assertEquals(0, favorite.launches());
+        assertEquals(1, popular.launches());
+
+        pantry.answer(Collections.emptyList());
+        assertEquals(1, favorite.launches());
+
+        popular.answer(Collections.singletonList("인기"));
+        favorite.answer(Collections.singletonList("취향"));
+        assertEquals(Collections.singletonList(Collections.singletonList("취향")), recorder.results);
+    }
+
+    @Test
+    public void allTiersEmpty_deliversEmptyList() {
+        execute();
+        popular.answer(Collections.emptyList());
+        pantry.fail(new IllegalStateException("pantry"));
+        favorite.answer(Collections.emptyList());
+
+        assertEquals(Collections.singletonList(Collections.emptyList()), recorder.results);
+        assertTrue(recorder.errors.isEmpty());
+        assertNull(executor.getStats().lastServedTier);
+    }
+
+    @Test
+    public void allTiersFailed_deliversLastError() {
+        Exception last = new IllegalStateException("favorite");
+        execute();
+        popular.fail(new IllegalStateException("popular"));
+        pantry.fail(new IllegalStateException("pantry"));
+        favorite.fail(last);
+
+        assertTrue(recorder.results.isEmpty());
+        assertEquals(1, recorder.errors.size());
+        assertSame(last, recorder.errors.get(0));
+    }
+
+    @Test
+    public void secondCallbackFromSameTier_isIgnored() {
+        execute();
+        pantry.answer(Collections.emptyList());
+        pantry.answer(Collections.singletonList("냉장고"));
+        assertTrue(recorder.results.isEmpty());
+
+        favorite.answer(Collections.singletonList("취향"));
+        favorite.answer(Collections.singletonList("취향 2"));
+
+        assertEquals(Collections.singletonList(Collections.singletonList("취향")), recorder.results);
+        assertTrue(executor.getStats().toString().contains("pantry(launch=1, served=0, empty=1, fail=0"));
+    }
+
+    /** 테스트가 정한 시점에 마지막으로 받은 콜백으로 응답하는 단계입니다. */
+    private static final class FakeTier implements RecommendationTierExecutor.TierFetcher<String> {
+        final List<HomeContract.Model.OnFinishedListener<List<String>>> callbacks = new ArrayList<>();
+
+        @Override
+        public void fetch(HomeContract.Model.OnFinishedListener<List<String>> callback) {
+            callbacks.add(callback);
+        }
+
+        int launches() {
+            return callbacks.size();
+        }
+
+        void answer(List<String> result) {
+            callbacks.get(callbacks.size() - 1).onSuccess(result);
+        }
+
+        void fail(Exception e) {
+            callbacks.get(callbacks.size() - 1).onError(e);
+        }
+    }
+
+    private static final class Recorder implements HomeContract.Model.OnFinishedListener<List<String>> {
+        final List<List<String>> results = new ArrayList<>();
+        final List<Exception> errors = new ArrayList<>();
+
+        @Override
+        public void onSuccess(List<String> result) {
+            results.add(result);
+        }
+
+        @Override
+        public void onError(Exception e) {
+            errors.add(e);
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.example.food_recipe.search;
+
+import com.example.food_recipe.model.Recipe;
+import com.example.food_recipe.model.SearchHit;
+
+import org.json.JSONObject;
+import org.junit.Test;
+
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * 기존 org.json DOM 파싱(parseRecipes)과 {@link AlgoliaHitDecoder}의 결과가 같은지 검증합니다.
+ * 비교에 쓰는 응답은 {@link AlgoliaResponses}를 참고하세요. 디코딩 시간과 할당량 비교는 {@link SearchBenchmark}에 있습니다.
+ */
+public class AlgoliaHitDecoderTest {
+
+    @Test
+    public void streamingDecoder_matchesLegacyParser() throws Exception {
+        for (String response : AlgoliaResponses.load()) {
+            List<Recipe> legacy = AlgoliaResponses.LegacyParser.parseRecipes(new JSONObject(response));
+            List<SearchHit> streamed = AlgoliaHitDecoder.decode(new StringReader(response)).getHits();
+            // [추가] 카드 속성만 받은 응답도 같은 결과로 디코딩되어야 합니다.
+            List<SearchHit> projected = AlgoliaHitDecoder.decode(new StringReader(AlgoliaResponses.project(response))).getHits();
+
+            assertEquals(legacy.size(), streamed.size());
+            assertEquals(streamed, projected);
+            for (int i = 0; i < legacy.size(); i++) {
+                assertEquals(legacy.get(i).getRcpSno(), streamed.get(i).getRcpSno());
+                assertEquals(legacy.get(i).getTitle(), streamed.get(i).getTitle());
+                assertEquals(legacy.get(i).getImageUrl(), streamed.get(i).getImageUrl());
+                assertEquals(legacy.get(i).getCookingTime(), streamed.get(i).getCookingTime());
+                assertEquals(legacy.get(i).getIngredientsRaw(), streamed.get(i).getIngredientsSummary());
+            }
+        }
+    }
+
+    /** [추가] 첫 페이지 응답의 facets를 서버가 보낸 순서대로 읽고, 패싯 필터에 쓰는 필드를 결과에 담는지 확인합니다. */
+    @Test
+    public void decode_readsFacetCountsAndFacetFields() throws Exception {
+        String response = "{\"hits\":[{\"objectID\":\"1\",\"title\":\"된장국\",\"category_kind\":\"국\",\"difficulty\":\"초급\"}],"
+                + "\"nbHits\":1,\"page\":0,\"nbPages\":1,"
+                + "\"facets\":{\"category_kind\":{\"반찬\":120,\"국\":80},\"difficulty\":{\"초급\":150}}}";
+        SearchResult result = AlgoliaHitDecoder.decode(new StringReader(response));
+
+        assertEquals(Arrays.asList("반찬", "국"), new ArrayList<>(result.getFacets().get("category_kind").keySet()));
+        assertEquals(Integer.valueOf(150), result.getFacets().get("difficulty").get("초급"));
+        assertEquals("국", result.getHits().get(0).getCategoryKind());
+        assertEquals("초급", result.getHits().get(0).getDifficulty());
+    }
+
+    @Test
+    public void decoder_readsPagingFields() throws Exception {
+        SearchResult page = AlgoliaHitDecoder.decode(new StringReader(
+                "{\"hits\":[],\"nbHits\":42,\"page\":2,\"nbPages\":3,\"processingTimeMS\":1}"));
+        assertEquals(42, page.getNbHits());
+        assertEquals(2, page.getPage());
+        assertEquals(3, page.getNbPages());
+    }
+}
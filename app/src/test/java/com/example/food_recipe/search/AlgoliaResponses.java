@@ -0,0 +1,219 @@
+package com.example.food_recipe.search;
+
+import com.example.food_recipe.model.CookingStep;
+import com.example.food_recipe.model.Recipe;
+
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+
+import java.io.File;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * {@link AlgoliaHitDecoderTest}와 {@link SearchBenchmark}가 함께 쓰는 Algolia 검색 응답과 비교 기준 파서입니다.
+ * - src/test/resources/algolia/ 아래에 실제 Algolia 응답(*.json)을 저장해 두면 그 파일들을 사용합니다.
+ * - 저장된 응답이 없으면 실제 응답과 같은 구조(하이라이트, 부가 필드 포함)의 합성 응답을 생성해 사용합니다.
+ */
+final class AlgoliaResponses {
+
+    private AlgoliaResponses() {
+    }
+
+    static List<String> load() throws Exception {
+        List<String> responses = new ArrayList<>();
+        URL directory = AlgoliaResponses.class.getClassLoader().getResource("algolia");
+        if (directory != null && "file".equals(directory.getProtocol())) {
+            File[] files = new File(directory.toURI()).listFiles((dir, name) -> name.endsWith(".json"));
+            if (files != null) {
+                for (File file : files) {
+                    responses.add(new String(Files.readAllBytes(file.toPath()), StandardCharsets.UTF_8));
+                }
+            }
+        }
+        if (responses.isEmpty()) {
+            Random random = new Random(42);
+            responses.add(syntheticResponse(random, 20, true));
+            responses.add(syntheticResponse(random, 20, false));
+            responses.add(syntheticResponse(random, 100, true));
+        }
+        return responses;
+    }
+
+    private static final String[] INGREDIENTS = {
+            "김치", "돼지고기", "두부", "대파", "양파", "마늘", "고추가루", "간장", "설탕", "참기름",
+            "계란", "애호박", "감자", "당근", "소금", "후추", "된장", "고추장", "참치", "밥"
+    };
+
+    /**
+     * 실제 Algolia 응답과 같은 구조의 합성 응답을 만듭니다. 사용하지 않는 필드(cooking_steps 등)도 포함해 건너뛰기 비용을 반영합니다.
+     */
+    private static String syntheticResponse(Random random, int hitCount, boolean highlighted) throws JSONException {
+        JSONArray hits = new JSONArray();
+        for (int i = 0; i < hitCount; i++) {
+            JSONObject hit = new JSONObject();
+            List<String> ingredients = new ArrayList<>();
+            int ingredientCount = 5 + random.nextInt(10);
+            for (int j = 0; j < ingredientCount; j++) {
+                ingredients.add(INGREDIENTS[random.nextInt(INGREDIENTS.length)]);
+            }
+            String title = ingredients.get(0) + " " + ingredients.get(1) + " 볶음 " + i;
+
+            hit.put("objectID", String.valueOf(6800000 + random.nextInt(100000)));
+            hit.put("title", title);
+            hit.put("imageUrl", "https://recipe1.ezmember.co.kr/cache/recipe/2020/01/01/" + i + ".jpg");
+            hit.put("cooking_time", (10 + random.nextInt(50)) + "분 이내");
+            hit.put("difficulty", "아무나");
+            hit.put("category_kind", "반찬");
+            hit.put("recommend_count", random.nextInt(5000));
+            hit.put("ingredients", new JSONArray(ingredients));
+            hit.put("ingredients_raw", String.join(" ", ingredients) + " 각 1큰술씩 준비합니다.");
+            JSONArray steps = new JSONArray();
+            for (int s = 1; s <= 6; s++) {
+                steps.put(new JSONObject().put("step", s).put("description", "재료를 손질하고 " + s + "분간 볶아줍니다.")
+                        .put("imageUrl", "https://recipe1.ezmember.co.kr/cache/step/" + i + "_" + s + ".jpg"));
+            }
+            hit.put("cooking_steps", steps);
+
+            if (highlighted) {
+                JSONObject highlight = new JSONObject();
+                highlight.put("title", highlightValue(title.replace(ingredients.get(0), "<b>" + ingredients.get(0) + "</b>")));
+                JSONArray highlightedIngredients = new JSONArray();
+                for (int j = 0; j < ingredients.size(); j++) {
+                    String value = j == 0 ? "<b>" + ingredients.get(j) + "</b>" : ingredients.get(j);
+                    highlightedIngredients.put(highlightValue(value));
+                }
+                highlight.put("ingredients", highlightedIngredients);
+                hit.put("_highlightResult", highlight);
+            }
+            hits.put(hit);
+        }
+        return new JSONObject()
+                .put("hits", hits)
+                .put("nbHits", hitCount * 7)
+                .put("page", 0)
+                .put("nbPages", 7)
+                .put("hitsPerPage", hitCount)
+                .put("processingTimeMS", 2)
+                .put("query", "김치")
+                .put("params", "query=%EA%B9%80%EC%B9%98")
+                .toString();
+    }
+
+    private static JSONObject highlightValue(String value) throws JSONException {
+        return new JSONObject()
+                .put("value", value)
+                .put("matchLevel", value.contains("<b>") ? "full" : "none")
+                .put("matchedWords", new JSONArray());
+    }
+
+    /**
+     * 스트리밍 디코더 도입 전 SearchModel.parseRecipes()의 구현을 비교 기준으로 그대로 보관합니다.
+     */
+    static final class LegacyParser {
+        static List<Recipe> parseRecipes(JSONObject json) throws JSONException {
+            return parseRecipes(json, false);
+        }
+
+        /**
+         * @param fullRecord true이면 목록에서 쓰지 않는 필드(재료 목록, 조리 순서 등)도 Recipe에 채웁니다.
+         *                   속성을 제한하지 않은 응답을 Recipe로 보관하던 경우의 유지 힙 비교에 사용합니다.
+         */
+        static List<Recipe> parseRecipes(JSONObject json, boolean fullRecord) throws JSONException {
+            List<Recipe> recipes = new ArrayList<>();
+            JSONArray hits = json.getJSONArray("hits");
+            for (int i = 0; i < hits.length(); i++) {
+                JSONObject hit = hits.getJSONObject(i);
+                Recipe recipe = new Recipe();
+
+                JSONObject highlightResult = hit.optJSONObject("_highlightResult");
+
+                String title;
+                if (highlightResult != null && highlightResult.has("title")) {
+                    title = highlightResult.getJSONObject("title").getString("value");
+                } else {
+                    title = hit.optString("title", "제목 없음");
+                }
+
+                String ingredientsRaw;
+                if (highlightResult != null && highlightResult.has("ingredients")) {
+                    JSONArray highlightedIngredients = highlightResult.getJSONArray("ingredients");
+                    List<String> ingredientsList = new ArrayList<>();
+                    for (int j = 0; j < highlightedIngredients.length(); j++) {
+                        ingredientsList.add(highlightedIngredients.getJSONObject(j).getString("value"));
+                    }
+                    ingredientsRaw = String.join(", ", ingredientsList);
+                } else {
+                    JSONArray ingredientsArray = hit.optJSONArray("ingredients");
+                    if (ingredientsArray != null && ingredientsArray.length() > 0) {
+                        List<String> ingredientsList = new ArrayList<>();
+                        for (int j = 0; j < ingredientsArray.length(); j++) {
+                            ingredientsList.add(ingredientsArray.getString(j));
+                        }
+                        ingredientsRaw = String.join(", ", ingredientsList);
+                    } else {
+                        ingredientsRaw = "재료 정보 없음";
+                    }
+                }
+
+                recipe.setRcpSno(hit.getString("objectID"));
+                recipe.setTitle(title);
+                recipe.setImageUrl(hit.optString("imageUrl", ""));
+                recipe.setCookingTime(hit.optString("cooking_time", "정보 없음"));
+                recipe.setIngredientsRaw(ingredientsRaw);
+                if (fullRecord) {
+                    recipe.setDifficulty(hit.optString("difficulty", null));
+                    recipe.setCategoryKind(hit.optString("category_kind", null));
+                    JSONArray ingredientsArray = hit.optJSONArray("ingredients");
+                    List<String> ingredients = new ArrayList<>();
+                    for (int j = 0; ingredientsArray != null && j < ingredientsArray.length(); j++) {
+                        ingredients.add(ingredientsArray.getString(j));
+                    }
+                    recipe.setIngredients(ingredients);
+                    JSONArray stepsArray = hit.optJSONArray("cooking_steps");
+                    List<CookingStep> steps = new ArrayList<>();
+                    for (int j = 0; stepsArray != null && j < stepsArray.length(); j++) {
+                        JSONObject step = stepsArray.getJSONObject(j);
+                        CookingStep cookingStep = new CookingStep();
+                        cookingStep.setStep(step.optInt("step"));
+                        cookingStep.setDescription(step.optString("description"));
+                        cookingStep.setImageUrl(step.optString("imageUrl"));
+                        steps.add(cookingStep);
+                    }
+                    recipe.setCookingSteps(steps);
+                }
+
+                recipes.add(recipe);
+            }
+            return recipes;
+        }
+    }
+
+    /**
+     * 응답의 hit에서 {@link SearchModel#LIST_ATTRIBUTES}와 objectID, _highlightResult만 남깁니다.
+     * (attributesToRetrieve를 지정했을 때 Algolia가 반환하는 형태)
+     */
+    static String project(String response) throws JSONException {
+        Set<String> keep = new HashSet<>(Arrays.asList(SearchModel.LIST_ATTRIBUTES));
+        keep.add("objectID");
+        keep.add("_highlightResult");
+        JSONObject json = new JSONObject(response);
+        JSONArray hits = json.getJSONArray("hits");
+        for (int i = 0; i < hits.length(); i++) {
+            JSONObject hit = hits.getJSONObject(i);
+            for (Iterator<String> keys = hit.keys(); keys.hasNext(); ) {
+                if (!keep.contains(keys.next())) keys.remove();
+            }
+        }
+        return json.toString();
+    }
+}
@@ -0,0 +1,62 @@
+package com.example.food_recipe.search;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * {@link ChosungIndex}의 초성/혼합 입력 검색과 순위를 검증하는 로컬 단위 테스트입니다.
+ */
+public class ChosungIndexTest {
+
+    private ChosungIndex index;
+
+    @Before
+    public void setUp() {
+        index = new ChosungIndex.Builder()
+                .add("김치", 300)
+                .add("깻잎", 40)
+                .add("고추", 120)
+                .add("대파", 200)
+                .add("두부", 150)
+                .addTitle("돼지고기 김치찌개 만들기")
+                .addTitle("참치 김치찌개")
+                .build();
+    }
+
+    @Test
+    public void search_resolvesConsonantOnlyInput() {
+        assertEquals(Arrays.asList("김치", "고추", "김치찌개"), index.search("ㄱㅊ", 8));
+        assertEquals(Collections.singletonList("대파"), index.search("ㄷㅍ", 8));
+        assertEquals(Collections.singletonList("김치찌개"), index.search("ㄱㅊㅉㄱ", 8));
+    }
+
+    @Test
+    public void search_requiresCompletedSyllablesInMixedInput() {
+        assertEquals(Arrays.asList("김치", "김치찌개"), index.search("김ㅊ", 8));
+        assertEquals(Collections.singletonList("고추"), index.search("고ㅊ", 8));
+        // 마지막 글자는 조합 중인 글자로 취급합니다. ("이" → "잎")
+        assertEquals(Collections.singletonList("깻잎"), index.search("ㄲ이", 8));
+    }
+
+    @Test
+    public void addTitle_indexesTitleWordsExceptStopWords() {
+        assertTrue(index.search("ㅁㄷㄱ", 8).isEmpty());
+        assertEquals(Collections.singletonList("돼지고기"), index.search("ㄷㅈㄱㄱ", 8));
+        assertEquals(Collections.singletonList("참치"), index.search("ㅊㅊ", 8));
+    }
+
+    @Test
+    public void isChosungQuery_requiresConsonantAndMinimumLength() {
+        assertTrue(ChosungIndex.isChosungQuery("ㄱㅊ"));
+        assertTrue(ChosungIndex.isChosungQuery("김 ㅊ"));
+        assertFalse(ChosungIndex.isChosungQuery("ㄱ"));
+        assertFalse(ChosungIndex.isChosungQuery("김치"));
+    }
+}
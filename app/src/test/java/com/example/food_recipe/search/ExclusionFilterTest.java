@@ -0,0 +1,47 @@
+package com.example.food_recipe.search;
+
+import com.example.food_recipe.model.SearchHit;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * {@link ExclusionFilter}가 제외 재료가 들어간 결과만 걸러내는지 검증합니다.
+ */
+public class ExclusionFilterTest {
+
+    private static final List<SearchHit> HITS = Arrays.asList(
+            new SearchHit("1", "크림 파스타", "", "30분 이내", "파스타면, <b>우유</b> 200ml, 베이컨"),
+            new SearchHit("2", "양파 볶음", "", "15분 이내", "양파, 간장"),
+            new SearchHit("3", "파전", "", "30분 이내", "파 1단, 밀가루, 물"),
+            new SearchHit("4", "땅콩조림", "", "30분 이내", "땅콩, 간장, 물엿"));
+
+    @Test
+    public void mask_marksHitsContainingExcludedIngredients() {
+        BitSet mask = ExclusionFilter.of(Arrays.asList("우유", "땅콩")).mask(HITS);
+
+        assertEquals(2, mask.cardinality());
+        assertTrue(mask.get(0));
+        assertTrue(mask.get(3));
+        assertTrue(ExclusionFilter.NONE.mask(HITS).isEmpty());
+        assertTrue(ExclusionFilter.of(Collections.singletonList(" ")).isEmpty());
+    }
+
+    @Test
+    public void excludes_singleSyllableMatchesWholeIngredientOnly() {
+        ExclusionFilter filter = ExclusionFilter.of(Collections.singletonList("파"));
+
+        assertFalse(filter.excludes(HITS.get(0)));
+        assertFalse(filter.excludes(HITS.get(1)));
+        assertTrue(filter.excludes(HITS.get(2)));
+        assertTrue(filter.excludes("대파 없는 국", "파, 소금"));
+    }
+}
@@ -0,0 +1,210 @@
+package com.example.food_recipe.search;
+
+import com.example.food_recipe.model.SearchHit;
+import com.example.food_recipe.utils.ManualTimer;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * {@link FederatedSearchModel}이 마감 시간과 두 소스의 응답 순서에 따라 전달할 결과를 고르는지 검증합니다.
+ */
+public class FederatedSearchModelTest {
+
+    private static final long DEADLINE_MS = 700;
+    private static final SearchQuery QUERY = SearchQuery.of(Collections.singletonList("김치"));
+
+    private final ManualTimer timer = new ManualTimer();
+    private final FakeModel remote = new FakeModel();
+    private final FakeModel local = new FakeModel();
+    private final FederatedSearchModel model = new FederatedSearchModel(remote, local, DEADLINE_MS, timer);
+    private final Recorder recorder = new Recorder();
+
+    @Test
+    public void remoteBeforeDeadline_isDeliveredAsIs() {
+        model.searchRecipes(QUERY, recorder);
+        timer.advance(100);
+        local.answer(result("l1"));
+        timer.advance(200);
+        SearchResult fromRemote = result("r1", "r2");
+        remote.answer(fromRemote);
+        timer.advance(DEADLINE_MS);
+
+        assertEquals(1, recorder.results.size());
+        assertSame(fromRemote, recorder.results.get(0));
+        FederatedSearchModel.Stats stats = model.getStats();
+        assertEquals(1, stats.races);
+        assertEquals(1, stats.remoteWins);
+        assertEquals(0, stats.localWins);
+        assertEquals(300, stats.remoteLatencyEwmaMs);
+        assertEquals(100, stats.localLatencyEwmaMs);
+    }
+
+    @Test
+    public void deadline_showsLocalFirstThenMergesRemote() {
+        model.searchRecipes(QUERY, recorder);
+        timer.advance(100);
+        SearchResult fromLocal = result("l1", "shared");
+        local.answer(fromLocal);
+        assertTrue(recorder.results.isEmpty());
+
+        timer.advance(DEADLINE_MS);
+        assertEquals(1, recorder.results.size());
+        assertSame(fromLocal, recorder.results.get(0));
+
+        timer.advance(400);
+        remote.answer(result("r1", "shared"));
+        assertEquals(2, recorder.results.size());
+        assertEquals(Arrays.asList("shared", "r1", "l1"), ids(recorder.results.get(1)));
+
+        FederatedSearchModel.Stats stats = model.getStats();
+        assertEquals(1, stats.localWins);
+        assertEquals(0, stats.remoteWins);
+        assertEquals(DEADLINE_MS + 500, stats.remoteLatencyEwmaMs);
+    }
+
+    @Test
+    public void remoteError_fallsBackToLocal() {
+        model.searchRecipes(QUERY, recorder);
+        remote.fail("network");
+        assertTrue(recorder.results.isEmpty());
+
+        SearchResult fromLocal = result("l1");
+        local.answer(fromLocal);
+
+        assertEquals(Collections.singletonList(fromLocal), recorder.results);
+        assertTrue(recorder.errors.isEmpty());
+        FederatedSearchModel.Stats stats = model.getStats();
+        assertEquals(1, stats.remoteFailures);
+        assertEquals(1, stats.localWins);
+        assertEquals(0, timer.pendingCount());
+    }
+
+    @Test
+    public void bothFailed_deliversRemoteError() {
+        model.searchRecipes(QUERY, recorder);
+        local.fail("index");
+        remote.fail("network");
+
+        assertTrue(recorder.results.isEmpty());
+        assertEquals(Collections.singletonList("network"), recorder.errors);
+        FederatedSearchModel.Stats stats = model.getStats();
+        assertEquals(1, stats.remoteFailures);
+        assertEquals(1, stats.localFailures);
+        assertEquals(0, stats.remoteWins + stats.localWins);
+    }
+
+    @Test
+    public void emptyLocal_waitsForRemotePastDeadline() {
+        model.searchRecipes(QUERY, recorder);
+        local.answer(result());
+        timer.advance(DEADLINE_MS * 2);
+        assertTrue(recorder.results.isEmpty());
+
+        SearchResult fromRemote = result("r1");
+        remote.answer(fromRemote);
+
+        assertEquals(Collections.singletonList(fromRemote), recorder.results);
+        assertEquals(1, model.getStats().remoteWins);
+        assertEquals(0, model.getStats().localWins);
+    }
+
+    @Test
+    public void cachedThenFreshRemoteAnswer_deliversBothButCountsOneWin() {
+        // CachingSearchModel은 캐시된 결과를 먼저, 새로 받은 결과를 나중에 같은 요청으로 응답합니다.
+        model.searchRecipes(QUERY, recorder);
+        SearchResult cached = result("r1");
+        remote.answer(cached);
+        timer.advance(400);
+        SearchResult fresh = result("r1", "r2");
+        remote.answer(fresh);
+        local.answer(result("l1"));
+
+        assertEquals(Arrays.asList(cached, fresh), recorder.results);
+        FederatedSearchModel.Stats stats = model.getStats();
+        assertEquals(1, stats.remoteWins);
+        assertEquals(0, stats.localWins);
+        // 지연 시간은 첫 응답으로만 기록합니다.
+        assertEquals(0, stats.remoteLatencyEwmaMs);
+    }
+
+    @Test
+    public void secondPage_goesToRemoteOnly() {
+        model.searchRecipes(QUERY.withPage(1), recorder);
+
+        assertEquals(1, remote.listeners.size());
+        assertTrue(local.listeners.isEmpty());
+        assertEquals(0, model.getStats().races);
+    }
+
+    private static SearchResult result(String... ids) {
+        List<SearchHit> hits = new ArrayList<>();
+        for (String id : ids) {
+            hits.add(new SearchHit(id, "김치찌개 " + id, "", "30분 이내", "김치", null, null));
+        }
+        return new SearchResult(hits, 0, 1, hits.size());
+    }
+
+    private static List<String> ids(SearchResult result) {
+        List<String> ids = new ArrayList<>();
+        for (SearchHit hit : result.getHits()) {
+            ids.add(hit.getRcpSno());
+        }
+        return ids;
+    }
+
+    /** 요청을 기록하고, 테스트가 응답 시점을 정하는 Model입니다. 같은 요청에 여러 번 응답할 수 있습니다. */
+    private static final class FakeModel implements SearchContract.Model {
+        final List<OnRecipesFetchedListener> listeners = new ArrayList<>();
+
+        void answer(SearchResult result) {
+            listeners.get(listeners.size() - 1).onSuccess(result);
+        }
+
+        void fail(String message) {
+            listeners.get(listeners.size() - 1).onError(message);
+        }
+
+        @Override
+        public SearchCall fetchInitialRecipes(OnRecipesFetchedListener listener) {
+            return searchRecipes(SearchQuery.empty(), listener);
+        }
+
+        @Override
+        public SearchCall searchRecipes(SearchQuery query, OnRecipesFetchedListener listener) {
+            listeners.add(listener);
+            return SearchCall.NONE;
+        }
+
+        @Override
+        public void fetchPantryItems(OnPantryItemsFetchedListener listener) {
+        }
+
+        @Override
+        public void fetchPantryDetails(OnPantryDetailsFetchedListener listener) {
+        }
+    }
+
+    private static final class Recorder implements SearchContract.Model.OnRecipesFetchedListener {
+        final List<SearchResult> results = new ArrayList<>();
+        final List<String> errors = new ArrayList<>();
+
+        @Override
+        public void onSuccess(SearchResult result) {
+            results.add(result);
+        }
+
+        @Override
+        public void onError(String message) {
+            errors.add(message);
+        }
+    }
+}
@@ -0,0 +1,156 @@
+package com.example.food_recipe.search;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import com.example.food_recipe.utils.HangulUtils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * {@link IngredientLexicon}의 접두어 자동완성, 한글 조합 중 입력 처리, 가중치 순위, 오타 교정을 검증하는 로컬 단위 테스트입니다.
+ */
+public class IngredientLexiconTest {
+
+    private IngredientLexicon lexicon;
+
+    @Before
+    public void setUp() {
+        lexicon = new IngredientLexicon.Builder()
+                .add("고기", 40)
+                .add("고구마", 25)
+                .add("고추장", 90)
+                .add("고추", 60)
+                .add("곡물", 5)
+                .add("과일", 15)
+                .add("된장", 70)
+                .add("돼지고기", 120)
+                .add("두부", 80)
+                .add("다진 마늘", 30)
+                .build();
+    }
+
+    @Test
+    public void suggest_ordersByWeight() {
+        assertEquals(Arrays.asList("고추장", "고추", "고기", "고구마", "과일", "곡물"), lexicon.suggest("고", 8));
+    }
+
+    @Test
+    public void suggest_putsExactMatchFirst() {
+        assertEquals(Arrays.asList("고추", "고추장"), lexicon.suggest("고추", 8));
+    }
+
+    @Test
+    public void suggest_handlesSyllableBeingComposed() {
+        // "된장"을 입력하는 도중의 "된자", 초성만 입력된 "ㄷ"
+        assertEquals(Collections.singletonList("된장"), lexicon.suggest("된자", 8));
+        assertEquals(Arrays.asList("돼지고기", "두부", "된장", "다진마늘"), lexicon.suggest("ㄷ", 8));
+    }
+
+    @Test
+    public void suggest_handlesFinalConsonantMovingToNextSyllable() {
+        // "고기"를 입력하는 도중에는 "곡"이 먼저 나타납니다.
+        assertEquals(Arrays.asList("고기", "고구마", "곡물"), lexicon.suggest("곡", 8));
+    }
+
+    @Test
+    public void suggest_ignoresWhitespaceAndRespectsLimit() {
+        assertEquals(Collections.singletonList("다진마늘"), lexicon.suggest("다진 마", 8));
+        assertEquals(2, lexicon.suggest("고", 2).size());
+        assertTrue(lexicon.suggest("없는재료", 8).isEmpty());
+        assertTrue(lexicon.suggest("  ", 8).isEmpty());
+    }
+
+    @Test
+    public void fromIndex_usesRecipeCountAsWeight() {
+        LocalRecipeIndex index = new LocalRecipeIndex.Builder()
+                .add("1", "김치찌개", "", "", Arrays.asList("김치", "두부"), 0)
+                .add("2", "김치볶음밥", "", "", Arrays.asList("김치", "김"), 0)
+                .add("3", "김밥", "", "", Collections.singletonList("김"), 0)
+                .add("4", "김치전", "", "", Collections.singletonList("김치"), 0)
+                .build();
+        IngredientLexicon fromIndex = IngredientLexicon.fromIndex(index);
+
+        assertEquals(3, fromIndex.size());
+        assertTrue(fromIndex.contains("김치"));
+        assertEquals(Arrays.asList("김", "김치"), fromIndex.suggest("김", 8));
+        assertEquals(Collections.singletonList("김치"), fromIndex.suggest("김ㅊ", 8));
+    }
+
+    @Test
+    public void snap_correctsSpellingVariantsAndTypos() {
+        IngredientLexicon pantry = new IngredientLexicon.Builder()
+                .add("고추가루", 90)
+                .add("감자", 60)
+                .add("간장", 120)
+                .add("김치", 300)
+                .add("고기", 40)
+                .build();
+
+        assertEquals("고추가루", pantry.snap("고춧가루"));
+        assertEquals("고추가루", pantry.snap("고추 가루"));
+        assertEquals("감자", pantry.snap("감쟈"));
+        assertEquals("감자", pantry.snap("감자"));
+        // 두 글자 단어는 자모 하나까지만 허용하며, 거리가 같으면 더 많이 쓰이는 재료로 교정합니다. (감장 → 간장/감자)
+        assertEquals("간장", pantry.snap("감장"));
+        assertNull(pantry.snap("김밥"));
+        assertNull(pantry.snap("퍄"));
+        assertEquals(Collections.singletonList("감자"), pantry.suggestSimilar("감쟈", 8));
+    }
+
+    @Test
+    public void suggestSimilar_matchesBruteForce() {
+        Random random = new Random(11);
+        IngredientLexicon.Builder builder = new IngredientLexicon.Builder();
+        for (int i = 0; i < 3000; i++) {
+            builder.add(randomTerm(random, 30), random.nextInt(1000));
+        }
+        IngredientLexicon large = builder.build();
+
+        for (int q = 0; q < 200; q++) {
+            String query = randomTerm(random, 30);
+            int maxDistance = IngredientLexicon.maxDistanceFor(query.length());
+            List<String> expected = new ArrayList<>();
+            for (int i = 0; i < large.size(); i++) {
+                if (distance(large.term(i), query) <= maxDistance) expected.add(large.term(i));
+            }
+            List<String> actual = large.suggestSimilar(query, large.size());
+            Collections.sort(expected);
+            Collections.sort(actual);
+            assertEquals(query, expected, actual);
+        }
+    }
+
+    /** 교정 결과와 비교하기 위한 단순 편집 거리입니다. (자모 차이 수를 치환 비용으로 사용) */
+    private static int distance(String a, String b) {
+        int cost = IngredientLexicon.SYLLABLE_COST;
+        int[][] d = new int[a.length() + 1][b.length() + 1];
+        for (int i = 0; i <= a.length(); i++) d[i][0] = i * cost;
+        for (int j = 0; j <= b.length(); j++) d[0][j] = j * cost;
+        for (int i = 1; i <= a.length(); i++) {
+            for (int j = 1; j <= b.length(); j++) {
+                d[i][j] = Math.min(d[i - 1][j - 1] + HangulUtils.jamoDifference(a.charAt(i - 1), b.charAt(j - 1)),
+                        Math.min(d[i - 1][j], d[i][j - 1]) + cost);
+            }
+        }
+        return d[a.length()][b.length()];
+    }
+
+    /** 음절 번호 0..syllables-1 범위의 한글 음절 2~5개로 된 임의의 재료명입니다. */
+    static String randomTerm(Random random, int syllables) {
+        StringBuilder term = new StringBuilder();
+        int length = 2 + random.nextInt(4);
+        for (int j = 0; j < length; j++) {
+            term.append((char) ('가' + random.nextInt(syllables)));
+        }
+        return term.toString();
+    }
+}
@@ -0,0 +1,96 @@
+package com.example.food_recipe.search;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * {@link LocalRecipeIndex}의 검색, 랭킹, 하이라이트, 직렬화 동작을 검증하는 로컬 단위 테스트입니다.
+ */
+public class LocalRecipeIndexTest {
+
+    private LocalRecipeIndex index;
+
+    @Before
+    public void setUp() {
+        index = new LocalRecipeIndex.Builder()
+                .add("1", "돼지고기 김치찌개", "http://img/1.jpg", "30분", Arrays.asList("김치", "돼지고기", "두부"), 10)
+                .add("2", "참치 김치볶음밥", "http://img/2.jpg", "15분", Arrays.asList("김치", "참치", "밥"), 50)
+                .add("3", "된장찌개", "http://img/3.jpg", "20분", Arrays.asList("된장", "두부", "애호박"), 30)
+                .add("4", "계란말이", "", "", Arrays.asList("계란", "대파"), 5)
+                .build();
+    }
+
+    private List<String> objectIds(LocalRecipeIndex.Result result) {
+        List<String> ids = new ArrayList<>();
+        for (LocalRecipeIndex.Hit hit : result.hits) {
+            ids.add(index.document(hit.doc).objectId);
+        }
+        return ids;
+    }
+
+    @Test
+    public void search_matchesIngredientOrTitleBigrams() {
+        LocalRecipeIndex.Result result = index.search(Collections.singletonList("찌개"), 0, 20);
+        assertEquals(2, result.totalHits);
+        assertTrue(objectIds(result).containsAll(Arrays.asList("1", "3")));
+    }
+
+    @Test
+    public void search_requiresEveryChip() {
+        LocalRecipeIndex.Result result = index.search(Arrays.asList("두부", "김치"), 0, 20);
+        assertEquals(Collections.singletonList("1"), objectIds(result));
+    }
+
+    @Test
+    public void search_isOrderInsensitiveAndIgnoresDuplicateChips() {
+        List<String> forward = objectIds(index.search(Arrays.asList("김치", "두부"), 0, 20));
+        List<String> reversed = objectIds(index.search(Arrays.asList("두부", "김치", "김치"), 0, 20));
+        assertEquals(forward, reversed);
+    }
+
+    @Test
+    public void search_withoutChipsReturnsPopularFirst() {
+        assertEquals(Arrays.asList("2", "3", "1", "4"), objectIds(index.search(Collections.emptyList(), 0, 20)));
+    }
+
+    @Test
+    public void search_pagesWithOffsetAndLimit() {
+        LocalRecipeIndex.Result page = index.search(Collections.emptyList(), 1, 2);
+        assertEquals(4, page.totalHits);
+        assertEquals(Arrays.asList("3", "1"), objectIds(page));
+    }
+
+    @Test
+    public void search_unknownChipReturnsNothing() {
+        assertEquals(0, index.search(Arrays.asList("김치", "초콜릿"), 0, 20).totalHits);
+    }
+
+    @Test
+    public void highlight_wrapsMatchesAndEscapesHtml() {
+        assertEquals("돼지고기 <b>김치</b>찌개", LocalRecipeIndex.highlight("돼지고기 김치찌개", Collections.singletonList("김치")));
+        assertEquals("a &lt;<b>b</b>&gt;", LocalRecipeIndex.highlight("a <b>", Collections.singletonList("b")));
+    }
+
+    @Test
+    public void writeAndRead_roundTripsSearchResults() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        index.writeTo(out);
+        LocalRecipeIndex restored = LocalRecipeIndex.readFrom(new ByteArrayInputStream(out.toByteArray()));
+
+        assertEquals(index.size(), restored.size());
+        LocalRecipeIndex.Result result = restored.search(Arrays.asList("김치"), 0, 20);
+        assertEquals(2, result.totalHits);
+        LocalRecipeIndex.Document document = restored.document(result.hits.get(0).doc);
+        assertTrue(document.ingredients.contains("김치"));
+    }
+}
@@ -0,0 +1,86 @@
+package com.example.food_recipe.search;
+
+import com.example.food_recipe.model.PantryItem;
+import com.example.food_recipe.model.SearchHit;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * {@link PantryCoverageRanker}가 냉장고 재료와 유통기한으로 결과를 다시 정렬하는지 검증합니다.
+ */
+public class PantryCoverageRankerTest {
+
+    private static final long DAY = 24L * 60 * 60 * 1000;
+    private static final long NOW = 1_700_000_000_000L;
+
+    private static final IngredientLexicon LEXICON = new IngredientLexicon.Builder()
+            .add("돼지고기", 500)
+            .add("김치", 400)
+            .add("두부", 300)
+            .add("대파", 800)
+            .add("우유", 200)
+            .add("계란", 900)
+            .build();
+
+    @Test
+    public void rank_ordersByOwnedIngredientsAndCountsMissing() {
+        PantryCoverageRanker ranker = PantryCoverageRanker.of(LEXICON, Arrays.asList(
+                item("김치", null), item("두부", null), item("대파", null)), NOW);
+        List<SearchHit> hits = Arrays.asList(
+                hit("1", "우유 200ml, 계란 2개"),
+                hit("2", "<b>김치</b> 1/4포기, 돼지고기 200g, 두부 반 모"),
+                hit("3", "김치 1/4포기, 두부 반 모, 대파 1대"),
+                hit("4", null));
+
+        PantryCoverageRanker.Ranking ranking = ranker.rank(hits);
+
+        assertArrayEquals(new int[]{2, 1, 0, 3}, ranking.order);
+        assertArrayEquals(new int[]{2, 1, 0, PantryCoverageRanker.UNKNOWN}, ranking.missing);
+    }
+
+    @Test
+    public void rank_prefersExpiringIngredients() {
+        PantryCoverageRanker ranker = PantryCoverageRanker.of(LEXICON, Arrays.asList(
+                item("우유", new Date(NOW + DAY)), item("계란", new Date(NOW + 30 * DAY))), NOW);
+        List<SearchHit> hits = Arrays.asList(hit("1", "계란 2개, 대파"), hit("2", "우유 200ml, 대파"));
+
+        // 가진 재료 수와 부족한 재료 수가 같으면 유통기한이 임박한 재료를 쓰는 레시피가 먼저입니다.
+        assertArrayEquals(new int[]{1, 0}, ranker.rank(hits).order);
+    }
+
+    @Test
+    public void expiryWeight_decaysOverHorizon() {
+        int base = PantryCoverageRanker.OWNED_WEIGHT;
+        assertEquals(base, PantryCoverageRanker.expiryWeight(null, NOW));
+        assertEquals(base + PantryCoverageRanker.EXPIRY_BONUS, PantryCoverageRanker.expiryWeight(new Date(NOW), NOW));
+        assertEquals(base + PantryCoverageRanker.EXPIRY_BONUS, PantryCoverageRanker.expiryWeight(new Date(NOW - DAY / 2), NOW));
+        assertTrue(PantryCoverageRanker.expiryWeight(new Date(NOW + 3 * DAY), NOW) > base);
+        assertEquals(base, PantryCoverageRanker.expiryWeight(new Date(NOW + 7 * DAY), NOW));
+        // 유통기한이 지난 재료는 가산점을 받지 않습니다.
+        assertEquals(base, PantryCoverageRanker.expiryWeight(new Date(NOW - 3 * DAY), NOW));
+    }
+
+    @Test
+    public void of_skipsUnknownPantryItems() {
+        PantryCoverageRanker ranker = PantryCoverageRanker.of(LEXICON, Arrays.asList(item("트러플", null)), NOW);
+        assertTrue(ranker.isEmpty());
+        // 원래 순서를 유지합니다.
+        assertArrayEquals(new int[]{0, 1}, ranker.rank(Arrays.asList(hit("1", "김치"), hit("2", "두부"))).order);
+    }
+
+    private static PantryItem item(String name, Date expirationDate) {
+        return new PantryItem(null, name, null, 1, "개", "냉장", expirationDate);
+    }
+
+    private static SearchHit hit(String id, String ingredients) {
+        return new SearchHit(id, "레시피 " + id, null, "30분", ingredients);
+    }
+}
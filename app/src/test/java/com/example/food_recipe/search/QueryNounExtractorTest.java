@@ -0,0 +1,93 @@
+package com.example.food_recipe.search;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * {@link QueryNounExtractor}의 최장 일치 분리를 검증합니다.
+ * Okt와의 지연 시간 및 명사 추출 일치율 비교는 {@link SearchBenchmark}에 있습니다.
+ */
+public class QueryNounExtractorTest {
+
+    private static final String[] INGREDIENTS = {
+            "김치", "돼지고기", "소고기", "닭고기", "두부", "감자", "고구마", "양파", "대파", "파", "마늘", "고추장",
+            "된장", "간장", "계란", "달걀", "무", "김", "떡", "어묵", "참치", "스팸", "애호박", "버섯", "콩나물",
+            "시금치", "오이", "당근", "양배추", "우유", "치즈", "베이컨", "새우", "오징어", "고등어", "밥", "라면"
+    };
+
+    private static final String[] TITLES = {
+            "돼지고기 김치찌개", "참치 김치찌개", "된장찌개", "순두부찌개", "김치볶음밥", "계란말이", "감자조림",
+            "닭볶음탕", "떡볶이", "어묵볶음", "콩나물국", "시금치나물", "고등어조림", "오징어볶음", "잡채", "불고기",
+            "제육볶음", "부대찌개", "계란찜", "감자전", "김밥", "카레라이스", "크림파스타", "토마토파스타"
+    };
+
+    private QueryNounExtractor extractor;
+
+    @Before
+    public void setUp() {
+        extractor = sampleExtractor();
+    }
+
+    /** 테스트용 재료 사전과 요리명으로 만든 추출기입니다. {@link SearchBenchmark}의 Okt 비교에도 사용합니다. */
+    static QueryNounExtractor sampleExtractor() {
+        IngredientLexicon.Builder lexicon = new IngredientLexicon.Builder();
+        ChosungIndex.Builder dishWords = new ChosungIndex.Builder();
+        for (String ingredient : INGREDIENTS) {
+            lexicon.add(ingredient, 10);
+            dishWords.add(ingredient, 10);
+        }
+        for (String title : TITLES) {
+            dishWords.addTitle(title);
+        }
+        return new QueryNounExtractor(lexicon.build(), dishWords.build());
+    }
+
+    @Test
+    public void extract_segmentsByLongestMatch() {
+        assertEquals(Arrays.asList("돼지고기", "김치찌개"), extractor.extract("돼지고기김치찌개").nouns);
+        assertEquals(Arrays.asList("참치", "김치볶음밥"), extractor.extract("참치김치볶음밥").nouns);
+        // "김밥"은 한 글자 재료 "김"과 "밥"으로 나누지 않습니다.
+        assertEquals(Collections.singletonList("김밥"), extractor.extract("김밥").nouns);
+    }
+
+    @Test
+    public void extract_dropsParticlesAndStopWords() {
+        QueryNounExtractor.Result result = extractor.extract("감자를 넣은 된장찌개 레시피");
+        assertEquals(Arrays.asList("감자", "된장찌개"), result.nouns);
+        // "넣은"은 "은"을 떼면 한 글자만 남으므로 어미로 보고 버립니다.
+        assertTrue(result.unknown.isEmpty());
+
+        assertEquals(Collections.singletonList("무"), extractor.extract("무로").nouns);
+        assertTrue(extractor.extract("무로").unknown.isEmpty());
+        // 뒤에 사전에 없는 글자가 붙은 한 글자 재료는 자르지 않습니다. ("무침" ≠ "무")
+        result = extractor.extract("시금치나물 무침");
+        assertEquals(Collections.singletonList("시금치나물"), result.nouns);
+        assertEquals(Collections.singletonList("무침"), result.unknown);
+    }
+
+    @Test
+    public void extract_reportsUnknownFragmentsForFallback() {
+        QueryNounExtractor.Result result = extractor.extract("매콤한 닭볶음탕");
+        assertEquals(Collections.singletonList("닭볶음탕"), result.nouns);
+        assertEquals(Collections.singletonList("매콤한"), result.unknown);
+
+        // 한 글자 재료는 어절 첫머리에서만 인정합니다. ("대파듬뿍"의 "듬뿍"은 사전에 없는 조각)
+        result = extractor.extract("대파듬뿍");
+        assertEquals(Collections.singletonList("대파"), result.nouns);
+        assertEquals(Collections.singletonList("듬뿍"), result.unknown);
+    }
+
+    @Test
+    public void extract_worksWithoutDishWords() {
+        IngredientLexicon lexicon = new IngredientLexicon.Builder().add("김치", 1).add("두부", 1).build();
+        QueryNounExtractor ingredientsOnly = new QueryNounExtractor(lexicon, null);
+        assertEquals(Arrays.asList("김치", "두부"), ingredientsOnly.extract("김치 두부").nouns);
+        assertTrue(ingredientsOnly.extract("").nouns.isEmpty());
+    }
+}
@@ -0,0 +1,76 @@
+package com.example.food_recipe.search;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * {@link QueryRelaxer}가 재료 문서 빈도 표로 결과를 가장 많이 줄이는 칩을 고르는지 검증합니다.
+ */
+public class QueryRelaxerTest {
+
+    private static final IngredientLexicon LEXICON = new IngredientLexicon.Builder()
+            .add("양파", 900)
+            .add("감자", 400)
+            .add("트러플", 3)
+            .build();
+
+    @Test
+    public void chipToRelax_picksRarestChip() {
+        SearchQuery query = SearchQuery.of(Arrays.asList("양파", "감자", "트러플"), LEXICON::contains);
+
+        assertEquals(3, LEXICON.documentFrequency("트러플"));
+        assertEquals("트러플", QueryRelaxer.chipToRelax(query, LEXICON::documentFrequency));
+
+        SearchQuery relaxed = query.withoutChip("트러플");
+        assertEquals(Arrays.asList("감자", "양파"), relaxed.getChips());
+        assertEquals(Arrays.asList("감자", "양파"), relaxed.getIngredientChips());
+    }
+
+    @Test
+    public void chipToRelax_dropsUnknownTextChipBeforeIngredients() {
+        SearchQuery query = SearchQuery.of(Arrays.asList("감자", "그라탕", "-우유"), LEXICON::contains);
+
+        assertEquals(0, LEXICON.documentFrequency("그라탕"));
+        assertEquals("그라탕", QueryRelaxer.chipToRelax(query, LEXICON::documentFrequency));
+        // 제외 재료는 완화하지 않습니다.
+        SearchQuery relaxed = query.withoutChip("그라탕");
+        assertEquals(Collections.singletonList("우유"), relaxed.getExcludedIngredients());
+    }
+
+    @Test
+    public void chipToRelax_keepsChipsWhenFacetSelected() {
+        // 결과가 없는 원인이 패싯일 수 있으므로 사용자가 입력한 칩을 빼지 않습니다.
+        SearchQuery query = SearchQuery.of(Arrays.asList("감자", "트러플"), LEXICON::contains)
+                .withFacetFilter(FacetFilter.none().toggle(FacetFilter.DIFFICULTY, "초급"));
+
+        assertNull(QueryRelaxer.chipToRelax(query, LEXICON::documentFrequency));
+    }
+
+    @Test
+    public void withoutFullTextFallback_isCachedSeparately() {
+        SearchQuery query = SearchQuery.of(Arrays.asList("감자", "양파"), LEXICON::contains);
+        SearchQuery filtersOnly = query.withoutFullTextFallback();
+
+        assertTrue(query.allowsFullTextFallback());
+        assertFalse(filtersOnly.allowsFullTextFallback());
+        assertNotEquals(query, filtersOnly);
+        assertNotEquals(query.cacheKey(), filtersOnly.cacheKey());
+        // 다음 페이지도 같은 방식으로 검색하고, 패싯 개수는 같은 칩 조합과 공유합니다.
+        assertFalse(filtersOnly.withPage(1).allowsFullTextFallback());
+        assertEquals(query.facetKey(), filtersOnly.facetKey());
+    }
+
+    @Test
+    public void chipToRelax_keepsSingleChip() {
+        assertNull(QueryRelaxer.chipToRelax(SearchQuery.of(Arrays.asList("트러플", "-우유")), LEXICON::documentFrequency));
+        assertNull(QueryRelaxer.chipToRelax(SearchQuery.empty(), LEXICON::documentFrequency));
+    }
+}
@@ -0,0 +1,58 @@
+package com.example.food_recipe.search;
+
+import com.example.food_recipe.model.SearchHit;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+/**
+ * {@link RankFusion}이 두 소스의 첫 페이지를 순위만으로 합치는지 검증합니다.
+ */
+public class RankFusionTest {
+
+    @Test
+    public void merge_promotesHitsFoundByBothSources() {
+        SearchResult remote = result(Arrays.asList(hit("a", "국"), hit("b", "반찬"), hit("c", "국")), 7);
+        SearchResult local = result(Arrays.asList(hit("c", null), hit("d", null)), 2);
+
+        SearchResult merged = RankFusion.merge(remote, local);
+
+        // c는 양쪽에 있어 1위, 나머지는 원래 순위(원격 우선)를 따릅니다.
+        assertEquals(Arrays.asList("c", "a", "b", "d"), ids(merged.getHits()));
+        // 같은 레시피는 분류 정보가 있는 원격 항목을 사용합니다.
+        assertEquals("국", merged.getHits().get(0).getCategoryKind());
+        assertEquals(8, merged.getNbHits());
+        assertEquals(remote.getNbPages(), merged.getNbPages());
+    }
+
+    @Test
+    public void merge_withoutSecondaryReturnsPrimary() {
+        SearchResult remote = result(Collections.singletonList(hit("a", null)), 1);
+
+        assertSame(remote, RankFusion.merge(remote, null));
+        assertSame(remote, RankFusion.merge(remote, result(Collections.emptyList(), 0)));
+        assertEquals(Collections.singletonList("a"),
+                ids(RankFusion.merge(result(Collections.emptyList(), 0), remote).getHits()));
+    }
+
+    private static SearchHit hit(String id, String category) {
+        return new SearchHit(id, "제목" + id, "", "30분 이내", "감자", category, null);
+    }
+
+    private static SearchResult result(List<SearchHit> hits, int nbHits) {
+        return new SearchResult(hits, 0, (nbHits + SearchQuery.HITS_PER_PAGE - 1) / SearchQuery.HITS_PER_PAGE, nbHits);
+    }
+
+    private static List<String> ids(List<SearchHit> hits) {
+        List<String> ids = new ArrayList<>();
+        for (SearchHit hit : hits) ids.add(hit.getRcpSno());
+        return ids;
+    }
+}
@@ -0,0 +1,63 @@
+package com.example.food_recipe.search;
+
+import com.example.food_recipe.model.SearchHit;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * {@link ResultRefiner}가 칩 추가 시 서버 검색 규칙과 같은 방향으로 현재 결과를 좁히거나 순서를 바꾸는지 검증합니다.
+ */
+public class ResultRefinerTest {
+
+    private static final List<SearchHit> CURRENT = Arrays.asList(
+            new SearchHit("1", "<b>감자</b>조림", "", "30분 이내", "<b>감자</b>, 간장, 설탕"),
+            new SearchHit("2", "감자 양파 볶음", "", "15분 이내", "<b>감자</b>, 양파, 다진 마늘"),
+            new SearchHit("3", "된장찌개", "", "30분 이내", "된장, <b>감자</b>, 두부, 양파"),
+            new SearchHit("4", "김치볶음밥", "", "15분 이내", "김치, 밥"));
+
+    @Test
+    public void refine_textChipKeepsHitsContainingIt() {
+        List<SearchHit> refined = ResultRefiner.refine(CURRENT, Collections.singletonList("볶음"),
+                Collections.emptyList(), false);
+        assertEquals(Arrays.asList("2", "4"), ids(refined));
+
+        // 하이라이트 태그와 공백은 무시합니다. ("다진 마늘" ⊇ "다진마늘")
+        refined = ResultRefiner.refine(CURRENT, Collections.singletonList("다진마늘"), Collections.emptyList(), false);
+        assertEquals(Collections.singletonList("2"), ids(refined));
+    }
+
+    @Test
+    public void refine_firstIngredientFilterNarrows() {
+        List<SearchHit> refined = ResultRefiner.refine(CURRENT, Collections.emptyList(),
+                Arrays.asList("양파", "두부"), false);
+        assertEquals(Arrays.asList("2", "3"), ids(refined));
+    }
+
+    @Test
+    public void refine_additionalIngredientUnderOrFilterReranks() {
+        List<SearchHit> refined = ResultRefiner.refine(CURRENT, Collections.emptyList(),
+                Collections.singletonList("양파"), true);
+        // 결과 수는 그대로이고, 양파를 쓰는 결과가 원래 순서를 유지한 채 앞으로 옵니다.
+        assertEquals(Arrays.asList("2", "3", "1", "4"), ids(refined));
+    }
+
+    @Test
+    public void refine_emptyInputGivesEmptyPreview() {
+        assertTrue(ResultRefiner.refine(null, Collections.singletonList("감자"), Collections.emptyList(), false).isEmpty());
+        assertTrue(ResultRefiner.refine(CURRENT, Collections.singletonList("파스타"), Collections.emptyList(), false).isEmpty());
+    }
+
+    private static List<String> ids(List<SearchHit> hits) {
+        List<String> ids = new ArrayList<>();
+        for (SearchHit hit : hits) ids.add(hit.getRcpSno());
+        return ids;
+    }
+}
@@ -0,0 +1,367 @@
+package com.example.food_recipe.search;
+
+import com.example.food_recipe.home.IngredientOverlapScorer;
+import com.example.food_recipe.model.PantryItem;
+import com.example.food_recipe.model.SearchHit;
+import com.example.food_recipe.utils.StringUtils;
+
+import org.json.JSONObject;
+import org.junit.Test;
+
+import java.io.BufferedReader;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.StringReader;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * 검색/추천 경로의 지연 시간과 할당량을 재는 벤치마크 모음입니다.
+ * 시간은 환경에 따라 달라지므로 검증하지 않고 결과를 출력만 하며, 일반 단위 테스트(test)에서는 제외됩니다.
+ * 실행: ./gradlew testDebugUnitTest -Pbenchmark --tests "*SearchBenchmark"
+ * 결과의 정확성은 각 클래스의 단위 테스트(AlgoliaHitDecoderTest, IngredientLexiconTest 등)에서 검증합니다.
+ */
+public class SearchBenchmark {
+
+    private static final long DAY = 24L * 60 * 60 * 1000;
+    private static final long NOW = 1_700_000_000_000L;
+
+    private static final String[] DEFAULT_QUERIES = {
+            "김치찌개", "돼지고기 김치찌개 레시피", "감자를 넣은 된장찌개", "계란말이 만들기", "두부조림 만드는 방법",
+            "매콤한 닭볶음탕", "떡볶이", "어묵볶음 레시피", "간단한 계란찜", "애호박 버섯 볶음", "콩나물국 끓이는 법",
+            "참치김치볶음밥", "소고기 무국", "시금치나물 무침", "고등어조림 양념", "오징어볶음 맵게", "감자전",
+            "스팸 김치볶음밥", "크림파스타 만들기", "토마토파스타 요리", "양파 당근 카레라이스", "잡채 레시피",
+            "불고기 양념 방법", "제육볶음 황금레시피", "부대찌개 라면사리", "김밥 재료", "치즈 계란말이",
+            "새우 볶음밥", "우유 들어간 크림파스타", "대파 듬뿍 육개장"
+    };
+
+    /** 기존 org.json DOM 파싱과 {@link AlgoliaHitDecoder}의 디코딩 시간과 할당량입니다. */
+    @Test
+    public void algoliaDecode_legacyVersusStreaming() throws Exception {
+        List<String> responses = AlgoliaResponses.load();
+
+        long[] legacy = measure(50, 200, () -> {
+            for (String response : responses) {
+                JSONObject json = new JSONObject(response);
+                // 기존 콜백은 로그를 위해 응답 전체를 다시 문자열로 만들었으므로 그 비용도 포함합니다.
+                if (json.toString().length() > 0) AlgoliaResponses.LegacyParser.parseRecipes(json);
+            }
+        });
+        long[] streaming = measure(50, 200, () -> decodeAll(responses));
+
+        report("Algolia decode, %d responses: org.json DOM %,d us / %,d bytes -> JsonReader %,d us / %,d bytes",
+                responses.size(), legacy[0] / 1000, legacy[1], streaming[0] / 1000, streaming[1]);
+    }
+
+    /**
+     * 전체 레코드 응답과 카드 속성만 받은 응답(attributesToRetrieve)의 응답 크기, 디코딩 시간과 할당량,
+     * 한 페이지를 Recipe(전체 레코드 필드를 가질 수 있는 객체)와 SearchHit으로 보관했을 때의 유지 힙을 비교합니다.
+     */
+    @Test
+    public void algoliaDecode_projectedVersusFullRecords() throws Exception {
+        List<String> full = AlgoliaResponses.load();
+        List<String> projected = new ArrayList<>();
+        long fullBytes = 0;
+        long projectedBytes = 0;
+        for (String response : full) {
+            String slim = AlgoliaResponses.project(response);
+            projected.add(slim);
+            fullBytes += response.getBytes(StandardCharsets.UTF_8).length;
+            projectedBytes += slim.getBytes(StandardCharsets.UTF_8).length;
+        }
+
+        long[] fullDecode = measure(50, 200, () -> decodeAll(full));
+        long[] projectedDecode = measure(50, 200, () -> decodeAll(projected));
+
+        String page = full.get(0);
+        long recipeHeap = retainedBytes(() -> AlgoliaResponses.LegacyParser.parseRecipes(new JSONObject(page), true));
+        long hitHeap = retainedBytes(() -> AlgoliaHitDecoder.decode(new StringReader(AlgoliaResponses.project(page))).getHits());
+
+        report("SearchHit projection, %d responses: payload %,d -> %,d bytes, decode %,d us / %,d bytes -> %,d us / %,d bytes, "
+                        + "retained/page Recipe %,d -> SearchHit %,d bytes",
+                full.size(), fullBytes, projectedBytes, fullDecode[0] / 1000, fullDecode[1],
+                projectedDecode[0] / 1000, projectedDecode[1], recipeHeap, hitHeap);
+    }
+
+    /** 재료 2만 개 사전의 생성 시간과 키 입력 한 번당 자동완성 시간입니다. */
+    @Test
+    public void ingredientLexicon_suggestPerKeystroke() throws Exception {
+        Random random = new Random(7);
+        IngredientLexicon.Builder builder = new IngredientLexicon.Builder();
+        for (int i = 0; i < 20000; i++) {
+            builder.add(IngredientLexiconTest.randomTerm(random, 600), random.nextInt(1000));
+        }
+        IngredientLexicon[] built = new IngredientLexicon[1];
+        long[] build = measure(0, 1, () -> built[0] = builder.build());
+        IngredientLexicon large = built[0];
+
+        String[] keystrokes = {"ㄱ", "가", "각", "가나", "ㅂ", "바", "박", "바다"};
+        long[] suggest = measure(1000, 10000, new Body() {
+            int i;
+
+            @Override
+            public void run() {
+                large.suggest(keystrokes[i++ % keystrokes.length], IngredientLexicon.MAX_SUGGESTIONS);
+            }
+        });
+
+        report("IngredientLexicon %,d terms: build %d ms, suggest %,d ns/keystroke",
+                large.size(), build[0] / 1_000_000, suggest[0]);
+    }
+
+    /** 재료 2만 개 사전에서 오타 교정(snap) 한 번의 시간입니다. */
+    @Test
+    public void ingredientLexicon_snap() throws Exception {
+        Random random = new Random(13);
+        IngredientLexicon.Builder builder = new IngredientLexicon.Builder();
+        for (int i = 0; i < 20000; i++) {
+            builder.add(IngredientLexiconTest.randomTerm(random, 600), random.nextInt(1000));
+        }
+        IngredientLexicon large = builder.build();
+        String[] queries = new String[64];
+        for (int i = 0; i < queries.length; i++) {
+            queries[i] = IngredientLexiconTest.randomTerm(random, 600);
+        }
+
+        long[] snap = measure(1000, 5000, new Body() {
+            int i;
+
+            @Override
+            public void run() {
+                large.snap(queries[i++ % queries.length]);
+            }
+        });
+
+        report("IngredientLexicon %,d terms: snap %,d ns/query", large.size(), snap[0]);
+    }
+
+    /**
+     * Okt({@link StringUtils#extractNouns})와 {@link QueryNounExtractor}의 지연 시간과 검색어별 명사 집합의 일치율입니다.
+     * - src/test/resources/search/queries.txt(한 줄에 검색어 하나)가 있으면 그 검색어로 비교하고, 없으면 기본 검색어를 사용합니다.
+     * - Okt 첫 호출(사전 로딩 포함)은 따로 잽니다.
+     * - 사전에서 찾은 명사만 쓴 경우와, 사전에 없는 조각을 Okt로 분석해 합친 경우의 일치율을 모두 출력합니다.
+     */
+    @Test
+    public void queryNounExtractor_versusOkt() throws Exception {
+        List<String> queries = loadQueries();
+        QueryNounExtractor extractor = QueryNounExtractorTest.sampleExtractor();
+
+        long[] oktCold = measure(0, 1, () -> StringUtils.extractNouns(queries.get(0)));
+        long[] okt = measure(0, 20, () -> {
+            for (String query : queries) StringUtils.extractNouns(query);
+        });
+        long[] lexicon = measure(20, 20, () -> {
+            for (String query : queries) extractor.extract(query);
+        });
+
+        int exact = 0;
+        int exactWithFallback = 0;
+        double jaccardSum = 0;
+        double jaccardWithFallbackSum = 0;
+        int fallbackCalls = 0;
+        List<String> mismatches = new ArrayList<>();
+        for (String query : queries) {
+            Set<String> oktNouns = oktNouns(query);
+            QueryNounExtractor.Result result = extractor.extract(query);
+            Set<String> lexiconNouns = new HashSet<>(result.nouns);
+            Set<String> withFallback = new HashSet<>(lexiconNouns);
+            if (!result.unknown.isEmpty()) {
+                fallbackCalls++;
+                withFallback.addAll(oktNouns(String.join(" ", result.unknown)));
+            }
+            if (oktNouns.equals(lexiconNouns)) exact++;
+            if (oktNouns.equals(withFallback)) {
+                exactWithFallback++;
+            } else {
+                mismatches.add(query + " → okt=" + oktNouns + ", lexicon+fallback=" + withFallback);
+            }
+            jaccardSum += jaccard(oktNouns, lexiconNouns);
+            jaccardWithFallbackSum += jaccard(oktNouns, withFallback);
+        }
+
+        int n = queries.size();
+        report("QueryNounExtractor %d queries: okt cold %d ms, okt %,d ns/query, lexicon %,d ns/query",
+                n, oktCold[0] / 1_000_000, okt[0] / n, lexicon[0] / n);
+        report("QueryNounExtractor lexicon only: exact %.0f%%, jaccard %.2f / with okt fallback (%d of %d queries): "
+                        + "exact %.0f%%, jaccard %.2f, mismatches %s",
+                100.0 * exact / n, jaccardSum / n, fallbackCalls, n,
+                100.0 * exactWithFallback / n, jaccardWithFallbackSum / n, mismatches);
+    }
+
+    /** 100건 페이지를 냉장고 재료로 다시 정렬하는 시간입니다. (정렬기 생성과 재료 분석을 포함한 첫 정렬 / 분석 결과를 재사용하는 정렬) */
+    @Test
+    public void pantryCoverageRanker_hundredHitPage() throws Exception {
+        IngredientLexicon lexicon = new IngredientLexicon.Builder()
+                .add("돼지고기", 500).add("김치", 400).add("두부", 300)
+                .add("대파", 800).add("우유", 200).add("계란", 900)
+                .build();
+        String[] terms = {"돼지고기", "김치", "두부", "대파", "우유", "계란"};
+        Random random = new Random(7);
+        List<SearchHit> hits = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            StringBuilder summary = new StringBuilder();
+            for (int j = 0; j < 12; j++) {
+                if (j > 0) summary.append(", ");
+                summary.append(terms[random.nextInt(terms.length)]).append(" ").append(j + 1).append("g");
+            }
+            hits.add(new SearchHit(String.valueOf(i), "레시피 " + i, null, "30분", summary.toString()));
+        }
+        List<PantryItem> pantry = Arrays.asList(
+                new PantryItem(null, "김치", null, 1, "개", "냉장", new Date(NOW + DAY)),
+                new PantryItem(null, "두부", null, 1, "개", "냉장", null),
+                new PantryItem(null, "계란", null, 1, "개", "냉장", new Date(NOW + 5 * DAY)));
+
+        long[] first = measure(1000, 1000, () -> PantryCoverageRanker.of(lexicon, pantry, NOW).rank(hits));
+        PantryCoverageRanker ranker = PantryCoverageRanker.of(lexicon, pantry, NOW);
+        long[] cached = measure(1000, 1000, () -> ranker.rank(hits));
+
+        report("PantryCoverageRanker 100 hits: first rank %.1f us, cached rank %.1f us", first[0] / 1000.0, cached[0] / 1000.0);
+    }
+
+    /** 후보 10만 개를 {@link IngredientOverlapScorer}에 넣는 시간과 점수 계산 및 상위 10개 선택 시간입니다. */
+    @Test
+    public void ingredientOverlapScorer_hundredThousandCandidates() throws Exception {
+        // 재료 3,000종 중 앞쪽 재료가 훨씬 자주 나오도록(Zipf 분포와 비슷하게) 후보마다 6~15개 재료를 뽑습니다.
+        Random random = new Random(11);
+        IngredientLexicon.Builder builder = new IngredientLexicon.Builder();
+        String[] vocabulary = new String[3000];
+        for (int i = 0; i < vocabulary.length; i++) {
+            vocabulary[i] = "재료" + i;
+            builder.add(vocabulary[i], 1);
+        }
+        IngredientLexicon lexicon = builder.build();
+        int candidates = 100_000;
+        List<List<String>> recipes = new ArrayList<>(candidates);
+        long[] recommendCounts = new long[candidates];
+        for (int i = 0; i < candidates; i++) {
+            int count = 6 + random.nextInt(10);
+            List<String> ingredients = new ArrayList<>(count);
+            for (int j = 0; j < count; j++) {
+                ingredients.add(vocabulary[(int) (vocabulary.length * Math.pow(random.nextDouble(), 3))]);
+            }
+            recipes.add(ingredients);
+            recommendCounts[i] = random.nextInt(500);
+        }
+        List<String> pantry = new ArrayList<>();
+        for (int i = 0; i < 25; i++) {
+            pantry.add(vocabulary[random.nextInt(300)]);
+        }
+
+        IngredientOverlapScorer[] scorer = new IngredientOverlapScorer[1];
+        long[] add = measure(3, 5, () -> {
+            scorer[0] = new IngredientOverlapScorer(lexicon, pantry);
+            for (int i = 0; i < candidates; i++) {
+                scorer[0].add(recipes.get(i), recommendCounts[i]);
+            }
+        });
+        long[] top = measure(3, 5, () -> scorer[0].top(10));
+
+        report("IngredientOverlapScorer %,d candidates: add %.1f ms, score+top10 %.1f ms",
+                candidates, add[0] / 1e6, top[0] / 1e6);
+    }
+
+    private interface Body {
+        void run() throws Exception;
+    }
+
+    private interface PageFactory {
+        List<?> create() throws Exception;
+    }
+
+    /**
+     * body를 warmup번 실행해 JIT를 예열한 뒤 rounds번 실행합니다.
+     *
+     * @return {1회 평균 나노초, 1회 평균 할당 바이트(측정할 수 없으면 -1)}
+     */
+    private static long[] measure(int warmup, int rounds, Body body) throws Exception {
+        for (int i = 0; i < warmup; i++) {
+            body.run();
+        }
+        ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        com.sun.management.ThreadMXBean allocationBean =
+                bean instanceof com.sun.management.ThreadMXBean ? (com.sun.management.ThreadMXBean) bean : null;
+        long threadId = Thread.currentThread().getId();
+
+        long allocatedBefore = allocationBean != null ? allocationBean.getThreadAllocatedBytes(threadId) : 0;
+        long start = System.nanoTime();
+        for (int i = 0; i < rounds; i++) {
+            body.run();
+        }
+        long elapsed = System.nanoTime() - start;
+        long allocated = allocationBean != null ? allocationBean.getThreadAllocatedBytes(threadId) - allocatedBefore : -1;
+        return new long[]{elapsed / rounds, allocated < 0 ? -1 : allocated / rounds};
+    }
+
+    /** 같은 페이지를 여러 벌 만들어 보관했을 때 한 페이지당 힙 증가량의 근사치입니다. */
+    private static long retainedBytes(PageFactory factory) throws Exception {
+        int copies = 200;
+        List<List<?>> retained = new ArrayList<>(copies);
+        long before = usedHeap();
+        for (int i = 0; i < copies; i++) {
+            retained.add(factory.create());
+        }
+        long after = usedHeap();
+        // 측정이 끝날 때까지 페이지들이 수거되지 않도록 목록을 마지막에 참조합니다.
+        return (after - before) / retained.size();
+    }
+
+    private static long usedHeap() throws InterruptedException {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+            Thread.sleep(20);
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    private static void decodeAll(List<String> responses) throws Exception {
+        for (String response : responses) {
+            AlgoliaHitDecoder.decode(new StringReader(response));
+        }
+    }
+
+    private static Set<String> oktNouns(String text) {
+        Set<String> nouns = new HashSet<>();
+        for (String noun : StringUtils.extractNouns(text).split(" ")) {
+            if (!noun.isEmpty()) nouns.add(noun);
+        }
+        return nouns;
+    }
+
+    private static double jaccard(Set<String> a, Set<String> b) {
+        Set<String> union = new HashSet<>(a);
+        union.addAll(b);
+        if (union.isEmpty()) return 1.0;
+        Set<String> intersection = new HashSet<>(a);
+        intersection.retainAll(b);
+        return (double) intersection.size() / union.size();
+    }
+
+    private static List<String> loadQueries() throws Exception {
+        InputStream in = SearchBenchmark.class.getClassLoader().getResourceAsStream("search/queries.txt");
+        if (in == null) {
+            return Arrays.asList(DEFAULT_QUERIES);
+        }
+        List<String> queries = new ArrayList<>();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (!line.trim().isEmpty()) queries.add(line.trim());
+            }
+        }
+        return queries;
+    }
+
+    private static void report(String format, Object... args) {
+        System.out.printf(Locale.ROOT, "[SearchBenchmark] " + format + "%n", args);
+    }
+}
@@ -0,0 +1,59 @@
+package com.example.food_recipe.search;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * {@link SearchHistory}의 접두어 추천 순위(감쇠 빈도)와 기록 수 제한을 검증합니다.
+ */
+public class SearchHistoryTest {
+
+    private static final long DAY_MS = 24 * 60 * 60 * 1000L;
+
+    @Test
+    public void suggest_ranksByDecayedFrequency() {
+        SearchHistory history = new SearchHistory();
+        long now = 100 * DAY_MS;
+        // 3주 전에 세 번 쓴 조합보다 어제 두 번 쓴 조합이 앞에 옵니다. (반감기 7일)
+        for (int i = 0; i < 3; i++) history.recordChips(Arrays.asList("감자", "양파"), now - 21 * DAY_MS);
+        for (int i = 0; i < 2; i++) history.recordChips(Arrays.asList("감자", "베이컨"), now - DAY_MS);
+        history.recordChips(Arrays.asList("양파", "감자"), now - 21 * DAY_MS);
+        history.recordText("김치 볶음밥", now);
+
+        assertEquals(Arrays.asList("감자 베이컨", "감자 양파"), labels(history.suggest("감", 5, now)));
+        assertEquals(4, history.suggest("감", 5, now).get(1).getCount());
+        assertEquals(Collections.singletonList("감자 양파"), labels(history.suggest(" 양", 5, now)));
+        assertEquals(Collections.singletonList("김치 볶음밥"), labels(history.suggest("볶", 5, now)));
+        assertEquals(Arrays.asList("감자 베이컨", "김치 볶음밥", "감자 양파"), labels(history.suggest("", 5, now)));
+    }
+
+    @Test
+    public void record_compactsToMaxEntries() {
+        SearchHistory history = new SearchHistory();
+        int total = SearchHistory.MAX_ENTRIES + SearchHistory.COMPACTION_SLACK + 1;
+        for (int i = 0; i < total; i++) {
+            history.recordText("검색어" + i, i * 1000L);
+        }
+
+        assertEquals(SearchHistory.MAX_ENTRIES, history.size());
+        // 가장 최근 기록은 남고 가장 오래된 기록은 버려집니다.
+        assertEquals(1, history.suggest("검색어" + (total - 1), 5, total * 1000L).size());
+        assertTrue(history.suggest("검색어0", 5, total * 1000L).isEmpty());
+
+        SearchHistory reloaded = new SearchHistory(history.snapshot(), total * 1000L);
+        assertEquals(SearchHistory.MAX_ENTRIES, reloaded.size());
+    }
+
+    private static List<String> labels(List<SearchHistory.Entry> entries) {
+        List<String> labels = new ArrayList<>();
+        for (SearchHistory.Entry entry : entries) labels.add(entry.getLabel());
+        return labels;
+    }
+}
@@ -0,0 +1,134 @@
+package com.example.food_recipe.search;
+
+import android.content.Context;
+
+import androidx.arch.core.executor.testing.InstantTaskExecutorRule;
+import androidx.lifecycle.SavedStateHandle;
+
+import com.example.food_recipe.model.SearchHit;
+import com.example.food_recipe.utils.ManualTimer;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * {@link SearchPresenter}가 디바운스 중인 검색과 스크롤 페이지 요청을 함께 처리하는 순서를 검증합니다.
+ */
+public class SearchPresenterTest {
+
+    @Rule
+    public final InstantTaskExecutorRule instantTaskExecutor = new InstantTaskExecutorRule();
+
+    private final ManualTimer timer = new ManualTimer();
+    private final FakeModel model = new FakeModel();
+    private SearchViewModel viewModel;
+    private SearchPresenter presenter;
+
+    @Before
+    public void setUp() {
+        viewModel = new SearchViewModel(new SavedStateHandle());
+        presenter = new SearchPresenter(viewModel, model, null, null, null, new SearchScheduler(model, timer));
+        presenter.attachView(new NoOpView());
+
+        viewModel.setSearchChips(Arrays.asList("김치", "두부"));
+        presenter.search("김치 두부");
+        model.answerLast(page(0, 3));
+    }
+
+    @Test
+    public void scrollDuringDebounce_doesNotDropSearchForRemovedChip() {
+        presenter.onChipClosed("두부");
+        timer.advance(SearchScheduler.MIN_DEBOUNCE_MS / 2);
+        presenter.onListScrolledNearEnd();
+        timer.advance(SearchScheduler.MAX_DEBOUNCE_MS);
+
+        // 이전 칩 조합의 다음 페이지를 요청하지 않고, 뺀 칩을 반영한 첫 페이지를 검색합니다.
+        assertEquals(2, model.queries.size());
+        assertEquals(Collections.singletonList("김치"), model.lastQuery().getChips());
+        assertEquals(0, model.lastQuery().getPage());
+    }
+
+    @Test
+    public void scrollAfterDebouncedSearch_loadsNextPageOfNewQuery() {
+        presenter.onChipClosed("두부");
+        timer.advance(SearchScheduler.MAX_DEBOUNCE_MS);
+        model.answerLast(page(0, 3));
+
+        presenter.onListScrolledNearEnd();
+
+        assertEquals(3, model.queries.size());
+        assertEquals(Collections.singletonList("김치"), model.lastQuery().getChips());
+        assertEquals(1, model.lastQuery().getPage());
+    }
+
+    private static SearchResult page(int page, int nbPages) {
+        List<SearchHit> hits = new ArrayList<>();
+        for (int i = 0; i < SearchQuery.HITS_PER_PAGE; i++) {
+            String id = page + "-" + i;
+            hits.add(new SearchHit(id, "김치찌개" + id, "", "30분 이내", "김치, 두부", null, null));
+        }
+        return new SearchResult(hits, page, nbPages, nbPages * SearchQuery.HITS_PER_PAGE);
+    }
+
+    /** 요청을 기록하고, 테스트가 응답 시점을 정하는 Model입니다. */
+    private static final class FakeModel implements SearchContract.Model {
+        final List<SearchQuery> queries = new ArrayList<>();
+        final List<OnRecipesFetchedListener> listeners = new ArrayList<>();
+
+        SearchQuery lastQuery() {
+            return queries.get(queries.size() - 1);
+        }
+
+        void answerLast(SearchResult result) {
+            listeners.get(listeners.size() - 1).onSuccess(result);
+        }
+
+        @Override
+        public SearchCall fetchInitialRecipes(OnRecipesFetchedListener listener) {
+            return searchRecipes(SearchQuery.empty(), listener);
+        }
+
+        @Override
+        public SearchCall searchRecipes(SearchQuery query, OnRecipesFetchedListener listener) {
+            queries.add(query);
+            listeners.add(listener);
+            return SearchCall.NONE;
+        }
+
+        @Override
+        public void fetchPantryItems(OnPantryItemsFetchedListener listener) {
+        }
+
+        @Override
+        public void fetchPantryDetails(OnPantryDetailsFetchedListener listener) {
+        }
+    }
+
+    private static final class NoOpView implements SearchContract.View {
+        @Override public Context getContext() { return null; }
+        @Override public void showRecipes(List<SearchHit> recipes) {}
+        @Override public void showError(String message) {}
+        @Override public void showLoadingIndicator() {}
+        @Override public void hideLoadingIndicator() {}
+        @Override public void addChipToGroup(String text) {}
+        @Override public void clearSearchViewText() {}
+        @Override public void showPantryImportBottomSheet(ArrayList<String> pantryItems, ArrayList<String> currentChips) {}
+        @Override public void showEmptyView(String message) {}
+        @Override public void showRelaxedSearchNotice(String relaxedChip) {}
+        @Override public void showInitialView() {}
+        @Override public void showEmptyPantrySnackbar() {}
+        @Override public void showIngredientSuggestions(List<String> suggestions) {}
+        @Override public void hideIngredientSuggestions() {}
+        @Override public void showHistorySuggestions(List<String> labels) {}
+        @Override public void hideHistorySuggestions() {}
+        @Override public void showPantryRankingEnabled(boolean enabled) {}
+    }
+}
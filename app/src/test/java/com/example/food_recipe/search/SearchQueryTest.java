@@ -0,0 +1,123 @@
+package com.example.food_recipe.search;
+
+import com.example.food_recipe.model.SearchHit;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * {@link SearchQuery}의 재료 칩 구분, 전문 검색어/재료 필터 생성, 캐시 키를 검증하는 로컬 단위 테스트입니다.
+ * [추가] 패싯 선택({@link FacetFilter})의 필터 문자열, 기기 안 필터링, 패싯 개수 캐시 키도 검증합니다.
+ */
+public class SearchQueryTest {
+
+    @Test
+    public void of_splitsIngredientChipsFromTextChips() {
+        SearchQuery query = SearchQuery.of(Arrays.asList("양파", "김치찌개", "감자"), chip -> !chip.equals("김치찌개"));
+
+        assertEquals(Arrays.asList("감자", "김치찌개", "양파"), query.getChips());
+        assertEquals(Arrays.asList("감자", "양파"), query.getIngredientChips());
+        assertEquals("김치찌개", query.toQueryText());
+        assertEquals("ingredients:\"감자\"<score=1> OR ingredients:\"양파\"<score=1>", query.toIngredientFilters());
+    }
+
+    @Test
+    public void asFullText_searchesEveryChipAsText() {
+        SearchQuery query = SearchQuery.of(Arrays.asList("감자", "양파"), chip -> true).withPage(2);
+        SearchQuery fullText = query.asFullText();
+
+        assertFalse(fullText.hasIngredientFilters());
+        assertEquals("감자 양파", fullText.toQueryText());
+        assertEquals(2, fullText.getPage());
+        assertEquals(2, query.getPage());
+        assertTrue(query.hasIngredientFilters());
+    }
+
+    @Test
+    public void cacheKey_distinguishesFilterAndTextModes() {
+        SearchQuery filtered = SearchQuery.of(Collections.singletonList("감자"), chip -> true);
+        SearchQuery text = SearchQuery.of(Collections.singletonList("감자"));
+
+        assertNotEquals(filtered.cacheKey(), text.cacheKey());
+        assertNotEquals(filtered, text);
+        assertEquals(text, filtered.asFullText());
+        assertEquals(text.cacheKey(), filtered.asFullText().cacheKey());
+    }
+
+    @Test
+    public void facetFilter_combinesValuesWithOrAndAttributesWithAnd() {
+        FacetFilter filter = FacetFilter.none()
+                .toggle(FacetFilter.CATEGORY, "반찬")
+                .toggle(FacetFilter.DIFFICULTY, "초급")
+                .toggle(FacetFilter.CATEGORY, "국");
+
+        assertEquals("(category_kind:\"국\" OR category_kind:\"반찬\") AND difficulty:\"초급\"", filter.toAlgoliaFilters());
+        assertTrue(filter.matches(new SearchHit("1", "된장국", "", "30분 이내", "", "국", "초급")));
+        assertFalse(filter.matches(new SearchHit("2", "잡채", "", "60분 이내", "", "반찬", "중급")));
+        assertFalse(filter.matches(new SearchHit("3", "제목", "", "정보 없음", "")));
+        // 같은 값을 다시 누르면 해제되고, 모두 해제하면 선택 없음과 같습니다.
+        assertEquals(FacetFilter.none(), filter.toggle(FacetFilter.CATEGORY, "국").toggle(FacetFilter.CATEGORY, "반찬")
+                .toggle(FacetFilter.DIFFICULTY, "초급"));
+    }
+
+    @Test
+    public void withFacetFilter_sharesFacetKeyAndCombinesWithIngredientFilters() {
+        SearchQuery query = SearchQuery.of(Arrays.asList("감자", "양파"), chip -> true).withPage(3);
+        SearchQuery filtered = query.withFacetFilter(FacetFilter.none().toggle(FacetFilter.COOKING_TIME, "30분 이내"));
+
+        assertEquals(0, filtered.getPage());
+        assertFalse(filtered.requestsFacets());
+        assertTrue(query.withPage(0).requestsFacets());
+        assertFalse(filtered.isInitialRequest());
+        assertEquals(query.facetKey(), filtered.facetKey());
+        assertNotEquals(query.withPage(0).cacheKey(), filtered.cacheKey());
+        assertEquals("(ingredients:\"감자\"<score=1> OR ingredients:\"양파\"<score=1>) AND cooking_time:\"30분 이내\"",
+                filtered.toFilters());
+        assertTrue(SearchQuery.empty().withFacetFilter(filtered.getFacetFilter()).isEmpty());
+        assertFalse(SearchQuery.empty().withFacetFilter(filtered.getFacetFilter()).isInitialRequest());
+    }
+
+    @Test
+    public void of_partitionsExclusionChipsIntoNotFilters() {
+        SearchQuery query = SearchQuery.of(Arrays.asList("감자", "- 우유", "-", "양파", "-땅콩"), chip -> true);
+
+        assertEquals(Arrays.asList("감자", "양파"), query.getIncludedChips());
+        assertEquals(Arrays.asList("땅콩", "우유"), query.getExcludedIngredients());
+        assertEquals("(ingredients:\"감자\"<score=1> OR ingredients:\"양파\"<score=1>)"
+                + " AND NOT ingredients:\"땅콩\" AND NOT ingredients:\"우유\"", query.toFilters());
+        assertEquals("", query.toQueryText());
+        // 제외 재료는 패싯 개수 캐시 키에 영향을 주지 않습니다.
+        assertEquals(SearchQuery.of(Arrays.asList("감자", "양파"), chip -> true).facetKey(), query.facetKey());
+        assertNotEquals(SearchQuery.of(Arrays.asList("감자", "양파"), chip -> true).cacheKey(), query.cacheKey());
+    }
+
+    @Test
+    public void of_exclusionOnlyQueryIsNotInitialRequest() {
+        SearchQuery query = SearchQuery.of(Collections.singletonList(SearchQuery.toExclusionChip("새우")), chip -> false);
+
+        assertTrue(SearchQuery.isExclusionChip("-새우"));
+        assertEquals("ingredients:\"감자\"<score=1> AND NOT ingredients:\"새우\"",
+                SearchQuery.of(Arrays.asList("감자", "-새우"), chip -> true).toFilters());
+        assertEquals("NOT ingredients:\"새우\"", query.toFilters());
+        assertFalse(query.isInitialRequest());
+    }
+
+    @Test
+    public void facetFilter_roundTripsThroughSavedState() {
+        FacetFilter filter = FacetFilter.none()
+                .toggle(FacetFilter.CATEGORY, "국")
+                .toggle(FacetFilter.CATEGORY, "반찬")
+                .toggle(FacetFilter.DIFFICULTY, "초급");
+
+        assertEquals(filter, FacetFilter.fromSavedState(filter.toSavedState()));
+        assertEquals(FacetFilter.none(), FacetFilter.fromSavedState(FacetFilter.none().toSavedState()));
+        assertEquals(FacetFilter.none(), FacetFilter.fromSavedState(Arrays.asList("unknown\u001F값", "잘못된 항목")));
+    }
+}
@@ -0,0 +1,60 @@
+package com.example.food_recipe.utils;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 테스트에서 {@link #advance(long)}로만 시간이 흐르는 {@link MainThreadTimer}입니다.
+ * 예약된 작업은 실행 시각 순서대로, 같은 시각이면 예약한 순서대로 실행됩니다.
+ */
+public class ManualTimer implements MainThreadTimer {
+
+    private static final class Scheduled {
+        final Runnable task;
+        final long at;
+
+        Scheduled(Runnable task, long at) {
+            this.task = task;
+            this.at = at;
+        }
+    }
+
+    private final List<Scheduled> scheduled = new ArrayList<>();
+    private long now;
+
+    @Override
+    public long now() {
+        return now;
+    }
+
+    @Override
+    public void postDelayed(Runnable task, long delayMs) {
+        scheduled.add(new Scheduled(task, now + delayMs));
+    }
+
+    @Override
+    public void cancel(Runnable task) {
+        scheduled.removeIf(s -> s.task == task);
+    }
+
+    /** 시간을 millis만큼 진행하고, 그 사이에 실행 시각이 된 작업을 실행합니다. */
+    public void advance(long millis) {
+        long target = now + millis;
+        while (true) {
+            Scheduled next = null;
+            for (Scheduled s : scheduled) {
+                if (s.at <= target && (next == null || s.at < next.at)) next = s;
+            }
+            if (next == null) break;
+            scheduled.remove(next);
+            now = next.at;
+            next.task.run();
+        }
+        now = target;
+    }
+
+    /** 아직 실행되지 않은 예약 작업의 수입니다. */
+    public int pendingCount() {
+        return scheduled.size();
+    }
+}
@@ -1,6 +1,7 @@
 import os
 import json
 import time
+import random
 import firebase_admin
 from firebase_admin import credentials, firestore
 from tqdm import tqdm
@@ -22,6 +23,8 @@ BATCH_SIZE = 500
 MAX_RETRIES = 3
 RETRY_DELAY = 3  # 초
 CHECKPOINT_FILE = r"./upload_checkpoint.json"
+# 앱의 랜덤 추천(HomeModel)이 임의 지점부터 조회할 수 있도록 문서마다 [0, 1) 균등 난수를 저장
+RANDOM_KEY_FIELD = "random_key"
 
 # ========================
 # Firestore 초기화
@@ -79,7 +82,7 @@ def upload_file(file_path):
     for i, doc in enumerate(tqdm(data[start_index:], desc=os.path.basename(file_path), unit="doc", initial=start_index, total=total_docs)):
         doc_id = str(doc.get("RCP_SNO", f"{os.path.basename(file_path)}_{i}"))
         doc_ref = db.collection(COLLECTION_NAME).document(doc_id)
-        batch.set(doc_ref, doc)
+        batch.set(doc_ref, {**doc, RANDOM_KEY_FIELD: random.random()})
         count += 1
 
         if (i + 1 + start_index) % BATCH_SIZE == 0:
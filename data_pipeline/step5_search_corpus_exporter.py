@@ -0,0 +1,91 @@
+"""
+정제된 레시피 JSON → 앱 내장 검색 코퍼스(TSV, gzip) 변환 스크립트
+- 앱의 LocalRecipeIndex가 기기 안에서 역색인을 만들 때 사용하는 최소 필드만 추출
+- 한 줄 형식: RCP_SNO \t title \t imageUrl \t cooking_time \t 재료1|재료2|... \t recommend_count
+- 결과 파일은 app/src/main/assets/search/recipe_corpus.tsv.gz 에 저장 (용량이 커서 저장소에는 포함하지 않음)
+"""
+
+import gzip
+import json
+import os
+import sys
+
+# ========================
+# 설정
+# ========================
+JSON_FILES = [
+    r"C:\Recipe\final_recipes_part1.json",
+    r"C:\Recipe\final_recipes_part2.json"
+]
+
+OUTPUT_PATH = os.path.join(
+    os.path.dirname(os.path.abspath(__file__)),
+    "..", "app", "src", "main", "assets", "search", "recipe_corpus.tsv.gz"
+)
+
+
+# ========================
+# 유틸 함수
+# ========================
+def clean_field(value):
+    """탭/줄바꿈/구분자('|')가 TSV 형식을 깨뜨리지 않도록 공백으로 치환합니다."""
+    if value is None:
+        return ""
+    text = str(value)
+    for ch in ("\t", "\r", "\n", "|"):
+        text = text.replace(ch, " ")
+    return " ".join(text.split())
+
+
+def to_line(doc):
+    rcp_sno = clean_field(doc.get("RCP_SNO"))
+    if not rcp_sno:
+        return None
+
+    ingredients = doc.get("ingredients") or []
+    if not isinstance(ingredients, list):
+        ingredients = []
+    ingredients = [clean_field(x) for x in ingredients if isinstance(x, str) and clean_field(x)]
+
+    try:
+        recommend_count = int(doc.get("recommend_count", 0) or 0)
+    except (ValueError, TypeError):
+        recommend_count = 0
+
+    return "\t".join([
+        rcp_sno,
+        clean_field(doc.get("title")),
+        clean_field(doc.get("imageUrl")),
+        clean_field(doc.get("cooking_time")),
+        "|".join(ingredients),
+        str(recommend_count),
+    ])
+
+
+# ========================
+# 메인
+# ========================
+def main():
+    os.makedirs(os.path.dirname(OUTPUT_PATH), exist_ok=True)
+
+    written, skipped = 0, 0
+    with gzip.open(OUTPUT_PATH, "wt", encoding="utf-8", newline="\n") as out:
+        for path in JSON_FILES:
+            with open(path, "r", encoding="utf-8") as f:
+                data = json.load(f)
+            print(f"[INFO] {path} → {len(data):,} 레코드 변환 시작")
+            for doc in data:
+                line = to_line(doc)
+                if line is None:
+                    skipped += 1
+                    continue
+                out.write(line + "\n")
+                written += 1
+
+    size_mb = os.path.getsize(OUTPUT_PATH) / (1024 * 1024)
+    print(f"[DONE] {written:,}건 저장, {skipped:,}건 제외 → {OUTPUT_PATH} ({size_mb:.1f} MB)")
+    sys.stdout.flush()
+
+
+if __name__ == "__main__":
+    main()
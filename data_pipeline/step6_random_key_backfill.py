@@ -0,0 +1,114 @@
+"""
+Firestore recipes 컬렉션 random_key 채우기 스크립트
+- 앱의 랜덤 추천(HomeModel.fetchRandomRecipes)은 random_key 색인의 임의 지점부터 몇 개씩만 조회
+- step4 업로더는 새로 올리는 문서에 random_key를 넣지만, 그 전에 올라간 문서에는 이 필드가 없음
+- 문서 ID 순으로 페이지를 읽어 random_key가 없는 문서에만 [0, 1) 균등 난수를 기록 (여러 번 실행해도 안전)
+"""
+
+import json
+import os
+import random
+import time
+
+import firebase_admin
+from firebase_admin import credentials, firestore
+from google.api_core.exceptions import GoogleAPIError
+from google.cloud.firestore_v1.field_path import FieldPath
+
+# ========================
+# 설정
+# ========================
+SERVICE_ACCOUNT_PATH = r"./serviceAccountKey.json"
+
+COLLECTION_NAME = "recipes"
+RANDOM_KEY_FIELD = "random_key"
+PAGE_SIZE = 500  # Firestore 배치 쓰기 최대 건수와 동일
+MAX_RETRIES = 3
+RETRY_DELAY = 3  # 초
+CHECKPOINT_FILE = r"./random_key_checkpoint.json"
+
+# ========================
+# Firestore 초기화
+# ========================
+if not firebase_admin._apps:
+    cred = credentials.Certificate(SERVICE_ACCOUNT_PATH)
+    firebase_admin.initialize_app(cred)
+db = firestore.client()
+
+
+# ========================
+# 체크포인트 로드/저장 (마지막으로 처리한 문서 ID)
+# ========================
+def load_checkpoint():
+    if os.path.exists(CHECKPOINT_FILE):
+        with open(CHECKPOINT_FILE, "r", encoding="utf-8") as f:
+            return json.load(f).get("last_doc_id")
+    return None
+
+
+def save_checkpoint(last_doc_id):
+    with open(CHECKPOINT_FILE, "w", encoding="utf-8") as f:
+        json.dump({"last_doc_id": last_doc_id}, f, ensure_ascii=False, indent=2)
+
+
+# ========================
+# Firestore 배치 커밋 (재시도 포함)
+# ========================
+def commit_with_retry(batch, attempt=1):
+    try:
+        batch.commit()
+        return True
+    except GoogleAPIError as e:
+        if attempt <= MAX_RETRIES:
+            print(f"[WARN] Firestore 배치 커밋 실패 (시도 {attempt}/{MAX_RETRIES}) → {RETRY_DELAY}s 대기 후 재시도, 에러: {e}")
+            time.sleep(RETRY_DELAY)
+            return commit_with_retry(batch, attempt + 1)
+        else:
+            print(f"[ERROR] Firestore 배치 커밋 최종 실패. 에러: {e}")
+            return False
+
+
+# ========================
+# 메인
+# ========================
+def backfill():
+    last_doc_id = load_checkpoint()
+    scanned = 0
+    updated = 0
+    print(f"[INFO] {COLLECTION_NAME} random_key 채우기 시작 (체크포인트: {last_doc_id})")
+
+    while True:
+        # random_key 필드만 받아 오므로 레시피 본문은 전송되지 않음
+        query = (db.collection(COLLECTION_NAME)
+                 .select([RANDOM_KEY_FIELD])
+                 .order_by(FieldPath.document_id())
+                 .limit(PAGE_SIZE))
+        if last_doc_id:
+            query = query.start_after({FieldPath.document_id(): last_doc_id})
+        docs = list(query.stream())
+        if not docs:
+            break
+
+        batch = db.batch()
+        pending = 0
+        for doc in docs:
+            if (doc.to_dict() or {}).get(RANDOM_KEY_FIELD) is None:
+                batch.update(doc.reference, {RANDOM_KEY_FIELD: random.random()})
+                pending += 1
+
+        # 커밋에 실패하면 체크포인트를 옮기지 않고 중단 (다시 실행하면 같은 페이지부터 이어서 처리)
+        if pending and not commit_with_retry(batch):
+            print(f"[STOP] {docs[0].id} 부터의 페이지를 처리하지 못했습니다. 다시 실행해 주세요.")
+            return
+
+        scanned += len(docs)
+        updated += pending
+        last_doc_id = docs[-1].id
+        save_checkpoint(last_doc_id)
+        print(f"  -> {scanned}개 확인, {updated}개 기록 (마지막 문서: {last_doc_id})")
+
+    print(f"[DONE] random_key 채우기 완료 (확인 {scanned}개, 기록 {updated}개)")
+
+
+if __name__ == "__main__":
+    backfill()